@@ -8,6 +8,7 @@
  */
 package com.animedetour.android.analytics;
 
+import com.animedetour.android.framework.metrics.FrameHistogram;
 import com.animedetour.android.model.Event;
 import com.animedetour.api.guest.model.Guest;
 import monolog.handler.analytics.TrackedEvent;
@@ -68,4 +69,14 @@ final public class EventFactory
     {
         return new TrackedEvent("Home", "Register");
     }
+
+    /**
+     * @param screen The log name of the screen that the frames were drawn on.
+     * @param frames A batch of the screen's frames.
+     * @return The frame counts as the label, and the number of dropped frames as the value.
+     */
+    public static TrackedEvent frameSummary(String screen, FrameHistogram frames)
+    {
+        return new TrackedEvent("Frames", screen, frames.toCompactString(), frames.getDroppedFrames());
+    }
 }
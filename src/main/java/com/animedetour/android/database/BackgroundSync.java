@@ -0,0 +1,127 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database;
+
+import rx.Subscriber;
+
+/**
+ * Runs a worker's sync with the API without holding a database reader.
+ *
+ * The local data is looked up and delivered on the thread that subscribed,
+ * which is one of the readers. If it's stale, the API is called on the sync
+ * thread instead, so the reader is free for other reads while the request
+ * is out. Once the new data is saved, the local data is looked up again on
+ * a reader and delivered to the same subscriber.
+ *
+ * Syncs run one at a time, so the data is checked again before each request.
+ * A sync that was queued behind another one usually finds it already fresh.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class BackgroundSync<T>
+{
+    /** The worker's local and remote lookups. */
+    final private Source<T> source;
+
+    /** Threads to run the reads, the API request and the writes on. */
+    final private DatabaseExecutor databaseExecutor;
+
+    /**
+     * @param source The worker's local and remote lookups.
+     * @param databaseExecutor Threads to run the reads, the API request and the writes on.
+     */
+    public BackgroundSync(Source<T> source, DatabaseExecutor databaseExecutor)
+    {
+        this.source = source;
+        this.databaseExecutor = databaseExecutor;
+    }
+
+    /**
+     * Deliver the local data, then sync it in the background if it's stale.
+     *
+     * @param subscriber Subscriber to give the local data to, before and after syncing.
+     */
+    public void call(final Subscriber<? super T> subscriber)
+    {
+        try {
+            subscriber.onNext(this.source.lookupLocal());
+
+            if (false == this.source.dataIsStale()) {
+                subscriber.onCompleted();
+                return;
+            }
+        } catch (Exception e) {
+            subscriber.onError(e);
+            return;
+        }
+
+        this.databaseExecutor.getSync().execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                BackgroundSync.this.sync(subscriber);
+            }
+        });
+    }
+
+    private void sync(final Subscriber<? super T> subscriber)
+    {
+        try {
+            if (this.source.dataIsStale()) {
+                this.source.replaceLocal(this.source.lookupRemote());
+            }
+        } catch (Exception e) {
+            subscriber.onError(e);
+            return;
+        }
+
+        this.databaseExecutor.getReader(QueryPriority.VISIBLE).execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try {
+                    subscriber.onNext(BackgroundSync.this.source.lookupLocal());
+                    subscriber.onCompleted();
+                } catch (Exception e) {
+                    subscriber.onError(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * The steps of a worker's sync.
+     */
+    public interface Source<T>
+    {
+        /**
+         * @return The data currently saved locally.
+         */
+        T lookupLocal() throws Exception;
+
+        /**
+         * @return Whether the local data is old enough to be synced.
+         */
+        boolean dataIsStale() throws Exception;
+
+        /**
+         * @return The current data from the API.
+         */
+        T lookupRemote() throws Exception;
+
+        /**
+         * Replace the local data with data from the API.
+         *
+         * @param remote The current data from the API.
+         */
+        void replaceLocal(T remote) throws Exception;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts changes made to the local data.
+ *
+ * Anything that writes to the local tables should increment this, so that
+ * results read before the change can be recognized as out of date.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+@Singleton
+public class DataGeneration
+{
+    final private AtomicLong generation = new AtomicLong();
+
+    @Inject
+    public DataGeneration() {}
+
+    /**
+     * @return The number of changes made to the local data.
+     */
+    public long get()
+    {
+        return this.generation.get();
+    }
+
+    /**
+     * Mark the local data as changed.
+     *
+     * @return The new generation number.
+     */
+    public long increment()
+    {
+        return this.generation.incrementAndGet();
+    }
+}
@@ -11,16 +11,24 @@ package com.animedetour.android.database;
 import com.animedetour.android.database.event.AllEventsByDayFactory;
 import com.animedetour.android.database.event.AllEventsMatchingFactory;
 import com.animedetour.android.database.event.AllEventsWorker;
+import com.animedetour.android.database.event.ConventionDaysWorker;
+import com.animedetour.android.database.event.EventQueryEngine;
+import com.animedetour.android.database.event.EventPreparer;
+import com.animedetour.android.database.event.EventQueryFactory;
 import com.animedetour.android.database.event.EventRepository;
 import com.animedetour.android.database.event.UpcomingEventByTypeFactory;
 import com.animedetour.android.database.event.UpcomingEventsByTagFactory;
-import com.animedetour.android.database.event.type.AllEventTypesWorker;
 import com.animedetour.android.database.event.type.EventTypeRepository;
 import com.animedetour.android.database.favorite.FavoriteRepository;
+import com.animedetour.android.database.favorite.FavoriteStore;
 import com.animedetour.android.database.favorite.GetAllFavoritesWorker;
+import com.animedetour.android.database.facet.FacetService;
 import com.animedetour.android.database.guest.AllCategoriesWorker;
 import com.animedetour.android.database.guest.GuestRepository;
+import com.animedetour.android.database.search.EventSearchEngine;
+import com.animedetour.android.database.search.GuestSearchEngine;
 import com.animedetour.android.model.Event;
+import com.animedetour.android.model.Facet;
 import com.animedetour.android.model.MetaData;
 import com.animedetour.android.model.transformer.Transformer;
 import com.animedetour.android.schedule.favorite.Favorite;
@@ -43,51 +51,128 @@ import rx.schedulers.Schedulers;
 
 import javax.inject.Singleton;
 import java.sql.SQLException;
+import java.util.List;
 
 @Module(library = true, complete = false)
 @SuppressWarnings("UnusedDeclaration")
 final public class DataModule
 {
+    /** Number of recent event query results to keep in memory. */
+    final private static int QUERY_CACHE_SIZE = 32;
+
+    /** Number of events from recent query results to keep by their ID. */
+    final private static int EVENT_CACHE_SIZE = 512;
+
+    /**
+     * Number of database reads that can run at once.
+     *
+     * Syncs with the API run on their own thread, so these are only held for
+     * reads. Two lets a prefetch run alongside the visible screen's reads.
+     */
+    final private static int DATABASE_READER_THREADS = 2;
+
     @Provides
     @Singleton
     public EventRepository eventRepository(
         ConnectionSource connectionSource,
         ScheduleEndpoint remote,
         Transformer<ApiEvent, Event> apiEventTransformer,
+        DataGeneration generation,
+        EventSearchEngine searchEngine,
+        FacetService facetService,
+        DatabaseExecutor databaseExecutor,
+        EventPreparer preparer,
         Monolog logger
     ) {
         Scheduler main = AndroidSchedulers.mainThread();
-        Scheduler io = Schedulers.io();
-        SubscriptionFactory<Event> subscriptionFactory = new SubscriptionFactory<>(io, main);
+        Scheduler visible = Schedulers.from(databaseExecutor.getReader(QueryPriority.VISIBLE));
+        Scheduler prefetch = Schedulers.from(databaseExecutor.getReader(QueryPriority.PREFETCH));
+        SubscriptionFactory<Event> subscriptionFactory = new SubscriptionFactory<>(visible, main);
+        SubscriptionFactory<Event> prefetchSubscriptionFactory = new SubscriptionFactory<>(prefetch, main);
 
         try {
             Dao<Event, String> local = DaoManager.createDao(connectionSource, Event.class);
             Dao<MetaData, Integer> metaData = DaoManager.createDao(connectionSource, MetaData.class);
+            EventQueryFactory queryFactory = new EventQueryFactory(
+                local,
+                metaData,
+                remote,
+                apiEventTransformer,
+                logger,
+                generation,
+                searchEngine,
+                facetService,
+                databaseExecutor,
+                preparer,
+                new EventQueryEngine(local, searchEngine)
+            );
 
             return new EventRepository(
                 subscriptionFactory,
+                prefetchSubscriptionFactory,
                 local,
-                new AllEventsWorker(local, remote, metaData, logger, apiEventTransformer),
-                new AllEventsByDayFactory(local, metaData, remote, apiEventTransformer, logger),
-                new UpcomingEventsByTagFactory(local, metaData, remote, apiEventTransformer, logger),
-                new UpcomingEventByTypeFactory(local, metaData, remote, apiEventTransformer, logger),
-                new AllEventsMatchingFactory(local, metaData, remote, apiEventTransformer, logger)
+                new AllEventsWorker(local, remote, metaData, logger, apiEventTransformer, generation, searchEngine, facetService, databaseExecutor, preparer),
+                new ConventionDaysWorker(local, metaData, databaseExecutor, logger),
+                new AllEventsByDayFactory(queryFactory),
+                new UpcomingEventsByTagFactory(queryFactory),
+                new UpcomingEventByTypeFactory(queryFactory),
+                new AllEventsMatchingFactory(queryFactory),
+                queryFactory,
+                new QueryCache<List<Event>>(QUERY_CACHE_SIZE),
+                new QueryCache<Event>(EVENT_CACHE_SIZE),
+                visible,
+                generation,
+                logger
             );
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    @Provides
+    @Singleton
+    public EventSearchEngine eventSearchEngine(
+        ConnectionSource connectionSource,
+        DataGeneration generation,
+        Monolog logger
+    ) {
+        try {
+            Dao<Event, String> local = DaoManager.createDao(connectionSource, Event.class);
+
+            return new EventSearchEngine(local, generation, logger);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Provides
+    @Singleton
+    public GuestSearchEngine guestSearchEngine(
+        ConnectionSource connectionSource,
+        DataGeneration generation,
+        Monolog logger
+    ) {
+        try {
+            Dao<Guest, String> local = DaoManager.createDao(connectionSource, Guest.class);
+
+            return new GuestSearchEngine(local, generation, logger);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Provides
     @Singleton
     public GuestRepository guestRepository(
         ConnectionSource connectionSource,
         GuestEndpoint remote,
+        GuestSearchEngine searchEngine,
+        DatabaseExecutor databaseExecutor,
         Monolog logger
     ) {
         Scheduler main = AndroidSchedulers.mainThread();
-        Scheduler io = Schedulers.io();
-        SubscriptionFactory<Category> subscriptionFactory = new SubscriptionFactory<>(io, main);
+        Scheduler reader = Schedulers.from(databaseExecutor.getReader(QueryPriority.VISIBLE));
+        SubscriptionFactory<Category> subscriptionFactory = new SubscriptionFactory<>(reader, main);
 
         try {
             Dao<Category, String> localCategory = DaoManager.createDao(connectionSource, Category.class);
@@ -96,7 +181,10 @@ final public class DataModule
 
             return new GuestRepository(
                 subscriptionFactory,
-                new AllCategoriesWorker(localCategory, localGuest, metaData, remote, logger)
+                localGuest,
+                new AllCategoriesWorker(localCategory, localGuest, metaData, remote, logger, searchEngine, databaseExecutor),
+                searchEngine,
+                reader
             );
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -105,14 +193,20 @@ final public class DataModule
 
     @Provides
     @Singleton
-    public FavoriteRepository favoriteRepository(ConnectionSource connectionSource)
-    {
+    public FavoriteRepository favoriteRepository(
+        ConnectionSource connectionSource,
+        DatabaseExecutor databaseExecutor,
+        EventPreparer preparer,
+        FavoriteStore store
+    ) {
+        Scheduler reader = Schedulers.from(databaseExecutor.getReader(QueryPriority.VISIBLE));
+
         try {
             Dao<Favorite, Integer> local = DaoManager.createDao(connectionSource, Favorite.class);
             Dao<Event, Integer> eventLocal = DaoManager.createDao(connectionSource, Event.class);
-            GetAllFavoritesWorker collectionWorker = new GetAllFavoritesWorker(local, eventLocal);
+            GetAllFavoritesWorker collectionWorker = new GetAllFavoritesWorker(local, eventLocal, preparer);
 
-            return new FavoriteRepository(local, collectionWorker);
+            return new FavoriteRepository(local, collectionWorker, reader, store, databaseExecutor);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -120,22 +214,44 @@ final public class DataModule
 
     @Provides
     @Singleton
-    public EventTypeRepository eventTypeRepository(ConnectionSource connectionSource)
+    public FavoriteStore favoriteStore()
     {
+        return new FavoriteStore();
+    }
+
+    @Provides
+    @Singleton
+    public EventTypeRepository eventTypeRepository(
+        FacetService facetService,
+        DatabaseExecutor databaseExecutor
+    ) {
         Scheduler main = AndroidSchedulers.mainThread();
-        Scheduler io = Schedulers.io();
-        SubscriptionFactory<String> subscriptionFactory = new SubscriptionFactory<>(io, main);
+        Scheduler reader = Schedulers.from(databaseExecutor.getReader(QueryPriority.VISIBLE));
+        SubscriptionFactory<Facet> subscriptionFactory = new SubscriptionFactory<>(reader, main);
+
+        return new EventTypeRepository(subscriptionFactory, facetService);
+    }
 
+    @Provides
+    @Singleton
+    public FacetService facetService(ConnectionSource connectionSource)
+    {
         try {
-            Dao<Event, String> local = DaoManager.createDao(connectionSource, Event.class);
-            AllEventTypesWorker worker = new AllEventTypesWorker(local);
+            Dao<Facet, String> local = DaoManager.createDao(connectionSource, Facet.class);
 
-            return new EventTypeRepository(subscriptionFactory, worker);
+            return new FacetService(local);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    @Provides
+    @Singleton
+    public DatabaseExecutor databaseExecutor(Monolog logger)
+    {
+        return new DatabaseExecutor(DATABASE_READER_THREADS, logger);
+    }
+
     @Provides
     @Singleton
     public ConnectionSource connectionSource(DetourDatabaseHelper helper)
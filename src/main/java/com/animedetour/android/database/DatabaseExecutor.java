@@ -0,0 +1,342 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database;
+
+import monolog.Monolog;
+
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded set of threads to run database work on.
+ *
+ * There is only one SQLite connection, so running many queries at once only
+ * makes them contend with each other. Instead, reads are run on a small
+ * fixed pool of threads, and writes are run one at a time on a single writer
+ * thread. When more reads are waiting than there are threads, the ones for
+ * visible screens are run before the ones for prefetching.
+ *
+ * Syncs with the API are run one at a time on their own thread. They spend
+ * most of their time waiting on the network, and would keep reads from
+ * running if they held a reader while they waited.
+ *
+ * The number of waiting tasks and the time they spent waiting are recorded
+ * so that the pool's size can be checked against real use. A summary is
+ * logged every few hundred tasks, and any task that waits unusually long is
+ * logged as it starts.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class DatabaseExecutor
+{
+    /** Number of started tasks between each logged summary. */
+    final private static long REPORT_INTERVAL = 250;
+
+    /** Tasks that wait longer than this to start are logged. */
+    final private static long SLOW_WAIT_MILLIS = 250;
+
+    /** Logger for the queue depth and wait time summaries. */
+    final private Monolog logger;
+
+    /** Pool of threads for reading, taking the highest priority task first. */
+    final private ThreadPoolExecutor readers;
+
+    /** The single thread for writing, taking tasks in order. */
+    final private ThreadPoolExecutor writer;
+
+    /** The single thread for syncing with the API, taking tasks in order. */
+    final private ThreadPoolExecutor sync;
+
+    /** Counter to keep tasks of the same priority in the order they came. */
+    final private AtomicLong sequence = new AtomicLong();
+
+    /** Number of tasks that have started running. */
+    final private AtomicLong started = new AtomicLong();
+
+    /** Total time that started tasks spent waiting in a queue. */
+    final private AtomicLong totalWaitNanos = new AtomicLong();
+
+    /** The longest time any task spent waiting in a queue. */
+    final private AtomicLong maxWaitNanos = new AtomicLong();
+
+    /** The thread used for writing, once it has been started. */
+    private volatile Thread writerThread;
+
+    /**
+     * @param readerThreads The number of reads that can run at once.
+     * @param logger Logger for the queue depth and wait time summaries.
+     */
+    public DatabaseExecutor(int readerThreads, Monolog logger)
+    {
+        this.logger = logger;
+        this.readers = new ThreadPoolExecutor(
+            readerThreads,
+            readerThreads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<Runnable>(),
+            new NamedThreadFactory("database-reader-")
+        );
+        this.writer = new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactory()
+            {
+                @Override
+                public Thread newThread(Runnable runnable)
+                {
+                    Thread thread = new Thread(runnable, "database-writer");
+                    DatabaseExecutor.this.writerThread = thread;
+
+                    return thread;
+                }
+            }
+        );
+        this.sync = new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new NamedThreadFactory("api-sync-")
+        );
+    }
+
+    /**
+     * Get an executor that runs reads at a specified priority.
+     *
+     * @param priority How urgently the reads are needed.
+     */
+    public Executor getReader(final QueryPriority priority)
+    {
+        return new Executor()
+        {
+            @Override
+            public void execute(Runnable command)
+            {
+                DatabaseExecutor.this.readers.execute(
+                    new QueuedTask(command, priority, DatabaseExecutor.this.sequence.getAndIncrement())
+                );
+            }
+        };
+    }
+
+    /**
+     * Get an executor that runs tasks one at a time on the writer thread.
+     */
+    public Executor getWriter()
+    {
+        return new Executor()
+        {
+            @Override
+            public void execute(Runnable command)
+            {
+                DatabaseExecutor.this.writer.execute(
+                    new QueuedTask(command, QueryPriority.VISIBLE, DatabaseExecutor.this.sequence.getAndIncrement())
+                );
+            }
+        };
+    }
+
+    /**
+     * Get an executor that runs API syncs one at a time, off of the readers.
+     */
+    public Executor getSync()
+    {
+        return this.sync;
+    }
+
+    /**
+     * Run a write on the writer thread, and wait for it to finish.
+     *
+     * This is intended for workers that read and write as part of the same
+     * task. If called from the writer thread, the write is run immediately.
+     *
+     * @param write The database changes to make.
+     * @return The result of the write.
+     * @throws SQLException If the write fails, or is interrupted.
+     */
+    public <RESULT> RESULT write(Callable<RESULT> write) throws SQLException
+    {
+        FutureTask<RESULT> task = new FutureTask<>(write);
+
+        if (Thread.currentThread() == this.writerThread) {
+            task.run();
+        } else {
+            this.getWriter().execute(task);
+        }
+
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException("Database write failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for database write", e);
+        }
+    }
+
+    /**
+     * @return The number of tasks waiting for a thread to run on.
+     */
+    public int getQueueDepth()
+    {
+        return this.readers.getQueue().size() + this.writer.getQueue().size();
+    }
+
+    /**
+     * @return The number of tasks that have started running.
+     */
+    public long getStartedCount()
+    {
+        return this.started.get();
+    }
+
+    /**
+     * @return The average time that tasks waited before running.
+     */
+    public long getAverageWaitMillis()
+    {
+        long started = this.started.get();
+
+        if (started == 0) {
+            return 0;
+        }
+
+        return TimeUnit.NANOSECONDS.toMillis(this.totalWaitNanos.get() / started);
+    }
+
+    /**
+     * @return The longest time that any task waited before running.
+     */
+    public long getMaxWaitMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxWaitNanos.get());
+    }
+
+    /**
+     * Stop the threads once the queued tasks have run.
+     */
+    public void shutdown()
+    {
+        this.readers.shutdown();
+        this.writer.shutdown();
+        this.sync.shutdown();
+    }
+
+    private void recordWait(long waitNanos)
+    {
+        long started = this.started.incrementAndGet();
+        this.totalWaitNanos.addAndGet(waitNanos);
+
+        long max = this.maxWaitNanos.get();
+        while (waitNanos > max && false == this.maxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = this.maxWaitNanos.get();
+        }
+
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        if (waitMillis >= SLOW_WAIT_MILLIS) {
+            this.logger.warn("Database task waited " + waitMillis + "ms to start: " + this);
+        }
+        if (0 == started % REPORT_INTERVAL) {
+            this.logger.info("Database queue: " + this);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DatabaseExecutor{" +
+            "queueDepth=" + this.getQueueDepth() +
+            ", started=" + this.getStartedCount() +
+            ", averageWaitMillis=" + this.getAverageWaitMillis() +
+            ", maxWaitMillis=" + this.getMaxWaitMillis() +
+            '}';
+    }
+
+    /**
+     * Wraps a task to order it in the queue and record how long it waited.
+     */
+    private class QueuedTask implements Runnable, Comparable<QueuedTask>
+    {
+        final private Runnable task;
+        final private QueryPriority priority;
+        final private long sequence;
+        final private long queuedNanos;
+
+        public QueuedTask(Runnable task, QueryPriority priority, long sequence)
+        {
+            this.task = task;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.queuedNanos = System.nanoTime();
+        }
+
+        @Override
+        public void run()
+        {
+            DatabaseExecutor.this.recordWait(System.nanoTime() - this.queuedNanos);
+            this.task.run();
+        }
+
+        @Override
+        public int compareTo(QueuedTask other)
+        {
+            int byPriority = this.priority.compareTo(other.priority);
+            if (byPriority != 0) {
+                return byPriority;
+            }
+
+            return this.sequence < other.sequence ? -1 : (this.sequence == other.sequence ? 0 : 1);
+        }
+    }
+
+    /**
+     * Creates numbered threads so they can be told apart while debugging.
+     */
+    private static class NamedThreadFactory implements ThreadFactory
+    {
+        final private String prefix;
+        final private AtomicInteger count = new AtomicInteger();
+
+        public NamedThreadFactory(String prefix)
+        {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            return new Thread(runnable, this.prefix + this.count.incrementAndGet());
+        }
+    }
+}
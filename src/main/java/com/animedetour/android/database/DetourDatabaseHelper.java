@@ -10,12 +10,17 @@ package com.animedetour.android.database;
 
 import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
+import com.animedetour.android.database.facet.FacetCounts;
+import com.animedetour.android.database.facet.FacetService;
 import com.animedetour.android.model.Event;
+import com.animedetour.android.model.Facet;
 import com.animedetour.android.model.MetaData;
 import com.animedetour.android.schedule.favorite.Favorite;
 import com.animedetour.api.guest.model.Category;
 import com.animedetour.api.guest.model.Guest;
 import com.j256.ormlite.android.apptools.OrmLiteSqliteOpenHelper;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.TableUtils;
 
@@ -35,7 +40,7 @@ import java.sql.SQLException;
 final class DetourDatabaseHelper extends OrmLiteSqliteOpenHelper
 {
     private static final String DATABASE_NAME = "detour.db";
-    private static final int DATABASE_VERSION = 9;
+    private static final int DATABASE_VERSION = 12;
 
     @Inject
     public DetourDatabaseHelper(Context context)
@@ -49,6 +54,7 @@ final class DetourDatabaseHelper extends OrmLiteSqliteOpenHelper
         try {
             TableUtils.createTable(connectionSource, MetaData.class);
             TableUtils.createTable(connectionSource, Event.class);
+            TableUtils.createTable(connectionSource, Facet.class);
             TableUtils.createTable(connectionSource, Favorite.class);
             TableUtils.createTable(connectionSource, Category.class);
             TableUtils.createTable(connectionSource, Guest.class);
@@ -62,6 +68,53 @@ final class DetourDatabaseHelper extends OrmLiteSqliteOpenHelper
     {
         if (oldVersion < 9) {
             this.reCreate();
+            return;
+        }
+
+        if (oldVersion < 10) {
+            this.createFacets();
+        }
+
+        if (oldVersion < 12) {
+            this.addConventionDays();
+        }
+    }
+
+    /**
+     * Add the convention day columns to the metadata.
+     *
+     * These are left empty, and filled in from the saved events the first
+     * time that they're looked up. Version 11 stored the days as instants
+     * in `firstDay` and `lastDay`, those columns are no longer read.
+     */
+    private void addConventionDays()
+    {
+        try {
+            Dao<MetaData, Integer> metaData = DaoManager.createDao(connectionSource, MetaData.class);
+            metaData.executeRaw("ALTER TABLE `metadata` ADD COLUMN `firstDate` VARCHAR");
+            metaData.executeRaw("ALTER TABLE `metadata` ADD COLUMN `lastDate` VARCHAR");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Create the facet table and count the events that are already saved.
+     */
+    private void createFacets()
+    {
+        try {
+            TableUtils.createTable(connectionSource, Facet.class);
+
+            Dao<Event, String> events = DaoManager.createDao(connectionSource, Event.class);
+            Dao<Facet, String> facets = DaoManager.createDao(connectionSource, Facet.class);
+            FacetCounts counts = new FacetCounts();
+            for (Event event : events.queryForAll()) {
+                counts.add(event);
+            }
+            new FacetService(facets).apply(counts);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -73,11 +126,13 @@ final class DetourDatabaseHelper extends OrmLiteSqliteOpenHelper
         try {
             TableUtils.dropTable(connectionSource, Favorite.class, true);
             TableUtils.dropTable(connectionSource, Event.class, true);
+            TableUtils.dropTable(connectionSource, Facet.class, true);
             TableUtils.dropTable(connectionSource, Guest.class, true);
             TableUtils.dropTable(connectionSource, Category.class, true);
             TableUtils.dropTable(connectionSource, MetaData.class, true);
             TableUtils.createTable(connectionSource, MetaData.class);
             TableUtils.createTable(connectionSource, Event.class);
+            TableUtils.createTable(connectionSource, Facet.class);
             TableUtils.createTable(connectionSource, Category.class);
             TableUtils.createTable(connectionSource, Guest.class);
             TableUtils.createTable(connectionSource, Favorite.class);
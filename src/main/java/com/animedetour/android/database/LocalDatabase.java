@@ -9,6 +9,7 @@
 package com.animedetour.android.database;
 
 import com.animedetour.android.model.Event;
+import com.animedetour.android.model.Facet;
 import com.animedetour.android.model.MetaData;
 import com.animedetour.android.schedule.favorite.Favorite;
 import com.animedetour.api.guest.model.Category;
@@ -30,10 +31,14 @@ public class LocalDatabase
 {
     final private ConnectionSource connectionSource;
 
+    /** Counter to mark the local data changed after clearing it. */
+    final private DataGeneration dataGeneration;
+
     @Inject
-    public LocalDatabase(ConnectionSource connectionSource)
+    public LocalDatabase(ConnectionSource connectionSource, DataGeneration dataGeneration)
     {
         this.connectionSource = connectionSource;
+        this.dataGeneration = dataGeneration;
     }
 
     /**
@@ -45,8 +50,10 @@ public class LocalDatabase
     {
         TableUtils.clearTable(this.connectionSource, Favorite.class);
         TableUtils.clearTable(this.connectionSource, Event.class);
+        TableUtils.clearTable(this.connectionSource, Facet.class);
         TableUtils.clearTable(this.connectionSource, Guest.class);
         TableUtils.clearTable(this.connectionSource, Category.class);
         TableUtils.clearTable(this.connectionSource, MetaData.class);
+        this.dataGeneration.increment();
     }
 }
@@ -0,0 +1,160 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database;
+
+import org.joda.time.DateTime;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used store of query results.
+ *
+ * Each result is saved along with the data generation it was read from and
+ * a time that it stops being valid. A result is only returned if the local
+ * data has not changed since it was read, and it has not expired; for
+ * example a list of upcoming events is no longer valid once the first of
+ * them starts.
+ *
+ * This is safe to use from multiple threads.
+ *
+ * @param <RESULT> The type of query result being stored.
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class QueryCache<RESULT>
+{
+    /** Results stored by their query key, in order of least recent use. */
+    final private LinkedHashMap<String, Entry<RESULT>> entries;
+
+    /** Number of lookups that returned a stored result. */
+    private long hits = 0;
+
+    /** Number of lookups that had no valid result stored. */
+    private long misses = 0;
+
+    /**
+     * @param maxSize The maximum number of results to keep at once.
+     */
+    public QueryCache(final int maxSize)
+    {
+        this.entries = new LinkedHashMap<String, Entry<RESULT>>(maxSize, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<RESULT>> eldest)
+            {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Find a stored result.
+     *
+     * @param key A key describing the full criteria of the query.
+     * @param generation The current data generation.
+     * @param now The current time, to check expiration against.
+     * @return The stored result, or null if there is no valid result stored.
+     */
+    public synchronized RESULT get(String key, long generation, DateTime now)
+    {
+        Entry<RESULT> entry = this.entries.get(key);
+
+        if (null == entry) {
+            this.misses++;
+            return null;
+        }
+
+        if (entry.generation != generation || false == entry.validUntil.isAfter(now)) {
+            this.entries.remove(key);
+            this.misses++;
+            return null;
+        }
+
+        this.hits++;
+        return entry.result;
+    }
+
+    /**
+     * Store a result.
+     *
+     * @param key A key describing the full criteria of the query.
+     * @param generation The data generation the result was read from.
+     * @param result The result of the query.
+     * @param validUntil The time when the result should no longer be used.
+     */
+    public synchronized void put(String key, long generation, RESULT result, DateTime validUntil)
+    {
+        Entry<RESULT> existing = this.entries.get(key);
+
+        if (null != existing && existing.generation > generation) {
+            return;
+        }
+
+        this.entries.put(key, new Entry<>(result, generation, validUntil));
+    }
+
+    /**
+     * Remove all stored results.
+     */
+    public synchronized void clear()
+    {
+        this.entries.clear();
+    }
+
+    /**
+     * @return The number of results currently stored.
+     */
+    public synchronized int size()
+    {
+        return this.entries.size();
+    }
+
+    /**
+     * @return Number of lookups that returned a stored result.
+     */
+    public synchronized long getHitCount()
+    {
+        return this.hits;
+    }
+
+    /**
+     * @return Number of lookups that had no valid result stored.
+     */
+    public synchronized long getMissCount()
+    {
+        return this.misses;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "QueryCache{" +
+            "size=" + this.entries.size() +
+            ", hits=" + this.hits +
+            ", misses=" + this.misses +
+            '}';
+    }
+
+    /**
+     * A stored result with the information needed to check that it is valid.
+     */
+    private static class Entry<RESULT>
+    {
+        final private RESULT result;
+        final private long generation;
+        final private DateTime validUntil;
+
+        public Entry(RESULT result, long generation, DateTime validUntil)
+        {
+            this.result = result;
+            this.generation = generation;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database;
+
+/**
+ * How urgently a database read is needed.
+ *
+ * Queued reads are run in this order, highest priority first.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public enum QueryPriority
+{
+    /** Data for something the user is looking at right now. */
+    VISIBLE,
+
+    /** Data that is loaded ahead of time, in case the user looks at it. */
+    PREFETCH,
+}
@@ -9,14 +9,8 @@
 package com.animedetour.android.database.event;
 
 import com.animedetour.android.model.Event;
-import com.animedetour.android.model.MetaData;
-import com.animedetour.android.model.transformer.Transformer;
-import com.animedetour.api.sched.ScheduleEndpoint;
-import com.animedetour.api.sched.model.ApiEvent;
 import com.inkapplications.groundcontrol.CriteriaWorkerFactory;
 import com.inkapplications.groundcontrol.Worker;
-import com.j256.ormlite.dao.Dao;
-import monolog.Monolog;
 import org.javatuples.Pair;
 import org.joda.time.DateTime;
 
@@ -25,28 +19,19 @@ import java.util.List;
 /**
  * Creates new workers to lookup events by day so that we can pass criteria to it.
  *
+ * Events are included if they are running at any point during the day.
+ * Unless past events are included, events that have already ended are left
+ * out, but only if the day has not already passed entirely.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 final public class AllEventsByDayFactory implements CriteriaWorkerFactory<List<Event>, Pair<DateTime, Boolean>>
 {
-    final private Dao<Event, String> localAccess;
-    final private Dao<MetaData, Integer> metaData;
-    final private ScheduleEndpoint remoteAccess;
-    final private Transformer<ApiEvent, Event> eventTransformer;
-    final private Monolog logger;
+    final private CriteriaWorkerFactory<List<Event>, EventQuery> queryFactory;
 
-    public AllEventsByDayFactory(
-        Dao<Event, String> localAccess,
-        Dao<MetaData, Integer> metaData,
-        ScheduleEndpoint remoteAccess,
-        Transformer<ApiEvent, Event> eventTransformer,
-        Monolog logger
-    ) {
-        this.localAccess = localAccess;
-        this.metaData = metaData;
-        this.remoteAccess = remoteAccess;
-        this.eventTransformer = eventTransformer;
-        this.logger = logger;
+    public AllEventsByDayFactory(CriteriaWorkerFactory<List<Event>, EventQuery> queryFactory)
+    {
+        this.queryFactory = queryFactory;
     }
 
     /**
@@ -55,18 +40,17 @@ final public class AllEventsByDayFactory implements CriteriaWorkerFactory<List<E
      *                 whether to include ended events in that list.
      * @return
      */
+    @Override
     public Worker<List<Event>> createWorker(Pair<DateTime, Boolean> criteria)
     {
         DateTime eventDay = criteria.getValue0();
-        Boolean includePast = criteria.getValue1();
+        boolean includePast = criteria.getValue1();
+        if (eventDay.withHourOfDay(23).withMinuteOfHour(59).withSecondOfMinute(59).isBefore(DateTime.now())) {
+            includePast = true;
+        }
+
+        EventQuery query = new EventQuery().withDay(eventDay).withEnded(includePast);
 
-        return new AllEventsByDayWorker(
-            this.localAccess,
-            this.metaData,
-            this.remoteAccess,
-            this.eventTransformer,
-            this.logger,
-            new Pair<>(eventDay, includePast)
-        );
+        return this.queryFactory.createWorker(query);
     }
 }
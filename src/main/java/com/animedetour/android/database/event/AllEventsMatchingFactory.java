@@ -9,53 +9,37 @@
 package com.animedetour.android.database.event;
 
 import com.animedetour.android.model.Event;
-import com.animedetour.android.model.MetaData;
-import com.animedetour.android.model.transformer.Transformer;
-import com.animedetour.api.sched.ScheduleEndpoint;
-import com.animedetour.api.sched.model.ApiEvent;
 import com.inkapplications.groundcontrol.CriteriaWorkerFactory;
 import com.inkapplications.groundcontrol.Worker;
-import com.j256.ormlite.dao.Dao;
-import monolog.Monolog;
 
 import java.util.List;
 
 /**
- * Creates new workers to lookup events by day so that we can pass criteria to it.
+ * Creates new workers to lookup events by search text so that we can pass criteria to it.
+ *
+ * Events are matched against the search index by their name, hosts, tags,
+ * category and room, ignoring case and accents, and ordered by relevance.
+ * If nothing matches exactly, similarly spelled events are found instead.
+ *
+ * @see com.animedetour.android.database.search.EventSearchIndex
+ * @see com.animedetour.android.database.search.TrigramIndex
  *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 final public class AllEventsMatchingFactory implements CriteriaWorkerFactory<List<Event>, String>
 {
-    final private Dao<Event, String> localAccess;
-    final private Dao<MetaData, Integer> metaData;
-    final private ScheduleEndpoint remoteAccess;
-    final private Transformer<ApiEvent, Event> eventTransformer;
-    final private Monolog logger;
+    final private CriteriaWorkerFactory<List<Event>, EventQuery> queryFactory;
 
-    public AllEventsMatchingFactory(
-        Dao<Event, String> localAccess,
-        Dao<MetaData, Integer> metaData,
-        ScheduleEndpoint remoteAccess,
-        Transformer<ApiEvent, Event> eventTransformer,
-        Monolog logger
-    ) {
-        this.localAccess = localAccess;
-        this.metaData = metaData;
-        this.remoteAccess = remoteAccess;
-        this.eventTransformer = eventTransformer;
-        this.logger = logger;
+    public AllEventsMatchingFactory(CriteriaWorkerFactory<List<Event>, EventQuery> queryFactory)
+    {
+        this.queryFactory = queryFactory;
     }
 
+    @Override
     public Worker<List<Event>> createWorker(String criteria)
     {
-        return new AllEventsMatchingWorker(
-            this.localAccess,
-            this.metaData,
-            this.remoteAccess,
-            this.eventTransformer,
-            this.logger,
-            criteria
-        );
+        EventQuery query = new EventQuery().withText(criteria);
+
+        return this.queryFactory.createWorker(query);
     }
 }
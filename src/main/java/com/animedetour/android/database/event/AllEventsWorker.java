@@ -8,6 +8,10 @@
  */
 package com.animedetour.android.database.event;
 
+import com.animedetour.android.database.DataGeneration;
+import com.animedetour.android.database.DatabaseExecutor;
+import com.animedetour.android.database.facet.FacetService;
+import com.animedetour.android.database.search.EventSearchEngine;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.model.MetaData;
 import com.animedetour.android.model.transformer.Transformer;
@@ -37,9 +41,14 @@ public class AllEventsWorker extends SyncEventsWorker
         ScheduleEndpoint remoteAccess,
         Dao<MetaData, Integer> metaData,
         Monolog logger,
-        Transformer<ApiEvent, Event> eventTransformer
+        Transformer<ApiEvent, Event> eventTransformer,
+        DataGeneration dataGeneration,
+        EventSearchEngine searchEngine,
+        FacetService facetService,
+        DatabaseExecutor databaseExecutor,
+        EventPreparer preparer
     ) {
-        super(localAccess, metaData, remoteAccess, eventTransformer, logger);
+        super(localAccess, metaData, remoteAccess, eventTransformer, logger, dataGeneration, searchEngine, facetService, databaseExecutor, preparer);
 
         this.localAccess = localAccess;
     }
@@ -54,6 +63,6 @@ public class AllEventsWorker extends SyncEventsWorker
         PreparedQuery<Event> query = builder.prepare();
         List<Event> result = this.localAccess.query(query);
 
-        return result;
+        return this.prepare(result);
     }
 }
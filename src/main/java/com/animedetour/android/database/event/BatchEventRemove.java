@@ -0,0 +1,65 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.database.facet.FacetCounts;
+import com.animedetour.android.database.facet.FacetService;
+import com.animedetour.android.model.Event;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.QueryBuilder;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Deletes every event that is not in a list of events to keep.
+ *
+ * This is used as a batch operation in ORMLite which requires a callable
+ * to be run while it has auto-commit disabled. The event counts for each
+ * category, tag and room are updated in the same batch.
+ *
+ * @author Maxwell Vandervelde <Max@MaxVandervelde.com>
+ */
+public class BatchEventRemove implements Callable<Integer> {
+
+    final private Dao<Event, String> localAccess;
+    final private FacetService facetService;
+    final private List<String> keepIds;
+
+    public BatchEventRemove(Dao<Event, String> localAccess, FacetService facetService, List<String> keepIds)
+    {
+        this.localAccess = localAccess;
+        this.facetService = facetService;
+        this.keepIds = keepIds;
+    }
+
+    /**
+     * @return The number of events deleted.
+     */
+    @Override
+    public Integer call() throws Exception
+    {
+        QueryBuilder<Event, String> query = this.localAccess.queryBuilder();
+        query.selectColumns(BatchEventSave.FACET_COLUMNS);
+        query.where().notIn("id", this.keepIds);
+
+        FacetCounts counts = new FacetCounts();
+        for (Event event : query.query()) {
+            counts.remove(event);
+        }
+
+        DeleteBuilder<Event, String> builder = this.localAccess.deleteBuilder();
+        builder.where().notIn("id", this.keepIds);
+        int removed = this.localAccess.delete(builder.prepare());
+        this.facetService.apply(counts);
+
+        return removed;
+    }
+}
@@ -8,10 +8,15 @@
  */
 package com.animedetour.android.database.event;
 
+import com.animedetour.android.database.facet.FacetCounts;
+import com.animedetour.android.database.facet.FacetService;
 import com.animedetour.android.model.Event;
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.QueryBuilder;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 /**
@@ -20,26 +25,63 @@ import java.util.concurrent.Callable;
  * This is used as a batch operation in ORMLite which requires a callable
  * to be run while it has auto-commit disabled.
  *
+ * The event counts for each category, tag and room are updated in the same
+ * batch, by un-counting the previously saved version of each event and
+ * counting the new one.
+ *
  * @author Maxwell Vandervelde <Max@MaxVandervelde.com>
  */
 public class BatchEventSave implements Callable<Void> {
 
+    /** The only event columns needed to count facets. */
+    final static String[] FACET_COLUMNS = {"id", "category", "tags", "room"};
+
     final private Dao<Event, String> localAccess;
+    final private FacetService facetService;
     final private List<Event> saveList;
 
-    public BatchEventSave(Dao<Event, String> localAccess, List<Event> saveList)
+    public BatchEventSave(Dao<Event, String> localAccess, FacetService facetService, List<Event> saveList)
     {
         this.localAccess = localAccess;
+        this.facetService = facetService;
         this.saveList = saveList;
     }
 
     @Override
     public Void call() throws Exception
     {
+        Map<String, Event> previous = this.findPrevious();
+        FacetCounts counts = new FacetCounts();
+
         for (Event event : this.saveList) {
+            Event replaced = previous.get(event.getId());
+            if (null != replaced) {
+                counts.remove(replaced);
+            }
+            counts.add(event);
+            previous.put(event.getId(), event);
+
             this.localAccess.createOrUpdate(event);
         }
 
+        this.facetService.apply(counts);
+
         return null;
     }
+
+    /**
+     * Load the counted fields of every event currently saved, by ID.
+     */
+    private Map<String, Event> findPrevious() throws Exception
+    {
+        QueryBuilder<Event, String> query = this.localAccess.queryBuilder();
+        query.selectColumns(FACET_COLUMNS);
+
+        Map<String, Event> previous = new HashMap<>();
+        for (Event event : query.query()) {
+            previous.put(event.getId(), event);
+        }
+
+        return previous;
+    }
 }
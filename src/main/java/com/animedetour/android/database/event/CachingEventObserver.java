@@ -0,0 +1,91 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.database.QueryCache;
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import rx.Observer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stores each query result in the cache as it's passed on to an observer.
+ *
+ * Each event in the result is also stored by its ID, so that a screen
+ * opening one of the events can show it without reading it again.
+ *
+ * Results are stored under the data generation from when the query was
+ * requested rather than when the result arrived, since a sync may have
+ * changed the data in between.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+class CachingEventObserver implements Observer<List<Event>>
+{
+    final private QueryCache<List<Event>> cache;
+    final private QueryCache<Event> eventCache;
+    final private String key;
+    final private long generation;
+    final private ResultExpiration expiration;
+    final private Observer<List<Event>> delegate;
+
+    /**
+     * @param cache Cache to store results in.
+     * @param eventCache Cache to store each event in by its ID.
+     * @param key A key describing the full criteria of the query.
+     * @param generation The data generation when the query was requested.
+     * @param expiration Strategy for determining how long the result is valid.
+     * @param delegate Observer to pass results on to.
+     */
+    public CachingEventObserver(
+        QueryCache<List<Event>> cache,
+        QueryCache<Event> eventCache,
+        String key,
+        long generation,
+        ResultExpiration expiration,
+        Observer<List<Event>> delegate
+    ) {
+        this.cache = cache;
+        this.eventCache = eventCache;
+        this.key = key;
+        this.generation = generation;
+        this.expiration = expiration;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onCompleted()
+    {
+        this.delegate.onCompleted();
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+        this.delegate.onError(e);
+    }
+
+    @Override
+    public void onNext(List<Event> events)
+    {
+        DateTime now = new DateTime();
+        DateTime validUntil = this.expiration.getExpiration(events, now);
+        this.cache.put(this.key, this.generation, events, validUntil);
+
+        // A single event doesn't change with the time, only with the data.
+        DateTime eventValidUntil = ResultExpiration.MAX_AGE.getExpiration(Collections.<Event>emptyList(), now);
+        for (Event event : events) {
+            this.eventCache.put(event.getId(), this.generation, event, eventValidUntil);
+        }
+
+        this.delegate.onNext(events);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.database.DatabaseExecutor;
+import com.animedetour.android.model.ConventionDays;
+import com.animedetour.android.model.Event;
+import com.animedetour.android.model.MetaData;
+import com.inkapplications.groundcontrol.SingleYieldWorker;
+import com.j256.ormlite.dao.Dao;
+import monolog.Monolog;
+
+import java.sql.SQLException;
+
+/**
+ * Looks up the days of the saved schedule.
+ *
+ * The days are saved alongside the schedule when it's synced, so this is
+ * usually a single row lookup. Schedules that were saved before the days
+ * were tracked have them found from the earliest and latest events, and
+ * saved for next time. That save is queued on the writer without waiting,
+ * so the reader isn't held up behind a sync that's being written.
+ *
+ * This never syncs with the API. If no schedule has been saved yet, the days
+ * are null.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class ConventionDaysWorker extends SingleYieldWorker<ConventionDays>
+{
+    /** A local DAO for looking up events. */
+    final private Dao<Event, String> localAccess;
+
+    /** Local information about the event data. */
+    final private Dao<MetaData, Integer> metaDataAccess;
+
+    /** Threads to run database work on, for making writes one at a time. */
+    final private DatabaseExecutor databaseExecutor;
+
+    /** Logger for days that couldn't be saved. */
+    final private Monolog logger;
+
+    /**
+     * @param localAccess A local DAO for looking up events.
+     * @param metaDataAccess Local information about the event data.
+     * @param databaseExecutor Threads to run database work on, for making writes one at a time.
+     * @param logger Logger for days that couldn't be saved.
+     */
+    public ConventionDaysWorker(
+        Dao<Event, String> localAccess,
+        Dao<MetaData, Integer> metaDataAccess,
+        DatabaseExecutor databaseExecutor,
+        Monolog logger
+    ) {
+        super();
+
+        this.localAccess = localAccess;
+        this.metaDataAccess = metaDataAccess;
+        this.databaseExecutor = databaseExecutor;
+        this.logger = logger;
+    }
+
+    /**
+     * @return The days of the saved schedule, or null if there is none.
+     */
+    @Override
+    public ConventionDays lookupLocal() throws SQLException
+    {
+        MetaData metaData = this.metaDataAccess.queryForId(MetaData.SINGLETON);
+        if (null != metaData && null != metaData.getConventionDays()) {
+            return metaData.getConventionDays();
+        }
+
+        Event first = this.localAccess.queryBuilder().orderBy("start", true).queryForFirst();
+        Event last = this.localAccess.queryBuilder().orderBy("start", false).queryForFirst();
+        if (null == first || null == last) {
+            return null;
+        }
+
+        final ConventionDays days = new ConventionDays(first.getStart().toLocalDate(), last.getStart().toLocalDate());
+        this.databaseExecutor.getWriter().execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try {
+                    ConventionDaysWorker.this.save(days);
+                } catch (SQLException e) {
+                    ConventionDaysWorker.this.logger.error("Failed saving convention days", e);
+                }
+            }
+        });
+
+        return days;
+    }
+
+    /**
+     * Save the days found, unless a sync saved newer ones in the meantime.
+     */
+    private void save(ConventionDays days) throws SQLException
+    {
+        MetaData metaData = this.metaDataAccess.queryForId(MetaData.SINGLETON);
+        metaData = null == metaData ? new MetaData() : metaData;
+        if (null != metaData.getConventionDays()) {
+            return;
+        }
+
+        this.metaDataAccess.createOrUpdate(metaData.withConventionDays(days));
+    }
+}
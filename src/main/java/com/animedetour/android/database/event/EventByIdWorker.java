@@ -0,0 +1,50 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.model.Event;
+import com.inkapplications.groundcontrol.SingleYieldWorker;
+import com.j256.ormlite.dao.Dao;
+
+import java.sql.SQLException;
+
+/**
+ * Looks up a single event by its ID.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class EventByIdWorker extends SingleYieldWorker<Event>
+{
+    /** A local DAO for looking up events. */
+    final private Dao<Event, String> localAccess;
+
+    /** The ID of the event to look up. */
+    final private String id;
+
+    /**
+     * @param localAccess A local DAO for looking up events.
+     * @param id The ID of the event to look up.
+     */
+    public EventByIdWorker(Dao<Event, String> localAccess, String id)
+    {
+        super();
+
+        this.localAccess = localAccess;
+        this.id = id;
+    }
+
+    /**
+     * @return The event, or null if it no longer exists.
+     */
+    @Override
+    public Event lookupLocal() throws SQLException
+    {
+        return this.localAccess.queryForId(this.id);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.model.Event;
+
+import java.util.List;
+
+/**
+ * Does work ahead of time for events that are about to be displayed.
+ *
+ * This is run on the database thread with each query result, before the
+ * result is delivered to the main thread.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public interface EventPreparer
+{
+    /**
+     * @param events The events found by a query.
+     */
+    void prepare(List<Event> events);
+}
@@ -0,0 +1,371 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A combination of criteria to find events by.
+ *
+ * Every criteria is optional, and an event must match all of the criteria
+ * that are set. This is immutable, each criteria is added by creating a
+ * modified copy, e.g.:
+ *
+ *     new EventQuery().withDay(saturday).withCategory("Panel").withTag("18+")
+ *
+ * @see EventQueryEngine
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class EventQuery
+{
+    /** Events must end after this time, if set. */
+    final private DateTime windowStart;
+
+    /** Events must start before this time, if set. */
+    final private DateTime windowEnd;
+
+    /** Whether to include events that have already ended. */
+    final private boolean includeEnded;
+
+    /** Whether to include events that have already started. */
+    final private boolean includeStarted;
+
+    /** The exact category of events to include, if set. */
+    final private String category;
+
+    /** Tags that events must have every one of. */
+    final private List<String> tags;
+
+    /** The exact room of events to include, if set. */
+    final private String room;
+
+    /** Part of a host name that events must have, if set. */
+    final private String host;
+
+    /** Search text to find and rank events by, if set. */
+    final private String text;
+
+    /** The most events to find, or zero for no limit. */
+    final private int limit;
+
+    /**
+     * Create a query that matches every event.
+     */
+    public EventQuery()
+    {
+        this(null, null, true, true, null, Collections.<String>emptyList(), null, null, null, 0);
+    }
+
+    private EventQuery(
+        DateTime windowStart,
+        DateTime windowEnd,
+        boolean includeEnded,
+        boolean includeStarted,
+        String category,
+        List<String> tags,
+        String room,
+        String host,
+        String text,
+        int limit
+    ) {
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.includeEnded = includeEnded;
+        this.includeStarted = includeStarted;
+        this.category = category;
+        this.tags = Collections.unmodifiableList(tags);
+        this.room = room;
+        this.host = host;
+        this.text = text;
+        this.limit = limit;
+    }
+
+    /**
+     * Only include events that are running at some point during a day.
+     *
+     * @param day Any time during the day to find events on.
+     */
+    public EventQuery withDay(DateTime day)
+    {
+        return this.withWindow(
+            day.withTimeAtStartOfDay(),
+            day.withHourOfDay(23).withMinuteOfHour(59).withSecondOfMinute(59)
+        );
+    }
+
+    /**
+     * Only include events that are running at some point during a window.
+     *
+     * @param start Events must end after this time.
+     * @param end Events must start before this time.
+     */
+    public EventQuery withWindow(DateTime start, DateTime end)
+    {
+        return new EventQuery(start, end, this.includeEnded, this.includeStarted, this.category, this.tags, this.room, this.host, this.text, this.limit);
+    }
+
+    /**
+     * @param includeEnded Whether to include events that have already ended.
+     */
+    public EventQuery withEnded(boolean includeEnded)
+    {
+        return new EventQuery(this.windowStart, this.windowEnd, includeEnded, this.includeStarted, this.category, this.tags, this.room, this.host, this.text, this.limit);
+    }
+
+    /**
+     * @param includeStarted Whether to include events that have already started.
+     */
+    public EventQuery withStarted(boolean includeStarted)
+    {
+        return new EventQuery(this.windowStart, this.windowEnd, this.includeEnded, includeStarted, this.category, this.tags, this.room, this.host, this.text, this.limit);
+    }
+
+    /**
+     * @param category The exact category of events to include.
+     */
+    public EventQuery withCategory(String category)
+    {
+        return new EventQuery(this.windowStart, this.windowEnd, this.includeEnded, this.includeStarted, category, this.tags, this.room, this.host, this.text, this.limit);
+    }
+
+    /**
+     * @param tag A tag that events must have, in addition to any others.
+     */
+    public EventQuery withTag(String tag)
+    {
+        List<String> tags = new ArrayList<>(this.tags);
+        tags.add(tag);
+
+        return new EventQuery(this.windowStart, this.windowEnd, this.includeEnded, this.includeStarted, this.category, tags, this.room, this.host, this.text, this.limit);
+    }
+
+    /**
+     * @param room The exact room of events to include.
+     */
+    public EventQuery withRoom(String room)
+    {
+        return new EventQuery(this.windowStart, this.windowEnd, this.includeEnded, this.includeStarted, this.category, this.tags, room, this.host, this.text, this.limit);
+    }
+
+    /**
+     * @param host Part of a host name that events must have.
+     */
+    public EventQuery withHost(String host)
+    {
+        return new EventQuery(this.windowStart, this.windowEnd, this.includeEnded, this.includeStarted, this.category, this.tags, this.room, host, this.text, this.limit);
+    }
+
+    /**
+     * @param text Search text to find and rank events by.
+     */
+    public EventQuery withText(String text)
+    {
+        return new EventQuery(this.windowStart, this.windowEnd, this.includeEnded, this.includeStarted, this.category, this.tags, this.room, this.host, text, this.limit);
+    }
+
+    /**
+     * @param limit The most events to find, or zero for no limit.
+     */
+    public EventQuery withLimit(int limit)
+    {
+        return new EventQuery(this.windowStart, this.windowEnd, this.includeEnded, this.includeStarted, this.category, this.tags, this.room, this.host, this.text, limit);
+    }
+
+    /**
+     * Check an event against every criteria, except for the search text.
+     *
+     * This is used to filter events found by searching, and should always
+     * agree with the database query built by the engine.
+     *
+     * @param event The event to check.
+     * @param now The time to compare against for started and ended events.
+     * @return Whether the event matches.
+     */
+    public boolean matches(Event event, DateTime now)
+    {
+        if (null != this.windowStart && false == event.getEnd().isAfter(this.windowStart)) {
+            return false;
+        }
+        if (null != this.windowEnd && false == event.getStart().isBefore(this.windowEnd)) {
+            return false;
+        }
+        if (false == this.includeEnded && false == event.getEnd().isAfter(now)) {
+            return false;
+        }
+        if (false == this.includeStarted && false == event.getStart().isAfter(now)) {
+            return false;
+        }
+        if (null != this.category && false == this.category.equals(event.getCategory())) {
+            return false;
+        }
+        if (null != this.room && false == this.room.equals(event.getRoom())) {
+            return false;
+        }
+        if (false == event.getTags().containsAll(this.tags)) {
+            return false;
+        }
+        if (null != this.host && false == this.hasHost(event)) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean hasHost(Event event)
+    {
+        String search = this.host.toLowerCase();
+        for (String host : event.getHosts()) {
+            if (host.toLowerCase().contains(search)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return Whether there are any criteria to check in the database.
+     */
+    public boolean hasConditions()
+    {
+        return null != this.windowStart
+            || null != this.windowEnd
+            || false == this.includeEnded
+            || false == this.includeStarted
+            || null != this.category
+            || null != this.room
+            || false == this.tags.isEmpty()
+            || null != this.host;
+    }
+
+    /**
+     * @return A key describing every criteria, for caching results.
+     */
+    public String getKey()
+    {
+        return this.toString();
+    }
+
+    /**
+     * @return Events must end after this time, if set.
+     */
+    public DateTime getWindowStart()
+    {
+        return this.windowStart;
+    }
+
+    /**
+     * @return Events must start before this time, if set.
+     */
+    public DateTime getWindowEnd()
+    {
+        return this.windowEnd;
+    }
+
+    /**
+     * @return Whether to include events that have already ended.
+     */
+    public boolean includesEnded()
+    {
+        return this.includeEnded;
+    }
+
+    /**
+     * @return Whether to include events that have already started.
+     */
+    public boolean includesStarted()
+    {
+        return this.includeStarted;
+    }
+
+    /**
+     * @return The exact category of events to include, if set.
+     */
+    public String getCategory()
+    {
+        return this.category;
+    }
+
+    /**
+     * @return Tags that events must have every one of.
+     */
+    public List<String> getTags()
+    {
+        return this.tags;
+    }
+
+    /**
+     * @return The exact room of events to include, if set.
+     */
+    public String getRoom()
+    {
+        return this.room;
+    }
+
+    /**
+     * @return Part of a host name that events must have, if set.
+     */
+    public String getHost()
+    {
+        return this.host;
+    }
+
+    /**
+     * @return Search text to find and rank events by, if set.
+     */
+    public String getText()
+    {
+        return this.text;
+    }
+
+    /**
+     * @return The most events to find, or zero for no limit.
+     */
+    public int getLimit()
+    {
+        return this.limit;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        return this.toString().equals(o.toString());
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.toString().hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "EventQuery{" +
+            "windowStart=" + windowStart +
+            ", windowEnd=" + windowEnd +
+            ", includeEnded=" + includeEnded +
+            ", includeStarted=" + includeStarted +
+            ", category='" + category + '\'' +
+            ", tags=" + tags +
+            ", room='" + room + '\'' +
+            ", host='" + host + '\'' +
+            ", text='" + text + '\'' +
+            ", limit=" + limit +
+            '}';
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.database.search.EventSearchEngine;
+import com.animedetour.android.model.Event;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.Where;
+import org.joda.time.DateTime;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds events matching any combination of criteria in an event query.
+ *
+ * Queries without search text are compiled into a single database query,
+ * so that the category index is used and nothing is filtered in memory.
+ * Events are ordered by start time, then name.
+ *
+ * Queries with search text use the in-memory search index to find and rank
+ * candidates first, then filter those by the rest of the criteria. If the
+ * text has no exact matches, similarly spelled events are used instead.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class EventQueryEngine
+{
+    /** A local DAO for reading events. */
+    final private Dao<Event, String> localAccess;
+
+    /** Index for finding events by search text. */
+    final private EventSearchEngine searchEngine;
+
+    /**
+     * @param localAccess A local DAO for reading events.
+     * @param searchEngine Index for finding events by search text.
+     */
+    public EventQueryEngine(Dao<Event, String> localAccess, EventSearchEngine searchEngine)
+    {
+        this.localAccess = localAccess;
+        this.searchEngine = searchEngine;
+    }
+
+    /**
+     * Find every event that matches a query.
+     *
+     * @param query The criteria to find events by.
+     * @return Matching events, limited to the query's limit if it has one.
+     * @throws SQLException If anything goes wrong reading the events.
+     */
+    public List<Event> query(EventQuery query) throws SQLException
+    {
+        DateTime now = new DateTime();
+
+        if (null != query.getText()) {
+            return this.search(query, now);
+        }
+
+        QueryBuilder<Event, String> builder = this.localAccess.queryBuilder();
+        builder.orderBy("start", true);
+        builder.orderBy("name", true);
+        if (query.getLimit() > 0) {
+            builder.limit((long) query.getLimit());
+        }
+        if (query.hasConditions()) {
+            this.compileWhere(query, builder.where(), now);
+        }
+
+        return this.localAccess.query(builder.prepare());
+    }
+
+    /**
+     * Find events by their search text, and filter them by everything else.
+     */
+    private List<Event> search(EventQuery query, DateTime now) throws SQLException
+    {
+        List<Event> matches = this.filter(this.searchEngine.search(query.getText()), query, now);
+
+        if (matches.isEmpty()) {
+            matches = this.filter(this.searchEngine.searchSimilar(query.getText()), query, now);
+        }
+
+        return matches;
+    }
+
+    private List<Event> filter(List<Event> candidates, EventQuery query, DateTime now)
+    {
+        List<Event> matches = new ArrayList<>();
+
+        for (Event event : candidates) {
+            if (query.getLimit() > 0 && matches.size() >= query.getLimit()) {
+                break;
+            }
+            if (query.matches(event, now)) {
+                matches.add(event);
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Add every criteria of the query as a single set of conditions.
+     *
+     * This must stay in agreement with {@link EventQuery#matches}.
+     */
+    private void compileWhere(EventQuery query, Where<Event, String> where, DateTime now) throws SQLException
+    {
+        int clauses = 0;
+
+        if (null != query.getCategory()) {
+            where.eq("category", query.getCategory());
+            clauses++;
+        }
+        if (null != query.getRoom()) {
+            where.eq("room", query.getRoom());
+            clauses++;
+        }
+        if (null != query.getWindowEnd()) {
+            where.lt("start", query.getWindowEnd());
+            clauses++;
+        }
+        if (null != query.getWindowStart()) {
+            where.gt("end", query.getWindowStart());
+            clauses++;
+        }
+        if (false == query.includesEnded()) {
+            where.gt("end", now);
+            clauses++;
+        }
+        if (false == query.includesStarted()) {
+            where.gt("start", now);
+            clauses++;
+        }
+        for (String tag : query.getTags()) {
+            // Tags are stored comma separated, so match it as a whole item.
+            where.or(
+                where.eq("tags", tag),
+                where.like("tags", tag + ",%"),
+                where.like("tags", "%," + tag),
+                where.like("tags", "%," + tag + ",%")
+            );
+            clauses++;
+        }
+        if (null != query.getHost()) {
+            where.like("hosts", "%" + query.getHost() + "%");
+            clauses++;
+        }
+
+        if (clauses > 1) {
+            where.and(clauses);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.database.DataGeneration;
+import com.animedetour.android.database.DatabaseExecutor;
+import com.animedetour.android.database.facet.FacetService;
+import com.animedetour.android.database.search.EventSearchEngine;
+import com.animedetour.android.model.Event;
+import com.animedetour.android.model.MetaData;
+import com.animedetour.android.model.transformer.Transformer;
+import com.animedetour.api.sched.ScheduleEndpoint;
+import com.animedetour.api.sched.model.ApiEvent;
+import com.inkapplications.groundcontrol.CriteriaWorkerFactory;
+import com.inkapplications.groundcontrol.Worker;
+import com.j256.ormlite.dao.Dao;
+import monolog.Monolog;
+
+import java.util.List;
+
+/**
+ * Creates workers to look up events matching any event query.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class EventQueryFactory implements CriteriaWorkerFactory<List<Event>, EventQuery>
+{
+    final private Dao<Event, String> localAccess;
+    final private Dao<MetaData, Integer> metaData;
+    final private ScheduleEndpoint remoteAccess;
+    final private Transformer<ApiEvent, Event> eventTransformer;
+    final private Monolog logger;
+    final private DataGeneration dataGeneration;
+    final private EventSearchEngine searchEngine;
+    final private FacetService facetService;
+    final private DatabaseExecutor databaseExecutor;
+    final private EventPreparer preparer;
+    final private EventQueryEngine queryEngine;
+
+    public EventQueryFactory(
+        Dao<Event, String> localAccess,
+        Dao<MetaData, Integer> metaData,
+        ScheduleEndpoint remoteAccess,
+        Transformer<ApiEvent, Event> eventTransformer,
+        Monolog logger,
+        DataGeneration dataGeneration,
+        EventSearchEngine searchEngine,
+        FacetService facetService,
+        DatabaseExecutor databaseExecutor,
+        EventPreparer preparer,
+        EventQueryEngine queryEngine
+    ) {
+        this.localAccess = localAccess;
+        this.metaData = metaData;
+        this.remoteAccess = remoteAccess;
+        this.eventTransformer = eventTransformer;
+        this.logger = logger;
+        this.dataGeneration = dataGeneration;
+        this.searchEngine = searchEngine;
+        this.facetService = facetService;
+        this.databaseExecutor = databaseExecutor;
+        this.preparer = preparer;
+        this.queryEngine = queryEngine;
+    }
+
+    @Override
+    public Worker<List<Event>> createWorker(EventQuery criteria)
+    {
+        return new EventQueryWorker(
+            this.localAccess,
+            this.metaData,
+            this.remoteAccess,
+            this.eventTransformer,
+            this.logger,
+            this.dataGeneration,
+            this.searchEngine,
+            this.facetService,
+            this.databaseExecutor,
+            this.preparer,
+            this.queryEngine,
+            criteria
+        );
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.database.DataGeneration;
+import com.animedetour.android.database.DatabaseExecutor;
+import com.animedetour.android.database.facet.FacetService;
+import com.animedetour.android.database.search.EventSearchEngine;
+import com.animedetour.android.model.Event;
+import com.animedetour.android.model.MetaData;
+import com.animedetour.android.model.transformer.Transformer;
+import com.animedetour.api.sched.ScheduleEndpoint;
+import com.animedetour.api.sched.model.ApiEvent;
+import com.j256.ormlite.dao.Dao;
+import monolog.Monolog;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Looks up the locally stored events that match an event query.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class EventQueryWorker extends SyncEventsWorker
+{
+    final private EventQueryEngine queryEngine;
+    final private EventQuery query;
+
+    public EventQueryWorker(
+        Dao<Event, String> localAccess,
+        Dao<MetaData, Integer> metaData,
+        ScheduleEndpoint remoteAccess,
+        Transformer<ApiEvent, Event> eventTransformer,
+        Monolog logger,
+        DataGeneration dataGeneration,
+        EventSearchEngine searchEngine,
+        FacetService facetService,
+        DatabaseExecutor databaseExecutor,
+        EventPreparer preparer,
+        EventQueryEngine queryEngine,
+        EventQuery query
+    ) {
+        super(localAccess, metaData, remoteAccess, eventTransformer, logger, dataGeneration, searchEngine, facetService, databaseExecutor, preparer);
+
+        this.queryEngine = queryEngine;
+        this.query = query;
+    }
+
+    @Override
+    public List<Event> lookupLocal() throws SQLException
+    {
+        return this.prepare(this.queryEngine.query(this.query));
+    }
+}
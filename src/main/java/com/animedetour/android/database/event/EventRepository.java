@@ -8,15 +8,24 @@
  */
 package com.animedetour.android.database.event;
 
+import com.animedetour.android.database.DataGeneration;
+import com.animedetour.android.database.QueryCache;
+import com.animedetour.android.database.QueryPriority;
+import com.animedetour.android.model.ConventionDays;
 import com.animedetour.android.model.Event;
 import com.inkapplications.groundcontrol.CriteriaWorkerFactory;
 import com.inkapplications.groundcontrol.SubscriptionFactory;
 import com.inkapplications.groundcontrol.Worker;
 import com.j256.ormlite.dao.Dao;
+import monolog.Monolog;
 import org.javatuples.Pair;
 import org.joda.time.DateTime;
+import rx.Observable;
 import rx.Observer;
+import rx.Scheduler;
 import rx.Subscription;
+import rx.android.schedulers.AndroidSchedulers;
+import rx.subscriptions.Subscriptions;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -26,6 +35,8 @@ import java.util.List;
  *
  * This repository creates new requests asynchronously where needed by
  * delegating to several different worker services.
+ * Results of completed requests are kept in a cache until the local data
+ * changes, so that repeated requests can be returned immediately.
  *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
@@ -34,12 +45,18 @@ public class EventRepository
     /** Manage in-flight requests to async repos. */
     final private SubscriptionFactory<Event> subscriptionFactory;
 
+    /** Manage in-flight requests that are loading data ahead of time. */
+    final private SubscriptionFactory<Event> prefetchSubscriptionFactory;
+
     /** A local DAO for storing events. */
     final private Dao<Event, String> localAccess;
 
     /** Worker for looking up a list of all events. */
     final private Worker<List<Event>> allEventsWorker;
 
+    /** Worker for looking up the days of the saved schedule. */
+    final private ConventionDaysWorker conventionDaysWorker;
+
     /** Worker for looking up a list of events by their start time. */
     final private CriteriaWorkerFactory<List<Event>, Pair<DateTime, Boolean>> allByDayFactory;
 
@@ -49,32 +66,76 @@ public class EventRepository
     /** Worker for looking up a single event of a type. */
     final private CriteriaWorkerFactory<List<Event>, String> upcomingByTypeFactory;
 
+    /** Worker for looking up events matching a search. */
     final private CriteriaWorkerFactory<List<Event>, String> allMatchingFactory;
 
+    /** Worker for looking up events matching any combination of criteria. */
+    final private CriteriaWorkerFactory<List<Event>, EventQuery> queryFactory;
+
+    /** Recent query results, by the full criteria of the query. */
+    final private QueryCache<List<Event>> queryCache;
+
+    /** Events from recent query results, by their ID. */
+    final private QueryCache<Event> eventCache;
+
+    /** Thread to run single event lookups on. */
+    final private Scheduler databaseScheduler;
+
+    /** Counter of changes to the local data, to invalidate cached results. */
+    final private DataGeneration dataGeneration;
+
+    /** Logger for reporting cache performance. */
+    final private Monolog logger;
+
     /**
      * @param subscriptionFactory Manage in-flight requests to async repos.
+     * @param prefetchSubscriptionFactory Manage in-flight requests that are loading data ahead of time.
      * @param localAccess A local DAO for storing events.
      * @param allEventsWorker Worker for looking up a list of all events.
+     * @param conventionDaysWorker Worker for looking up the days of the saved schedule.
      * @param allByDayFactory Worker for looking up a list of events by their start time.
      * @param upcomingByTagFactory Worker for looking up a single event with a tag.
      * @param upcomingByTypeFactory Worker for looking up a single event of a type.
+     * @param allMatchingFactory Worker for looking up events matching a search.
+     * @param queryFactory Worker for looking up events matching any combination of criteria.
+     * @param queryCache Recent query results, by the full criteria of the query.
+     * @param eventCache Events from recent query results, by their ID.
+     * @param databaseScheduler Thread to run single event lookups on.
+     * @param dataGeneration Counter of changes to the local data, to invalidate cached results.
+     * @param logger Logger for reporting cache performance.
      */
     public EventRepository(
         SubscriptionFactory<Event> subscriptionFactory,
+        SubscriptionFactory<Event> prefetchSubscriptionFactory,
         Dao<Event, String> localAccess,
         AllEventsWorker allEventsWorker,
+        ConventionDaysWorker conventionDaysWorker,
         CriteriaWorkerFactory<List<Event>, Pair<DateTime, Boolean>> allByDayFactory,
         CriteriaWorkerFactory<List<Event>, String> upcomingByTagFactory,
         CriteriaWorkerFactory<List<Event>, String> upcomingByTypeFactory,
-        CriteriaWorkerFactory<List<Event>, String> allMatchingFactory
+        CriteriaWorkerFactory<List<Event>, String> allMatchingFactory,
+        CriteriaWorkerFactory<List<Event>, EventQuery> queryFactory,
+        QueryCache<List<Event>> queryCache,
+        QueryCache<Event> eventCache,
+        Scheduler databaseScheduler,
+        DataGeneration dataGeneration,
+        Monolog logger
     ) {
         this.localAccess = localAccess;
         this.allEventsWorker = allEventsWorker;
+        this.conventionDaysWorker = conventionDaysWorker;
         this.subscriptionFactory = subscriptionFactory;
+        this.prefetchSubscriptionFactory = prefetchSubscriptionFactory;
         this.allByDayFactory = allByDayFactory;
         this.upcomingByTagFactory = upcomingByTagFactory;
         this.upcomingByTypeFactory = upcomingByTypeFactory;
         this.allMatchingFactory = allMatchingFactory;
+        this.queryFactory = queryFactory;
+        this.queryCache = queryCache;
+        this.eventCache = eventCache;
+        this.databaseScheduler = databaseScheduler;
+        this.dataGeneration = dataGeneration;
+        this.logger = logger;
     }
 
     /**
@@ -84,11 +145,7 @@ public class EventRepository
      */
     public Subscription findAll(Observer<List<Event>> observer)
     {
-        return this.subscriptionFactory.createCollectionSubscription(
-            this.allEventsWorker,
-            observer,
-            "findAll"
-        );
+        return this.find("findAll", this.allEventsWorker, ResultExpiration.MAX_AGE, QueryPriority.VISIBLE, observer);
     }
 
     /**
@@ -102,12 +159,30 @@ public class EventRepository
      */
     public Subscription findAllOnDay(DateTime day, boolean includePast, Observer<List<Event>> observer)
     {
-        String key = "findAllOnDay:" + day.getDayOfYear();
-        return this.subscriptionFactory.createCollectionSubscription(
-            this.allByDayFactory.createWorker(new Pair<>(day, includePast)),
-            observer,
-            key
-        );
+        return this.findAllOnDay(day, includePast, QueryPriority.VISIBLE, observer);
+    }
+
+    /**
+     * Find All events for a specified day.
+     *
+     * This is run by the START time of the event
+     *
+     * @param day The day to lookup events for
+     * @param includePast Whether to include events that have ended in the lookup
+     * @param priority Whether the events are being shown now, or loaded ahead of time.
+     * @return an observable that will update with events data
+     */
+    public Subscription findAllOnDay(
+        DateTime day,
+        boolean includePast,
+        QueryPriority priority,
+        Observer<List<Event>> observer
+    ) {
+        String key = "findAllOnDay:" + day.toLocalDate() + ":" + includePast;
+        Worker<List<Event>> worker = this.allByDayFactory.createWorker(new Pair<>(day, includePast));
+        ResultExpiration expiration = includePast ? ResultExpiration.MAX_AGE : ResultExpiration.FIRST_END;
+
+        return this.find(key, worker, expiration, priority, observer);
     }
 
     /**
@@ -127,11 +202,9 @@ public class EventRepository
     public Subscription findUpcomingByType(String type, Observer<List<Event>> observer)
     {
         String key = "findUpcomingByType:" + type;
-        return this.subscriptionFactory.createCollectionSubscription(
-            this.upcomingByTypeFactory.createWorker(type),
-            observer,
-            key
-        );
+        Worker<List<Event>> worker = this.upcomingByTypeFactory.createWorker(type);
+
+        return this.find(key, worker, ResultExpiration.FIRST_START, QueryPriority.VISIBLE, observer);
     }
 
     /**
@@ -142,11 +215,9 @@ public class EventRepository
     public Subscription findUpcomingByTag(String tag, Observer<List<Event>> observer)
     {
         String key = "findUpcomingByTag:" + tag;
-        return this.subscriptionFactory.createCollectionSubscription(
-            this.upcomingByTagFactory.createWorker(tag),
-            observer,
-            key
-        );
+        Worker<List<Event>> worker = this.upcomingByTagFactory.createWorker(tag);
+
+        return this.find(key, worker, ResultExpiration.FIRST_START, QueryPriority.VISIBLE, observer);
     }
 
     /**
@@ -157,11 +228,128 @@ public class EventRepository
     public Subscription findMatching(String search, Observer<List<Event>> observer)
     {
         String key = "findMatching:" + search;
-        return this.subscriptionFactory.createCollectionSubscription(
-            this.allMatchingFactory.createWorker(search),
-            observer,
-            key
+        Worker<List<Event>> worker = this.allMatchingFactory.createWorker(search);
+
+        return this.find(key, worker, ResultExpiration.MAX_AGE, QueryPriority.VISIBLE, observer);
+    }
+
+    /**
+     * Finds events matching every criteria of a query.
+     *
+     * @param query The combination of criteria to find events by.
+     */
+    public Subscription findByQuery(EventQuery query, Observer<List<Event>> observer)
+    {
+        String key = "findByQuery:" + query.getKey();
+        Worker<List<Event>> worker = this.queryFactory.createWorker(query);
+        ResultExpiration expiration = ResultExpiration.MAX_AGE;
+        if (false == query.includesStarted()) {
+            expiration = ResultExpiration.FIRST_START;
+        } else if (false == query.includesEnded()) {
+            expiration = ResultExpiration.FIRST_END;
+        }
+
+        return this.find(key, worker, expiration, QueryPriority.VISIBLE, observer);
+    }
+
+    /**
+     * Find a single event by its ID.
+     *
+     * Events that were part of a recent query result are delivered to the
+     * observer before this method returns. Otherwise the event is read from
+     * the local data off of the main thread.
+     *
+     * @param id The ID of the event to find.
+     * @param observer Observer to receive the event, or null if it no longer exists.
+     */
+    public Subscription findById(String id, Observer<Event> observer)
+    {
+        Event cached = this.eventCache.get(id, this.dataGeneration.get(), new DateTime());
+
+        if (null != cached) {
+            observer.onNext(cached);
+            observer.onCompleted();
+
+            return Subscriptions.empty();
+        }
+
+        Observable<Event> callback = Observable.create(new EventByIdWorker(this.localAccess, id));
+        callback = callback.subscribeOn(this.databaseScheduler);
+        callback = callback.observeOn(AndroidSchedulers.mainThread());
+
+        return callback.subscribe(observer);
+    }
+
+    /**
+     * Find the days of the saved schedule.
+     *
+     * This only reads the local data, it never syncs with the API, so it is
+     * cheap enough to check before deciding whether to show the schedule.
+     *
+     * @param observer Observer to receive the days, or null if no schedule has been saved.
+     */
+    public Subscription findConventionDays(Observer<ConventionDays> observer)
+    {
+        Observable<ConventionDays> callback = Observable.create(this.conventionDaysWorker);
+        callback = callback.subscribeOn(this.databaseScheduler);
+        callback = callback.observeOn(AndroidSchedulers.mainThread());
+
+        return callback.subscribe(observer);
+    }
+
+    /**
+     * Return a cached result for a query, or start a new request for it.
+     *
+     * If a valid result is cached, it is delivered to the observer before
+     * this method returns and no request is made.
+     *
+     * @param key A key describing the full criteria of the query.
+     * @param worker Worker to run the query if it is not cached.
+     * @param expiration Strategy for determining how long the result is valid.
+     * @param priority Whether the result is being shown now, or loaded ahead of time.
+     * @param observer Observer to receive the result.
+     */
+    private Subscription find(
+        String key,
+        Worker<List<Event>> worker,
+        ResultExpiration expiration,
+        QueryPriority priority,
+        Observer<List<Event>> observer
+    ) {
+        long generation = this.dataGeneration.get();
+        List<Event> cached = this.queryCache.get(key, generation, new DateTime());
+
+        if (null != cached) {
+            this.logger.debug("Query cache hit for " + key + ": " + this.queryCache);
+            observer.onNext(cached);
+            observer.onCompleted();
+
+            return Subscriptions.empty();
+        }
+
+        this.logger.debug("Query cache miss for " + key + ": " + this.queryCache);
+        CachingEventObserver cachingObserver = new CachingEventObserver(
+            this.queryCache,
+            this.eventCache,
+            key,
+            generation,
+            expiration,
+            observer
         );
+
+        SubscriptionFactory<Event> subscriptionFactory = priority == QueryPriority.PREFETCH
+            ? this.prefetchSubscriptionFactory
+            : this.subscriptionFactory;
+
+        return subscriptionFactory.createCollectionSubscription(worker, cachingObserver, key);
+    }
+
+    /**
+     * @return Recent query results, including hit and miss counts.
+     */
+    public QueryCache<List<Event>> getQueryCache()
+    {
+        return this.queryCache;
     }
 
     /**
@@ -185,5 +373,6 @@ public class EventRepository
     public void persist(Event event) throws SQLException
     {
         this.localAccess.createOrUpdate(event);
+        this.dataGeneration.increment();
     }
 }
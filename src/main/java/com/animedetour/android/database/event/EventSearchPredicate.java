@@ -0,0 +1,79 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.database.search.MatchType;
+import com.animedetour.android.database.search.SearchField;
+import com.animedetour.android.database.search.TextFolder;
+import com.animedetour.android.model.Event;
+import com.google.common.base.Predicate;
+
+import java.util.List;
+
+/**
+ * Matches and scores events against a search query in memory.
+ *
+ * This mirrors the search index used by {@link EventQueryEngine}, so
+ * that a list of results can be narrowed down and re-ranked without running
+ * the search again: every word in the query must match a word of the event's
+ * name, hosts, tags, category or room, ignoring case and accents.
+ *
+ * @see com.animedetour.android.database.search.EventSearchIndex
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class EventSearchPredicate implements Predicate<Event>
+{
+    /** The normalized words of the search query. */
+    final private List<String> terms;
+
+    /**
+     * @param criteria The search query to match events against.
+     */
+    public EventSearchPredicate(String criteria)
+    {
+        this.terms = TextFolder.tokenize(criteria);
+    }
+
+    @Override
+    public boolean apply(Event event)
+    {
+        return this.score(event) > 0;
+    }
+
+    /**
+     * Score an event the same way that the search index does.
+     *
+     * @param event The event to score.
+     * @return The relevance of the event, or 0 if it does not match.
+     */
+    public int score(Event event)
+    {
+        int total = 0;
+
+        for (String term : this.terms) {
+            int best = 0;
+
+            for (SearchField field : SearchField.values()) {
+                for (String token : field.getTokens(event)) {
+                    MatchType type = MatchType.of(token, term);
+                    if (null != type) {
+                        best = Math.max(best, field.getWeight() * type.getMultiplier());
+                    }
+                }
+            }
+
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+
+        return total;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+
+import java.util.List;
+
+/**
+ * Determines how long the result of an event query stays correct.
+ *
+ * Queries that compare against the current time will return different
+ * results once one of the events they found starts or ends, even if the data
+ * has not changed. Every result also has a maximum age, so that cached
+ * results do not stop the data from being checked for staleness and synced.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public enum ResultExpiration
+{
+    /** Results that do not depend on the current time. */
+    MAX_AGE {
+        @Override
+        protected DateTime getBoundary(Event event)
+        {
+            return null;
+        }
+    },
+
+    /** Results that only include events that have not yet started. */
+    FIRST_START {
+        @Override
+        protected DateTime getBoundary(Event event)
+        {
+            return event.getStart();
+        }
+    },
+
+    /** Results that only include events that have not yet ended. */
+    FIRST_END {
+        @Override
+        protected DateTime getBoundary(Event event)
+        {
+            return event.getEnd();
+        }
+    };
+
+    /** The longest amount of time to keep any query result, in minutes. */
+    final private static int MAX_AGE_MINUTES = 10;
+
+    /**
+     * @param event An event in the query result.
+     * @return The time when the event would change the query result, or null
+     *         if the event's times do not affect the result.
+     */
+    abstract protected DateTime getBoundary(Event event);
+
+    /**
+     * Find when a query result will no longer be correct.
+     *
+     * @param result The events returned by the query.
+     * @param now The time that the query was run.
+     * @return The earliest boundary after now in the result, or the maximum
+     *         age of the result if that comes first.
+     */
+    public DateTime getExpiration(List<Event> result, DateTime now)
+    {
+        DateTime expiration = now.plusMinutes(MAX_AGE_MINUTES);
+
+        for (Event event : result) {
+            DateTime boundary = this.getBoundary(event);
+
+            if (null != boundary && boundary.isAfter(now) && boundary.isBefore(expiration)) {
+                expiration = boundary;
+            }
+        }
+
+        return expiration;
+    }
+}
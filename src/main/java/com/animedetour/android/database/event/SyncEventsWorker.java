@@ -8,6 +8,12 @@
  */
 package com.animedetour.android.database.event;
 
+import com.animedetour.android.database.BackgroundSync;
+import com.animedetour.android.database.DataGeneration;
+import com.animedetour.android.database.DatabaseExecutor;
+import com.animedetour.android.database.facet.FacetService;
+import com.animedetour.android.database.search.EventSearchEngine;
+import com.animedetour.android.model.ConventionDays;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.model.MetaData;
 import com.animedetour.android.model.transformer.Transformer;
@@ -17,21 +23,26 @@ import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import com.inkapplications.groundcontrol.RemovableSyncWorker;
 import com.j256.ormlite.dao.Dao;
-import com.j256.ormlite.stmt.DeleteBuilder;
 import monolog.Monolog;
 import org.joda.time.DateTime;
+import rx.Subscriber;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * Controls Synchronizing between the local event database with the remote API.
  *
+ * The API is only called from the sync thread, so a reader is never held
+ * while waiting on the network.
+ *
+ * @see BackgroundSync
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
-abstract public class SyncEventsWorker extends RemovableSyncWorker<List<Event>>
+abstract public class SyncEventsWorker extends RemovableSyncWorker<List<Event>> implements BackgroundSync.Source<List<Event>>
 {
     /** A local DAO for storing events. */
     final private Dao<Event, String> localAccess;
@@ -48,25 +59,74 @@ abstract public class SyncEventsWorker extends RemovableSyncWorker<List<Event>>
     /** Application logger for database errors. */
     final private Monolog logger;
 
+    /** Counter to mark the local data changed after writing events. */
+    final private DataGeneration dataGeneration;
+
+    /** Search index to rebuild after saving events. */
+    final private EventSearchEngine searchEngine;
+
+    /** Event counts to keep in step with the saved events. */
+    final private FacetService facetService;
+
+    /** Threads to run database work on, for making writes one at a time. */
+    final private DatabaseExecutor databaseExecutor;
+
+    /** Work to do ahead of time for the events found, before they're displayed. */
+    final private EventPreparer preparer;
+
     /**
      * @param localAccess A local DAO for storing events.
      * @param metaDataAccess Local information about the event data.
      * @param remoteAccess A remote endpoint for updating the local storage.
      * @param eventTransformer Service for changing API events into local models.
      * @param logger Application logger for database errors.
+     * @param dataGeneration Counter to mark the local data changed after writing events.
+     * @param searchEngine Search index to rebuild after saving events.
+     * @param facetService Event counts to keep in step with the saved events.
+     * @param databaseExecutor Threads to run database work on, for making writes one at a time.
+     * @param preparer Work to do ahead of time for the events found, before they're displayed.
      */
     public SyncEventsWorker(
         Dao<Event, String> localAccess,
         Dao<MetaData, Integer> metaDataAccess,
         ScheduleEndpoint remoteAccess,
         Transformer<ApiEvent, Event> eventTransformer,
-        Monolog logger
+        Monolog logger,
+        DataGeneration dataGeneration,
+        EventSearchEngine searchEngine,
+        FacetService facetService,
+        DatabaseExecutor databaseExecutor,
+        EventPreparer preparer
     ) {
         this.localAccess = localAccess;
         this.metaDataAccess = metaDataAccess;
         this.remoteAccess = remoteAccess;
         this.eventTransformer = eventTransformer;
         this.logger = logger;
+        this.dataGeneration = dataGeneration;
+        this.searchEngine = searchEngine;
+        this.facetService = facetService;
+        this.databaseExecutor = databaseExecutor;
+        this.preparer = preparer;
+    }
+
+    /**
+     * Prepare events found locally for display, while still on the database thread.
+     *
+     * @param events The events found by the worker's query.
+     * @return The same events.
+     */
+    protected List<Event> prepare(List<Event> events)
+    {
+        this.preparer.prepare(events);
+
+        return events;
+    }
+
+    @Override
+    public void call(Subscriber<? super List<Event>> subscriber)
+    {
+        new BackgroundSync<>(this, this.databaseExecutor).call(subscriber);
     }
 
     @Override
@@ -76,20 +136,53 @@ abstract public class SyncEventsWorker extends RemovableSyncWorker<List<Event>>
         return this.eventTransformer.bulkTransform(events);
     }
 
+    /**
+     * Save the events from the API, and remove any that are no longer in it.
+     */
+    @Override
+    public void replaceLocal(List<Event> events) throws SQLException
+    {
+        this.saveLocal(events);
+        this.remove(events);
+    }
+
+    /**
+     * Save events on the database writer thread.
+     */
     @Override
     public void saveLocal(final List<Event> events) throws SQLException
+    {
+        this.databaseExecutor.write(new Callable<Void>()
+        {
+            @Override
+            public Void call() throws Exception
+            {
+                SyncEventsWorker.this.save(events);
+                return null;
+            }
+        });
+    }
+
+    private void save(List<Event> events) throws SQLException
     {
         this.logger.info("Saving " + events.size() + " events");
 
         try {
-            this.localAccess.callBatchTasks(new BatchEventSave(this.localAccess, events));
+            this.localAccess.callBatchTasks(new BatchEventSave(this.localAccess, this.facetService, events));
+            long generation = this.dataGeneration.increment();
+            this.searchEngine.index(events, generation);
         } catch (Exception e) {
             this.logger.error("Failed saving events", e);
+            this.dataGeneration.increment();
         }
 
         MetaData metaData = this.metaDataAccess.queryForId(MetaData.SINGLETON);
         metaData = null == metaData ? new MetaData() : metaData;
         metaData = metaData.withEventsFetched(new DateTime());
+        ConventionDays days = ConventionDays.fromEvents(events);
+        if (null != days) {
+            metaData = metaData.withConventionDays(days);
+        }
         this.metaDataAccess.createOrUpdate(metaData);
     }
 
@@ -104,16 +197,35 @@ abstract public class SyncEventsWorker extends RemovableSyncWorker<List<Event>>
     @Override
     public void removeLocal(List<Event> deprecated) throws SQLException
     {
-        List<Event> events = new ArrayList<>(this.lookupRemote());
+        this.remove(this.lookupRemote());
+    }
+
+    /**
+     * Remove local events that aren't in the current list from the API.
+     *
+     * @param current Every event currently in the API.
+     */
+    private void remove(List<Event> current) throws SQLException
+    {
+        List<Event> events = new ArrayList<>(current);
         List<String> newIds = Lists.transform(events, new Function<Event, String>() {
             @Override public String apply(Event input) {
                 return input.getId();
             }
         });
 
-        DeleteBuilder<Event, String> builder = this.localAccess.deleteBuilder();
-        builder.where().notIn("id", newIds);
-        this.localAccess.delete(builder.prepare());
+        final BatchEventRemove batch = new BatchEventRemove(this.localAccess, this.facetService, newIds);
+        int removed = this.databaseExecutor.write(new Callable<Integer>()
+        {
+            @Override
+            public Integer call() throws Exception
+            {
+                return SyncEventsWorker.this.localAccess.callBatchTasks(batch);
+            }
+        });
+        if (removed > 0) {
+            this.dataGeneration.increment();
+        }
     }
 
     /**
@@ -9,54 +9,32 @@
 package com.animedetour.android.database.event;
 
 import com.animedetour.android.model.Event;
-import com.animedetour.android.model.MetaData;
-import com.animedetour.android.model.transformer.Transformer;
-import com.animedetour.api.sched.ScheduleEndpoint;
-import com.animedetour.api.sched.model.ApiEvent;
 import com.inkapplications.groundcontrol.CriteriaWorkerFactory;
 import com.inkapplications.groundcontrol.Worker;
-import com.j256.ormlite.dao.Dao;
-import monolog.Monolog;
 
 import java.util.List;
 
 /**
  * Creates new workers to lookup events by type so that we can pass criteria to it.
  *
+ * Only the next event of the type to start is included.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 final public class UpcomingEventByTypeFactory implements CriteriaWorkerFactory<List<Event>, String>
 {
-    final private Dao<Event, String> localAccess;
-    final private Dao<MetaData, Integer> metaData;
-    final private ScheduleEndpoint remoteAccess;
-    final private Transformer<ApiEvent, Event> eventTransformer;
-    final private Monolog logger;
+    final private CriteriaWorkerFactory<List<Event>, EventQuery> queryFactory;
 
-    public UpcomingEventByTypeFactory(
-        Dao<Event, String> localAccess,
-        Dao<MetaData, Integer> metaData,
-        ScheduleEndpoint remoteAccess,
-        Transformer<ApiEvent, Event> eventTransformer,
-        Monolog logger
-    ) {
-        this.localAccess = localAccess;
-        this.metaData = metaData;
-        this.remoteAccess = remoteAccess;
-        this.eventTransformer = eventTransformer;
-        this.logger = logger;
+    public UpcomingEventByTypeFactory(CriteriaWorkerFactory<List<Event>, EventQuery> queryFactory)
+    {
+        this.queryFactory = queryFactory;
     }
 
     @Override
-    public Worker<List<Event>> createWorker(String criteria)
+    public Worker<List<Event>> createWorker(String type)
     {
-        return new UpcomingEventByTypeWorker(
-            this.localAccess,
-            this.metaData,
-            this.remoteAccess,
-            this.eventTransformer,
-            this.logger,
-            criteria
-        );
+        EventQuery query = new EventQuery().withCategory(type).withStarted(false).withLimit(1);
+
+        return this.queryFactory.createWorker(query);
     }
 }
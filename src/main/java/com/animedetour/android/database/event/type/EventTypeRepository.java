@@ -1,15 +1,17 @@
 /*
  * This file is part of the Anime Detour Android application
  *
- * Copyright (c) 2015 Anime Twin Cities, Inc.
+ * Copyright (c) 2015-2016 Anime Twin Cities, Inc.
  *
  * For the full copyright and license information, please view the LICENSE
  * file that was distributed with this source code.
  */
 package com.animedetour.android.database.event.type;
 
+import com.animedetour.android.database.facet.AllFacetsWorker;
+import com.animedetour.android.database.facet.FacetService;
+import com.animedetour.android.model.Facet;
 import com.inkapplications.groundcontrol.SubscriptionFactory;
-import com.inkapplications.groundcontrol.Worker;
 import rx.Observer;
 import rx.Subscription;
 
@@ -18,30 +20,44 @@ import java.util.List;
 /**
  * Looks up information about the type field on the event object.
  *
+ * Types are read from the precomputed facet counts rather than the events.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 public class EventTypeRepository
 {
-    final private SubscriptionFactory<String> categorySubscriptionFactory;
-    final private Worker<List<String>> allCategoriesWorker;
+    final private SubscriptionFactory<Facet> facetSubscriptionFactory;
+    final private FacetService facetService;
 
     public EventTypeRepository(
-        SubscriptionFactory<String> categorySubscriptionFactory,
-        Worker<List<String>> allCategoriesWorker
+        SubscriptionFactory<Facet> facetSubscriptionFactory,
+        FacetService facetService
     ) {
-        this.categorySubscriptionFactory = categorySubscriptionFactory;
-        this.allCategoriesWorker = allCategoriesWorker;
+        this.facetSubscriptionFactory = facetSubscriptionFactory;
+        this.facetService = facetService;
+    }
+
+    /**
+     * Look up all of the different event types on events saved in the local
+     * database, with the number of events of each type.
+     */
+    public Subscription findAllCategories(Observer<List<Facet>> observer)
+    {
+        return this.findAll(Facet.Type.CATEGORY, observer);
     }
 
     /**
-     * Look up all of the different event types on events saved in the local database.
+     * Look up all of the different values of an event field, with the number
+     * of events with each value.
+     *
+     * @param type The event field to get the values of.
      */
-    public Subscription findAllCategories(Observer<List<String>> observer)
+    public Subscription findAll(Facet.Type type, Observer<List<Facet>> observer)
     {
-        return this.categorySubscriptionFactory.createCollectionSubscription(
-            this.allCategoriesWorker,
+        return this.facetSubscriptionFactory.createCollectionSubscription(
+            new AllFacetsWorker(this.facetService, type),
             observer,
-            "findAllCategories"
+            "findAll:" + type
         );
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.facet;
+
+import com.animedetour.android.model.Facet;
+import com.inkapplications.groundcontrol.SingleYieldWorker;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Looks up the precomputed event counts for every value of an event field.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class AllFacetsWorker extends SingleYieldWorker<List<Facet>>
+{
+    final private FacetService facetService;
+    final private Facet.Type type;
+
+    /**
+     * @param facetService Service storing the event counts.
+     * @param type The event field to get the values of.
+     */
+    public AllFacetsWorker(FacetService facetService, Facet.Type type)
+    {
+        super();
+
+        this.facetService = facetService;
+        this.type = type;
+    }
+
+    @Override
+    public List<Facet> lookupLocal() throws SQLException
+    {
+        return this.facetService.findAll(this.type);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.facet;
+
+import com.animedetour.android.model.Event;
+import com.animedetour.android.model.Facet;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tallies up how facet counts change as events are added and removed.
+ *
+ * An event counts once towards its category, its room, and each of its
+ * distinct tags. Blank values are not counted.
+ *
+ * This is not thread safe, it is intended to be used within a single
+ * database operation.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class FacetCounts
+{
+    /** The change in count for each facet, by ID. */
+    final private Map<String, Facet> changes = new LinkedHashMap<>();
+
+    /**
+     * Count an event that is being added.
+     */
+    public void add(Event event)
+    {
+        this.count(event, 1);
+    }
+
+    /**
+     * Un-count an event that is being removed or replaced.
+     */
+    public void remove(Event event)
+    {
+        this.count(event, -1);
+    }
+
+    /**
+     * Get the facets that changed.
+     *
+     * @return Facets whose count is the *change* in the number of events for
+     *         that value, rather than the total. Facets that ended up with no
+     *         change are left out.
+     */
+    public List<Facet> getChanges()
+    {
+        List<Facet> changes = new ArrayList<>(this.changes.size());
+        for (Facet change : this.changes.values()) {
+            if (change.getCount() != 0) {
+                changes.add(change);
+            }
+        }
+
+        return changes;
+    }
+
+    private void count(Event event, int amount)
+    {
+        this.count(Facet.Type.CATEGORY, event.getCategory(), amount);
+        this.count(Facet.Type.ROOM, event.getRoom(), amount);
+
+        Set<String> tags = new LinkedHashSet<>(event.getTags());
+        for (String tag : tags) {
+            this.count(Facet.Type.TAG, tag, amount);
+        }
+    }
+
+    private void count(Facet.Type type, String value, int amount)
+    {
+        if (null == value || value.trim().isEmpty()) {
+            return;
+        }
+
+        String id = Facet.createId(type, value);
+        Facet change = this.changes.get(id);
+        int current = null == change ? 0 : change.getCount();
+
+        this.changes.put(id, new Facet(type, value, current + amount));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.facet;
+
+import com.animedetour.android.model.Facet;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.QueryBuilder;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Stores the number of events for each category, tag and room.
+ *
+ * Counts are updated by applying the changes tallied while events are saved
+ * or removed, so that listing filters never has to read the event table.
+ * Changes should be applied in the same batch operation that changes the
+ * events, so the two can't get out of step.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class FacetService
+{
+    /** A local DAO for storing facets. */
+    final private Dao<Facet, String> localAccess;
+
+    /**
+     * @param localAccess A local DAO for storing facets.
+     */
+    public FacetService(Dao<Facet, String> localAccess)
+    {
+        this.localAccess = localAccess;
+    }
+
+    /**
+     * Update the stored counts.
+     *
+     * Facets that no longer have any events are removed.
+     *
+     * @param counts Changes tallied while saving or removing events.
+     * @throws SQLException If anything goes wrong writing the counts.
+     */
+    public void apply(FacetCounts counts) throws SQLException
+    {
+        for (Facet change : counts.getChanges()) {
+            Facet existing = this.localAccess.queryForId(change.getId());
+            int count = change.getCount() + (null == existing ? 0 : existing.getCount());
+
+            if (count > 0) {
+                this.localAccess.createOrUpdate(change.withCount(count));
+            } else if (null != existing) {
+                this.localAccess.deleteById(change.getId());
+            }
+        }
+    }
+
+    /**
+     * Look up every stored facet of one type.
+     *
+     * @param type The event field to get the values of.
+     * @return Facets for every value with events, ordered by value.
+     * @throws SQLException If anything goes wrong reading the counts.
+     */
+    public List<Facet> findAll(Facet.Type type) throws SQLException
+    {
+        QueryBuilder<Facet, String> query = this.localAccess.queryBuilder();
+        query.where().eq("type", type);
+        query.orderBy("value", true);
+
+        return query.query();
+    }
+}
@@ -8,25 +8,39 @@
  */
 package com.animedetour.android.database.favorite;
 
+import com.animedetour.android.database.DatabaseExecutor;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.schedule.favorite.Favorite;
 import com.inkapplications.groundcontrol.SingleYieldWorker;
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.stmt.PreparedDelete;
-import com.j256.ormlite.stmt.QueryBuilder;
 import rx.Observable;
 import rx.Observer;
+import rx.Scheduler;
+import rx.Subscriber;
 import rx.Subscription;
 import rx.android.schedulers.AndroidSchedulers;
+import rx.functions.Action0;
 import rx.schedulers.Schedulers;
+import rx.subscriptions.Subscriptions;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Provides an API for querying for Events that the user has marked as favorited.
  *
+ * Whether an event is favorited is answered from an in-memory store of
+ * favorite ID's, which is loaded once in the background and kept up to date
+ * by this repository's changes. Nothing here reads the database on the
+ * caller's thread; until the ID's load, nothing is favorited, and anything
+ * observing the ID's is told once they have. Favorites should only be
+ * changed through here.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 public class FavoriteRepository
@@ -37,16 +51,34 @@ public class FavoriteRepository
     /** Worker for looking up a list of all favorited events. */
     final private SingleYieldWorker<List<Favorite>> getAllFavoritesWorker;
 
+    /** Thread to run asynchronous lookups on. */
+    final private Scheduler databaseScheduler;
+
+    /** In-memory ID's of every favorited event. */
+    final private FavoriteStore store;
+
+    /** Runs favorite changes on the database writer thread. */
+    final private DatabaseExecutor databaseExecutor;
+
     /**
      * @param localAccess Local favorite storage.
      * @param getAllFavoritesWorker Worker for looking up a list of all favorited events.
+     * @param databaseScheduler Thread to run asynchronous lookups on.
+     * @param store In-memory ID's of every favorited event.
+     * @param databaseExecutor Runs favorite changes on the database writer thread.
      */
     public FavoriteRepository(
         Dao<Favorite, Integer> localAccess,
-        SingleYieldWorker<List<Favorite>> getAllFavoritesWorker
+        SingleYieldWorker<List<Favorite>> getAllFavoritesWorker,
+        Scheduler databaseScheduler,
+        FavoriteStore store,
+        DatabaseExecutor databaseExecutor
     ) {
         this.localAccess = localAccess;
         this.getAllFavoritesWorker = getAllFavoritesWorker;
+        this.databaseScheduler = databaseScheduler;
+        this.store = store;
+        this.databaseExecutor = databaseExecutor;
     }
 
     /**
@@ -55,40 +87,99 @@ public class FavoriteRepository
     public Subscription findAll(Observer<List<Favorite>> observer)
     {
         Observable<List<Favorite>> callback = Observable.create(this.getAllFavoritesWorker);
-        callback = callback.subscribeOn(Schedulers.io());
+        callback = callback.subscribeOn(this.databaseScheduler);
         callback = callback.observeOn(AndroidSchedulers.mainThread());
-        callback = callback.cache();
-        Subscription subscription = callback.subscribe(observer);
 
-        return subscription;
+        return callback.subscribe(observer);
+    }
+
+    /**
+     * Load the favorite ID's in the background, so they're ready before
+     * anything on screen needs them.
+     */
+    public void preload()
+    {
+        Observable<Set<String>> ids = Observable.create(new FavoriteIdsSubscription(false));
+        ids.subscribeOn(this.databaseScheduler).subscribe(new Observer<Set<String>>()
+        {
+            @Override public void onCompleted() {}
+            @Override public void onNext(Set<String> ids) {}
+
+            @Override
+            public void onError(Throwable e)
+            {
+                // Loading is tried again the next time the favorites are needed.
+            }
+        });
+    }
+
+    /**
+     * Watch the ID's of every favorited event.
+     *
+     * The observer is given the current ID's as soon as they're loaded, and
+     * again every time a favorite is saved or removed.
+     *
+     * @param observer Observer to inform of the favorited event ID's.
+     */
+    public Subscription observeFavoriteIds(Observer<Set<String>> observer)
+    {
+        Observable<Set<String>> ids = Observable.create(new FavoriteIdsSubscription(true));
+        ids = ids.subscribeOn(this.databaseScheduler);
+        ids = ids.observeOn(AndroidSchedulers.mainThread());
+
+        return ids.subscribe(observer);
+    }
+
+    /**
+     * Check if an event is favorited, without ever touching the database.
+     *
+     * @param eventId The event to check.
+     * @return Whether the event is favorited. False until the favorites load.
+     */
+    public boolean isFavorited(String eventId)
+    {
+        return this.store.contains(eventId);
+    }
+
+    /**
+     * Get the favorited event ID's, without ever touching the database.
+     *
+     * @return The ID's of every favorited event. Empty until the favorites load.
+     */
+    public Set<String> getFavoriteIds()
+    {
+        return this.store.getIds();
     }
 
     /**
      * Look up if a specified event has been marked as a favorite by the user.
      *
+     * If the favorites haven't been loaded yet, they start loading in the
+     * background. Use {@link #observeFavoriteIds} to be told once they have.
+     *
      * @param event The event to find a favorite for.
-     * @return Whether or not the user has favorited the event specified.
+     * @return Whether or not the user has favorited the event specified. False until the favorites load.
      */
-    public boolean isFavorited(Event event) throws SQLException
+    public boolean isFavorited(Event event)
     {
-        QueryBuilder<Favorite, Integer> builder = this.localAccess.queryBuilder();
-        builder.where().eq("event_id", event);
-        long favorites = builder.countOf();
+        this.preloadIfNeeded();
 
-        return favorites > 0;
+        return this.store.contains(event.getId());
     }
 
     /**
      * Look up if the user has any favorite events.
      *
-     * @return whether there was 1 or more favorited events.
+     * If the favorites haven't been loaded yet, they start loading in the
+     * background. Use {@link #observeFavoriteIds} to be told once they have.
+     *
+     * @return whether there was 1 or more favorited events. False until the favorites load.
      */
-    public boolean hasFavorites() throws SQLException
+    public boolean hasFavorites()
     {
-        QueryBuilder<Favorite, Integer> builder = this.localAccess.queryBuilder();
-        long favorites = builder.countOf();
+        this.preloadIfNeeded();
 
-        return favorites > 0;
+        return false == this.store.isEmpty();
     }
 
     /**
@@ -102,28 +193,56 @@ public class FavoriteRepository
     /**
      * Remove an event that was previously favorited by the user.
      *
+     * The favorite is removed from the in-memory store right away, and the
+     * delete is queued on the database writer thread without waiting for it,
+     * since the writer may be busy saving a sync. If the delete fails, the
+     * store is put back the way it was.
+     *
      * @param favorite The event to "un-favorite"
+     * @param observer Observer to inform once the delete is done, or if it failed.
      */
-    public void remove(Event favorite) throws SQLException
+    public Subscription remove(final Event favorite, Observer<Event> observer)
     {
-        DeleteBuilder<Favorite, Integer> builder = this.localAccess.deleteBuilder();
-        builder.where().eq("event_id", favorite);
-        PreparedDelete<Favorite> deleteQuery = builder.prepare();
+        final boolean wasFavorited = this.store.contains(favorite.getId());
+        this.store.remove(favorite.getId());
 
-        this.localAccess.delete(deleteQuery);
+        return this.write(new Observable.OnSubscribe<Event>()
+        {
+            @Override
+            public void call(Subscriber<? super Event> subscriber)
+            {
+                try {
+                    DeleteBuilder<Favorite, Integer> builder = FavoriteRepository.this.localAccess.deleteBuilder();
+                    builder.where().eq("event_id", favorite);
+                    PreparedDelete<Favorite> deleteQuery = builder.prepare();
+
+                    FavoriteRepository.this.localAccess.delete(deleteQuery);
+                } catch (SQLException e) {
+                    if (wasFavorited) {
+                        FavoriteRepository.this.store.add(favorite.getId());
+                    }
+                    subscriber.onError(e);
+                    return;
+                }
+
+                subscriber.onNext(favorite);
+                subscriber.onCompleted();
+            }
+        }, observer);
     }
 
     /**
      * Create a new Favorite record.
      *
      * @param event The event being marked as a favorite.
+     * @param observer Observer to inform once the favorite is saved, or if it failed.
      */
-    public void create(Event event) throws SQLException
+    public Subscription create(Event event, Observer<Favorite> observer)
     {
         Favorite favorite = new Favorite();
         favorite.setEvent(event);
 
-        this.save(favorite);
+        return this.save(favorite, observer);
     }
 
     /**
@@ -131,11 +250,130 @@ public class FavoriteRepository
      *
      * If there is no matching ID for the favorite, or if the ID is null, this
      * will create a new record. Otherwise, it will update the matching record.
+     * The favorite is added to the in-memory store right away, and the save is
+     * queued on the database writer thread without waiting for it. If the
+     * save fails, the store is put back the way it was.
      *
      * @param favorite The entity to be saved to the database.
+     * @param observer Observer to inform once the favorite is saved, or if it failed.
+     */
+    public Subscription save(final Favorite favorite, Observer<Favorite> observer)
+    {
+        final String eventId = null == favorite.getEvent() ? null : favorite.getEvent().getId();
+        final boolean wasFavorited = null != eventId && this.store.contains(eventId);
+        if (null != eventId) {
+            this.store.add(eventId);
+        }
+
+        return this.write(new Observable.OnSubscribe<Favorite>()
+        {
+            @Override
+            public void call(Subscriber<? super Favorite> subscriber)
+            {
+                try {
+                    FavoriteRepository.this.localAccess.createOrUpdate(favorite);
+                } catch (SQLException e) {
+                    if (null != eventId && false == wasFavorited) {
+                        FavoriteRepository.this.store.remove(eventId);
+                    }
+                    subscriber.onError(e);
+                    return;
+                }
+
+                subscriber.onNext(favorite);
+                subscriber.onCompleted();
+            }
+        }, observer);
+    }
+
+    /**
+     * Queue a write on the database writer thread, and report back to the
+     * observer on the main thread.
+     */
+    private <T> Subscription write(Observable.OnSubscribe<T> write, Observer<T> observer)
+    {
+        Observable<T> callback = Observable.create(write);
+        callback = callback.subscribeOn(Schedulers.from(this.databaseExecutor.getWriter()));
+        callback = callback.observeOn(AndroidSchedulers.mainThread());
+
+        return callback.subscribe(observer);
+    }
+
+    /**
+     * Start loading the favorites in the background, if they aren't already.
      */
-    public void save(Favorite favorite) throws SQLException
+    private void preloadIfNeeded()
     {
-        this.localAccess.createOrUpdate(favorite);
+        if (false == this.store.isLoaded()) {
+            this.preload();
+        }
+    }
+
+    /**
+     * Fill the favorite store from the database, if it isn't already.
+     */
+    private void load() throws SQLException
+    {
+        if (this.store.isLoaded()) {
+            return;
+        }
+
+        GenericRawResults<String[]> results = this.localAccess.queryRaw("SELECT event_id FROM favorite");
+        List<String> ids = new ArrayList<>();
+        for (String[] row : results) {
+            ids.add(row[0]);
+        }
+
+        this.store.load(ids);
+    }
+
+    /**
+     * Loads the favorite ID's, then optionally keeps emitting them as they
+     * change until unsubscribed.
+     */
+    private class FavoriteIdsSubscription implements Observable.OnSubscribe<Set<String>>
+    {
+        /** Whether to keep emitting changes after the ID's are loaded. */
+        final private boolean watch;
+
+        public FavoriteIdsSubscription(boolean watch)
+        {
+            this.watch = watch;
+        }
+
+        @Override
+        public void call(final Subscriber<? super Set<String>> subscriber)
+        {
+            try {
+                FavoriteRepository.this.load();
+            } catch (SQLException e) {
+                subscriber.onError(e);
+                return;
+            }
+
+            if (false == this.watch) {
+                subscriber.onNext(FavoriteRepository.this.store.getIds());
+                subscriber.onCompleted();
+                return;
+            }
+
+            final FavoriteStore.Listener listener = new FavoriteStore.Listener()
+            {
+                @Override
+                public void onFavoritesChanged(Set<String> eventIds)
+                {
+                    subscriber.onNext(eventIds);
+                }
+            };
+            subscriber.add(Subscriptions.create(new Action0()
+            {
+                @Override
+                public void call()
+                {
+                    FavoriteRepository.this.store.removeListener(listener);
+                }
+            }));
+            FavoriteRepository.this.store.addListener(listener);
+        }
     }
 }
@@ -0,0 +1,204 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.favorite;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The ID's of every favorited event, kept in memory for the whole process.
+ *
+ * This is loaded from the database once, and then kept up to date as
+ * favorites are saved and removed, so checking whether an event is a
+ * favorite never has to touch the database. The ID's are replaced as a whole
+ * on each change, so they can be read from any thread without locking.
+ *
+ * Favorites can be changed before the store is loaded, so that saving one
+ * never has to wait on the database. Those changes are kept aside and made
+ * to the loaded ID's, since the load may have read the database before the
+ * change was written to it.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class FavoriteStore
+{
+    /** The favorited event ID's, or null if they haven't been loaded yet. */
+    private volatile Set<String> ids;
+
+    /** Changes made before loading, by event ID: true if added, false if removed. */
+    final private Map<String, Boolean> pending = new LinkedHashMap<>();
+
+    /** Everything to be told when the favorites change. */
+    final private Collection<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @return Whether the favorites have been loaded from the database yet.
+     */
+    public boolean isLoaded()
+    {
+        return null != this.ids;
+    }
+
+    /**
+     * Fill the store with the favorites from the database.
+     *
+     * This only happens once, since the store is kept up to date after that.
+     * Any later loads are ignored.
+     *
+     * @param eventIds The ID's of every favorited event.
+     */
+    public void load(Collection<String> eventIds)
+    {
+        synchronized (this) {
+            if (this.isLoaded()) {
+                return;
+            }
+
+            Set<String> loaded = new HashSet<>(eventIds);
+            for (Map.Entry<String, Boolean> change : this.pending.entrySet()) {
+                if (change.getValue()) {
+                    loaded.add(change.getKey());
+                } else {
+                    loaded.remove(change.getKey());
+                }
+            }
+            this.pending.clear();
+            this.ids = Collections.unmodifiableSet(loaded);
+        }
+
+        this.notifyListeners();
+    }
+
+    /**
+     * @param eventId The event to check.
+     * @return Whether the event is a favorite. False if not loaded yet.
+     */
+    public boolean contains(String eventId)
+    {
+        Set<String> current = this.ids;
+
+        return null != current && current.contains(eventId);
+    }
+
+    /**
+     * @return Whether there are no favorites. True if not loaded yet.
+     */
+    public boolean isEmpty()
+    {
+        Set<String> current = this.ids;
+
+        return null == current || current.isEmpty();
+    }
+
+    /**
+     * @return The ID's of every favorited event. Empty if not loaded yet.
+     */
+    public Set<String> getIds()
+    {
+        Set<String> current = this.ids;
+
+        return null == current ? Collections.<String>emptySet() : current;
+    }
+
+    /**
+     * Mark an event as a favorite.
+     *
+     * @param eventId The event that was saved as a favorite.
+     */
+    public void add(String eventId)
+    {
+        synchronized (this) {
+            if (false == this.isLoaded()) {
+                this.pending.put(eventId, true);
+                return;
+            }
+
+            Set<String> updated = new HashSet<>(this.ids);
+            if (false == updated.add(eventId)) {
+                return;
+            }
+            this.ids = Collections.unmodifiableSet(updated);
+        }
+
+        this.notifyListeners();
+    }
+
+    /**
+     * Un-mark an event as a favorite.
+     *
+     * @param eventId The event that was removed from the favorites.
+     */
+    public void remove(String eventId)
+    {
+        synchronized (this) {
+            if (false == this.isLoaded()) {
+                this.pending.put(eventId, false);
+                return;
+            }
+
+            Set<String> updated = new HashSet<>(this.ids);
+            if (false == updated.remove(eventId)) {
+                return;
+            }
+            this.ids = Collections.unmodifiableSet(updated);
+        }
+
+        this.notifyListeners();
+    }
+
+    /**
+     * Start listening for changes to the favorites.
+     *
+     * If the favorites are already loaded, the listener is given the current
+     * ID's right away, so it never has to check them separately.
+     *
+     * @param listener The listener to be told of each change.
+     */
+    public void addListener(Listener listener)
+    {
+        this.listeners.add(listener);
+
+        Set<String> current = this.ids;
+        if (null != current) {
+            listener.onFavoritesChanged(current);
+        }
+    }
+
+    /**
+     * @param listener A listener to stop telling of changes.
+     */
+    public void removeListener(Listener listener)
+    {
+        this.listeners.remove(listener);
+    }
+
+    private void notifyListeners()
+    {
+        Set<String> current = this.ids;
+        for (Listener listener : this.listeners) {
+            listener.onFavoritesChanged(current);
+        }
+    }
+
+    /**
+     * Told each time the favorited events change.
+     */
+    public interface Listener
+    {
+        /**
+         * @param eventIds The ID's of every favorited event, now.
+         */
+        void onFavoritesChanged(Set<String> eventIds);
+    }
+}
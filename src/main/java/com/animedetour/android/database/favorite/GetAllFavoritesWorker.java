@@ -8,6 +8,7 @@
  */
 package com.animedetour.android.database.favorite;
 
+import com.animedetour.android.database.event.EventPreparer;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.schedule.favorite.Favorite;
 import com.inkapplications.groundcontrol.SingleYieldWorker;
@@ -16,6 +17,7 @@ import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -31,16 +33,22 @@ public class GetAllFavoritesWorker extends SingleYieldWorker<List<Favorite>>
     /** Local event storage used for sorting. */
     final private Dao<Event, Integer> localEventAccess;
 
+    /** Work to do ahead of time for the favorited events, before they're displayed. */
+    final private EventPreparer preparer;
+
     /**
      * @param localAccess Local favorite storage.
      * @param localEventAccess Local event storage used for sorting.
+     * @param preparer Work to do ahead of time for the favorited events, before they're displayed.
      */
     public GetAllFavoritesWorker(
         Dao<Favorite, Integer> localAccess,
-        Dao<Event, Integer> localEventAccess
+        Dao<Event, Integer> localEventAccess,
+        EventPreparer preparer
     ) {
         this.localAccess = localAccess;
         this.localEventAccess = localEventAccess;
+        this.preparer = preparer;
     }
 
     /**
@@ -55,6 +63,14 @@ public class GetAllFavoritesWorker extends SingleYieldWorker<List<Favorite>>
         PreparedQuery<Favorite> query = builder.prepare();
         List<Favorite> result = this.localAccess.query(query);
 
+        List<Event> events = new ArrayList<>(result.size());
+        for (Favorite favorite : result) {
+            if (null != favorite.getEvent()) {
+                events.add(favorite.getEvent());
+            }
+        }
+        this.preparer.prepare(events);
+
         return result;
     }
 }
@@ -8,6 +8,9 @@
  */
 package com.animedetour.android.database.guest;
 
+import com.animedetour.android.database.BackgroundSync;
+import com.animedetour.android.database.DatabaseExecutor;
+import com.animedetour.android.database.search.GuestSearchEngine;
 import com.animedetour.android.model.MetaData;
 import com.animedetour.api.guest.GuestEndpoint;
 import com.animedetour.api.guest.model.Category;
@@ -18,35 +21,53 @@ import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
 import monolog.Monolog;
 import org.joda.time.DateTime;
+import rx.Subscriber;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * Looks up all guests and returns them grouped by category.
  *
+ * The API is only called from the sync thread, so a reader is never held
+ * while waiting on the network.
+ *
+ * @see BackgroundSync
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
-public class AllCategoriesWorker extends SyncWorker<List<Category>>
+public class AllCategoriesWorker extends SyncWorker<List<Category>> implements BackgroundSync.Source<List<Category>>
 {
     final private Dao<Category, String> localCategoryAccess;
     final private Dao<Guest, String> localGuestAccess;
     final private Dao<MetaData, Integer> metaData;
     final private GuestEndpoint remoteAccess;
     final private Monolog logger;
+    final private GuestSearchEngine searchEngine;
+    final private DatabaseExecutor databaseExecutor;
 
     public AllCategoriesWorker(
         Dao<Category, String> localCategoryAccess,
         Dao<Guest, String> localGuestAccess,
         Dao<MetaData, Integer> metaData,
         GuestEndpoint remoteAccess,
-        Monolog logger
+        Monolog logger,
+        GuestSearchEngine searchEngine,
+        DatabaseExecutor databaseExecutor
     ) {
         this.localCategoryAccess = localCategoryAccess;
         this.localGuestAccess = localGuestAccess;
         this.metaData = metaData;
         this.remoteAccess = remoteAccess;
         this.logger = logger;
+        this.searchEngine = searchEngine;
+        this.databaseExecutor = databaseExecutor;
+    }
+
+    @Override
+    public void call(Subscriber<? super List<Category>> subscriber)
+    {
+        new BackgroundSync<>(this, this.databaseExecutor).call(subscriber);
     }
 
     @Override
@@ -84,11 +105,31 @@ public class AllCategoriesWorker extends SyncWorker<List<Category>>
     }
 
     @Override
-    public void saveLocal(List<Category> categories) throws SQLException
+    public void replaceLocal(List<Category> categories) throws SQLException
+    {
+        this.saveLocal(categories);
+    }
+
+    @Override
+    public void saveLocal(final List<Category> categories) throws SQLException
+    {
+        this.databaseExecutor.write(new Callable<Void>()
+        {
+            @Override
+            public Void call() throws Exception
+            {
+                AllCategoriesWorker.this.save(categories);
+                return null;
+            }
+        });
+    }
+
+    private void save(List<Category> categories) throws SQLException
     {
         try {
             BatchCategorySave batch = new BatchCategorySave(this.localCategoryAccess, this.localGuestAccess, categories);
             this.localCategoryAccess.callBatchTasks(batch);
+            this.searchEngine.index(categories);
         } catch (Exception e) {
             this.logger.error("Error saving Guest Categories", e);
         }
@@ -0,0 +1,50 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.guest;
+
+import com.animedetour.api.guest.model.Guest;
+import com.inkapplications.groundcontrol.SingleYieldWorker;
+import com.j256.ormlite.dao.Dao;
+
+import java.sql.SQLException;
+
+/**
+ * Looks up a single guest by their ID.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class GuestByIdWorker extends SingleYieldWorker<Guest>
+{
+    /** A local DAO for looking up guests. */
+    final private Dao<Guest, String> localAccess;
+
+    /** The ID of the guest to look up. */
+    final private String id;
+
+    /**
+     * @param localAccess A local DAO for looking up guests.
+     * @param id The ID of the guest to look up.
+     */
+    public GuestByIdWorker(Dao<Guest, String> localAccess, String id)
+    {
+        super();
+
+        this.localAccess = localAccess;
+        this.id = id;
+    }
+
+    /**
+     * @return The guest, or null if they are no longer listed.
+     */
+    @Override
+    public Guest lookupLocal() throws SQLException
+    {
+        return this.localAccess.queryForId(this.id);
+    }
+}
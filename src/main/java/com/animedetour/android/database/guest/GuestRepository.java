@@ -8,10 +8,16 @@
  */
 package com.animedetour.android.database.guest;
 
+import com.animedetour.android.database.search.GuestSearchEngine;
 import com.animedetour.api.guest.model.Category;
+import com.animedetour.api.guest.model.Guest;
 import com.inkapplications.groundcontrol.SubscriptionFactory;
+import com.j256.ormlite.dao.Dao;
+import rx.Observable;
 import rx.Observer;
+import rx.Scheduler;
 import rx.Subscription;
+import rx.android.schedulers.AndroidSchedulers;
 
 import java.util.List;
 
@@ -25,19 +31,37 @@ public class GuestRepository
     /** Manage in-flight requests to async repos. */
     final private SubscriptionFactory<Category> subscriptionFactory;
 
+    /** A local DAO for looking up guests. */
+    final private Dao<Guest, String> localAccess;
+
     /** Worker for looking up a list of all guest categories. */
     final private AllCategoriesWorker allCategoriesWorker;
 
+    /** Index for finding guests by a possibly misspelled name. */
+    final private GuestSearchEngine searchEngine;
+
+    /** Thread to run asynchronous lookups on. */
+    final private Scheduler databaseScheduler;
+
     /**
      * @param subscriptionFactory Manage in-flight requests to async repos.
+     * @param localAccess A local DAO for looking up guests.
      * @param allCategoriesWorker Worker for looking up a list of all guest categories.
+     * @param searchEngine Index for finding guests by a possibly misspelled name.
+     * @param databaseScheduler Thread to run asynchronous lookups on.
      */
     public GuestRepository(
         SubscriptionFactory<Category> subscriptionFactory,
-        AllCategoriesWorker allCategoriesWorker
+        Dao<Guest, String> localAccess,
+        AllCategoriesWorker allCategoriesWorker,
+        GuestSearchEngine searchEngine,
+        Scheduler databaseScheduler
     ) {
         this.subscriptionFactory = subscriptionFactory;
+        this.localAccess = localAccess;
         this.allCategoriesWorker = allCategoriesWorker;
+        this.searchEngine = searchEngine;
+        this.databaseScheduler = databaseScheduler;
     }
 
     /**
@@ -51,4 +75,35 @@ public class GuestRepository
             "findAllCategories"
         );
     }
+
+    /**
+     * Asynchronously find guests with names similar to a search, to allow for
+     * misspelled names.
+     *
+     * @param query The name that the user searched for.
+     */
+    public Subscription findSimilar(String query, Observer<List<Guest>> observer)
+    {
+        Observable<List<Guest>> callback = Observable.create(new SimilarGuestsWorker(this.searchEngine, query));
+        callback = callback.subscribeOn(this.databaseScheduler);
+        callback = callback.observeOn(AndroidSchedulers.mainThread());
+        Subscription subscription = callback.subscribe(observer);
+
+        return subscription;
+    }
+
+    /**
+     * Asynchronously find a single guest by their ID.
+     *
+     * @param id The ID of the guest to find.
+     * @param observer Observer to receive the guest, or null if they are no longer listed.
+     */
+    public Subscription findById(String id, Observer<Guest> observer)
+    {
+        Observable<Guest> callback = Observable.create(new GuestByIdWorker(this.localAccess, id));
+        callback = callback.subscribeOn(this.databaseScheduler);
+        callback = callback.observeOn(AndroidSchedulers.mainThread());
+
+        return callback.subscribe(observer);
+    }
 }
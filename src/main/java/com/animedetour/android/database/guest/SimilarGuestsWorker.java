@@ -0,0 +1,48 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.guest;
+
+import com.animedetour.android.database.search.GuestSearchEngine;
+import com.animedetour.api.guest.model.Guest;
+import com.inkapplications.groundcontrol.SingleYieldWorker;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Looks up guests with names similar to a search query, allowing for typos.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class SimilarGuestsWorker extends SingleYieldWorker<List<Guest>>
+{
+    /** Index of guest names to search. */
+    final private GuestSearchEngine searchEngine;
+
+    /** The name that the user searched for. */
+    final private String query;
+
+    /**
+     * @param searchEngine Index of guest names to search.
+     * @param query The name that the user searched for.
+     */
+    public SimilarGuestsWorker(GuestSearchEngine searchEngine, String query)
+    {
+        this.searchEngine = searchEngine;
+        this.query = query;
+    }
+
+    /**
+     * @return Guests with similar names, most similar first.
+     */
+    public List<Guest> lookupLocal() throws SQLException
+    {
+        return this.searchEngine.searchSimilar(this.query);
+    }
+}
@@ -15,6 +15,7 @@ import com.j256.ormlite.field.types.StringType;
 
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -25,6 +26,9 @@ import java.util.List;
  * during search queries to the database, since those will be matched on a
  * string from the application as well.
  *
+ * Lists read from the database are unmodifiable, so that models can hand
+ * them out directly without copying.
+ *
  * @author Maxwell Vandervelde <Max@MaxVandervelde.com>
  */
 public class ImplodedListPersister extends StringType
@@ -49,7 +53,23 @@ public class ImplodedListPersister extends StringType
     @Override
     public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException
     {
-        return Arrays.asList(sqlArg.toString().split(","));
+        String[] items = sqlArg.toString().split(",");
+        for (int i = 0; i < items.length; i++) {
+            items[i] = this.readItem(items[i]);
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(items));
+    }
+
+    /**
+     * Convert a single item as it is read from the database.
+     *
+     * @param item One of the comma separated values.
+     * @return The value to put in the list.
+     */
+    protected String readItem(String item)
+    {
+        return item;
     }
 
     @Override
@@ -0,0 +1,43 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.persiseter;
+
+import com.animedetour.android.model.StringPool;
+import com.j256.ormlite.field.SqlType;
+
+import java.util.List;
+
+/**
+ * Persists a List of Strings that repeat across many rows, like tags.
+ *
+ * This is stored the same as the imploded list, but each item that is read
+ * is replaced with its shared copy from the string pool.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class PooledListPersister extends ImplodedListPersister
+{
+    private static final PooledListPersister singleton = new PooledListPersister();
+
+    public static PooledListPersister getSingleton()
+    {
+        return singleton;
+    }
+
+    public PooledListPersister()
+    {
+        super(SqlType.STRING, new Class[] { List.class });
+    }
+
+    @Override
+    protected String readItem(String item)
+    {
+        return StringPool.getShared().get(item);
+    }
+}
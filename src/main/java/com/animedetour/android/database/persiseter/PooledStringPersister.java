@@ -0,0 +1,45 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.persiseter;
+
+import com.animedetour.android.model.StringPool;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.StringType;
+
+import java.sql.SQLException;
+
+/**
+ * Persists a String that repeats across many rows, like a room name.
+ *
+ * This is stored as a plain string, but each value that is read is replaced
+ * with its shared copy from the string pool.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class PooledStringPersister extends StringType
+{
+    private static final PooledStringPersister singleton = new PooledStringPersister();
+
+    public static PooledStringPersister getSingleton()
+    {
+        return singleton;
+    }
+
+    public PooledStringPersister()
+    {
+        super(SqlType.STRING, new Class[] { String.class });
+    }
+
+    @Override
+    public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException
+    {
+        return StringPool.getShared().get((String) super.sqlArgToJava(fieldType, sqlArg, columnPos));
+    }
+}
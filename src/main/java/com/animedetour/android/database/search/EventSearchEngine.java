@@ -0,0 +1,155 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+import com.animedetour.android.database.DataGeneration;
+import com.animedetour.android.model.Event;
+import com.j256.ormlite.dao.Dao;
+import monolog.Monolog;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps search indexes of the local events up to date.
+ *
+ * Events can be searched by relevance to the words in a query, or fuzzily by
+ * how similar their name and hosts are to it, to allow for typos.
+ *
+ * The indexes are rebuilt from the synced events right after they're saved.
+ * If the local data changes any other way, the indexes are rebuilt from the
+ * database the next time they are searched.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class EventSearchEngine
+{
+    /** A local DAO for loading events to index. */
+    final private Dao<Event, String> localAccess;
+
+    /** Counter of changes to the local data, to know when to rebuild. */
+    final private DataGeneration dataGeneration;
+
+    /** Logger for reporting index build times. */
+    final private Monolog logger;
+
+    /** The current index, null until it has been built. */
+    private EventSearchIndex index;
+
+    /** Trigrams of the current event names and hosts. */
+    private TrigramIndex<Event> trigramIndex;
+
+    /** The data generation that the current index was built from. */
+    private long indexGeneration = -1;
+
+    /**
+     * @param localAccess A local DAO for loading events to index.
+     * @param dataGeneration Counter of changes to the local data, to know when to rebuild.
+     * @param logger Logger for reporting index build times.
+     */
+    public EventSearchEngine(
+        Dao<Event, String> localAccess,
+        DataGeneration dataGeneration,
+        Monolog logger
+    ) {
+        this.localAccess = localAccess;
+        this.dataGeneration = dataGeneration;
+        this.logger = logger;
+    }
+
+    /**
+     * Find events matching a query, best match first.
+     *
+     * @param query The text that the user searched for.
+     * @return Every event that matches all of the terms in the query.
+     * @throws SQLException If the index needed rebuilding and loading failed.
+     */
+    public List<Event> search(String query) throws SQLException
+    {
+        return this.getIndex().search(query);
+    }
+
+    /**
+     * Find events with a name or host similar to a query, most similar first.
+     *
+     * @param query The text that the user searched for, possibly misspelled.
+     * @return Events that are similar enough to be likely candidates.
+     * @throws SQLException If the index needed rebuilding and loading failed.
+     */
+    public List<Event> searchSimilar(String query) throws SQLException
+    {
+        this.getIndex();
+
+        synchronized (this) {
+            return this.trigramIndex.search(query);
+        }
+    }
+
+    /**
+     * Replace the index with a full list of events.
+     *
+     * @param events Every event in the local data.
+     * @param generation The data generation after the events were saved.
+     */
+    public void index(List<Event> events, long generation)
+    {
+        EventSearchIndex index = this.build(events);
+        TrigramIndex<Event> trigramIndex = this.buildTrigrams(index.getEvents());
+
+        synchronized (this) {
+            if (generation >= this.indexGeneration) {
+                this.index = index;
+                this.trigramIndex = trigramIndex;
+                this.indexGeneration = generation;
+            }
+        }
+    }
+
+    private synchronized EventSearchIndex getIndex() throws SQLException
+    {
+        long generation = this.dataGeneration.get();
+
+        if (null == this.index || this.indexGeneration != generation) {
+            this.index = this.build(this.localAccess.queryForAll());
+            this.trigramIndex = this.buildTrigrams(this.index.getEvents());
+            this.indexGeneration = generation;
+        }
+
+        return this.index;
+    }
+
+    private EventSearchIndex build(List<Event> events)
+    {
+        long start = System.nanoTime();
+        EventSearchIndex index = EventSearchIndex.build(events);
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        this.logger.debug("Indexed " + index.size() + " events (" + index.getTokenCount() + " tokens) in " + elapsed + "ms");
+
+        return index;
+    }
+
+    private TrigramIndex<Event> buildTrigrams(List<Event> events)
+    {
+        long start = System.nanoTime();
+        TrigramIndex.Builder<Event> builder = new TrigramIndex.Builder<>();
+        for (Event event : events) {
+            List<String> names = new ArrayList<>(event.getHosts());
+            names.add(event.getName());
+            builder.add(event, names);
+        }
+        TrigramIndex<Event> index = builder.build();
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        this.logger.debug("Indexed " + index.getTrigramCount() + " event trigrams in " + elapsed + "ms");
+
+        return index;
+    }
+}
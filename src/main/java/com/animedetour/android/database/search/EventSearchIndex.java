@@ -0,0 +1,263 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+import com.animedetour.android.model.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory token table for ranking events against a search query.
+ *
+ * Every searchable field of every event is tokenized once when the index is
+ * built. The tokens are kept in a sorted dictionary, each with a compact list
+ * of the events and fields it appears in. This allows a query to find exact
+ * and prefix matches with a binary search, and substring matches with a
+ * single pass over the unique tokens rather than every event.
+ *
+ * Each term in a query must match at least one field of an event. A term is
+ * scored by the best field weight times match type it has on the event, and
+ * an event's score is the sum of its terms. Events with the same score are
+ * ordered by start time, then name.
+ *
+ * This is immutable once built, and safe to search from any thread.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class EventSearchIndex
+{
+    /** Number of searchable fields, used to pack postings. */
+    final private static int FIELD_COUNT = SearchField.values().length;
+
+    /** Orders events by start time, then name, as the schedule displays them. */
+    final private static Comparator<Event> SCHEDULE_ORDER = new Comparator<Event>()
+    {
+        @Override
+        public int compare(Event left, Event right)
+        {
+            if (null != left.getStart() && null != right.getStart()) {
+                int start = left.getStart().compareTo(right.getStart());
+                if (start != 0) {
+                    return start;
+                }
+            }
+
+            return left.getName().compareTo(right.getName());
+        }
+    };
+
+    /** Indexed events, in schedule order. */
+    final private Event[] events;
+
+    /** Every unique token, sorted. */
+    final private String[] dictionary;
+
+    /**
+     * Where each dictionary token appears.
+     *
+     * Each posting is `eventIndex * FIELD_COUNT + field ordinal`.
+     */
+    final private int[][] postings;
+
+    /** Field weights, by ordinal. */
+    final private int[] weights;
+
+    private EventSearchIndex(Event[] events, String[] dictionary, int[][] postings)
+    {
+        this.events = events;
+        this.dictionary = dictionary;
+        this.postings = postings;
+        this.weights = new int[FIELD_COUNT];
+
+        for (SearchField field : SearchField.values()) {
+            this.weights[field.ordinal()] = field.getWeight();
+        }
+    }
+
+    /**
+     * Tokenize a set of events into a new index.
+     *
+     * @param events Every event that should be searchable.
+     * @return An index of the events.
+     */
+    public static EventSearchIndex build(List<Event> events)
+    {
+        Event[] sorted = events.toArray(new Event[events.size()]);
+        Arrays.sort(sorted, SCHEDULE_ORDER);
+
+        Map<String, List<Integer>> tokenPostings = new HashMap<>();
+        for (int i = 0; i < sorted.length; i++) {
+            for (SearchField field : SearchField.values()) {
+                Integer posting = i * FIELD_COUNT + field.ordinal();
+
+                for (String token : field.getTokens(sorted[i])) {
+                    List<Integer> found = tokenPostings.get(token);
+                    if (null == found) {
+                        found = new ArrayList<>(2);
+                        tokenPostings.put(token, found);
+                    }
+                    if (found.isEmpty() || false == found.get(found.size() - 1).equals(posting)) {
+                        found.add(posting);
+                    }
+                }
+            }
+        }
+
+        String[] dictionary = tokenPostings.keySet().toArray(new String[tokenPostings.size()]);
+        Arrays.sort(dictionary);
+
+        int[][] postings = new int[dictionary.length][];
+        for (int i = 0; i < dictionary.length; i++) {
+            List<Integer> found = tokenPostings.get(dictionary[i]);
+            postings[i] = new int[found.size()];
+            for (int j = 0; j < postings[i].length; j++) {
+                postings[i][j] = found.get(j);
+            }
+        }
+
+        return new EventSearchIndex(sorted, dictionary, postings);
+    }
+
+    /**
+     * Find events matching a query, best match first.
+     *
+     * @param query The text that the user searched for.
+     * @return Every event that matches all of the terms in the query, ranked
+     *         by relevance. If the query has no terms, every event.
+     */
+    public List<Event> search(String query)
+    {
+        List<String> terms = TextFolder.tokenize(query);
+
+        if (terms.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(this.events));
+        }
+
+        int[] totals = new int[this.events.length];
+        int[] termScores = new int[this.events.length];
+
+        for (String term : terms) {
+            Arrays.fill(termScores, 0);
+            this.scoreTerm(term, termScores);
+
+            for (int i = 0; i < totals.length; i++) {
+                if (termScores[i] == 0 || totals[i] < 0) {
+                    totals[i] = -1;
+                } else {
+                    totals[i] += termScores[i];
+                }
+            }
+        }
+
+        return this.rank(totals);
+    }
+
+    /**
+     * @return Every indexed event, in schedule order.
+     */
+    public List<Event> getEvents()
+    {
+        return Collections.unmodifiableList(Arrays.asList(this.events));
+    }
+
+    /**
+     * @return The number of events in the index.
+     */
+    public int size()
+    {
+        return this.events.length;
+    }
+
+    /**
+     * @return The number of unique tokens in the index.
+     */
+    public int getTokenCount()
+    {
+        return this.dictionary.length;
+    }
+
+    /**
+     * Record the best score of a single term for each event.
+     */
+    private void scoreTerm(String term, int[] scores)
+    {
+        int prefixStart = Arrays.binarySearch(this.dictionary, term);
+        if (prefixStart < 0) {
+            prefixStart = -prefixStart - 1;
+        }
+
+        int prefixEnd = prefixStart;
+        while (prefixEnd < this.dictionary.length && this.dictionary[prefixEnd].startsWith(term)) {
+            MatchType type = this.dictionary[prefixEnd].length() == term.length() ? MatchType.EXACT : MatchType.PREFIX;
+            this.applyPostings(this.postings[prefixEnd], type, scores);
+            prefixEnd++;
+        }
+
+        for (int i = 0; i < this.dictionary.length; i++) {
+            if (i >= prefixStart && i < prefixEnd) {
+                continue;
+            }
+            if (this.dictionary[i].contains(term)) {
+                this.applyPostings(this.postings[i], MatchType.SUBSTRING, scores);
+            }
+        }
+    }
+
+    private void applyPostings(int[] postings, MatchType type, int[] scores)
+    {
+        for (int posting : postings) {
+            int event = posting / FIELD_COUNT;
+            int score = this.weights[posting % FIELD_COUNT] * type.getMultiplier();
+
+            if (score > scores[event]) {
+                scores[event] = score;
+            }
+        }
+    }
+
+    /**
+     * Sort matched events by score, keeping schedule order for ties.
+     */
+    private List<Event> rank(int[] totals)
+    {
+        int matches = 0;
+        for (int total : totals) {
+            if (total > 0) {
+                matches++;
+            }
+        }
+
+        // Pack the inverted score above the index so a plain sort ranks them.
+        long[] ranked = new long[matches];
+        int position = 0;
+        for (int i = 0; i < totals.length; i++) {
+            if (totals[i] > 0) {
+                ranked[position++] = ((long) (Integer.MAX_VALUE - totals[i]) << 32) | i;
+            }
+        }
+        Arrays.sort(ranked);
+
+        if (ranked.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Event> results = new ArrayList<>(ranked.length);
+        for (long rank : ranked) {
+            results.add(this.events[(int) rank]);
+        }
+
+        return results;
+    }
+}
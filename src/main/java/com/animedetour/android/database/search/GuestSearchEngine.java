@@ -0,0 +1,121 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+import com.animedetour.android.database.DataGeneration;
+import com.animedetour.api.guest.model.Category;
+import com.animedetour.api.guest.model.Guest;
+import com.google.common.base.Joiner;
+import com.j256.ormlite.dao.Dao;
+import monolog.Monolog;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps a trigram index of guest names up to date, for finding guests even
+ * when their name is misspelled.
+ *
+ * The index is rebuilt from the synced guests right after they're saved. If
+ * the local data is changed any other way, such as being cleared, it is
+ * rebuilt from the database the next time it is searched.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class GuestSearchEngine
+{
+    /** A local DAO for loading guests to index. */
+    final private Dao<Guest, String> localAccess;
+
+    /** Counter of changes to the local data, to know when to rebuild. */
+    final private DataGeneration dataGeneration;
+
+    /** Logger for reporting index build times. */
+    final private Monolog logger;
+
+    /** The current index, null until it has been built. */
+    private TrigramIndex<Guest> index;
+
+    /** The data generation that the current index was built from. */
+    private long indexGeneration = -1;
+
+    /**
+     * @param localAccess A local DAO for loading guests to index.
+     * @param dataGeneration Counter of changes to the local data, to know when to rebuild.
+     * @param logger Logger for reporting index build times.
+     */
+    public GuestSearchEngine(
+        Dao<Guest, String> localAccess,
+        DataGeneration dataGeneration,
+        Monolog logger
+    ) {
+        this.localAccess = localAccess;
+        this.dataGeneration = dataGeneration;
+        this.logger = logger;
+    }
+
+    /**
+     * Find guests with a first, last or full name similar to a query.
+     *
+     * @param query The name that the user searched for, possibly misspelled.
+     * @return Guests that are similar enough to be likely candidates, most
+     *         similar first.
+     * @throws SQLException If the index needed rebuilding and loading failed.
+     */
+    public synchronized List<Guest> searchSimilar(String query) throws SQLException
+    {
+        long generation = this.dataGeneration.get();
+
+        if (null == this.index || this.indexGeneration != generation) {
+            this.index = this.build(this.localAccess.queryForAll());
+            this.indexGeneration = generation;
+        }
+
+        return this.index.search(query);
+    }
+
+    /**
+     * Replace the index with the guests in a full list of categories.
+     *
+     * @param categories Every guest category in the local data.
+     */
+    public void index(List<Category> categories)
+    {
+        List<Guest> guests = new ArrayList<>();
+        for (Category category : categories) {
+            guests.addAll(category.getGuests());
+        }
+
+        long generation = this.dataGeneration.get();
+        TrigramIndex<Guest> index = this.build(guests);
+
+        synchronized (this) {
+            this.index = index;
+            this.indexGeneration = generation;
+        }
+    }
+
+    private TrigramIndex<Guest> build(List<Guest> guests)
+    {
+        long start = System.nanoTime();
+        TrigramIndex.Builder<Guest> builder = new TrigramIndex.Builder<>();
+        for (Guest guest : guests) {
+            String fullName = Joiner.on(" ").skipNulls().join(guest.getFirstName(), guest.getLastName());
+            builder.add(guest, Collections.singletonList(fullName));
+        }
+        TrigramIndex<Guest> index = builder.build();
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        this.logger.debug("Indexed " + index.size() + " guests in " + elapsed + "ms");
+
+        return index;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+/**
+ * How closely a search term matched a token, and how much that is worth.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public enum MatchType
+{
+    /** The term is the entire token. */
+    EXACT(3),
+
+    /** The token starts with the term. */
+    PREFIX(2),
+
+    /** The term is somewhere inside of the token. */
+    SUBSTRING(1);
+
+    /** How much this kind of match is worth, relative to the others. */
+    final private int multiplier;
+
+    MatchType(int multiplier)
+    {
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * @return How much this kind of match is worth, relative to the others.
+     */
+    final public int getMultiplier()
+    {
+        return this.multiplier;
+    }
+
+    /**
+     * Determine how a term matches a token.
+     *
+     * @param token A normalized token from searchable text.
+     * @param term A normalized term from a search query.
+     * @return The kind of match, or null if the term does not match.
+     */
+    public static MatchType of(String token, String term)
+    {
+        if (token.equals(term)) {
+            return EXACT;
+        }
+
+        if (token.startsWith(term)) {
+            return PREFIX;
+        }
+
+        if (token.contains(term)) {
+            return SUBSTRING;
+        }
+
+        return null;
+    }
+}
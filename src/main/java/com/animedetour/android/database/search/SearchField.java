@@ -0,0 +1,102 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+import com.animedetour.android.model.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of an event that are searched, and how much a match in each one
+ * is worth.
+ *
+ * A match on an event's name is worth more than a match on one of its hosts,
+ * which is worth more than its tags or category, and a match on the room is
+ * worth the least.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public enum SearchField
+{
+    NAME(8) {
+        @Override
+        public List<String> getText(Event event)
+        {
+            List<String> text = new ArrayList<>();
+            text.add(event.getName());
+
+            return text;
+        }
+    },
+    HOSTS(4) {
+        @Override
+        public List<String> getText(Event event)
+        {
+            return event.getHosts();
+        }
+    },
+    TAGS(2) {
+        @Override
+        public List<String> getText(Event event)
+        {
+            List<String> text = new ArrayList<>(event.getTags());
+            text.add(event.getCategory());
+
+            return text;
+        }
+    },
+    ROOM(1) {
+        @Override
+        public List<String> getText(Event event)
+        {
+            List<String> text = new ArrayList<>();
+            text.add(event.getRoom());
+
+            return text;
+        }
+    };
+
+    /** How much a match in this field is worth, relative to the others. */
+    final private int weight;
+
+    SearchField(int weight)
+    {
+        this.weight = weight;
+    }
+
+    /**
+     * @return How much a match in this field is worth, relative to the others.
+     */
+    final public int getWeight()
+    {
+        return this.weight;
+    }
+
+    /**
+     * @param event The event to get searchable text from.
+     * @return The raw text in this field of the event. Items may be null.
+     */
+    abstract public List<String> getText(Event event);
+
+    /**
+     * @param event The event to get searchable text from.
+     * @return Normalized tokens of all of the text in this field of the event.
+     */
+    public List<String> getTokens(Event event)
+    {
+        List<String> tokens = new ArrayList<>();
+
+        for (String text : this.getText(event)) {
+            tokens.addAll(TextFolder.tokenize(text));
+        }
+
+        return tokens;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes text so that searches ignore case and accents.
+ *
+ * For example, `Pokémon Trivia` is tokenized into `pokemon` and `trivia`.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class TextFolder
+{
+    /** Accent marks left over after decomposing characters. */
+    final private static Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    /** Anything that separates one word from another. */
+    final private static Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextFolder() {}
+
+    /**
+     * Remove accents and case from a string.
+     *
+     * @param text The text to normalize, may be null.
+     * @return Lowercase text without accents, or an empty string if null.
+     */
+    public static String fold(String text)
+    {
+        if (null == text) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+
+        return stripped.toLowerCase(Locale.US);
+    }
+
+    /**
+     * Split text into normalized words.
+     *
+     * @param text The text to tokenize, may be null.
+     * @return Folded words from the text, never containing empty strings.
+     */
+    public static List<String> tokenize(String text)
+    {
+        List<String> tokens = new ArrayList<>();
+
+        for (String token : SEPARATORS.split(TextFolder.fold(text))) {
+            if (false == token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An in-memory index for finding items with names similar to a query.
+ *
+ * Text is folded and broken into trigrams: every three character sequence of
+ * each word, padded with spaces so that the start and end of a word count.
+ * Two strings are similar when they share a large portion of their trigrams,
+ * which still holds when a few letters are missing, swapped or wrong, e.g.
+ * `miyazki` and `Miyazaki`.
+ *
+ * Each piece of indexed text is compared both as a whole and word by word,
+ * so a query for just a last name still finds a full name.
+ *
+ * This is immutable once built, and safe to search from any thread.
+ *
+ * @param <ITEM> The type of item being indexed.
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class TrigramIndex<ITEM>
+{
+    /** The lowest similarity that is considered a match by default. */
+    final public static float DEFAULT_THRESHOLD = 0.3f;
+
+    /** Indexed items, in the order they were added. */
+    final private List<ITEM> items;
+
+    /** The item index that each unit of text belongs to. */
+    final private int[] unitItems;
+
+    /** The number of unique trigrams in each unit of text. */
+    final private int[] unitSizes;
+
+    /** The units of text that each trigram appears in. */
+    final private Map<String, int[]> postings;
+
+    private TrigramIndex(List<ITEM> items, int[] unitItems, int[] unitSizes, Map<String, int[]> postings)
+    {
+        this.items = items;
+        this.unitItems = unitItems;
+        this.unitSizes = unitSizes;
+        this.postings = postings;
+    }
+
+    /**
+     * Find items similar to a query, most similar first.
+     *
+     * @param query The text that the user searched for.
+     * @param threshold The lowest similarity, between 0 and 1, to include.
+     * @return Items with any text at least as similar as the threshold.
+     */
+    public List<ITEM> search(String query, float threshold)
+    {
+        Set<String> queryTrigrams = TrigramIndex.trigrams(TextFolder.tokenize(query));
+
+        if (queryTrigrams.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int[] shared = new int[this.unitItems.length];
+        for (String trigram : queryTrigrams) {
+            int[] units = this.postings.get(trigram);
+            if (null == units) {
+                continue;
+            }
+            for (int unit : units) {
+                shared[unit]++;
+            }
+        }
+
+        float[] best = new float[this.items.size()];
+        for (int unit = 0; unit < shared.length; unit++) {
+            if (shared[unit] == 0) {
+                continue;
+            }
+
+            int union = queryTrigrams.size() + this.unitSizes[unit] - shared[unit];
+            float similarity = (float) shared[unit] / union;
+            int item = this.unitItems[unit];
+
+            if (similarity > best[item]) {
+                best[item] = similarity;
+            }
+        }
+
+        return this.rank(best, threshold);
+    }
+
+    /**
+     * Find items similar to a query, most similar first.
+     *
+     * @param query The text that the user searched for.
+     * @return Items with any text at least as similar as the default threshold.
+     */
+    public List<ITEM> search(String query)
+    {
+        return this.search(query, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @return The number of items in the index.
+     */
+    public int size()
+    {
+        return this.items.size();
+    }
+
+    /**
+     * @return The number of unique trigrams in the index.
+     */
+    public int getTrigramCount()
+    {
+        return this.postings.size();
+    }
+
+    private List<ITEM> rank(float[] similarities, float threshold)
+    {
+        // Pack the inverted similarity above the index so a plain sort ranks them.
+        long[] ranked = new long[similarities.length];
+        int matches = 0;
+        for (int i = 0; i < similarities.length; i++) {
+            if (similarities[i] > 0 && similarities[i] >= threshold) {
+                long inverted = (long) ((1f - similarities[i]) * Integer.MAX_VALUE);
+                ranked[matches++] = (inverted << 32) | i;
+            }
+        }
+        Arrays.sort(ranked, 0, matches);
+
+        List<ITEM> results = new ArrayList<>(matches);
+        for (int i = 0; i < matches; i++) {
+            results.add(this.items.get((int) ranked[i]));
+        }
+
+        return results;
+    }
+
+    /**
+     * Get the unique padded trigrams of a set of words.
+     */
+    static Set<String> trigrams(List<String> words)
+    {
+        Set<String> trigrams = new LinkedHashSet<>();
+
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+
+        return trigrams;
+    }
+
+    /**
+     * Collects items and their text before building an index.
+     *
+     * @param <ITEM> The type of item being indexed.
+     */
+    public static class Builder<ITEM>
+    {
+        final private List<ITEM> items = new ArrayList<>();
+        final private List<Integer> unitItems = new ArrayList<>();
+        final private List<Integer> unitSizes = new ArrayList<>();
+        final private Map<String, List<Integer>> postings = new HashMap<>();
+
+        /**
+         * Add an item to the index.
+         *
+         * @param item The item to return when its text matches a query.
+         * @param texts Names or other short text to match the item by. Items
+         *              in this list may be null.
+         * @return This builder, for chaining.
+         */
+        public Builder<ITEM> add(ITEM item, List<String> texts)
+        {
+            int itemIndex = this.items.size();
+            this.items.add(item);
+
+            for (String text : texts) {
+                List<String> words = TextFolder.tokenize(text);
+                if (words.isEmpty()) {
+                    continue;
+                }
+
+                this.addUnit(itemIndex, TrigramIndex.trigrams(words));
+                if (words.size() > 1) {
+                    for (String word : words) {
+                        this.addUnit(itemIndex, TrigramIndex.trigrams(Collections.singletonList(word)));
+                    }
+                }
+            }
+
+            return this;
+        }
+
+        /**
+         * @return An immutable index of all of the items added.
+         */
+        public TrigramIndex<ITEM> build()
+        {
+            int[] unitItems = new int[this.unitItems.size()];
+            int[] unitSizes = new int[this.unitSizes.size()];
+            for (int i = 0; i < unitItems.length; i++) {
+                unitItems[i] = this.unitItems.get(i);
+                unitSizes[i] = this.unitSizes.get(i);
+            }
+
+            Map<String, int[]> postings = new HashMap<>(this.postings.size());
+            for (Map.Entry<String, List<Integer>> entry : this.postings.entrySet()) {
+                List<Integer> units = entry.getValue();
+                int[] compact = new int[units.size()];
+                for (int i = 0; i < compact.length; i++) {
+                    compact[i] = units.get(i);
+                }
+                postings.put(entry.getKey(), compact);
+            }
+
+            return new TrigramIndex<>(new ArrayList<>(this.items), unitItems, unitSizes, postings);
+        }
+
+        private void addUnit(int itemIndex, Set<String> trigrams)
+        {
+            int unit = this.unitItems.size();
+            this.unitItems.add(itemIndex);
+            this.unitSizes.add(trigrams.size());
+
+            for (String trigram : trigrams) {
+                List<Integer> units = this.postings.get(trigram);
+                if (null == units) {
+                    units = new ArrayList<>(4);
+                    this.postings.put(trigram, units);
+                }
+                units.add(unit);
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ package com.animedetour.android.framework;
 import android.os.Bundle;
 import android.support.v7.app.AppCompatActivity;
 import butterknife.ButterKnife;
+import com.animedetour.android.framework.metrics.FrameMetrics;
 import icepick.Icepick;
 import monolog.Monolog;
 import prism.framework.PrismFacade;
@@ -30,6 +31,9 @@ public class BaseActivity extends AppCompatActivity
     @Inject
     Monolog logger;
 
+    /** Frame timing of the screen while it's resumed, if it has a log name. */
+    private FrameMetrics frameMetrics;
+
     @Override
     protected void onCreate(Bundle savedInstanceState)
     {
@@ -38,8 +42,26 @@ public class BaseActivity extends AppCompatActivity
         Icepick.restoreInstanceState(this, savedInstanceState);
         ButterKnife.bind(this);
         this.logger.trace(this);
+        this.frameMetrics = FrameMetrics.forScreen(this, this, this.logger);
+    }
+
+    @Override
+    protected void onResume()
+    {
+        super.onResume();
+        if (null != this.frameMetrics) {
+            this.frameMetrics.start(this.getWindow().getDecorView());
+        }
     }
 
+    @Override
+    protected void onPause()
+    {
+        super.onPause();
+        if (null != this.frameMetrics) {
+            this.frameMetrics.stop();
+        }
+    }
 
     @Override
     public void onSaveInstanceState(Bundle bundle)
@@ -13,6 +13,7 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import butterknife.ButterKnife;
+import com.animedetour.android.framework.metrics.FrameMetrics;
 import com.squareup.otto.Bus;
 import icepick.Icepick;
 import monolog.Monolog;
@@ -37,6 +38,9 @@ public class BaseFragment extends android.support.v4.app.Fragment
     @Inject
     Bus applicationBus;
 
+    /** Frame timing of the screen while it's resumed, if it has a log name. */
+    private FrameMetrics frameMetrics;
+
     @Override
     public void onActivityCreated(Bundle savedInstanceState)
     {
@@ -45,6 +49,7 @@ public class BaseFragment extends android.support.v4.app.Fragment
         PrismFacade.bootstrap(this);
         ButterKnife.bind(this, this.getView());
         this.logger.trace(this);
+        this.frameMetrics = FrameMetrics.forScreen(this, this.getActivity(), this.logger);
     }
 
     @Override
@@ -72,6 +77,9 @@ public class BaseFragment extends android.support.v4.app.Fragment
     {
         super.onResume();
         this.applicationBus.register(this);
+        if (null != this.frameMetrics) {
+            this.frameMetrics.start(this.getView());
+        }
     }
 
     @Override
@@ -79,6 +87,9 @@ public class BaseFragment extends android.support.v4.app.Fragment
     {
         super.onPause();
         this.applicationBus.unregister(this);
+        if (null != this.frameMetrics) {
+            this.frameMetrics.stop();
+        }
     }
 
     @Override
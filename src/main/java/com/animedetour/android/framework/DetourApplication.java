@@ -9,16 +9,26 @@
 package com.animedetour.android.framework;
 
 import android.app.Activity;
+import com.animedetour.android.database.favorite.FavoriteRepository;
 import com.animedetour.android.database.persiseter.ImplodedListPersister;
 import com.animedetour.android.framework.dependencyinjection.module.ActivityModule;
 import com.animedetour.android.framework.dependencyinjection.module.ApplicationModule;
+import com.animedetour.android.framework.startup.StartupGraph;
+import com.animedetour.android.framework.startup.StartupRunner;
+import com.animedetour.android.framework.startup.StartupStage;
+import com.animedetour.android.framework.time.AssetZoneInfoProvider;
 import com.facebook.drawee.backends.pipeline.Fresco;
 import com.facebook.imagepipeline.backends.okhttp.OkHttpImagePipelineConfigFactory;
 import com.facebook.imagepipeline.core.ImagePipelineConfig;
+import com.google.android.gms.analytics.Tracker;
 import com.inkapplications.prism.ApplicationCallback;
 import com.j256.ormlite.field.DataPersisterManager;
+import com.squareup.leakcanary.RefWatcher;
 import com.squareup.okhttp.OkHttpClient;
+import dagger.Lazy;
 import dagger.ObjectGraph;
+import monolog.Monolog;
+import org.joda.time.DateTimeZone;
 import prism.framework.GraphContext;
 import prism.framework.KernelContext;
 import prism.framework.PrismKernel;
@@ -46,27 +56,169 @@ final public class DetourApplication extends android.app.Application
     private PrismKernel kernel;
 
     @Inject
-    ApplicationCallback applicationCallback;
+    Lazy<ApplicationCallback> applicationCallback;
 
     @Inject
     OkHttpClient okHttpClient;
 
+    @Inject
+    Lazy<FavoriteRepository> favoriteRepository;
+
+    @Inject
+    Lazy<Tracker> analyticsTracker;
+
+    @Inject
+    Lazy<RefWatcher> refWatcher;
+
+    @Inject
+    Lazy<Monolog> logger;
+
+    /** Failure reading the time zones from the assets, to log once the logger is ready. */
+    private RuntimeException zonesFailure;
+
     @Override
     public void onCreate()
     {
         super.onCreate();
 
-        DataPersisterManager.registerDataPersisters(new ImplodedListPersister());
+        // The logger isn't injected until the graph task has run.
+        new StartupRunner(this.createStartupGraph(), new Lazy<Monolog>()
+        {
+            @Override
+            public Monolog get()
+            {
+                return DetourApplication.this.logger.get();
+            }
+        }).start();
+    }
+
+    /**
+     * The work to do when the application starts.
+     *
+     * Only what's needed to show the first screen is critical. Warming up
+     * the analytics tracker, image caches and favorites is done on a
+     * background thread, and the debug and leak detection tools are started
+     * once the first screen has drawn.
+     * Each task is traced in systrace by its name.
+     */
+    private StartupGraph createStartupGraph()
+    {
+        StartupGraph graph = new StartupGraph();
+
+        graph.add("TimeZones", StartupStage.CRITICAL, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                DetourApplication.this.zonesFailure = DetourApplication.this.registerTimeZones();
+            }
+        });
+        graph.add("Persisters", StartupStage.CRITICAL, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                DataPersisterManager.registerDataPersisters(new ImplodedListPersister());
+            }
+        });
+        graph.add("Graph", StartupStage.CRITICAL, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                DetourApplication.this.kernel = new PrismKernel(DetourApplication.this);
+                DetourApplication.this.kernel.bootstrap(DetourApplication.this);
+            }
+        }, "TimeZones", "Persisters");
+        graph.add("Images", StartupStage.CRITICAL, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                ImagePipelineConfig config = OkHttpImagePipelineConfigFactory.newBuilder(
+                    DetourApplication.this,
+                    DetourApplication.this.okHttpClient
+                ).build();
+                Fresco.initialize(DetourApplication.this, config);
+            }
+        }, "Graph");
+
+        graph.add("Analytics", StartupStage.BACKGROUND, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                DetourApplication.this.analyticsTracker.get();
+            }
+        }, "Graph");
+        graph.add("Favorites", StartupStage.BACKGROUND, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                DetourApplication.this.favoriteRepository.get().preload();
+            }
+        }, "Graph");
+        graph.add("ImageCache", StartupStage.BACKGROUND, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                Fresco.getImagePipelineFactory().getMainDiskStorageCache();
+            }
+        }, "Images");
 
-        this.kernel = new PrismKernel(this);
-        this.kernel.bootstrap(this);
-        this.applicationCallback.onCreate(this);
+        graph.add("ZoneReport", StartupStage.IDLE, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                if (null != DetourApplication.this.zonesFailure) {
+                    DetourApplication.this.logger.get().error("Unable to read time zones from assets", DetourApplication.this.zonesFailure);
+                }
+            }
+        }, "TimeZones");
+        graph.add("DebugTools", StartupStage.IDLE, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                DetourApplication.this.applicationCallback.get().onCreate(DetourApplication.this);
+            }
+        }, "Graph");
+        graph.add("LeakDetection", StartupStage.IDLE, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                DetourApplication.this.refWatcher.get();
+            }
+        }, "Graph");
+
+        return graph;
+    }
+
+    /**
+     * Read time zones from the assets instead of Joda's class loader lookups.
+     *
+     * This has to happen before anything creates a date, since Joda resolves
+     * the default zone with whichever provider is set at the time. Only the
+     * device's zone is read here, other zones are read when first used.
+     * Its cost is logged with the startup trace as the "TimeZones" task.
+     *
+     * @return The failure, if the zones couldn't be read and Joda's own
+     *         provider was left in place.
+     */
+    private RuntimeException registerTimeZones()
+    {
+        try {
+            DateTimeZone.setProvider(new AssetZoneInfoProvider(this.getAssets()));
+            DateTimeZone.getDefault();
 
-        ImagePipelineConfig config = OkHttpImagePipelineConfigFactory.newBuilder(
-            this,
-            this.okHttpClient
-        ).build();
-        Fresco.initialize(this, config);
+            return null;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return e;
+        }
     }
 
     @Override
@@ -0,0 +1,134 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework;
+
+import rx.Observer;
+import rx.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The subscriptions owned by a single screen.
+ *
+ * Each fragment or activity keeps its own group and clears it when it pauses
+ * or stops, so that only its own work is affected and never the work of
+ * other screens that are still visible.
+ *
+ * Work can either be cancelled when the group is cleared, by adding its
+ * subscription, or be left to finish while its results are dropped, by
+ * detaching its observer. The second is for loads whose results are still
+ * useful to cache, so the screen doesn't have to start them over when it
+ * comes back.
+ *
+ * This must be used from the main thread.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class SubscriptionGroup
+{
+    /** Work to be cancelled when the group is cleared. */
+    final private List<Subscription> subscriptions = new ArrayList<>();
+
+    /** Observers to stop delivering to when the group is cleared. */
+    final private List<DetachableObserver<?>> observers = new ArrayList<>();
+
+    /**
+     * Cancel a subscription the next time the group is cleared.
+     *
+     * @param subscription Work owned by this group's screen.
+     */
+    public void add(Subscription subscription)
+    {
+        this.subscriptions.add(subscription);
+    }
+
+    /**
+     * Wrap an observer to stop receiving results when the group is cleared.
+     *
+     * The work it observes is not cancelled, so it can still finish and
+     * cache its result for the next time the screen asks for it.
+     *
+     * @param observer The screen's observer for the results.
+     * @return An observer to start the work with in place of the original.
+     */
+    public <T> Observer<T> detachOnClear(Observer<T> observer)
+    {
+        DetachableObserver<T> detachable = new DetachableObserver<>(observer);
+        this.observers.add(detachable);
+
+        return detachable;
+    }
+
+    /**
+     * Cancel the group's subscriptions and detach its observers.
+     */
+    public void clear()
+    {
+        for (Subscription subscription : this.subscriptions) {
+            subscription.unsubscribe();
+        }
+        this.subscriptions.clear();
+
+        for (DetachableObserver<?> observer : this.observers) {
+            observer.detach();
+        }
+        this.observers.clear();
+    }
+
+    /**
+     * @return The number of subscriptions and observers in the group.
+     */
+    public int size()
+    {
+        return this.subscriptions.size() + this.observers.size();
+    }
+
+    /**
+     * Forwards to an observer until detached, then ignores everything.
+     */
+    private static class DetachableObserver<T> implements Observer<T>
+    {
+        private Observer<T> delegate;
+
+        public DetachableObserver(Observer<T> delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        public void detach()
+        {
+            this.delegate = null;
+        }
+
+        @Override
+        public void onCompleted()
+        {
+            if (null != this.delegate) {
+                this.delegate.onCompleted();
+            }
+        }
+
+        @Override
+        public void onError(Throwable e)
+        {
+            if (null != this.delegate) {
+                this.delegate.onError(e);
+            }
+        }
+
+        @Override
+        public void onNext(T item)
+        {
+            if (null != this.delegate) {
+                this.delegate.onNext(item);
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@
  */
 package com.animedetour.android.framework.dependencyinjection.module;
 
+import android.support.v7.widget.RecyclerView;
 import com.animedetour.android.guest.GuestDetailActivity;
 import com.animedetour.android.guest.GuestIndexFragment;
 import com.animedetour.android.home.HomeFragment;
@@ -21,6 +22,9 @@ import com.animedetour.android.schedule.favorite.FavoritesFragment;
 import com.animedetour.android.schedule.serach.EventSearchActivity;
 import com.animedetour.android.settings.SettingsFragment;
 import dagger.Module;
+import dagger.Provides;
+
+import javax.inject.Singleton;
 
 @Module(
     injects = {
@@ -41,4 +45,26 @@ import dagger.Module;
     complete = false,
     library = true
 )
-final public class ActivityModule {}
+final public class ActivityModule
+{
+    /**
+     * Panels kept for reuse across the day pages and favorites.
+     *
+     * Enough for a couple of screens of rows, so that switching pages can
+     * reuse the rows of the page that was left instead of inflating new ones.
+     */
+    final private static int PANEL_POOL_SIZE = 24;
+
+    /**
+     * Recycled panel views shared by every schedule list in the activity.
+     */
+    @Provides
+    @Singleton
+    public RecyclerView.RecycledViewPool panelViewPool()
+    {
+        RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+        pool.setMaxRecycledViews(0, PANEL_POOL_SIZE);
+
+        return pool;
+    }
+}
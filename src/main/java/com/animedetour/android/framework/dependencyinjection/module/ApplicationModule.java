@@ -15,26 +15,33 @@ import android.view.inputmethod.InputMethodManager;
 import com.animedetour.android.BuildConfig;
 import com.animedetour.android.R;
 import com.animedetour.android.database.DataModule;
+import com.animedetour.android.database.event.EventPreparer;
 import com.animedetour.android.framework.DetourApplication;
+import com.animedetour.android.framework.text.HtmlRenderCache;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.model.transformer.ApiEventTransformer;
 import com.animedetour.android.model.transformer.Transformer;
+import com.animedetour.android.schedule.EventPalette;
+import com.animedetour.android.schedule.EventRowCache;
+import com.animedetour.android.schedule.EventRowFactory;
 import com.animedetour.android.schedule.notification.NotificationScheduler;
+import com.animedetour.android.schedule.notification.UpcomingEventReciever;
 import com.animedetour.api.ApiModule;
 import com.animedetour.api.sched.model.ApiEvent;
 import com.google.android.gms.analytics.GoogleAnalytics;
 import com.google.android.gms.analytics.Tracker;
-import com.inkapplications.groundcontrol.SubscriptionManager;
 import com.squareup.leakcanary.LeakCanary;
 import com.squareup.leakcanary.RefWatcher;
 import com.squareup.okhttp.Cache;
 import com.squareup.otto.Bus;
 import dagger.Module;
 import dagger.Provides;
+import monolog.Monolog;
 
-import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 @Module(
     includes = {
@@ -47,8 +54,8 @@ import java.io.File;
     injects = {
         DetourApplication.class,
         NotificationScheduler.class,
+        UpcomingEventReciever.class,
     },
-    staticInjections = { ApplicationModule.EagerSingletons.class },
     complete = false,
     library = true
 )
@@ -80,13 +87,6 @@ final public class ApplicationModule
         return (InputMethodManager) context.getSystemService(Context.INPUT_METHOD_SERVICE);
     }
 
-    @Provides
-    @Singleton
-    public SubscriptionManager subscriptionManager()
-    {
-        return new SubscriptionManager();
-    }
-
     @Provides
     @Singleton
     public Bus bus()
@@ -117,14 +117,55 @@ final public class ApplicationModule
         return eventTransformer;
     }
 
-    /**
-     * Services that are created immediately upon instantiation of the graph.
-     *
-     * DO NOT USE THESE SERVICES DIRECTLY!
-     * This only exists as a workaround for dagger.
-     */
-    static class EagerSingletons
+    @Provides
+    @Singleton
+    public EventPalette eventPalette(Application context, Monolog logger)
     {
-        @Inject static RefWatcher refWatcher;
+        return EventPalette.fromResources(context.getResources(), logger);
+    }
+
+    @Provides
+    @Singleton
+    public EventRowCache eventRowCache(Application context, final EventPalette palette)
+    {
+        EventRowFactory factory = new EventRowFactory(
+            context.getString(R.string.in_preposition),
+            new EventRowFactory.LabelColors()
+            {
+                @Override
+                public int getLabelColor(String category)
+                {
+                    return palette.getColor(category);
+                }
+            }
+        );
+
+        return new EventRowCache(factory);
+    }
+
+    @Provides
+    @Singleton
+    public EventPreparer eventPreparer(EventRowCache rows)
+    {
+        return rows;
+    }
+
+    @Provides
+    @Singleton
+    public HtmlRenderCache htmlRenderCache()
+    {
+        ThreadFactory threadFactory = new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, "html-renderer");
+                thread.setPriority(Thread.MIN_PRIORITY);
+
+                return thread;
+            }
+        };
+
+        return new HtmlRenderCache(Executors.newSingleThreadExecutor(threadFactory));
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.metrics;
+
+/**
+ * Counts of how long frames took to draw, in refresh intervals.
+ *
+ * Each frame is put in a bucket by the number of display refreshes that it
+ * spanned, so a frame that drew in time is in the first bucket and a frame
+ * that missed one refresh is in the second. Frames that span more refreshes
+ * than there are buckets are counted in the last one.
+ *
+ * Every refresh after the first that a frame spans is a dropped frame.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class FrameHistogram
+{
+    /** Number of buckets, the last being for frames this many refreshes or longer. */
+    final public static int BUCKETS = 8;
+
+    /** Time between display refreshes, in nanoseconds. */
+    final private long frameIntervalNanos;
+
+    /** Number of frames that spanned each number of refreshes. */
+    final private int[] counts = new int[BUCKETS];
+
+    /** Number of frames recorded. */
+    private int frames;
+
+    /** Number of refreshes missed by all of the recorded frames. */
+    private long droppedFrames;
+
+    /** The longest frame recorded, in nanoseconds. */
+    private long longestNanos;
+
+    /**
+     * @param frameIntervalNanos Time between display refreshes, in nanoseconds.
+     */
+    public FrameHistogram(long frameIntervalNanos)
+    {
+        if (frameIntervalNanos <= 0) {
+            throw new IllegalArgumentException("Frame interval must be positive: " + frameIntervalNanos);
+        }
+
+        this.frameIntervalNanos = frameIntervalNanos;
+    }
+
+    /**
+     * @param durationNanos The time from the start of the last frame to the start of this one.
+     */
+    public void record(long durationNanos)
+    {
+        long refreshes = Math.max(1, (durationNanos + this.frameIntervalNanos / 2) / this.frameIntervalNanos);
+        int bucket = (int) Math.min(BUCKETS, refreshes) - 1;
+
+        this.counts[bucket]++;
+        this.frames++;
+        this.droppedFrames += refreshes - 1;
+        this.longestNanos = Math.max(this.longestNanos, durationNanos);
+    }
+
+    /**
+     * @param bucket Zero for frames that drew in time, one for frames that missed one refresh, etc.
+     * @return Number of frames recorded in that bucket.
+     */
+    public int getCount(int bucket)
+    {
+        return this.counts[bucket];
+    }
+
+    /**
+     * @return Number of frames recorded.
+     */
+    public int getFrames()
+    {
+        return this.frames;
+    }
+
+    /**
+     * @return Number of frames that missed at least one refresh.
+     */
+    public int getJankyFrames()
+    {
+        return this.frames - this.counts[0];
+    }
+
+    /**
+     * @return Number of refreshes missed by all of the recorded frames.
+     */
+    public long getDroppedFrames()
+    {
+        return this.droppedFrames;
+    }
+
+    /**
+     * @return The longest frame recorded, in milliseconds.
+     */
+    public long getLongestMillis()
+    {
+        return this.longestNanos / 1000000;
+    }
+
+    /**
+     * @return Whether no frames have been recorded since it was last reset.
+     */
+    public boolean isEmpty()
+    {
+        return 0 == this.frames;
+    }
+
+    /**
+     * Clear the recorded frames, to start a new batch.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts[i] = 0;
+        }
+        this.frames = 0;
+        this.droppedFrames = 0;
+        this.longestNanos = 0;
+    }
+
+    /**
+     * @return The frame counts of each bucket, as a compact summary. eg. "580/12/3/0/0/0/0/1"
+     */
+    public String toCompactString()
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (i > 0) {
+                builder.append('/');
+            }
+            builder.append(this.counts[i]);
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FrameHistogram{" +
+            "frames=" + this.frames +
+            ", janky=" + this.getJankyFrames() +
+            ", dropped=" + this.droppedFrames +
+            ", longest=" + this.getLongestMillis() + "ms" +
+            ", buckets=" + this.toCompactString() +
+            '}';
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.metrics;
+
+import android.app.Activity;
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import com.animedetour.android.analytics.EventFactory;
+import monolog.LogName;
+import monolog.Monolog;
+
+/**
+ * Records how smoothly a screen draws while it's in the foreground.
+ *
+ * Frames are only followed while the screen is drawing, such as while a
+ * list scrolls. A draw starts following the display's frame callbacks, and
+ * the time between each callback is how long that frame took. When the
+ * main thread is busy the callbacks are late, and the frames that were
+ * missed are counted as dropped. Once a frame passes without drawing, the
+ * callbacks stop, so an idle screen doesn't keep waking up the app or fill
+ * the batch with frames that were always on time.
+ *
+ * Frames are reported in batches, when a batch fills up or when the screen
+ * is stopped, as a summary log and a tracked event named after the screen.
+ * This is only intended for use on the main thread.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class FrameMetrics implements Choreographer.FrameCallback, ViewTreeObserver.OnDrawListener
+{
+    /** Number of frames to report at a time, about a minute of drawing. */
+    final private static int BATCH_FRAMES = 3600;
+
+    /** Batches with fewer frames than this are too short to be worth reporting. */
+    final private static int MIN_REPORT_FRAMES = 30;
+
+    /** The name of the screen being recorded. */
+    final private String screenName;
+
+    /** Frames recorded since the last report. */
+    final private FrameHistogram histogram;
+
+    /** Logger to report the frames to. */
+    final private Monolog logger;
+
+    /** Whether frames are being recorded. */
+    private boolean running = false;
+
+    /** The view whose window's draws are being watched, while running. */
+    private View view;
+
+    /** Whether a frame callback is waiting for the next frame. */
+    private boolean posted = false;
+
+    /** Whether the window has drawn since the last frame callback. */
+    private boolean drawn = false;
+
+    /** Start time of the previous frame, or zero if the window wasn't drawing before it. */
+    private long lastFrameNanos = 0;
+
+    /**
+     * @param screenName The name of the screen being recorded.
+     * @param refreshRate The number of times the display is refreshed each second.
+     * @param logger Logger to report the frames to.
+     */
+    public FrameMetrics(String screenName, float refreshRate, Monolog logger)
+    {
+        this.screenName = screenName;
+        this.histogram = new FrameHistogram((long) (1000000000L / refreshRate));
+        this.logger = logger;
+    }
+
+    /**
+     * Create metrics for a screen that has a log name.
+     *
+     * @param screen The fragment or activity to record, named by its {@link LogName}.
+     * @param activity The activity that the screen is drawn in.
+     * @param logger Logger to report the frames to.
+     * @return Metrics for the screen, or null if the screen isn't named.
+     */
+    public static FrameMetrics forScreen(Object screen, Activity activity, Monolog logger)
+    {
+        LogName name = screen.getClass().getAnnotation(LogName.class);
+        if (null == name) {
+            return null;
+        }
+
+        float refreshRate = activity.getWindowManager().getDefaultDisplay().getRefreshRate();
+
+        return new FrameMetrics(name.value(), refreshRate, logger);
+    }
+
+    /**
+     * Start recording frames, when the screen comes to the foreground.
+     *
+     * @param view A view in the screen's window, to watch the window's draws with.
+     */
+    public void start(View view)
+    {
+        if (this.running || null == view) {
+            return;
+        }
+
+        this.running = true;
+        this.view = view;
+        this.lastFrameNanos = 0;
+        this.drawn = false;
+        view.getViewTreeObserver().addOnDrawListener(this);
+    }
+
+    /**
+     * Stop recording frames and report what was recorded.
+     */
+    public void stop()
+    {
+        if (false == this.running) {
+            return;
+        }
+
+        this.running = false;
+        ViewTreeObserver observer = this.view.getViewTreeObserver();
+        if (observer.isAlive()) {
+            observer.removeOnDrawListener(this);
+        }
+        this.view = null;
+        if (this.posted) {
+            this.posted = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+        this.report();
+    }
+
+    /**
+     * Follow the frames after a draw, if they aren't being followed already.
+     */
+    @Override
+    public void onDraw()
+    {
+        if (false == this.running) {
+            return;
+        }
+
+        this.drawn = true;
+        if (false == this.posted) {
+            this.posted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Record the previous frame if it drew, or stop following frames if not.
+     *
+     * Frame callbacks run before the frame's own draw, so the time since the
+     * last callback covers the draw in between.
+     */
+    @Override
+    public void doFrame(long frameTimeNanos)
+    {
+        this.posted = false;
+        if (false == this.running) {
+            return;
+        }
+
+        if (false == this.drawn) {
+            this.lastFrameNanos = 0;
+            return;
+        }
+
+        if (0 != this.lastFrameNanos) {
+            this.histogram.record(frameTimeNanos - this.lastFrameNanos);
+        }
+        this.lastFrameNanos = frameTimeNanos;
+        this.drawn = false;
+
+        if (this.histogram.getFrames() >= BATCH_FRAMES) {
+            this.report();
+        }
+
+        this.posted = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Send a summary of the batch of frames, and start a new one.
+     */
+    private void report()
+    {
+        if (this.histogram.getFrames() >= MIN_REPORT_FRAMES) {
+            this.logger.info(this.screenName + " frames: " + this.histogram);
+            this.logger.trace(EventFactory.frameSummary(this.screenName, this.histogram));
+        }
+
+        this.histogram.reset();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.startup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The tasks to do when the application starts, and the order to do them in.
+ *
+ * Tasks are ordered within each stage so that every task comes after the
+ * tasks it depends on. Otherwise, they're kept in the order they were added.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class StartupGraph
+{
+    /** Every task, by its name, in the order that they were added. */
+    final private Map<String, StartupTask> tasks = new LinkedHashMap<>();
+
+    /**
+     * @param name A unique name for the task, used for dependencies and its trace.
+     * @param stage When the task is run.
+     * @param work The work to do.
+     * @param dependencies Names of the tasks that have to be done before this one.
+     * @return This graph, for adding more tasks.
+     */
+    public StartupGraph add(String name, StartupStage stage, Runnable work, String... dependencies)
+    {
+        if (this.tasks.containsKey(name)) {
+            throw new IllegalArgumentException("Startup task already added: " + name);
+        }
+
+        this.tasks.put(name, new StartupTask(name, stage, work, dependencies));
+
+        return this;
+    }
+
+    /**
+     * Get the tasks of a stage, in the order that they should be run.
+     *
+     * @param stage The stage to get the tasks for.
+     * @return The stage's tasks, each after the tasks it depends on.
+     * @throws IllegalStateException If a dependency is missing, is in a stage
+     *         that may not be done in time, or depends back on the task.
+     */
+    public List<StartupTask> getTasks(StartupStage stage)
+    {
+        List<StartupTask> ordered = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+
+        for (StartupTask task : this.tasks.values()) {
+            if (task.getStage() == stage) {
+                this.visit(task, ordered, visited, new HashSet<String>());
+            }
+        }
+
+        return ordered;
+    }
+
+    /**
+     * Add a task to the order after its dependencies in the same stage.
+     *
+     * @param task The task to add.
+     * @param ordered The stage's tasks ordered so far.
+     * @param visited Names of the tasks already ordered.
+     * @param path Names of the tasks that depend on this one, to find cycles.
+     */
+    private void visit(StartupTask task, List<StartupTask> ordered, Set<String> visited, Set<String> path)
+    {
+        if (visited.contains(task.getName())) {
+            return;
+        }
+        if (false == path.add(task.getName())) {
+            throw new IllegalStateException("Startup task depends on itself: " + task.getName());
+        }
+
+        for (String name : task.getDependencies()) {
+            StartupTask dependency = this.tasks.get(name);
+            if (null == dependency) {
+                throw new IllegalStateException("Startup task " + task.getName() + " depends on missing task: " + name);
+            }
+            if (dependency.getStage() == task.getStage()) {
+                this.visit(dependency, ordered, visited, path);
+            } else if (dependency.getStage() != StartupStage.CRITICAL) {
+                throw new IllegalStateException("Startup task " + task.getName() + " can't depend on " + dependency);
+            }
+        }
+
+        path.remove(task.getName());
+        visited.add(task.getName());
+        ordered.add(task);
+    }
+}
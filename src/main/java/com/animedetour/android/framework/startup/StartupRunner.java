@@ -0,0 +1,149 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.startup;
+
+import android.os.Build;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import dagger.Lazy;
+import monolog.Monolog;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Runs each stage of the startup tasks on its own thread.
+ *
+ * Each task is traced under its name in systrace, and each stage logs how
+ * long its tasks took once it's done. The critical stage's log waits until
+ * the first screen has drawn, since the logger may not be ready until then.
+ *
+ * A failure in a critical task is thrown, as the application can't run
+ * without it. Failures in the other stages are logged, and tasks that depend
+ * on the failed task are skipped.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class StartupRunner
+{
+    /** The tasks to run. */
+    final private StartupGraph graph;
+
+    /** Logger for the stage traces, only used after the critical stage. */
+    final private Lazy<Monolog> logger;
+
+    /**
+     * @param graph The tasks to run.
+     * @param logger Logger for the stage traces, only used after the critical stage.
+     */
+    public StartupRunner(StartupGraph graph, Lazy<Monolog> logger)
+    {
+        this.graph = graph;
+        this.logger = logger;
+    }
+
+    /**
+     * Run the critical tasks now, and schedule the rest.
+     *
+     * This must be called from the main thread.
+     */
+    public void start()
+    {
+        final StartupTrace critical = this.run(StartupStage.CRITICAL);
+
+        Thread background = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                StartupRunner.this.report(StartupRunner.this.run(StartupStage.BACKGROUND));
+            }
+        }, "Startup");
+        background.start();
+
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler()
+        {
+            @Override
+            public boolean queueIdle()
+            {
+                StartupRunner.this.report(critical);
+                StartupRunner.this.report(StartupRunner.this.run(StartupStage.IDLE));
+
+                return false;
+            }
+        });
+    }
+
+    private StartupTrace run(StartupStage stage)
+    {
+        StartupTrace trace = new StartupTrace(stage);
+        Set<String> failed = new HashSet<>();
+
+        for (StartupTask task : this.graph.getTasks(stage)) {
+            if (this.dependsOnAny(task, failed)) {
+                failed.add(task.getName());
+                trace.fail(task.getName());
+                continue;
+            }
+
+            long start = SystemClock.uptimeMillis();
+            this.beginSection(task.getName());
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                if (StartupStage.CRITICAL == stage) {
+                    throw e;
+                }
+                this.logger.get().error("Startup task failed: " + task.getName(), e);
+                failed.add(task.getName());
+                trace.fail(task.getName());
+                continue;
+            } finally {
+                this.endSection();
+            }
+            trace.record(task.getName(), SystemClock.uptimeMillis() - start);
+        }
+
+        return trace;
+    }
+
+    private boolean dependsOnAny(StartupTask task, Set<String> names)
+    {
+        for (String dependency : task.getDependencies()) {
+            if (names.contains(dependency)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void report(StartupTrace trace)
+    {
+        this.logger.get().debug(trace.toString());
+    }
+
+    private void beginSection(String name)
+    {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(name);
+        }
+    }
+
+    private void endSection()
+    {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.startup;
+
+/**
+ * When a startup task is run.
+ *
+ * Only the critical stage holds up the first screen. The other two stages
+ * run alongside each other, so tasks in them can only depend on critical
+ * tasks or tasks in their own stage.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public enum StartupStage
+{
+    /** Run on the main thread before the application is created. */
+    CRITICAL,
+
+    /** Run on a low priority thread, started once the critical tasks are done. */
+    BACKGROUND,
+
+    /** Run on the main thread once it's idle, after the first screen has drawn. */
+    IDLE,
+}
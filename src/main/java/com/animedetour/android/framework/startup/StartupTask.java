@@ -0,0 +1,85 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.startup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single piece of work to do when the application starts.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class StartupTask
+{
+    /** A unique name for the task, used for dependencies and its trace. */
+    final private String name;
+
+    /** When the task is run. */
+    final private StartupStage stage;
+
+    /** The work to do. */
+    final private Runnable work;
+
+    /** Names of the tasks that have to be done before this one. */
+    final private List<String> dependencies;
+
+    /**
+     * @param name A unique name for the task, used for dependencies and its trace.
+     * @param stage When the task is run.
+     * @param work The work to do.
+     * @param dependencies Names of the tasks that have to be done before this one.
+     */
+    public StartupTask(String name, StartupStage stage, Runnable work, String... dependencies)
+    {
+        this.name = name;
+        this.stage = stage;
+        this.work = work;
+        this.dependencies = Collections.unmodifiableList(Arrays.asList(dependencies));
+    }
+
+    /**
+     * Do the task's work.
+     */
+    public void run()
+    {
+        this.work.run();
+    }
+
+    /**
+     * @return A unique name for the task, used for dependencies and its trace.
+     */
+    public String getName()
+    {
+        return this.name;
+    }
+
+    /**
+     * @return When the task is run.
+     */
+    public StartupStage getStage()
+    {
+        return this.stage;
+    }
+
+    /**
+     * @return Names of the tasks that have to be done before this one.
+     */
+    public List<String> getDependencies()
+    {
+        return this.dependencies;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StartupTask{" + this.name + ", " + this.stage + '}';
+    }
+}
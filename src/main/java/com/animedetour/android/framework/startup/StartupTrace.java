@@ -0,0 +1,102 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.startup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How long each task of a startup stage took.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class StartupTrace
+{
+    /** The stage that was run. */
+    final private StartupStage stage;
+
+    /** Names of the tasks that were run, in order. */
+    final private List<String> tasks = new ArrayList<>();
+
+    /** How long each task took, in the same order. */
+    final private List<Long> times = new ArrayList<>();
+
+    /** Names of the tasks that failed, or were skipped because a dependency failed. */
+    final private List<String> failures = new ArrayList<>();
+
+    /**
+     * @param stage The stage that was run.
+     */
+    public StartupTrace(StartupStage stage)
+    {
+        this.stage = stage;
+    }
+
+    /**
+     * @param task The name of the task that was run.
+     * @param millis How long the task took.
+     */
+    public void record(String task, long millis)
+    {
+        this.tasks.add(task);
+        this.times.add(millis);
+    }
+
+    /**
+     * @param task The name of a task that failed, or was skipped.
+     */
+    public void fail(String task)
+    {
+        this.failures.add(task);
+    }
+
+    /**
+     * @return Names of the tasks that failed, or were skipped because a dependency failed.
+     */
+    public List<String> getFailures()
+    {
+        return this.failures;
+    }
+
+    /**
+     * @return How long all of the stage's tasks took together.
+     */
+    public long getTotalMillis()
+    {
+        long total = 0;
+        for (long time : this.times) {
+            total += time;
+        }
+
+        return total;
+    }
+
+    /**
+     * @return A summary of the stage. eg. "Startup CRITICAL: 92ms (TimeZones 12ms, Graph 80ms)"
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("Startup ");
+        builder.append(this.stage).append(": ").append(this.getTotalMillis()).append("ms (");
+        for (int i = 0; i < this.tasks.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(this.tasks.get(i)).append(' ').append(this.times.get(i)).append("ms");
+        }
+        builder.append(')');
+
+        if (false == this.failures.isEmpty()) {
+            builder.append(" failed: ").append(this.failures);
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.text;
+
+import android.text.Html;
+import android.text.Spanned;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps HTML descriptions and bios rendered into styled text.
+ *
+ * Rendering a long description takes long enough to drop frames when a
+ * detail screen opens, so lists warm the text for the items they display,
+ * and the detail screen uses the already rendered result.
+ *
+ * Event and guest ID's share this cache. If they happen to overlap, the
+ * text is only rendered again, since results are checked against the text
+ * they were rendered from.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class HtmlRenderCache extends RenderCache<Spanned>
+{
+    /** Number of rendered descriptions to keep in memory. */
+    final private static int MAX_SIZE = 64;
+
+    /**
+     * @param executor Thread to warm descriptions on.
+     */
+    public HtmlRenderCache(Executor executor)
+    {
+        super(MAX_SIZE, executor);
+    }
+
+    @Override
+    protected Spanned render(String content)
+    {
+        return Html.fromHtml(content);
+    }
+}
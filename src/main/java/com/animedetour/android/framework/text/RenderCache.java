@@ -0,0 +1,187 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.text;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * A bounded, least-recently-used store of rendered text.
+ *
+ * Results are stored by the ID of the model that the text belongs to, along
+ * with a hash of the text they were rendered from, so that a model whose
+ * text has changed since is rendered again.
+ *
+ * Text can be warmed ahead of time, which renders it on a background thread
+ * so that it is ready by the time a screen needs it.
+ *
+ * This is safe to use from multiple threads.
+ *
+ * @param <RESULT> The type of rendered text.
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public abstract class RenderCache<RESULT>
+{
+    /** Rendered results by model ID, in order of least recent use. */
+    final private LinkedHashMap<String, Entry<RESULT>> entries;
+
+    /** ID's that are waiting to be rendered in the background. */
+    final private Set<String> pending = new HashSet<>();
+
+    /** Thread to warm results on. */
+    final private Executor executor;
+
+    /**
+     * @param maxSize The maximum number of results to keep at once.
+     * @param executor Thread to warm results on.
+     */
+    public RenderCache(final int maxSize, Executor executor)
+    {
+        this.executor = executor;
+        this.entries = new LinkedHashMap<String, Entry<RESULT>>(maxSize, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<RESULT>> eldest)
+            {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Render text.
+     *
+     * This may be run on a background thread.
+     *
+     * @param content The text to render.
+     * @return The rendered text.
+     */
+    abstract protected RESULT render(String content);
+
+    /**
+     * Find a stored result, without rendering anything.
+     *
+     * @param id The ID of the model the text belongs to.
+     * @param content The text to find the result for.
+     * @return The stored result, or null if the text hasn't been rendered.
+     */
+    public synchronized RESULT peek(String id, String content)
+    {
+        if (null == content) {
+            return null;
+        }
+
+        Entry<RESULT> entry = this.entries.get(id);
+        if (null == entry || false == entry.matches(content)) {
+            return null;
+        }
+
+        return entry.result;
+    }
+
+    /**
+     * Get the rendered text, rendering it now if it hasn't been already.
+     *
+     * @param id The ID of the model the text belongs to.
+     * @param content The text to render.
+     * @return The rendered text, or null if there is no text.
+     */
+    public RESULT get(String id, String content)
+    {
+        if (null == content) {
+            return null;
+        }
+
+        RESULT cached = this.peek(id, content);
+        if (null != cached) {
+            return cached;
+        }
+
+        RESULT result = this.render(content);
+        this.put(id, content, result);
+
+        return result;
+    }
+
+    /**
+     * Render text in the background if it hasn't been already.
+     *
+     * This does nothing if the text is already stored or waiting to be
+     * rendered, so it is cheap to call each time a model is displayed.
+     *
+     * @param id The ID of the model the text belongs to.
+     * @param content The text to render.
+     */
+    public void warm(final String id, final String content)
+    {
+        if (null == content) {
+            return;
+        }
+
+        synchronized (this) {
+            if (this.pending.contains(id) || null != this.peek(id, content)) {
+                return;
+            }
+            this.pending.add(id);
+        }
+
+        this.executor.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try {
+                    RenderCache.this.put(id, content, RenderCache.this.render(content));
+                } finally {
+                    synchronized (RenderCache.this) {
+                        RenderCache.this.pending.remove(id);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return The number of results stored.
+     */
+    public synchronized int size()
+    {
+        return this.entries.size();
+    }
+
+    private synchronized void put(String id, String content, RESULT result)
+    {
+        this.entries.put(id, new Entry<>(content, result));
+    }
+
+    /**
+     * A rendered result, and the text it was rendered from.
+     */
+    private static class Entry<RESULT>
+    {
+        final private int contentHash;
+        final private int contentLength;
+        final private RESULT result;
+
+        public Entry(String content, RESULT result)
+        {
+            this.contentHash = content.hashCode();
+            this.contentLength = content.length();
+            this.result = result;
+        }
+
+        public boolean matches(String content)
+        {
+            return this.contentLength == content.length() && this.contentHash == content.hashCode();
+        }
+    }
+}
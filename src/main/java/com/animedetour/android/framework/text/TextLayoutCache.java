@@ -0,0 +1,154 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.text;
+
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used store of measured text layouts.
+ *
+ * Breaking text into lines is the most expensive part of drawing a row of
+ * text, so views that draw their own text keep the layouts here and share
+ * them. Every layout is for the same paint, and layouts are kept by their
+ * text and width together, since views beside each other can fit the same
+ * paint into different widths. Layouts for widths that are no longer used
+ * (after rotation, for instance) fall out as the least recently used.
+ *
+ * Text longer than the maximum number of lines is cut short with an
+ * ellipsis at the end of the last line.
+ *
+ * This is only intended for use on the main thread.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class TextLayoutCache
+{
+    /** Paint that all of the text is measured and drawn with. */
+    final private TextPaint paint;
+
+    /** The most lines that a layout may take up. */
+    final private int maxLines;
+
+    /** Measured layouts by their text and width, in order of least recent use. */
+    final private LinkedHashMap<LayoutKey, StaticLayout> layouts;
+
+    /** Reused to look up layouts, so that finding a cached one doesn't allocate. */
+    final private LayoutKey lookup = new LayoutKey(null, 0);
+
+    /**
+     * @param paint Paint that all of the text is measured and drawn with.
+     * @param maxLines The most lines that a layout may take up.
+     * @param maxSize The maximum number of layouts to keep at once.
+     */
+    public TextLayoutCache(TextPaint paint, int maxLines, final int maxSize)
+    {
+        this.paint = paint;
+        this.maxLines = maxLines;
+        this.layouts = new LinkedHashMap<LayoutKey, StaticLayout>(maxSize, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LayoutKey, StaticLayout> eldest)
+            {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the layout of a piece of text, measuring it if it isn't cached.
+     *
+     * @param text The text to lay out.
+     * @param width The width to fit the text into, in pixels.
+     * @return The text broken into lines that fit the width.
+     */
+    public StaticLayout get(String text, int width)
+    {
+        this.lookup.text = text;
+        this.lookup.width = width;
+        StaticLayout cached = this.layouts.get(this.lookup);
+        this.lookup.text = null;
+        if (null != cached) {
+            return cached;
+        }
+
+        StaticLayout layout = this.measure(text, width);
+        this.layouts.put(new LayoutKey(text, width), layout);
+
+        return layout;
+    }
+
+    /**
+     * @return The paint that the text is measured and drawn with.
+     */
+    public TextPaint getPaint()
+    {
+        return this.paint;
+    }
+
+    private StaticLayout measure(String text, int width)
+    {
+        StaticLayout layout = this.create(text, width);
+        if (layout.getLineCount() <= this.maxLines) {
+            return layout;
+        }
+
+        int lastLineStart = layout.getLineStart(this.maxLines - 1);
+        CharSequence lastLine = TextUtils.ellipsize(
+            text.substring(lastLineStart),
+            this.paint,
+            width,
+            TextUtils.TruncateAt.END
+        );
+
+        return this.create(text.substring(0, lastLineStart) + lastLine, width);
+    }
+
+    private StaticLayout create(CharSequence text, int width)
+    {
+        return new StaticLayout(text, this.paint, width, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true);
+    }
+
+    /**
+     * The text and width that a layout was measured for.
+     */
+    private static class LayoutKey
+    {
+        private String text;
+        private int width;
+
+        public LayoutKey(String text, int width)
+        {
+            this.text = text;
+            this.width = width;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            LayoutKey that = (LayoutKey) o;
+
+            return this.width == that.width && this.text.equals(that.text);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * this.text.hashCode() + this.width;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.time;
+
+import android.content.res.AssetManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads Joda's compiled time zone data from the app's assets.
+ *
+ * Joda's default provider reads this data through class loader resource
+ * lookups, which are slow on Android. The build copies the same data out of
+ * the Joda jar into the `tz` assets directory, which can be opened directly.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class AssetZoneInfoProvider extends LazyZoneInfoProvider
+{
+    /** Assets directory that the zone data is copied into by the build. */
+    final private static String DIRECTORY = "tz/";
+
+    final private AssetManager assets;
+
+    /**
+     * @param assets The app's assets, containing the zone data.
+     */
+    public AssetZoneInfoProvider(AssetManager assets)
+    {
+        this.assets = assets;
+    }
+
+    @Override
+    protected InputStream open(String name) throws IOException
+    {
+        return this.assets.open(DIRECTORY + name, AssetManager.ACCESS_STREAMING);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.time;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.tz.DateTimeZoneBuilder;
+import org.joda.time.tz.Provider;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides Joda time zones from compiled zone data, one zone at a time.
+ *
+ * This reads the same compiled `ZoneInfoMap` index and zone files that Joda
+ * ships with. The index is read once, the first time any zone is asked for,
+ * and each zone's data is only read the first time that zone is used. Since
+ * the app only ever uses a couple of zones, most of the zone data is never
+ * read at all.
+ *
+ * Subclasses decide where the data is read from.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public abstract class LazyZoneInfoProvider implements Provider
+{
+    /** Name of the index of zone ID's in the zone data. */
+    final private static String INDEX = "ZoneInfoMap";
+
+    /** Zone ID's mapped to the name of the zone data they are read from. */
+    private volatile Map<String, String> index;
+
+    /** Zones that have already been read. */
+    final private Map<String, DateTimeZone> zones = new ConcurrentHashMap<>();
+
+    /**
+     * Open a file of the compiled zone data.
+     *
+     * @param name The name of the file, either the index or a zone ID.
+     * @return A stream of the file's contents. This will be closed after reading.
+     * @throws IOException If the file can't be read.
+     */
+    abstract protected InputStream open(String name) throws IOException;
+
+    @Override
+    public DateTimeZone getZone(String id)
+    {
+        if (null == id) {
+            return null;
+        }
+        if ("UTC".equals(id)) {
+            return DateTimeZone.UTC;
+        }
+
+        DateTimeZone cached = this.zones.get(id);
+        if (null != cached) {
+            return cached;
+        }
+
+        String name = this.getIndex().get(id);
+        if (null == name) {
+            return null;
+        }
+        if (false == name.equals(id)) {
+            return this.getZone(name);
+        }
+
+        DateTimeZone zone = this.read(id);
+        if (null != zone) {
+            this.zones.put(id, zone);
+        }
+
+        return zone;
+    }
+
+    @Override
+    public Set<String> getAvailableIDs()
+    {
+        return this.getIndex().keySet();
+    }
+
+    /**
+     * @return The number of zones whose data has been read so far.
+     */
+    public int getLoadedCount()
+    {
+        return this.zones.size();
+    }
+
+    private DateTimeZone read(String id)
+    {
+        InputStream in = null;
+        try {
+            in = this.open(id);
+            return DateTimeZoneBuilder.readFrom(in, id);
+        } catch (IOException e) {
+            // An unreadable zone is treated like an unknown one, so Joda
+            // will report it when the zone is asked for.
+            return null;
+        } finally {
+            this.close(in);
+        }
+    }
+
+    /**
+     * Read the index of zone ID's if it hasn't been already.
+     *
+     * @throws IllegalStateException If the index can't be read, since no zone
+     *         could be found without it.
+     */
+    private Map<String, String> getIndex()
+    {
+        Map<String, String> current = this.index;
+        if (null != current) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (null == this.index) {
+                this.index = this.readIndex();
+            }
+
+            return this.index;
+        }
+    }
+
+    /**
+     * Reads the index in the format written by Joda's zone compiler: a pool
+     * of strings, followed by pairs of pool positions for each ID and the
+     * name of its data.
+     */
+    private Map<String, String> readIndex()
+    {
+        InputStream in = null;
+        try {
+            in = this.open(INDEX);
+            DataInputStream data = new DataInputStream(in);
+
+            String[] pool = new String[data.readUnsignedShort()];
+            for (int i = 0; i < pool.length; i++) {
+                pool[i] = data.readUTF().intern();
+            }
+
+            int size = data.readUnsignedShort();
+            Map<String, String> index = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                index.put(pool[data.readUnsignedShort()], pool[data.readUnsignedShort()]);
+            }
+
+            return Collections.unmodifiableMap(index);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read time zone index", e);
+        } finally {
+            this.close(in);
+        }
+    }
+
+    private void close(InputStream in)
+    {
+        if (null == in) {
+            return;
+        }
+
+        try {
+            in.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
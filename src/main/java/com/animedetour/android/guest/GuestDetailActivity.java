@@ -12,14 +12,16 @@ import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.support.v7.widget.Toolbar;
-import android.text.Html;
 import android.text.method.LinkMovementMethod;
 import android.view.View;
 import android.widget.ScrollView;
 import android.widget.TextView;
 import butterknife.Bind;
 import com.animedetour.android.R;
+import com.animedetour.android.database.guest.GuestRepository;
 import com.animedetour.android.framework.BaseActivity;
+import com.animedetour.android.framework.SubscriptionGroup;
+import com.animedetour.android.framework.text.HtmlRenderCache;
 import com.animedetour.android.view.fader.ToolbarFader;
 import com.animedetour.android.view.fader.ToolbarFaderFactory;
 import com.animedetour.android.view.scrim.ImageScrim;
@@ -28,6 +30,7 @@ import monolog.LogName;
 import monolog.Monolog;
 import prism.framework.DisplayName;
 import prism.framework.Layout;
+import rx.Observer;
 
 import javax.inject.Inject;
 
@@ -35,9 +38,13 @@ import javax.inject.Inject;
  * A detailed view of a particular guest.
  *
  * This activity REQUIRES the following arguments to start:
- *  * ARG_GUEST
+ *  * ARG_GUEST_ID
  *
- * @see #ARG_GUEST
+ * The guest's name, category and photo are passed along with their ID so
+ * that they can be shown right away, while the rest of the guest, including
+ * their bio, is loaded off of the main thread.
+ *
+ * @see #createIntent
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 @Layout(R.layout.guest_detail)
@@ -66,16 +73,28 @@ final public class GuestDetailActivity extends BaseActivity
     @Inject
     Monolog log;
 
-    /**
-     * Argument flag for the serialized guest object extra to be passed into the
-     * intent starting this activity.
-     */
-    final private static String ARG_GUEST = "guest";
+    @Inject
+    GuestRepository guestData;
+
+    @Inject
+    HtmlRenderCache bios;
 
     /**
-     * The guest object being displayed on the activity.
+     * Argument flag for the ID of the guest to be displayed.
      */
-    private Guest guest;
+    final private static String ARG_GUEST_ID = "guest_id";
+
+    /** Argument flag for the guest's full name, shown while loading. */
+    final private static String ARG_GUEST_NAME = "guest_name";
+
+    /** Argument flag for the name of the guest's category, shown while loading. */
+    final private static String ARG_GUEST_CATEGORY = "guest_category";
+
+    /** Argument flag for the guest's full resolution photo, shown while loading. */
+    final private static String ARG_GUEST_PHOTO = "guest_photo";
+
+    /** Lookup for the full guest, cancelled when the screen is destroyed. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
 
     /**
      * Properly constructs the guest details event, basically a constructor for the activity.
@@ -85,7 +104,12 @@ final public class GuestDetailActivity extends BaseActivity
     public static Intent createIntent(Context context, Guest guest)
     {
         Intent intent = new Intent(context, GuestDetailActivity.class);
-        intent.putExtra(ARG_GUEST, guest);
+        intent.putExtra(ARG_GUEST_ID, guest.getId());
+        intent.putExtra(ARG_GUEST_NAME, guest.getFullName());
+        intent.putExtra(ARG_GUEST_PHOTO, guest.getFullPhoto());
+        if (null != guest.getCategory()) {
+            intent.putExtra(ARG_GUEST_CATEGORY, guest.getCategory().getName());
+        }
 
         return intent;
     }
@@ -94,7 +118,19 @@ final public class GuestDetailActivity extends BaseActivity
     protected void onCreate(Bundle savedInstanceState)
     {
         super.onCreate(savedInstanceState);
-        this.guest = (Guest) this.getIntent().getSerializableExtra(ARG_GUEST);
+
+        String guestId = this.getIntent().getStringExtra(ARG_GUEST_ID);
+        this.subscriptions.add(this.guestData.findById(
+            guestId,
+            this.subscriptions.detachOnClear(new GuestObserver())
+        ));
+    }
+
+    @Override
+    protected void onDestroy()
+    {
+        super.onDestroy();
+        this.subscriptions.clear();
     }
 
     @Override
@@ -109,14 +145,39 @@ final public class GuestDetailActivity extends BaseActivity
             }
         });
 
-        this.bio.setText(Html.fromHtml(this.guest.getBio()));
+        Intent intent = this.getIntent();
         this.bio.setMovementMethod(LinkMovementMethod.getInstance());
-        this.category.setText(this.guest.getCategory().getName());
-        this.avatar.setTitle(this.guest.getFullName());
+        this.category.setText(intent.getStringExtra(ARG_GUEST_CATEGORY));
+        this.avatar.setTitle(intent.getStringExtra(ARG_GUEST_NAME));
         this.avatar.expandImage();
-        this.avatar.setImage(this.guest.getFullPhoto());
+        this.avatar.setImage(intent.getStringExtra(ARG_GUEST_PHOTO));
 
         ToolbarFader fader = this.faderFactory.create(this.avatar, this.detailsContainer, this.actionBar);
         this.detailsContainer.getViewTreeObserver().addOnScrollChangedListener(fader);
     }
+
+    /**
+     * Fills in the guest's bio once the full guest is loaded.
+     */
+    private class GuestObserver implements Observer<Guest>
+    {
+        @Override public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            GuestDetailActivity.this.log.error("Error when loading guest details", e);
+        }
+
+        @Override
+        public void onNext(Guest guest)
+        {
+            if (null == guest) {
+                GuestDetailActivity.this.finish();
+                return;
+            }
+
+            GuestDetailActivity.this.bio.setText(GuestDetailActivity.this.bios.get(guest.getId(), guest.getBio()));
+        }
+    }
 }
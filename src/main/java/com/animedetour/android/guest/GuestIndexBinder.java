@@ -10,6 +10,7 @@ package com.animedetour.android.guest;
 
 import android.content.Context;
 import android.view.ViewGroup;
+import com.animedetour.android.framework.text.HtmlRenderCache;
 import com.animedetour.api.guest.model.Guest;
 import com.inkapplications.android.widget.recyclerview.ItemViewBinder;
 
@@ -27,11 +28,15 @@ public class GuestIndexBinder implements ItemViewBinder<GuestWidgetView, Guest>
     final private Context context;
     final private GuestControllerFactory controllerFactory;
 
+    /** Renders the bios of displayed guests ahead of opening them. */
+    final private HtmlRenderCache bios;
+
     @Inject
-    public GuestIndexBinder(Context context, GuestControllerFactory controllerFactory)
+    public GuestIndexBinder(Context context, GuestControllerFactory controllerFactory, HtmlRenderCache bios)
     {
         this.context = context;
         this.controllerFactory = controllerFactory;
+        this.bios = bios;
     }
 
     @Override
@@ -46,5 +51,6 @@ public class GuestIndexBinder implements ItemViewBinder<GuestWidgetView, Guest>
         view.bindGuest(guest);
         GuestWidgetController controller = this.controllerFactory.create(guest);
         view.setOnClickListener(controller);
+        this.bios.warm(guest.getId(), guest.getBio());
     }
 }
@@ -15,9 +15,9 @@ import android.view.View;
 import com.animedetour.android.R;
 import com.animedetour.android.database.guest.GuestRepository;
 import com.animedetour.android.framework.BaseFragment;
+import com.animedetour.android.framework.SubscriptionGroup;
 import com.animedetour.api.guest.model.Guest;
 import com.inkapplications.android.widget.recyclerview.SimpleRecyclerView;
-import com.inkapplications.groundcontrol.SubscriptionManager;
 
 import java.util.ArrayList;
 
@@ -55,8 +55,8 @@ public class GuestIndexFragment extends BaseFragment
     @Inject
     GuestIndexBinder binder;
 
-    @Inject
-    SubscriptionManager subscriptionManager;
+    /** Work for this index, stopped when the index is paused. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
 
     @Override
     public void onActivityCreated(Bundle savedInstanceState)
@@ -74,7 +74,7 @@ public class GuestIndexFragment extends BaseFragment
         CategoryUpdateObserver observer = new CategoryUpdateObserver(this.log,
                 this.categoryList, this.emptyView);
         Subscription subscription = this.repository.findAllCategories(observer);
-        this.subscriptionManager.add(subscription);
+        this.subscriptions.add(subscription);
     }
 
     @Override
@@ -82,6 +82,6 @@ public class GuestIndexFragment extends BaseFragment
     {
         super.onPause();
 
-        this.subscriptionManager.unsubscribeAll();
+        this.subscriptions.clear();
     }
 }
@@ -12,13 +12,12 @@ import butterknife.Bind;
 import com.animedetour.android.R;
 import com.animedetour.android.database.event.EventRepository;
 import com.animedetour.android.framework.BaseFragment;
+import com.animedetour.android.framework.SubscriptionGroup;
 import com.animedetour.android.view.scrim.ImageScrim;
-import com.inkapplications.groundcontrol.SubscriptionManager;
 import monolog.LogName;
 import monolog.Monolog;
 import prism.framework.DisplayName;
 import prism.framework.Layout;
-import rx.Subscription;
 
 import javax.inject.Inject;
 
@@ -47,8 +46,8 @@ final public class HomeFragment extends BaseFragment
     @Bind(R.id.event_banner2)
     ImageScrim scrim2;
 
-    @Inject
-    SubscriptionManager subscriptionManager;
+    /** Work for this screen, stopped when the screen is paused. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
 
     @Inject
     FeaturedUpdaterFactory updaterFactory;
@@ -66,16 +65,18 @@ final public class HomeFragment extends BaseFragment
     {
         super.onPause();
 
-        this.subscriptionManager.unsubscribeAll();
+        this.subscriptions.clear();
     }
 
     /**
      * Lookup a featured event and load the data into banners.
+     *
+     * The lookup is left to finish if the screen is paused, so that its
+     * result is cached for when the screen is shown again.
      */
     private void loadBannerData(ImageScrim banner, ImageScrim banner2)
     {
         FeaturedUpdater updater = this.updaterFactory.create(banner, banner2);
-        Subscription subscription = this.eventData.findFeatured(updater);
-        this.subscriptionManager.add(subscription);
+        this.eventData.findFeatured(this.subscriptions.detachOnClear(updater));
     }
 }
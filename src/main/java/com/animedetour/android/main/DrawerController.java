@@ -19,11 +19,8 @@ import android.support.v7.widget.Toolbar;
 import android.view.View;
 import com.animedetour.android.R;
 import com.animedetour.android.database.favorite.FavoriteRepository;
-import monolog.Monolog;
 import prism.framework.DisplayName;
 
-import java.sql.SQLException;
-
 /**
  * Manages actions on the application drawer.
  *
@@ -36,7 +33,6 @@ import java.sql.SQLException;
 public class DrawerController extends ActionBarDrawerToggle
 {
     final private Resources resources;
-    final private Monolog logger;
     final private FavoriteRepository favoriteData;
     final private View favoritesOption;
     final private Toolbar toolbar;
@@ -46,7 +42,6 @@ public class DrawerController extends ActionBarDrawerToggle
 
     public DrawerController(
         Activity activity,
-        Monolog logger,
         FavoriteRepository favoriteData,
         DrawerLayout drawerLayout,
         Toolbar toolbar,
@@ -57,7 +52,6 @@ public class DrawerController extends ActionBarDrawerToggle
         super(activity, drawerLayout, toolbar, openDrawerContentDescRes, closeDrawerContentDescRes);
 
         this.toolbar = toolbar;
-        this.logger = logger;
         this.layout = drawerLayout;
         this.favoriteData = favoriteData;
         this.favoritesOption = favoritesOption;
@@ -98,16 +92,18 @@ public class DrawerController extends ActionBarDrawerToggle
         this.updateFavoritesVisibility();
     }
 
+    /**
+     * Show the favorites option only if the user has favorites.
+     *
+     * This is checked from memory, since it runs every time the drawer opens
+     * and closes.
+     */
     private void updateFavoritesVisibility()
     {
-        try {
-            if (this.favoriteData.hasFavorites()) {
-                this.favoritesOption.setVisibility(View.VISIBLE);
-            } else {
-                this.favoritesOption.setVisibility(View.GONE);
-            }
-        } catch (SQLException e) {
-            this.logger.error("Error when checking if the user has favorites", e);
+        if (this.favoriteData.getFavoriteIds().isEmpty()) {
+            this.favoritesOption.setVisibility(View.GONE);
+        } else {
+            this.favoritesOption.setVisibility(View.VISIBLE);
         }
     }
 
@@ -13,7 +13,6 @@ import android.support.v4.widget.DrawerLayout;
 import android.support.v7.widget.Toolbar;
 import android.view.View;
 import com.animedetour.android.database.favorite.FavoriteRepository;
-import monolog.Monolog;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -28,17 +27,14 @@ public class DrawerControllerFactory
 {
     final private Activity context;
     final private FavoriteRepository favoriteData;
-    final private Monolog logger;
 
     @Inject
     public DrawerControllerFactory(
         Activity context,
-        FavoriteRepository favoriteData,
-        Monolog logger
+        FavoriteRepository favoriteData
     ) {
         this.context = context;
         this.favoriteData = favoriteData;
-        this.logger = logger;
     }
 
     /**
@@ -61,7 +57,6 @@ public class DrawerControllerFactory
     ) {
         DrawerController controller = new DrawerController(
             this.context,
-            this.logger,
             this.favoriteData,
             drawerLayout,
             toolbar,
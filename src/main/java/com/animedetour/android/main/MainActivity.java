@@ -18,11 +18,14 @@ import android.view.View;
 import android.view.WindowManager;
 
 import com.animedetour.android.R;
+import com.animedetour.android.database.event.EventRepository;
 import com.animedetour.android.framework.BaseActivity;
+import com.animedetour.android.framework.SubscriptionGroup;
 import com.animedetour.android.guest.GuestIndexFragment;
 import com.animedetour.android.home.HomeFragment;
 import com.animedetour.android.home.OffSeasonHomeFragment;
 import com.animedetour.android.map.HotelMapFragment;
+import com.animedetour.android.model.ConventionDays;
 import com.animedetour.android.schedule.ScheduleFragment;
 import com.animedetour.android.schedule.favorite.FavoritesFragment;
 import com.animedetour.android.settings.SettingsFragment;
@@ -32,8 +35,10 @@ import javax.inject.Inject;
 import butterknife.Bind;
 import butterknife.OnClick;
 import icepick.State;
+import monolog.Monolog;
 import org.joda.time.DateTime;
 import prism.framework.Layout;
+import rx.Observer;
 
 /**
  * Main containing Activity
@@ -69,8 +74,17 @@ final public class MainActivity extends BaseActivity
     @Inject
     DrawerControllerFactory drawerControllerFactory;
 
+    @Inject
+    EventRepository eventData;
+
+    @Inject
+    Monolog logger;
+
     private DrawerController drawerController;
 
+    /** Lookup of which landing page to show, stopped when paused. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
+
     @Override
     protected void onCreate(Bundle savedInstanceState)
     {
@@ -93,13 +107,31 @@ final public class MainActivity extends BaseActivity
             this.pageTitle,
             this.favoritesOption
         );
+    }
 
+    /**
+     * Opens the landing page if no page has been opened yet.
+     *
+     * This also covers the landing page lookup being stopped by a pause
+     * before it found which page to show.
+     */
+    @Override
+    protected void onResume()
+    {
+        super.onResume();
 
-        if (null == savedInstanceState) {
+        if (null == this.getSupportFragmentManager().findFragmentById(R.id.content_frame)) {
             this.openLandingFragment();
         }
     }
 
+    @Override
+    protected void onPause()
+    {
+        super.onPause();
+        this.subscriptions.clear();
+    }
+
     @Override
     public void onSaveInstanceState(Bundle outState)
     {
@@ -109,18 +141,18 @@ final public class MainActivity extends BaseActivity
 
     /**
      * Opens the Landing page in the main view
+     *
+     * Once the last day of the saved schedule has passed, this is the
+     * off-season page, which doesn't query the schedule at all. The days are
+     * looked up off of the main thread, so the page is opened once they're
+     * found.
      */
     @OnClick(R.id.drawer_home)
     protected void openLandingFragment()
     {
         this.drawerController.closeToPage(HomeFragment.class);
-
-        // @todo – Remove this hardcoded date check when the API has the capability to lookup convention dates (soon, I promise)
-        if (DateTime.now().isAfter(new DateTime("2016-04-24").withHourOfDay(23).withMinuteOfHour(59).withSecondOfMinute(59))) {
-            this.contentFragmentTransaction(new OffSeasonHomeFragment(), "home");
-        } else {
-            this.contentFragmentTransaction(new HomeFragment(), "home");
-        }
+        this.subscriptions.clear();
+        this.subscriptions.add(this.eventData.findConventionDays(new LandingObserver()));
     }
 
     /**
@@ -168,6 +200,9 @@ final public class MainActivity extends BaseActivity
      */
     protected void contentFragmentTransaction(Fragment newFragment, String tag)
     {
+        // Don't let a landing page lookup replace the page that's opened now.
+        this.subscriptions.clear();
+
         FragmentTransaction transaction = this.getSupportFragmentManager().beginTransaction();
         transaction.setCustomAnimations(R.anim.slide_in_bottom, R.anim.slide_out_bottom);
         transaction.replace(R.id.content_frame, newFragment, tag);
@@ -194,4 +229,31 @@ final public class MainActivity extends BaseActivity
             openLandingFragment();
         }
     }
+
+    /**
+     * Opens the off-season page if the convention is over, otherwise the
+     * regular home page.
+     */
+    private class LandingObserver implements Observer<ConventionDays>
+    {
+        @Override
+        public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            MainActivity.this.logger.error("Failed looking up convention days", e);
+            MainActivity.this.contentFragmentTransaction(new HomeFragment(), "home");
+        }
+
+        @Override
+        public void onNext(ConventionDays days)
+        {
+            if (null != days && days.isOver(DateTime.now())) {
+                MainActivity.this.contentFragmentTransaction(new OffSeasonHomeFragment(), "home");
+            } else {
+                MainActivity.this.contentFragmentTransaction(new HomeFragment(), "home");
+            }
+        }
+    }
 }
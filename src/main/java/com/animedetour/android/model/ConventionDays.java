@@ -0,0 +1,141 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.model;
+
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The range of days that the convention's schedule covers.
+ *
+ * This is derived from the schedule itself: the first day is the day that
+ * the earliest event starts on, and the last day is the day that the latest
+ * event starts on. Events are shown on the day they start, so these are the
+ * same days that the schedule is split into.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class ConventionDays
+{
+    /** The day the earliest event starts on. */
+    final private LocalDate first;
+
+    /** The day the latest event starts on. */
+    final private LocalDate last;
+
+    /**
+     * @param first The day the earliest event starts on.
+     * @param last The day the latest event starts on.
+     */
+    public ConventionDays(LocalDate first, LocalDate last)
+    {
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("Convention can't end before it starts: " + first + " - " + last);
+        }
+
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Find the days that a schedule covers.
+     *
+     * @param events The full schedule.
+     * @return The days of the schedule, or null if there are no events.
+     */
+    public static ConventionDays fromEvents(Collection<Event> events)
+    {
+        DateTime earliest = null;
+        DateTime latest = null;
+        for (Event event : events) {
+            DateTime start = event.getStart();
+            if (null == start) {
+                continue;
+            }
+            if (null == earliest || start.isBefore(earliest)) {
+                earliest = start;
+            }
+            if (null == latest || start.isAfter(latest)) {
+                latest = start;
+            }
+        }
+
+        if (null == earliest) {
+            return null;
+        }
+
+        return new ConventionDays(earliest.toLocalDate(), latest.toLocalDate());
+    }
+
+    /**
+     * @return The day the earliest event starts on.
+     */
+    public LocalDate getFirst()
+    {
+        return this.first;
+    }
+
+    /**
+     * @return The day the latest event starts on.
+     */
+    public LocalDate getLast()
+    {
+        return this.last;
+    }
+
+    /**
+     * @return Every day from the first to the last, in order.
+     */
+    public List<LocalDate> getDays()
+    {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = this.first; false == day.isAfter(this.last); day = day.plusDays(1)) {
+            days.add(day);
+        }
+
+        return Collections.unmodifiableList(days);
+    }
+
+    /**
+     * @param now The current time.
+     * @return Whether the last day of the convention has passed.
+     */
+    public boolean isOver(DateTime now)
+    {
+        return now.toLocalDate().isAfter(this.last);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ConventionDays that = (ConventionDays) o;
+
+        return this.first.equals(that.first) && this.last.equals(that.last);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * this.first.hashCode() + this.last.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ConventionDays{" + this.first + " - " + this.last + '}';
+    }
+}
@@ -9,6 +9,8 @@
 package com.animedetour.android.model;
 
 import com.animedetour.android.database.persiseter.ImplodedListPersister;
+import com.animedetour.android.database.persiseter.PooledListPersister;
+import com.animedetour.android.database.persiseter.PooledStringPersister;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
@@ -27,11 +29,42 @@ import java.util.List;
  * to update the application code when the API changes, we can just update
  * the transformer that creates these objects instead.
  *
+ * Events are kept in memory by the thousands, so rooms, categories and tags
+ * are shared through the {@link StringPool} when read from the database, and
+ * every getter returns stored values without allocating.
+ *
  * @author Maxwell Vandervelde <Max@MaxVandervelde.com>
  */
 @DatabaseTable
 public class Event implements Serializable
 {
+    /**
+     * Events are serialized into notification alarms, which outlive app
+     * updates. This is the ID of the original serialized form, so that alarms
+     * set by older versions can still be read.
+     */
+    final private static long serialVersionUID = -7417947294951293043L;
+
+    /** Tag given to events that only adults 18 and over may attend. */
+    final public static String TAG_18_PLUS = "18+";
+
+    /** Tag given to events that only adults 21 and over may attend. */
+    final public static String TAG_21_PLUS = "21+";
+
+    /** Tag given to events that are ASL interpreted. */
+    final public static String TAG_ASL = "asl";
+
+    /** Tag given to events run by the convention itself. */
+    final public static String TAG_OFFICIAL = "official";
+
+    final private static int FLAG_18_PLUS = 1;
+    final private static int FLAG_21_PLUS = 1 << 1;
+    final private static int FLAG_ASL = 1 << 2;
+    final private static int FLAG_OFFICIAL = 1 << 3;
+
+    /** Marks the flags as calculated, since zero is a valid set of flags. */
+    final private static int FLAGS_READY = 1 << 31;
+
     /** Globally Unique ID for the event. */
     @DatabaseField(id = true)
     final private String id;
@@ -49,30 +82,32 @@ public class Event implements Serializable
     final private DateTime end;
 
     /** The Type specified for the event. */
-    @DatabaseField(index = true)
+    @DatabaseField(index = true, persisterClass = PooledStringPersister.class)
     final private String category;
 
     /**
      * Additional meta-information about the event that can be used to
      * categorize or group events.
      *
-     * This is internally stored as an ArrayList so that it is serializable.
+     * This is internally stored as an unmodifiable, serializable list, so it
+     * can be returned without copying.
      *
      * These tags will be lowercase slugs, and will not contain spaces.
      * This array can be empty, but never null.
      * This list will not be modifyable through getters.
      */
-    @DatabaseField(persisterClass = ImplodedListPersister.class)
+    @DatabaseField(persisterClass = PooledListPersister.class)
     final private List<String> tags;
 
     /** The name of the room / venue that the event is being held in. */
-    @DatabaseField
+    @DatabaseField(persisterClass = PooledStringPersister.class)
     final private String room;
 
     /**
      * A list of the people who will be running or speaking at the event.
      *
-     * This is internally stored as an ArrayList so that it is serializable.
+     * This is internally stored as an unmodifiable, serializable list, so it
+     * can be returned without copying.
      *
      * This list can be empty, but never null.
      * This list will not be modifyable through getters.
@@ -88,6 +123,14 @@ public class Event implements Serializable
     @DatabaseField
     final private String banner;
 
+    /**
+     * Common tags, checked once and kept as bits.
+     *
+     * Events read from the database have their tags set after construction,
+     * so this is calculated the first time it's needed instead.
+     */
+    private transient int flags;
+
     /**
      * Create a default object with allowed nulls/default values.
      */
@@ -98,9 +141,9 @@ public class Event implements Serializable
         this.start = null;
         this.end = null;
         this.category = null;
-        this.tags = new ArrayList<>();
+        this.tags = Collections.emptyList();
         this.room = null;
-        this.hosts = new ArrayList<>();
+        this.hosts = Collections.emptyList();
         this.description = null;
         this.banner = null;
     }
@@ -136,13 +179,25 @@ public class Event implements Serializable
         this.start = start;
         this.end = end;
         this.category = category;
-        this.tags = tags == null ? new ArrayList<String>() : new ArrayList<>(tags);
+        this.tags = this.copy(tags);
         this.room = room;
-        this.hosts = hosts == null ? new ArrayList<String>() : new ArrayList<>(hosts);
+        this.hosts = this.copy(hosts);
         this.description = description;
         this.banner = banner;
     }
 
+    /**
+     * @return An unmodifiable copy of a list, that is empty if there was none.
+     */
+    private List<String> copy(List<String> list)
+    {
+        if (null == list || list.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
     /**
      * @return Globally Unique ID for the event.
      */
@@ -188,7 +243,39 @@ public class Event implements Serializable
      */
     final public List<String> getTags()
     {
-        return Collections.unmodifiableList(this.tags);
+        return this.tags;
+    }
+
+    /**
+     * @return Whether only adults 18 and over may attend the event.
+     */
+    final public boolean isEighteenPlus()
+    {
+        return this.hasFlag(FLAG_18_PLUS);
+    }
+
+    /**
+     * @return Whether only adults 21 and over may attend the event.
+     */
+    final public boolean isTwentyOnePlus()
+    {
+        return this.hasFlag(FLAG_21_PLUS);
+    }
+
+    /**
+     * @return Whether the event is ASL interpreted.
+     */
+    final public boolean isInterpreted()
+    {
+        return this.hasFlag(FLAG_ASL);
+    }
+
+    /**
+     * @return Whether the event is run by the convention itself.
+     */
+    final public boolean isOfficial()
+    {
+        return this.hasFlag(FLAG_OFFICIAL);
     }
 
     /**
@@ -204,7 +291,7 @@ public class Event implements Serializable
      */
     final public List<String> getHosts()
     {
-        return Collections.unmodifiableList(this.hosts);
+        return this.hosts;
     }
 
     /**
@@ -223,6 +310,46 @@ public class Event implements Serializable
         return this.banner;
     }
 
+    /**
+     * Check a flag, calculating the flags from the tags if needed.
+     *
+     * Calculating is safe to repeat, so threads that race here will all
+     * store the same value.
+     */
+    private boolean hasFlag(int flag)
+    {
+        int current = this.flags;
+        if (0 == (current & FLAGS_READY)) {
+            current = FLAGS_READY;
+            for (int i = 0; i < this.tags.size(); i++) {
+                current |= this.getFlag(this.tags.get(i));
+            }
+            this.flags = current;
+        }
+
+        return 0 != (current & flag);
+    }
+
+    private int getFlag(String tag)
+    {
+        if (null == tag) {
+            return 0;
+        }
+
+        switch (tag) {
+            case TAG_18_PLUS:
+                return FLAG_18_PLUS;
+            case TAG_21_PLUS:
+                return FLAG_21_PLUS;
+            case TAG_ASL:
+                return FLAG_ASL;
+            case TAG_OFFICIAL:
+                return FLAG_OFFICIAL;
+            default:
+                return 0;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
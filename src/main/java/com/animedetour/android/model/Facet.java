@@ -0,0 +1,160 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.model;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+/**
+ * A value that events can be filtered by, and the number of events with it.
+ *
+ * These are kept up to date as events are synced, so that the filters can be
+ * listed without reading through every event.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+@DatabaseTable
+public class Facet
+{
+    /**
+     * The event field that a facet counts the values of.
+     */
+    public enum Type
+    {
+        CATEGORY,
+        TAG,
+        ROOM,
+    }
+
+    /** Unique ID made up of the type and value. */
+    @DatabaseField(id = true)
+    final private String id;
+
+    /** The event field that the value is from. */
+    @DatabaseField(index = true)
+    final private Type type;
+
+    /** The value of the field that events are counted for. */
+    @DatabaseField
+    final private String value;
+
+    /** The number of events with the value. */
+    @DatabaseField
+    final private int count;
+
+    /**
+     * Create a default object with allowed nulls/default values.
+     */
+    public Facet()
+    {
+        this.id = null;
+        this.type = null;
+        this.value = null;
+        this.count = 0;
+    }
+
+    /**
+     * @param type The event field that the value is from.
+     * @param value The value of the field that events are counted for.
+     * @param count The number of events with the value.
+     */
+    public Facet(Type type, String value, int count)
+    {
+        this.id = Facet.createId(type, value);
+        this.type = type;
+        this.value = value;
+        this.count = count;
+    }
+
+    /**
+     * Get the unique ID of the facet for a value.
+     *
+     * @param type The event field that the value is from.
+     * @param value The value of the field that events are counted for.
+     */
+    public static String createId(Type type, String value)
+    {
+        return type.name() + ":" + value;
+    }
+
+    /**
+     * @return Unique ID made up of the type and value.
+     */
+    public String getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * @return The event field that the value is from.
+     */
+    public Type getType()
+    {
+        return this.type;
+    }
+
+    /**
+     * @return The value of the field that events are counted for.
+     */
+    public String getValue()
+    {
+        return this.value;
+    }
+
+    /**
+     * @return The number of events with the value.
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Creates a cloned object with a specified count.
+     *
+     * @param count The number of events with the value.
+     * @return A new object, not a mutated instance of the existing object.
+     */
+    public Facet withCount(int count)
+    {
+        return new Facet(this.type, this.value, count);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Facet facet = (Facet) o;
+
+        if (count != facet.count) return false;
+        if (type != facet.type) return false;
+        return value != null ? value.equals(facet.value) : facet.value == null;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int result = type != null ? type.hashCode() : 0;
+        result = 31 * result + (value != null ? value.hashCode() : 0);
+        result = 31 * result + count;
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Facet{" +
+            "type=" + type +
+            ", value='" + value + '\'' +
+            ", count=" + count +
+            '}';
+    }
+}
@@ -12,6 +12,7 @@ import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
 
 /**
  * Extra information about the data we're storing.
@@ -48,14 +49,41 @@ public class MetaData
     @DatabaseField(dataType = DataType.DATE_TIME)
     final private DateTime guestsFetched;
 
+    /**
+     * The first day of the convention, from the last schedule saved.
+     *
+     * Days are stored as ISO dates (yyyy-MM-dd) rather than instants, so
+     * they read back as the same days if the device's zone changes.
+     */
+    @DatabaseField
+    final private String firstDate;
+
+    /**
+     * The last day of the convention, from the last schedule saved.
+     */
+    @DatabaseField
+    final private String lastDate;
+
     /**
      * @param eventsFetched The timestamp that event information was last updated on.
      */
     public MetaData(DateTime eventsFetched, DateTime guestsFetched)
+    {
+        this(eventsFetched, guestsFetched, null);
+    }
+
+    /**
+     * @param eventsFetched The timestamp that event information was last updated on.
+     * @param guestsFetched The timestamp that guest information was last updated on.
+     * @param days The days of the last schedule saved, if known.
+     */
+    public MetaData(DateTime eventsFetched, DateTime guestsFetched, ConventionDays days)
     {
         this.id = SINGLETON;
         this.eventsFetched = eventsFetched;
         this.guestsFetched = guestsFetched;
+        this.firstDate = null == days ? null : days.getFirst().toString();
+        this.lastDate = null == days ? null : days.getLast().toString();
     }
 
     public MetaData()
@@ -63,6 +91,8 @@ public class MetaData
         this.id = SINGLETON;
         this.guestsFetched = null;
         this.eventsFetched = null;
+        this.firstDate = null;
+        this.lastDate = null;
     }
 
     /**
@@ -80,6 +110,18 @@ public class MetaData
         return this.guestsFetched;
     }
 
+    /**
+     * @return The days of the last schedule saved, or null if not known yet.
+     */
+    public ConventionDays getConventionDays()
+    {
+        if (null == this.firstDate || null == this.lastDate) {
+            return null;
+        }
+
+        return new ConventionDays(LocalDate.parse(this.firstDate), LocalDate.parse(this.lastDate));
+    }
+
     /**
      * @return Unique ID, Hardcoded so that there is only one row of this information.
      */
@@ -96,7 +138,7 @@ public class MetaData
      */
     public MetaData withEventsFetched(DateTime fetched)
     {
-        return new MetaData(fetched, this.guestsFetched);
+        return new MetaData(fetched, this.guestsFetched, this.getConventionDays());
     }
 
     /**
@@ -107,6 +149,17 @@ public class MetaData
      */
     public MetaData withGuestsFetched(DateTime fetched)
     {
-        return new MetaData(this.eventsFetched, fetched);
+        return new MetaData(this.eventsFetched, fetched, this.getConventionDays());
+    }
+
+    /**
+     * Creates a cloned object with specified convention days.
+     *
+     * @param days The days of the schedule that was saved.
+     * @return A new object, not a mutated instance of the existing object.
+     */
+    public MetaData withConventionDays(ConventionDays days)
+    {
+        return new MetaData(this.eventsFetched, this.guestsFetched, days);
     }
 }
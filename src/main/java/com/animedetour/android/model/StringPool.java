@@ -0,0 +1,85 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shares a single copy of strings that are repeated across many models.
+ *
+ * Thousands of events only use a few dozen distinct rooms, categories and
+ * tags, but every event read from the API or the database gets its own copy
+ * of each. Passing them through the pool keeps one copy of each value.
+ *
+ * Only use this for small sets of values, since nothing is ever removed.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class StringPool
+{
+    /** Pool shared by every event in the app. */
+    final private static StringPool SHARED = new StringPool();
+
+    /** Every value seen, mapped to its shared copy. */
+    final private ConcurrentMap<String, String> values = new ConcurrentHashMap<>();
+
+    /**
+     * @return The pool shared by every event in the app.
+     */
+    public static StringPool getShared()
+    {
+        return SHARED;
+    }
+
+    /**
+     * @param value A value to find the shared copy of.
+     * @return The shared copy of the value, or null if the value was null.
+     */
+    public String get(String value)
+    {
+        if (null == value) {
+            return null;
+        }
+
+        String existing = this.values.putIfAbsent(value, value);
+
+        return null == existing ? value : existing;
+    }
+
+    /**
+     * @param values Values to find the shared copies of.
+     * @return An unmodifiable list of the shared copies, in the same order.
+     */
+    public List<String> getAll(Collection<String> values)
+    {
+        if (null == values || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> pooled = new ArrayList<>(values.size());
+        for (String value : values) {
+            pooled.add(this.get(value));
+        }
+
+        return Collections.unmodifiableList(pooled);
+    }
+
+    /**
+     * @return The number of distinct values in the pool.
+     */
+    public int size()
+    {
+        return this.values.size();
+    }
+}
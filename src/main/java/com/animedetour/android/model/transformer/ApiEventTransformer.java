@@ -9,9 +9,10 @@
 package com.animedetour.android.model.transformer;
 
 import com.animedetour.android.model.Event;
+import com.animedetour.android.model.StringPool;
+import com.animedetour.api.sched.deserialization.ScheduleDateCodec;
 import com.animedetour.api.sched.model.ApiEvent;
-import org.joda.time.DateTime;
-import org.joda.time.format.ISODateTimeFormat;
+import org.joda.time.DateTimeZone;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -21,11 +22,20 @@ import java.util.List;
 /**
  * Adapts API Events to local models..
  *
+ * Rooms, categories and tags are shared through the string pool, since
+ * every event parsed from the API has its own copy of them.
+ *
  * @author Maxwell Vandervelde <Max@MaxVandervelde.com>
  */
 @Singleton
 public class ApiEventTransformer implements Transformer<ApiEvent, Event>
 {
+    /** Reads and writes the API's timestamps. */
+    final private ScheduleDateCodec dates = new ScheduleDateCodec(DateTimeZone.getDefault());
+
+    /** Shared copies of values repeated across events. */
+    final private StringPool pool = StringPool.getShared();
+
     @Inject
     public ApiEventTransformer() {}
 
@@ -35,11 +45,11 @@ public class ApiEventTransformer implements Transformer<ApiEvent, Event>
         return new Event(
             data.id,
             data.name,
-            new DateTime(data.start),
-            new DateTime(data.end),
-            data.category,
-            data.tags,
-            data.room,
+            this.dates.parseIso(data.start),
+            this.dates.parseIso(data.end),
+            this.pool.get(data.category),
+            this.pool.getAll(data.tags),
+            this.pool.get(data.room),
             data.hosts,
             data.description,
             data.banner
@@ -52,8 +62,8 @@ public class ApiEventTransformer implements Transformer<ApiEvent, Event>
         return new ApiEvent(
             data.getId(),
             data.getName(),
-            ISODateTimeFormat.dateTimeNoMillis().print(data.getStart()),
-            ISODateTimeFormat.dateTimeNoMillis().print(data.getEnd()),
+            this.dates.printIso(data.getStart()),
+            this.dates.printIso(data.getEnd()),
             data.getCategory(),
             data.getTags(),
             data.getRoom(),
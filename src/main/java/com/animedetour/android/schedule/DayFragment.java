@@ -9,43 +9,58 @@
 package com.animedetour.android.schedule;
 
 import android.os.Bundle;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.SimpleItemAnimator;
 import android.view.View;
-import android.widget.ListView;
 import android.widget.ProgressBar;
 
 import com.animedetour.android.R;
+import com.animedetour.android.database.QueryPriority;
 import com.animedetour.android.database.event.EventRepository;
+import com.animedetour.android.database.favorite.FavoriteRepository;
 import com.animedetour.android.framework.BaseFragment;
+import com.animedetour.android.framework.SubscriptionGroup;
+import com.animedetour.android.framework.text.HtmlRenderCache;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.settings.PreferenceManager;
-import com.inkapplications.android.widget.listview.ItemAdapter;
-import com.inkapplications.groundcontrol.SubscriptionManager;
+import com.inkapplications.android.widget.recyclerview.DiffingRecyclerAdapter;
 
 import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
 
 import javax.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
 import butterknife.Bind;
 import icepick.State;
+import monolog.Monolog;
 import prism.framework.Layout;
-import rx.Subscription;
+import rx.Observer;
 
 /**
  * Day schedule fragment
  *
  * This fragment displays a list of the panels / events for a single day.
+ * While visible, the list is kept up to date as events start and end without
+ * re-querying for the day.
+ *
+ * When shown in the schedule pager, loads are run through the schedule's
+ * coordinator, so that offscreen days wait for the visible day to render.
+ * The days share their recycled panels, so switching to a day reuses the rows
+ * of the days around it.
  *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 @Layout(R.layout.schedule_day)
-final public class DayFragment extends BaseFragment
+final public class DayFragment extends BaseFragment implements ScheduleClock.Listener, PageLoadCoordinator.Loader
 {
     @Inject
     EventRepository eventData;
 
-    @Inject
-    SubscriptionManager subscriptionManager;
-
     @Inject
     EventObserverFactory subscriberFactory;
 
@@ -55,8 +70,20 @@ final public class DayFragment extends BaseFragment
     @Inject
     PreferenceManager preferences;
 
+    @Inject
+    FavoriteRepository favoriteData;
+
+    @Inject
+    HtmlRenderCache descriptions;
+
+    @Inject
+    Monolog logger;
+
+    @Inject
+    RecyclerView.RecycledViewPool panelPool;
+
     @Bind(R.id.panel_list)
-    ListView panelList;
+    RecyclerView panelList;
 
     @Bind(R.id.panel_empty_view)
     View panelEmptyView;
@@ -72,6 +99,16 @@ final public class DayFragment extends BaseFragment
 
     private EventUpdateObserver eventUpdateObserver;
 
+    private DiffingRecyclerAdapter<PanelView, Event> adapter;
+
+    private ScheduleClock clock;
+
+    /** Work for this day, stopped when the day is paused. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
+
+    /** The favorites that the displayed stars were last bound for. */
+    private Set<String> boundFavorites = Collections.emptySet();
+
     public DayFragment() {}
 
     public DayFragment(DateTime day)
@@ -84,13 +121,20 @@ final public class DayFragment extends BaseFragment
     {
         super.onActivityCreated(savedInstanceState);
 
-        ItemAdapter<PanelView, Event> adapter = new ItemAdapter<>(this.viewBinder);
-        this.panelList.setAdapter(adapter);
+        this.adapter = new DiffingRecyclerAdapter<>(this.viewBinder, new EventIdentifier(), this.logger);
+        this.panelList.setLayoutManager(new PanelLayoutManager(this.getActivity()));
+        this.panelList.setRecycledViewPool(this.panelPool);
+        this.panelList.setHasFixedSize(true);
+        ((SimpleItemAnimator) this.panelList.getItemAnimator()).setSupportsChangeAnimations(false);
+        this.panelList.setAdapter(this.adapter);
+        this.panelList.addOnScrollListener(new DescriptionWarmer(this.descriptions));
+        this.clock = new ScheduleClock(this);
         this.eventUpdateObserver = this.subscriberFactory.create(
                 this.panelList,
-                adapter,
+                this.adapter,
                 this.panelEmptyView,
-                this.loadingIndicator
+                this.loadingIndicator,
+                this.clock
         );
     }
 
@@ -99,6 +143,7 @@ final public class DayFragment extends BaseFragment
     {
         super.onResume();
         this.updateEvents();
+        this.subscriptions.add(this.favoriteData.observeFavoriteIds(new FavoritesObserver()));
     }
 
     @Override
@@ -106,7 +151,12 @@ final public class DayFragment extends BaseFragment
     {
         super.onPause();
 
-        this.subscriptionManager.unsubscribeAll();
+        PageLoadCoordinator<LocalDate> coordinator = this.getLoadCoordinator();
+        if (null != coordinator) {
+            coordinator.cancel(this.day.toLocalDate());
+        }
+        this.subscriptions.clear();
+        this.clock.stop();
         this.scrollPosition = this.eventUpdateObserver.getScrollPosition();
     }
 
@@ -117,17 +167,151 @@ final public class DayFragment extends BaseFragment
         this.eventUpdateObserver.setScrollPosition(this.scrollPosition);
     }
 
+    /**
+     * Update only the rows whose events have started or ended.
+     *
+     * Started events are re-bound so they display as being in the past. If the
+     * user is hiding past events, ended events are dropped from the list in
+     * memory.
+     */
+    @Override
+    public void onEventsChanged(List<Event> started, List<Event> ended)
+    {
+        if (false == this.preferences.showPastEvents() && false == ended.isEmpty()) {
+            List<Event> remaining = new ArrayList<>(this.adapter.getItems());
+            remaining.removeAll(ended);
+            this.eventUpdateObserver.onNext(remaining);
+        }
+
+        this.adapter.refreshItems(started);
+    }
+
     /**
      * Fetch a new set of data to display in the list of events based on the
      * bound date of the fragment.
      */
     protected void updateEvents()
     {
-        Subscription eventSubscription = this.eventData.findAllOnDay(
+        PageLoadCoordinator<LocalDate> coordinator = this.getLoadCoordinator();
+        if (null == coordinator) {
+            this.load(QueryPriority.VISIBLE);
+            return;
+        }
+
+        coordinator.requestLoad(this.day.toLocalDate(), this);
+    }
+
+    /**
+     * The load is left to finish if the day is paused, so that its result is
+     * cached for when the day is shown again.
+     */
+    @Override
+    public void load(QueryPriority priority)
+    {
+        this.eventData.findAllOnDay(
             this.day,
             this.preferences.showPastEvents(),
-            this.eventUpdateObserver
+            priority,
+            this.subscriptions.detachOnClear(new RenderedObserver(this.eventUpdateObserver))
         );
-        this.subscriptionManager.add(eventSubscription);
+    }
+
+    /**
+     * @return The schedule's load coordinator, or null if not in the schedule.
+     */
+    private PageLoadCoordinator<LocalDate> getLoadCoordinator()
+    {
+        if (this.getParentFragment() instanceof ScheduleFragment) {
+            return ((ScheduleFragment) this.getParentFragment()).getLoadCoordinator();
+        }
+
+        return null;
+    }
+
+    /**
+     * Re-binds the rows whose star changed when favorites are saved or removed.
+     */
+    private class FavoritesObserver implements Observer<Set<String>>
+    {
+        @Override public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            DayFragment.this.eventUpdateObserver.onError(e);
+        }
+
+        @Override
+        public void onNext(Set<String> favorites)
+        {
+            Set<String> previous = DayFragment.this.boundFavorites;
+            DayFragment.this.boundFavorites = favorites;
+            if (previous.equals(favorites)) {
+                return;
+            }
+
+            List<Event> changed = new ArrayList<>();
+            for (Event event : DayFragment.this.adapter.getItems()) {
+                if (previous.contains(event.getId()) != favorites.contains(event.getId())) {
+                    changed.add(event);
+                }
+            }
+            DayFragment.this.adapter.refreshItems(changed);
+        }
+    }
+
+    /**
+     * Tells the load coordinator once the day's events have been drawn.
+     *
+     * The list is only drawn on its next layout pass after the data changes,
+     * so this waits until then to report that it has rendered. Errors are
+     * reported too, so the other days aren't left waiting forever.
+     */
+    private class RenderedObserver implements Observer<List<Event>>
+    {
+        final private Observer<List<Event>> delegate;
+
+        public RenderedObserver(Observer<List<Event>> delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onCompleted()
+        {
+            this.delegate.onCompleted();
+        }
+
+        @Override
+        public void onError(Throwable e)
+        {
+            this.delegate.onError(e);
+            this.notifyRendered();
+        }
+
+        @Override
+        public void onNext(List<Event> events)
+        {
+            this.delegate.onNext(events);
+            this.notifyRendered();
+        }
+
+        private void notifyRendered()
+        {
+            final PageLoadCoordinator<LocalDate> coordinator = DayFragment.this.getLoadCoordinator();
+            if (null == coordinator || null == DayFragment.this.panelList) {
+                return;
+            }
+
+            final LocalDate page = DayFragment.this.day.toLocalDate();
+            DayFragment.this.panelList.post(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    coordinator.onPageRendered(page);
+                }
+            });
+        }
     }
 }
@@ -12,6 +12,8 @@ import android.content.Context;
 import android.support.v4.app.Fragment;
 import android.support.v4.app.FragmentManager;
 import android.support.v4.app.FragmentStatePagerAdapter;
+import android.util.SparseArray;
+import android.view.ViewGroup;
 
 import com.animedetour.android.R;
 
@@ -25,7 +27,8 @@ import java.util.List;
  * Adapter for the Schedule view pager
  *
  * Contains a list of days that the events span through and creates fragments
- * to be displayed for that day.
+ * to be displayed for that day. Each day's fragment is only created once the
+ * pager asks for it.
  *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
@@ -34,8 +37,8 @@ public class DaysPagerAdapter extends FragmentStatePagerAdapter
     /** List of days to display in the pager */
     private List<DateTime> days;
 
-    /** List of fragments managed by this adapter so far. */
-    private List<DayFragment> fragments = new ArrayList<>();
+    /** Fragments currently attached by the pager, by their position. */
+    final private SparseArray<DayFragment> fragments = new SparseArray<>();
 
     private Context context;
 
@@ -49,28 +52,51 @@ public class DaysPagerAdapter extends FragmentStatePagerAdapter
         this.context = context;
     }
 
+    /**
+     * Change the days shown in the pager.
+     *
+     * Pages for days that are still in the list are kept.
+     *
+     * @param days List of days to display in the pager
+     */
+    public void setDays(List<DateTime> days)
+    {
+        this.days = days;
+        this.notifyDataSetChanged();
+    }
+
     @Override
     public Fragment getItem(int position)
     {
-        if (this.fragments.size() == 0) {
-            this.fragments = this.createDayFragments();
-        }
-
-        return this.fragments.get(position);
+        return new DayFragment(this.days.get(position));
     }
 
     /**
-     * Instantiates list of {@link DayFragment} against list of
-     * {@link DateTime} provided to adapter.
-     *
-     * @return List of DayFragments corresponding to days given to adapter.
+     * Keeps track of pages as they're attached, including those that the
+     * fragment manager restored rather than asking for a new one.
      */
-    private List<DayFragment> createDayFragments() {
-        List<DayFragment> dayFragments = new ArrayList<>();
-        for (DateTime day : this.days) {
-            dayFragments.add(new DayFragment(day));
-        }
-        return dayFragments;
+    @Override
+    public Object instantiateItem(ViewGroup container, int position)
+    {
+        DayFragment fragment = (DayFragment) super.instantiateItem(container, position);
+        this.fragments.put(position, fragment);
+
+        return fragment;
+    }
+
+    @Override
+    public void destroyItem(ViewGroup container, int position, Object object)
+    {
+        this.fragments.remove(position);
+        super.destroyItem(container, position, object);
+    }
+
+    @Override
+    public int getItemPosition(Object object)
+    {
+        int position = this.days.indexOf(((DayFragment) object).day);
+
+        return position < 0 ? POSITION_NONE : position;
     }
 
     @Override
@@ -93,6 +119,11 @@ public class DaysPagerAdapter extends FragmentStatePagerAdapter
      */
     public List<DayFragment> getFragments()
     {
+        List<DayFragment> fragments = new ArrayList<>(this.fragments.size());
+        for (int i = 0; i < this.fragments.size(); i++) {
+            fragments.add(this.fragments.valueAt(i));
+        }
+
         return fragments;
     }
 }
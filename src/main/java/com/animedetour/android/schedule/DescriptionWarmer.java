@@ -0,0 +1,126 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.widget.AbsListView;
+import com.animedetour.android.framework.text.HtmlRenderCache;
+import com.animedetour.android.model.Event;
+import com.inkapplications.android.widget.recyclerview.DiffingRecyclerAdapter;
+
+/**
+ * Renders the descriptions of the events visible in a list, once it stops
+ * scrolling.
+ *
+ * This is kept out of binding so that a fling doesn't queue up renders for
+ * every row that passes by, only for the rows the user stops on.
+ *
+ * Works as the scroll listener of either a list view or a recycler view.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class DescriptionWarmer extends RecyclerView.OnScrollListener implements AbsListView.OnScrollListener
+{
+    /** Cache to render the descriptions into. */
+    final private HtmlRenderCache descriptions;
+
+    /** Whether the list is currently being scrolled. */
+    private boolean scrolling = false;
+
+    /**
+     * @param descriptions Cache to render the descriptions into.
+     */
+    public DescriptionWarmer(HtmlRenderCache descriptions)
+    {
+        this.descriptions = descriptions;
+    }
+
+    @Override
+    public void onScrollStateChanged(AbsListView view, int scrollState)
+    {
+        this.scrolling = scrollState != SCROLL_STATE_IDLE;
+
+        if (false == this.scrolling) {
+            this.warm(view, view.getFirstVisiblePosition(), view.getChildCount());
+        }
+    }
+
+    /**
+     * Also called when the list's items change, so the first rows of a newly
+     * loaded list are warmed without the user scrolling.
+     */
+    @Override
+    public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount)
+    {
+        if (false == this.scrolling) {
+            this.warm(view, firstVisibleItem, visibleItemCount);
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView view, int newState)
+    {
+        this.scrolling = newState != RecyclerView.SCROLL_STATE_IDLE;
+
+        if (false == this.scrolling) {
+            this.warm(view);
+        }
+    }
+
+    /**
+     * Also called with no distance after a layout that changed the visible
+     * rows, so a newly loaded list is warmed without the user scrolling.
+     */
+    @Override
+    public void onScrolled(RecyclerView view, int dx, int dy)
+    {
+        if (false == this.scrolling) {
+            this.warm(view);
+        }
+    }
+
+    private void warm(AbsListView view, int first, int count)
+    {
+        int end = Math.min(first + count, view.getCount());
+        for (int position = first; position < end; position++) {
+            this.warm(view.getItemAtPosition(position));
+        }
+    }
+
+    private void warm(RecyclerView view)
+    {
+        if (false == view.getLayoutManager() instanceof LinearLayoutManager) {
+            return;
+        }
+        if (false == view.getAdapter() instanceof DiffingRecyclerAdapter) {
+            return;
+        }
+
+        LinearLayoutManager layout = (LinearLayoutManager) view.getLayoutManager();
+        DiffingRecyclerAdapter<?, ?> adapter = (DiffingRecyclerAdapter<?, ?>) view.getAdapter();
+        int first = layout.findFirstVisibleItemPosition();
+        int last = Math.min(layout.findLastVisibleItemPosition(), adapter.getItemCount() - 1);
+        if (RecyclerView.NO_POSITION == first) {
+            return;
+        }
+
+        for (int position = first; position <= last; position++) {
+            this.warm(adapter.getItem(position));
+        }
+    }
+
+    private void warm(Object item)
+    {
+        if (item instanceof Event) {
+            Event event = (Event) item;
+            this.descriptions.warm(event.getId(), event.getDescription());
+        }
+    }
+}
@@ -12,7 +12,6 @@ import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.support.v7.widget.Toolbar;
-import android.text.Html;
 import android.view.View;
 import android.widget.ScrollView;
 import android.widget.TextView;
@@ -23,6 +22,8 @@ import com.animedetour.android.analytics.EventFactory;
 import com.animedetour.android.database.event.EventRepository;
 import com.animedetour.android.database.favorite.FavoriteRepository;
 import com.animedetour.android.framework.BaseActivity;
+import com.animedetour.android.framework.SubscriptionGroup;
+import com.animedetour.android.framework.text.HtmlRenderCache;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.schedule.favorite.Favorite;
 import com.animedetour.android.schedule.notification.EventNotificationManager;
@@ -32,15 +33,17 @@ import com.animedetour.android.view.fader.ToolbarFader;
 import com.animedetour.android.view.fader.ToolbarFaderFactory;
 import com.animedetour.android.view.scrim.ImageScrim;
 import com.google.common.base.Joiner;
+import com.google.common.base.Objects;
 import com.wefika.flowlayout.FlowLayout;
 import monolog.LogName;
 import monolog.Monolog;
 import org.joda.time.DateTime;
 import prism.framework.DisplayName;
 import prism.framework.Layout;
+import rx.Observer;
 
 import javax.inject.Inject;
-import java.sql.SQLException;
+import java.util.Set;
 
 /**
  * Event Activity
@@ -49,6 +52,10 @@ import java.sql.SQLException;
  * This is only ever displayed on top of other activities and should be stripped
  * off of the backstack when leaving.
  *
+ * The activity is started with only the event's ID and the few fields needed
+ * to draw its banner, rather than the whole serialized event. The banner is
+ * shown right away while the full event is loaded off of the main thread.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 @Layout(R.layout.event)
@@ -56,10 +63,17 @@ import java.sql.SQLException;
 @LogName("Event")
 final public class EventActivity extends BaseActivity
 {
-    /**
-     * Name of the intent-extra that the event is serialized into.
-     */
-    final private static String EXTRA_EVENT = "event";
+    /** Name of the intent-extra for the ID of the event to display. */
+    final private static String EXTRA_EVENT_ID = "event_id";
+
+    /** Name of the intent-extra for the event's name, shown while loading. */
+    final private static String EXTRA_EVENT_NAME = "event_name";
+
+    /** Name of the intent-extra for the event's category, shown while loading. */
+    final private static String EXTRA_EVENT_CATEGORY = "event_category";
+
+    /** Name of the intent-extra for the event's banner image, shown while loading. */
+    final private static String EXTRA_EVENT_BANNER = "event_banner";
 
     /**
      * View for the top banner on the page that can display an image & title.
@@ -121,8 +135,19 @@ final public class EventActivity extends BaseActivity
     @Inject
     EventPalette eventPalette;
 
+    @Inject
+    HtmlRenderCache descriptions;
+
+    /** Lookups for the event and its favorite state, cancelled when the screen is destroyed. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
+
+    /**
+     * The ID of the event we are displaying.
+     */
+    private String eventId;
+
     /**
-     * The event we are currently displaying
+     * The event we are currently displaying, or null until it is loaded.
      */
     private Event event;
 
@@ -132,9 +157,27 @@ final public class EventActivity extends BaseActivity
      * @param event The event to display details of.
      */
     public static Intent createIntent(Context context, Event event)
+    {
+        Intent intent = createIntent(context, event.getId(), event.getName());
+        intent.putExtra(EXTRA_EVENT_CATEGORY, event.getCategory());
+        intent.putExtra(EXTRA_EVENT_BANNER, event.getBanner());
+
+        return intent;
+    }
+
+    /**
+     * Constructs the activity from only an event's ID and name.
+     *
+     * The rest of the event's banner is filled in once it has loaded.
+     *
+     * @param eventId The ID of the event to display details of.
+     * @param eventName The name of the event, to show while it loads.
+     */
+    public static Intent createIntent(Context context, String eventId, String eventName)
     {
         Intent intent = new Intent(context, EventActivity.class);
-        intent.putExtra(EXTRA_EVENT, event);
+        intent.putExtra(EXTRA_EVENT_ID, eventId);
+        intent.putExtra(EXTRA_EVENT_NAME, eventName);
 
         return intent;
     }
@@ -144,54 +187,75 @@ final public class EventActivity extends BaseActivity
     {
         super.onCreate(savedInstanceState);
         this.overridePendingTransition(R.anim.slide_in_right, R.anim.none);
-        this.event = (Event) this.getIntent().getExtras().getSerializable(EXTRA_EVENT);
+        this.eventId = this.getIntent().getStringExtra(EXTRA_EVENT_ID);
     }
 
     @Override
     protected void onPostCreate(Bundle savedInstanceState)
     {
         super.onPostCreate(savedInstanceState);
-        this.updateBannerImage();
+        this.setupNavigation();
 
-        try {
-            this.event = this.eventData.get(this.event.getId());
-        } catch (SQLException e) {
-            this.logger.error("Error when loading event details", e);
+        Intent intent = this.getIntent();
+        this.bannerView.setTitle(intent.getStringExtra(EXTRA_EVENT_NAME));
+        this.updateBannerImage(intent.getStringExtra(EXTRA_EVENT_BANNER));
+        this.updateEventType(intent.getStringExtra(EXTRA_EVENT_CATEGORY));
+
+        ToolbarFader fader = this.faderFactory.create(this.bannerView, this.detailsContainer, this.actionBar);
+        this.detailsContainer.getViewTreeObserver().addOnScrollChangedListener(fader);
+
+        this.subscriptions.add(this.favoriteRepository.observeFavoriteIds(
+            this.subscriptions.detachOnClear(new FavoritesObserver())
+        ));
+        this.subscriptions.add(this.eventData.findById(
+            this.eventId,
+            this.subscriptions.detachOnClear(new EventObserver())
+        ));
+    }
+
+    @Override
+    protected void onDestroy()
+    {
+        super.onDestroy();
+        this.subscriptions.clear();
+    }
+
+    /**
+     * Fill in the rest of the screen once the full event has loaded.
+     */
+    private void onEventLoaded(Event event)
+    {
+        this.event = event;
+        if (false == Objects.equal(this.event.getBanner(), this.getIntent().getStringExtra(EXTRA_EVENT_BANNER))) {
+            this.updateBannerImage(this.event.getBanner());
         }
 
         if (null != this.event.getDescription()) {
-            this.descriptionView.setText(Html.fromHtml(this.event.getDescription()));
+            this.descriptionView.setText(this.descriptions.get(this.event.getId(), this.event.getDescription()));
         } else {
             this.descriptionView.setText("");
         }
         this.bannerView.setTitle(this.event.getName());
 
-        if (this.event.getTags().contains("21+")) {
-            String warning = this.getString(R.string.event_age_warning, "21+");
+        if (this.event.isTwentyOnePlus()) {
+            String warning = this.getString(R.string.event_age_warning, Event.TAG_21_PLUS);
             this.ageWarning.setText(warning);
             this.ageWarning.setVisibility(View.VISIBLE);
-        } else if (this.event.getTags().contains("18+")) {
-            String warning = this.getString(R.string.event_age_warning, "18+");
+        } else if (this.event.isEighteenPlus()) {
+            String warning = this.getString(R.string.event_age_warning, Event.TAG_18_PLUS);
             this.ageWarning.setText(warning);
             this.ageWarning.setVisibility(View.VISIBLE);
         } else {
             this.ageWarning.setVisibility(View.GONE);
         }
 
-        if (this.event.getTags().contains("asl")) {
+        if (this.event.isInterpreted()) {
             this.hohMessage.setVisibility(View.VISIBLE);
         } else {
             this.hohMessage.setVisibility(View.GONE);
         }
 
-        String type = this.event.getCategory();
-        this.eventType.setText(type);
-        int colorRes = this.eventPalette.getDimColor(type);
-        int color = this.getResources().getColor(colorRes);
-        this.eventTypeContainer.setBackgroundColor(color);
-        int bannerColorRes = this.eventPalette.getColor(type);
-        int bannerColor = this.getResources().getColor(bannerColorRes);
-        this.bannerView.setBackgroundColor(bannerColor);
+        this.updateEventType(this.event.getCategory());
         if (null != this.event.getHosts()) {
             this.speakers.setText(Joiner.on(",").join(this.event.getHosts()));
         } else {
@@ -199,22 +263,6 @@ final public class EventActivity extends BaseActivity
         }
         this.eventDetails.setText(this.getEventDetailsString());
 
-        this.setupNavigation();
-
-        try {
-            boolean favorited = this.favoriteRepository.isFavorited(this.event);
-            if (favorited) {
-                this.addButton.setStarred(true);
-            } else {
-                this.addButton.setStarred(false);
-            }
-        } catch (SQLException e) {
-            this.logger.error("Error when checking if event is a favorite", e);
-        }
-
-        ToolbarFader fader = this.faderFactory.create(this.bannerView, this.detailsContainer, this.actionBar);
-        this.detailsContainer.getViewTreeObserver().addOnScrollChangedListener(fader);
-
         for (String tag : this.event.getTags()) {
             if (tag.trim().isEmpty()) { continue; }
             TextView tagView = (TextView) getLayoutInflater().inflate(R.layout.tag, this.tags, false);
@@ -236,6 +284,10 @@ final public class EventActivity extends BaseActivity
     @OnClick(R.id.event_add)
     public void addFavoriteEvent()
     {
+        if (null == this.event) {
+            return;
+        }
+
         if (this.addButton.isStarred()) {
             this.unfavoriteEvent();
         } else {
@@ -245,34 +297,32 @@ final public class EventActivity extends BaseActivity
 
     /**
      * Unfavorite this event and unchedule any notifications.
+     *
+     * The star is updated right away, and the favorite is removed from the
+     * database in the background.
      */
     public void unfavoriteEvent()
     {
-        try {
-            this.favoriteRepository.remove(this.event);
-            this.addButton.setStarred(false);
-            this.notificationManager.cancelNotification(this.event);
-        } catch (SQLException e) {
-            this.logger.error("Error when removing Favorite", e);
-        }
+        this.favoriteRepository.remove(this.event, new FavoriteChangeObserver<Event>("Error when removing Favorite"));
+        this.addButton.setStarred(false);
+        this.notificationManager.cancelNotification(this.event);
     }
 
     /**
      * Favorite this event and schedule a notification.
+     *
+     * The star is updated right away, and the favorite is saved to the
+     * database in the background.
      */
     public void favoriteEvent()
     {
         this.logger.trace(EventFactory.favoriteEvent(this.event));
 
-        try {
-            Favorite favorite = new Favorite();
-            favorite.setEvent(this.event);
-            this.favoriteRepository.save(favorite);
-            this.addButton.setStarred(true);
-            this.notificationManager.scheduleNotification(this.event);
-        } catch (SQLException e) {
-            this.logger.error("Error when saving Favorite", e);
-        }
+        Favorite favorite = new Favorite();
+        favorite.setEvent(this.event);
+        this.favoriteRepository.save(favorite, new FavoriteChangeObserver<Favorite>("Error when saving Favorite"));
+        this.addButton.setStarred(true);
+        this.notificationManager.scheduleNotification(this.event);
     }
 
     /**
@@ -295,15 +345,33 @@ final public class EventActivity extends BaseActivity
 
     /**
      * Updates the top banner based on the event data
+     *
+     * @param banner The event's banner image, or null if it has none.
      */
-    protected void updateBannerImage()
+    protected void updateBannerImage(String banner)
     {
-        if (null == this.event.getBanner()) {
+        if (null == banner) {
             return;
         }
 
         this.bannerView.expandImage();
-        this.bannerView.setImage(this.event.getBanner());
+        this.bannerView.setImage(banner);
+    }
+
+    /**
+     * Colors the banner and type label by the event's category.
+     *
+     * @param type The event's category, or null if it isn't known yet.
+     */
+    protected void updateEventType(String type)
+    {
+        if (null == type) {
+            return;
+        }
+
+        this.eventType.setText(type);
+        this.eventTypeContainer.setBackgroundColor(this.eventPalette.getDimColor(type));
+        this.bannerView.setBackgroundColor(this.eventPalette.getColor(type));
     }
 
     /**
@@ -314,4 +382,83 @@ final public class EventActivity extends BaseActivity
         this.actionBar.setNavigationIcon(R.drawable.ic_action_arrow_left);
         this.actionBar.setNavigationOnClickListener(new FinishClickListener(this));
     }
+
+    /**
+     * Fills in the screen once the full event is loaded.
+     */
+    private class EventObserver implements Observer<Event>
+    {
+        @Override public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            EventActivity.this.logger.error("Error when loading event details", e);
+        }
+
+        @Override
+        public void onNext(Event event)
+        {
+            if (null == event) {
+                EventActivity.this.logger.warn("Event no longer exists: " + EventActivity.this.eventId);
+                EventActivity.this.finish();
+                return;
+            }
+
+            EventActivity.this.onEventLoaded(event);
+        }
+    }
+
+    /**
+     * Logs a favorite that couldn't be changed in the database.
+     *
+     * The favorites are put back the way they were when a change fails, so
+     * the star is corrected by the {@link FavoritesObserver}, and the
+     * notification is scheduled or cancelled again to match.
+     */
+    private class FavoriteChangeObserver<T> implements Observer<T>
+    {
+        final private String message;
+
+        public FavoriteChangeObserver(String message)
+        {
+            this.message = message;
+        }
+
+        @Override public void onCompleted() {}
+        @Override public void onNext(T item) {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            EventActivity.this.logger.error(this.message, e);
+
+            Event event = EventActivity.this.event;
+            if (EventActivity.this.favoriteRepository.isFavorited(event)) {
+                EventActivity.this.notificationManager.scheduleNotification(event);
+            } else {
+                EventActivity.this.notificationManager.cancelNotification(event);
+            }
+        }
+    }
+
+    /**
+     * Keeps the favorite button in sync with the user's favorites.
+     */
+    private class FavoritesObserver implements Observer<Set<String>>
+    {
+        @Override public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            EventActivity.this.logger.error("Error when checking if event is a favorite", e);
+        }
+
+        @Override
+        public void onNext(Set<String> favoriteIds)
+        {
+            EventActivity.this.addButton.setStarred(favoriteIds.contains(EventActivity.this.eventId));
+        }
+    }
 }
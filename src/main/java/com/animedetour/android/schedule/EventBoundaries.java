@@ -0,0 +1,111 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Calculates when a set of events will next change state.
+ *
+ * An event changes state when it starts (it is now in the past and should be
+ * faded) and when it ends (it can be hidden if the user does not want to see
+ * past events). These only depend on the event times, so they can be worked
+ * out from an already loaded list without asking the database again.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class EventBoundaries
+{
+    private EventBoundaries() {}
+
+    /**
+     * Find the next time that any of the events starts or ends.
+     *
+     * @param events The events currently being displayed.
+     * @param now The time to search after.
+     * @return The earliest start or end time after now, or null if every event
+     *         has already ended.
+     */
+    public static DateTime findNext(Collection<Event> events, DateTime now)
+    {
+        DateTime next = null;
+
+        for (Event event : events) {
+            next = EventBoundaries.earliestAfter(next, event.getStart(), now);
+            next = EventBoundaries.earliestAfter(next, event.getEnd(), now);
+        }
+
+        return next;
+    }
+
+    /**
+     * Find the events that started during a period of time.
+     *
+     * @param events The events currently being displayed.
+     * @param since The last time that the events were checked (exclusive).
+     * @param now The current time (inclusive).
+     * @return Events with a start time within the period.
+     */
+    public static List<Event> findStarted(Collection<Event> events, DateTime since, DateTime now)
+    {
+        List<Event> started = new ArrayList<>();
+
+        for (Event event : events) {
+            if (EventBoundaries.isWithin(event.getStart(), since, now)) {
+                started.add(event);
+            }
+        }
+
+        return started;
+    }
+
+    /**
+     * Find the events that ended during a period of time.
+     *
+     * @param events The events currently being displayed.
+     * @param since The last time that the events were checked (exclusive).
+     * @param now The current time (inclusive).
+     * @return Events with an end time within the period.
+     */
+    public static List<Event> findEnded(Collection<Event> events, DateTime since, DateTime now)
+    {
+        List<Event> ended = new ArrayList<>();
+
+        for (Event event : events) {
+            if (EventBoundaries.isWithin(event.getEnd(), since, now)) {
+                ended.add(event);
+            }
+        }
+
+        return ended;
+    }
+
+    private static DateTime earliestAfter(DateTime current, DateTime candidate, DateTime now)
+    {
+        if (null == candidate || false == candidate.isAfter(now)) {
+            return current;
+        }
+
+        if (null == current || candidate.isBefore(current)) {
+            return candidate;
+        }
+
+        return current;
+    }
+
+    private static boolean isWithin(DateTime time, DateTime since, DateTime now)
+    {
+        return null != time && time.isAfter(since) && false == time.isAfter(now);
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import com.animedetour.android.model.Event;
+import com.inkapplications.diff.ItemIdentifier;
+
+/**
+ * Identifies events in a list by their ID, so that a re-loaded event with
+ * updated data is treated as the same row.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class EventIdentifier implements ItemIdentifier<Event>
+{
+    @Override
+    public Object getKey(Event event)
+    {
+        return event.getId();
+    }
+}
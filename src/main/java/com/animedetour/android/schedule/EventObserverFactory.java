@@ -8,12 +8,12 @@
  */
 package com.animedetour.android.schedule;
 
+import android.support.v7.widget.RecyclerView;
 import android.view.View;
-import android.widget.ListView;
 import android.widget.ProgressBar;
 
 import com.animedetour.android.model.Event;
-import com.inkapplications.android.widget.listview.ItemAdapter;
+import com.inkapplications.android.widget.recyclerview.DiffingRecyclerAdapter;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -40,11 +40,12 @@ public class EventObserverFactory
     }
 
     public EventUpdateObserver create(
-        ListView panelList,
-        ItemAdapter<PanelView, Event> listAdapter,
+        RecyclerView panelList,
+        DiffingRecyclerAdapter<PanelView, Event> listAdapter,
         View emptyView,
-        ProgressBar loadingIndicator
+        ProgressBar loadingIndicator,
+        ScheduleClock clock
     ) {
-        return new EventUpdateObserver(panelList, listAdapter, emptyView, this.logger, loadingIndicator);
+        return new EventUpdateObserver(panelList, listAdapter, emptyView, this.logger, loadingIndicator, clock);
     }
 }
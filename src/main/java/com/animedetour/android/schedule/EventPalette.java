@@ -1,114 +1,138 @@
 /*
  * This file is part of the Anime Detour Android application
  *
- * Copyright (c) 2015 Anime Twin Cities, Inc.
+ * Copyright (c) 2015-2016 Anime Twin Cities, Inc.
  *
  * For the full copyright and license information, please view the LICENSE
  * file that was distributed with this source code.
  */
 package com.animedetour.android.schedule;
 
-import android.support.annotation.ColorRes;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.support.annotation.ColorInt;
 import com.animedetour.android.R;
 import monolog.Monolog;
 
-import javax.inject.Inject;
-import javax.inject.Singleton;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Create a color to represent an event based on the type.
  *
  * This tries to figure out the type of the event and assigns a color that
  * can be used to identify/categorize that type.
- * The types here are hardcoded so that they can be assigned in a way that
- * matches the color coding between apps and on sched.org.
+ * The known types and their colors are listed in the palette resources so
+ * that they can be assigned in a way that matches the color coding between
+ * apps and on sched.org. They're read once, and every color is resolved up
+ * front, so looking up a type's color is a single hash lookup.
+ *
+ * This is used from the database threads while preparing event rows, so
+ * colors are assigned to unknown types without locking.
  *
- * @todo Abstract this in some way so that the types aren't hardcoded.
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
-@Singleton
 public class EventPalette
 {
     final private Monolog logger;
 
-    /** Labels we've encountered that aren't recognized. */
-    final private ArrayList<String> unknownLabels = new ArrayList<>();
-
-    /** colors that can be used if an event without an identifiable type is found. */
-    final private static int[] unknowns = new int[] {
-        R.color.label_unknown2,
-        R.color.label_unknown3,
-        R.color.label_unknown4,
-    };
-
-    /** colors that can be used if an event without an identifiable type is found. */
-    final private static int[] unknownDims = new int[] {
-        R.color.label_unknown2_dim,
-        R.color.label_unknown3_dim,
-        R.color.label_unknown4_dim,
-    };
-
-    @Inject
-    public EventPalette(Monolog logger)
-    {
-        this.logger = logger;
-    }
+    /** Colors of the types listed in the palette, by type. */
+    final private Map<String, Swatch> known;
 
-    /**
-     * Get a color unique to the string type.
-     *
-     * Tries to match the type to a known type and color for that. If it fails
-     * it will assign an unknown color for that type. That unknown color will
-     * be the same for subsequent calls of the same type.
-     *
-     * @param type The type to match and get a color for.
-     * @return The color to identify that type.
-     */
-    @ColorRes
-    final public int getColor(String type)
-    {
-        if (type.equals("Hours of Operation")) {
-            return R.color.label_hours;
-        }
+    /** Colors that have been assigned to types that aren't listed. */
+    final private ConcurrentMap<String, Swatch> assigned = new ConcurrentHashMap<>();
 
-        if (type.equals("Panel")) {
-            return R.color.label_panel;
-        }
+    /** Colors that can be used if an event without an identifiable type is found. */
+    final private Swatch[] unknowns;
 
-        if (type.equals("Electronic Gaming")) {
-            return R.color.label_videogame;
-        }
+    /** Position in the unknown colors of the next color to assign. */
+    final private AtomicInteger nextUnknown = new AtomicInteger();
 
-        if (type.equals("Event")) {
-            return R.color.label_event;
+    /**
+     * @param types The types that have their own colors.
+     * @param colors The color of each type, in the same order.
+     * @param dimColors The darker color of each type, in the same order.
+     * @param unknownColors Colors to assign to types that aren't listed.
+     * @param unknownDimColors The darker colors to assign, in the same order.
+     * @param logger Warns if more types are found than unknown colors.
+     */
+    public EventPalette(
+        String[] types,
+        @ColorInt int[] colors,
+        @ColorInt int[] dimColors,
+        @ColorInt int[] unknownColors,
+        @ColorInt int[] unknownDimColors,
+        Monolog logger
+    ) {
+        if (types.length != colors.length || types.length != dimColors.length) {
+            throw new IllegalArgumentException("Each palette type needs a color and dim color");
         }
-
-        if (type.equals("Guest Signing")) {
-            return R.color.label_guestsigning;
+        if (0 == unknownColors.length || unknownColors.length != unknownDimColors.length) {
+            throw new IllegalArgumentException("Palette needs matching unknown colors and dim colors");
         }
 
-        if (type.equals("Tabletop Gaming")) {
-            return R.color.label_tabletopgame;
-        }
+        this.logger = logger;
 
-        if (type.equals("Video")) {
-            return R.color.label_video;
+        Map<String, Swatch> known = new HashMap<>(types.length * 2);
+        for (int i = 0; i < types.length; i++) {
+            known.put(types[i], new Swatch(colors[i], dimColors[i]));
         }
+        this.known = known;
 
-        if (type.equals("Cosplay Photoshoot")) {
-            return R.color.label_photoshoot;
+        this.unknowns = new Swatch[unknownColors.length];
+        for (int i = 0; i < unknownColors.length; i++) {
+            this.unknowns[i] = new Swatch(unknownColors[i], unknownDimColors[i]);
         }
+    }
 
-        if (type.equals("Workshop")) {
-            return R.color.label_workshop;
-        }
+    /**
+     * Read the palette from the app's resources.
+     *
+     * @param resources Resources containing the palette arrays.
+     * @param logger Warns if more types are found than unknown colors.
+     * @return A palette with all of its colors resolved.
+     */
+    public static EventPalette fromResources(Resources resources, Monolog logger)
+    {
+        return new EventPalette(
+            resources.getStringArray(R.array.palette_types),
+            readColors(resources, R.array.palette_colors),
+            readColors(resources, R.array.palette_dim_colors),
+            readColors(resources, R.array.palette_unknown_colors),
+            readColors(resources, R.array.palette_unknown_dim_colors),
+            logger
+        );
+    }
 
-        if (type.equals("Room Party")) {
-            return R.color.label_roomparty;
+    private static int[] readColors(Resources resources, int arrayResource)
+    {
+        TypedArray array = resources.obtainTypedArray(arrayResource);
+        int[] colors = new int[array.length()];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = array.getColor(i, 0);
         }
+        array.recycle();
 
-        return this.getUnknowncolor(type);
+        return colors;
+    }
+
+    /**
+     * Get a color unique to the string type.
+     *
+     * Tries to match the type to a known type and color for that. If it fails
+     * it will assign an unknown color for that type. That unknown color will
+     * be the same for subsequent calls of the same type.
+     *
+     * @param type The type to match and get a color for.
+     * @return The color to identify that type.
+     */
+    @ColorInt
+    final public int getColor(String type)
+    {
+        return this.getSwatch(type).color;
     }
 
     /**
@@ -121,105 +145,71 @@ public class EventPalette
      * @param type The type to match and get a color for.
      * @return The color to identify that type.
      */
-    @ColorRes
+    @ColorInt
     final public int getDimColor(String type)
     {
-        if (type.equals("Hours of Operation")) {
-            return R.color.label_hours_dim;
-        }
-
-        if (type.equals("Panel")) {
-            return R.color.label_panel_dim;
-        }
-
-        if (type.equals("Electronic Gaming")) {
-            return R.color.label_videogame_dim;
-        }
-
-        if (type.equals("Event")) {
-            return R.color.label_event_dim;
-        }
-
-        if (type.equals("Guest Signing")) {
-            return R.color.label_guestsigning_dim;
-        }
-
-        if (type.equals("Tabletop Gaming")) {
-            return R.color.label_tabletopgame_dim;
-        }
-
-        if (type.equals("Video")) {
-            return R.color.label_video_dim;
-        }
+        return this.getSwatch(type).dimColor;
+    }
 
-        if (type.equals("Cosplay Photoshoot")) {
-            return R.color.label_photoshoot_dim;
-        }
+    private Swatch getSwatch(String type)
+    {
+        String key = null == type ? "" : type;
 
-        if (type.equals("Workshop")) {
-            return R.color.label_workshop_dim;
+        Swatch known = this.known.get(key);
+        if (null != known) {
+            return known;
         }
 
-        if (type.equals("Room Party")) {
-            return R.color.label_roomparty_dim;
+        Swatch assigned = this.assigned.get(key);
+        if (null != assigned) {
+            return assigned;
         }
 
-        return this.getDimUnknowncolor(type);
+        return this.assignUnknown(key);
     }
 
     /**
-     * Get a color to identify an type.
+     * Register a color for a type, so that it always returns the same color
+     * for each unique value.
      *
-     * This will register the color so that it always returns the same color for
-     * each unique value.
      * If we run out of colors, this will loop back around to the start, but
-     * will log a warning.
+     * will log a warning. When two threads assign the same new type at once,
+     * only one of their colors is kept, and the other is skipped over.
      *
-     * @param type The type to match and get a color for.
+     * @param type The type to assign a color to.
      * @return The color to identify that type.
      */
-    @ColorRes
-    private int getUnknowncolor(String type)
+    private Swatch assignUnknown(String type)
     {
-        if (false == this.unknownLabels.contains(type)) {
-            this.unknownLabels.add(type);
+        int index = this.nextUnknown.getAndIncrement();
+        Swatch candidate = this.unknowns[index % this.unknowns.length];
+        Swatch existing = this.assigned.putIfAbsent(type, candidate);
+        if (null != existing) {
+            return existing;
         }
-        int index = this.unknownLabels.indexOf(type);
 
-        if (index > this.unknownLabels.size()) {
-            this.logger.warn(
-                "Ran out of colors for palette. Will recycle old color"
-            );
+        if (index >= this.unknowns.length) {
+            this.logger.warn("Ran out of colors for palette. Will recycle old color");
         }
 
-        return unknowns[index % unknownLabels.size()];
+        return candidate;
     }
 
     /**
-     * Get a darker color to identify an type.
-     *
-     * This will register the color so that it always returns the same color for
-     * each unique value.
-     * If we run out of colors, this will loop back around to the start, but
-     * will log a warning.
-     *
-     * @param type The type to match and get a color for.
-     * @return The color to identify that type.
+     * The pair of colors used for a type.
      */
-    @ColorRes
-    private int getDimUnknowncolor(String type)
+    private static class Swatch
     {
-        if (false == this.unknownLabels.contains(type)) {
-            this.unknownLabels.add(type);
-        }
-        int index = this.unknownLabels.indexOf(type);
+        @ColorInt
+        final private int color;
 
-        if (index > this.unknownLabels.size()) {
-            this.logger.warn(
-                "Ran out of colors for palette. Will recycle old color"
-            );
-        }
+        @ColorInt
+        final private int dimColor;
 
-        return unknownDims[index % unknownLabels.size()];
+        public Swatch(@ColorInt int color, @ColorInt int dimColor)
+        {
+            this.color = color;
+            this.dimColor = dimColor;
+        }
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.support.annotation.ColorInt;
+import com.animedetour.android.model.Event;
+import com.google.common.base.Objects;
+
+/**
+ * The ready-to-display contents of an event's row in a list.
+ *
+ * Rows are built ahead of time, off of the main thread, so that binding one
+ * to a view only has to copy these fields into it.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class EventRow
+{
+    /** The event that the row was built from. */
+    final private Event event;
+
+    /** The title of the row, the event's name. */
+    final private String title;
+
+    /** The time range and room of the event. */
+    final private String subtitle;
+
+    /** The resolved color for the event's category. */
+    @ColorInt
+    final private int labelColor;
+
+    /** Label for the minimum age of the event, or null if there is none. */
+    final private String ageWarning;
+
+    /** Whether the event is ASL interpreted. */
+    final private boolean interpreted;
+
+    /** The start time of the event, to check if it's in the past. */
+    final private long startMillis;
+
+    /**
+     * @param event The event that the row was built from.
+     * @param title The title of the row, the event's name.
+     * @param subtitle The time range and room of the event.
+     * @param labelColor The resolved color for the event's category.
+     * @param ageWarning Label for the minimum age of the event, or null if there is none.
+     * @param interpreted Whether the event is ASL interpreted.
+     */
+    public EventRow(
+        Event event,
+        String title,
+        String subtitle,
+        @ColorInt int labelColor,
+        String ageWarning,
+        boolean interpreted
+    ) {
+        this.event = event;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.labelColor = labelColor;
+        this.ageWarning = ageWarning;
+        this.interpreted = interpreted;
+        this.startMillis = event.getStart().getMillis();
+    }
+
+    /**
+     * Check whether the row still shows an event correctly.
+     *
+     * The same event is often loaded more than once by different queries, so
+     * this compares the fields that the row displays rather than requiring
+     * the exact same event object.
+     *
+     * @param event The event to be displayed.
+     * @return Whether the row was built from the same displayed data.
+     */
+    public boolean isFor(Event event)
+    {
+        if (this.event == event) {
+            return true;
+        }
+
+        return Objects.equal(this.event.getId(), event.getId())
+            && Objects.equal(this.event.getName(), event.getName())
+            && Objects.equal(this.event.getStart(), event.getStart())
+            && Objects.equal(this.event.getEnd(), event.getEnd())
+            && Objects.equal(this.event.getRoom(), event.getRoom())
+            && Objects.equal(this.event.getCategory(), event.getCategory())
+            && Objects.equal(this.event.getTags(), event.getTags());
+    }
+
+    /**
+     * @return The event that the row was built from.
+     */
+    public Event getEvent()
+    {
+        return this.event;
+    }
+
+    /**
+     * @return The title of the row, the event's name.
+     */
+    public String getTitle()
+    {
+        return this.title;
+    }
+
+    /**
+     * @return The time range and room of the event.
+     */
+    public String getSubtitle()
+    {
+        return this.subtitle;
+    }
+
+    /**
+     * @return The resolved color for the event's category.
+     */
+    @ColorInt
+    public int getLabelColor()
+    {
+        return this.labelColor;
+    }
+
+    /**
+     * @return Label for the minimum age of the event, or null if there is none.
+     */
+    public String getAgeWarning()
+    {
+        return this.ageWarning;
+    }
+
+    /**
+     * @return Whether the event is ASL interpreted.
+     */
+    public boolean isInterpreted()
+    {
+        return this.interpreted;
+    }
+
+    /**
+     * @param nowMillis The current time.
+     * @return Whether the event has already started.
+     */
+    public boolean hasStarted(long nowMillis)
+    {
+        return this.startMillis < nowMillis;
+    }
+}
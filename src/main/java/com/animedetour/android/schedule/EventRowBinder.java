@@ -0,0 +1,106 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.view.View;
+import com.animedetour.android.database.favorite.FavoriteStore;
+import com.animedetour.android.model.Event;
+
+/**
+ * Binds events into their list rows without allocating.
+ *
+ * This runs for every row that scrolls onto the screen, so nothing here
+ * creates new objects once a list has been scrolled through once: the row's
+ * contents are prepared ahead of time, and each view keeps a single click
+ * listener in its tag that is pointed at whichever event it displays.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class EventRowBinder
+{
+    /** The displayed contents of each event, prepared ahead of time. */
+    final private EventRowCache rows;
+
+    /** For marking the events that the user has starred. */
+    final private FavoriteStore favorites;
+
+    /** Listener to invoke when a row is clicked. */
+    final private OnEventClickListener clickListener;
+
+    /**
+     * @param rows The displayed contents of each event, prepared ahead of time.
+     * @param favorites For marking the events that the user has starred.
+     * @param clickListener Listener to invoke when a row is clicked.
+     */
+    public EventRowBinder(
+        EventRowCache rows,
+        FavoriteStore favorites,
+        OnEventClickListener clickListener
+    ) {
+        this.rows = rows;
+        this.favorites = favorites;
+        this.clickListener = clickListener;
+    }
+
+    /**
+     * @param event The event to display.
+     * @param view The row to display it in.
+     * @param nowMillis The current time, to mark events that have started.
+     */
+    public void bind(Event event, EventRowView view, long nowMillis)
+    {
+        view.bind(this.rows.get(event), nowMillis);
+        view.setStarred(this.favorites.contains(event.getId()));
+
+        Object tag = view.getTag();
+        if (tag instanceof BoundClickListener) {
+            ((BoundClickListener) tag).event = event;
+            return;
+        }
+
+        BoundClickListener listener = new BoundClickListener(this.clickListener);
+        listener.event = event;
+        view.setTag(listener);
+        view.setOnClickListener(listener);
+    }
+
+    /**
+     * Invoked when the user clicks an event's row.
+     */
+    public interface OnEventClickListener
+    {
+        /**
+         * @param event The event that was clicked.
+         */
+        void onEventClicked(Event event);
+    }
+
+    /**
+     * A click listener that is kept with a view and re-pointed at each event
+     * that the view is bound to.
+     */
+    private static class BoundClickListener implements View.OnClickListener
+    {
+        final private OnEventClickListener delegate;
+
+        /** The event currently displayed in the view. */
+        private Event event;
+
+        public BoundClickListener(OnEventClickListener delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onClick(View view)
+        {
+            this.delegate.onEventClicked(this.event);
+        }
+    }
+}
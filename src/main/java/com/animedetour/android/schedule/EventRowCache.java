@@ -0,0 +1,77 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import com.animedetour.android.database.event.EventPreparer;
+import com.animedetour.android.model.Event;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the displayed contents of each event's row, by event ID.
+ *
+ * Rows are built on the database thread as events are queried, so binding
+ * a row while scrolling is only a lookup. If an event is bound that wasn't
+ * prepared, or has changed since, its row is built when it is bound.
+ *
+ * This is safe to use from multiple threads.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class EventRowCache implements EventPreparer
+{
+    /** Builds the rows. */
+    final private EventRowFactory factory;
+
+    /** The latest row built for each event ID. */
+    final private ConcurrentMap<String, EventRow> rows = new ConcurrentHashMap<>();
+
+    /**
+     * @param factory Builds the rows.
+     */
+    public EventRowCache(EventRowFactory factory)
+    {
+        this.factory = factory;
+    }
+
+    @Override
+    public void prepare(List<Event> events)
+    {
+        for (Event event : events) {
+            this.get(event);
+        }
+    }
+
+    /**
+     * @param event The event to be displayed.
+     * @return The displayed contents of the event's row.
+     */
+    public EventRow get(Event event)
+    {
+        EventRow row = this.rows.get(event.getId());
+        if (null != row && row.isFor(event)) {
+            return row;
+        }
+
+        row = this.factory.create(event);
+        this.rows.put(event.getId(), row);
+
+        return row;
+    }
+
+    /**
+     * @return The number of events with a row built.
+     */
+    public int size()
+    {
+        return this.rows.size();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.support.annotation.ColorInt;
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * Builds the displayed contents of an event's row.
+ *
+ * This does all of the formatting that a row needs, so that it can be done
+ * on the database thread along with the query instead of while scrolling.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class EventRowFactory
+{
+    /**
+     * The time format to use for the panel.
+     */
+    final private static DateTimeFormatter TIME_FORMAT = DateTimeFormat.forPattern("hh:mma");
+
+    /**
+     * The time format to use for the panel, with a day marked.
+     */
+    final private static DateTimeFormatter DAY_TIME_FORMAT = DateTimeFormat.forPattern("EEE, hh:mma");
+
+    /** Word between the time and room of an event, e.g. "in". */
+    final private String inPreposition;
+
+    /** Looks up the color for an event's category. */
+    final private LabelColors labelColors;
+
+    /**
+     * @param inPreposition Word between the time and room of an event, e.g. "in".
+     * @param labelColors Looks up the color for an event's category.
+     */
+    public EventRowFactory(String inPreposition, LabelColors labelColors)
+    {
+        this.inPreposition = inPreposition;
+        this.labelColors = labelColors;
+    }
+
+    /**
+     * @param event The event to display.
+     * @return The displayed contents of the event's row.
+     */
+    public EventRow create(Event event)
+    {
+        String timeRange = formatTimeRange(event.getStart(), event.getEnd());
+        String subtitle = timeRange + " " + this.inPreposition + " " + event.getRoom();
+
+        String ageWarning = null;
+        if (event.isEighteenPlus()) {
+            ageWarning = Event.TAG_18_PLUS;
+        } else if (event.isTwentyOnePlus()) {
+            ageWarning = Event.TAG_21_PLUS;
+        }
+
+        return new EventRow(
+            event,
+            event.getName(),
+            subtitle,
+            this.labelColors.getLabelColor(event.getCategory()),
+            ageWarning,
+            event.isInterpreted()
+        );
+    }
+
+    /**
+     * Get a time stamp for a panel.
+     *
+     * If the panel ends on a different day than it started, this will include
+     * a day for the end time, like `Sat, 2:00pm - Sun, 8:00am`
+     * Otherwise it will leave it off, like `Sat, 2:00pm - 4:00pm`
+     *
+     * @param start The start time of the panel
+     * @param end The end time of the panel
+     * @return A formated timespan of the start and end time of the panel,
+     *         e.g. `Sun, 2:00PM - 6:00PM`
+     */
+    public static String formatTimeRange(DateTime start, DateTime end)
+    {
+        if (start.dayOfYear().equals(end.dayOfYear())) {
+            return DAY_TIME_FORMAT.print(start) + " - " + TIME_FORMAT.print(end);
+        } else {
+            return DAY_TIME_FORMAT.print(start) + " - " + DAY_TIME_FORMAT.print(end);
+        }
+    }
+
+    /**
+     * Looks up the color for an event's category.
+     */
+    public interface LabelColors
+    {
+        /**
+         * @param category The event's category.
+         * @return The resolved color to label the category with.
+         */
+        @ColorInt
+        int getLabelColor(String category);
+    }
+}
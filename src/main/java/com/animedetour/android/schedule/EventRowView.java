@@ -0,0 +1,49 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.view.View;
+
+/**
+ * A view that displays a single event's row in a list.
+ *
+ * @see PanelView
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public interface EventRowView
+{
+    /**
+     * @param row The prepared contents of the row.
+     * @param nowMillis The current time, to mark events that have started.
+     */
+    void bind(EventRow row, long nowMillis);
+
+    /**
+     * @param starred Whether the user has the event starred.
+     */
+    void setStarred(boolean starred);
+
+    /**
+     * @return The object tagged onto the view, or null if there is none.
+     * @see View#getTag()
+     */
+    Object getTag();
+
+    /**
+     * @param tag An object to keep with the view.
+     * @see View#setTag(Object)
+     */
+    void setTag(Object tag);
+
+    /**
+     * @param listener Listener to invoke when the row is clicked.
+     * @see View#setOnClickListener(View.OnClickListener)
+     */
+    void setOnClickListener(View.OnClickListener listener);
+}
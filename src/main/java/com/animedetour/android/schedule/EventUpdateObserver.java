@@ -8,12 +8,13 @@
  */
 package com.animedetour.android.schedule;
 
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
 import android.view.View;
-import android.widget.ListView;
 import android.widget.ProgressBar;
 
 import com.animedetour.android.model.Event;
-import com.inkapplications.android.widget.listview.ItemAdapter;
+import com.inkapplications.android.widget.recyclerview.DiffingRecyclerAdapter;
 
 import java.util.List;
 
@@ -40,9 +41,12 @@ public class EventUpdateObserver implements Observer<List<Event>>
     final private ProgressBar loadingIndicator;
 
     /** The list view we're to put events into. */
-    final private ListView panelList;
+    final private RecyclerView panelList;
 
-    final private ItemAdapter<PanelView, Event> itemAdapter;
+    final private DiffingRecyclerAdapter<PanelView, Event> itemAdapter;
+
+    /** Clock to watch displayed events for starting and ending. */
+    final private ScheduleClock clock;
 
     /**
      * Scroll position state.
@@ -65,18 +69,19 @@ public class EventUpdateObserver implements Observer<List<Event>>
     private boolean restored = false;
 
     public EventUpdateObserver(
-        ListView panelList,
-        ItemAdapter<PanelView, Event> listAdapter,
+        RecyclerView panelList,
+        DiffingRecyclerAdapter<PanelView, Event> listAdapter,
         View emptyView,
         Monolog logger,
-        ProgressBar loadingIndicator
+        ProgressBar loadingIndicator,
+        ScheduleClock clock
     ) {
         this.panelList = panelList;
         this.itemAdapter = listAdapter;
         this.emptyView = emptyView;
         this.logger = logger;
         this.loadingIndicator = loadingIndicator;
-
+        this.clock = clock;
     }
 
     @Override
@@ -109,6 +114,7 @@ public class EventUpdateObserver implements Observer<List<Event>>
     private void displayEvents(List<Event> events)
     {
         this.itemAdapter.setItems(events);
+        this.clock.watch(events);
         this.toggleEmptyView(events.isEmpty());
 
         if (false == events.isEmpty()) {
@@ -140,7 +146,7 @@ public class EventUpdateObserver implements Observer<List<Event>>
         }
 
         this.restored = true;
-        this.panelList.setSelection(this.scrollPosition);
+        this.panelList.scrollToPosition(this.scrollPosition);
     }
 
     /**
@@ -150,7 +156,9 @@ public class EventUpdateObserver implements Observer<List<Event>>
      */
     final public int getScrollPosition()
     {
-        return this.panelList.getFirstVisiblePosition();
+        LinearLayoutManager layout = (LinearLayoutManager) this.panelList.getLayoutManager();
+
+        return Math.max(0, layout.findFirstVisibleItemPosition());
     }
 
     /**
@@ -10,8 +10,8 @@ package com.animedetour.android.schedule;
 
 import android.content.Context;
 import android.view.ViewGroup;
+import com.animedetour.android.database.favorite.FavoriteStore;
 import com.animedetour.android.model.Event;
-import com.inkapplications.android.widget.recyclerview.ItemBoundClickListener;
 import com.inkapplications.android.widget.recyclerview.ItemViewBinder;
 
 import javax.inject.Inject;
@@ -20,6 +20,7 @@ import javax.inject.Singleton;
 /**
  * Binds Events to the displayed Panel View.
  *
+ * @see EventRowBinder
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 @Singleton
@@ -28,42 +29,39 @@ public class EventViewBinder implements ItemViewBinder<PanelView, Event>
     /** Context to be used when creating new panel views. */
     private Context context;
 
-    /** Listener to invoke when a panel view is clicked. */
-    private PanelViewController clickListener;
+    /** Copies the prepared rows into the views. */
+    private EventRowBinder rowBinder;
 
-    /** For creating the label colors on events. */
-    private EventPalette eventPalette;
+    /** Shared by every panel view, so they share measured text. */
+    private PanelStyle style;
 
     /**
      * @param context Context to be used when creating new panel views.
+     * @param rows The displayed contents of each event, prepared ahead of time.
      * @param clickListener Listener to invoke when a panel view is clicked.
+     * @param favorites For marking the events that the user has starred.
      */
     @Inject
     public EventViewBinder(
         Context context,
-        EventPalette eventPalette,
-        PanelViewController clickListener
+        EventRowCache rows,
+        PanelViewController clickListener,
+        FavoriteStore favorites
     ) {
         this.context = context;
-        this.eventPalette = eventPalette;
-        this.clickListener = clickListener;
+        this.rowBinder = new EventRowBinder(rows, favorites, clickListener);
+        this.style = new PanelStyle(context);
     }
 
     @Override
     public PanelView createView(ViewGroup viewGroup, int i)
     {
-        return new PanelView(this.context);
+        return new PanelView(this.context, this.style);
     }
 
     @Override
-    public void bindView(final Event event, final PanelView view)
+    public void bindView(Event event, PanelView view)
     {
-        view.reset();
-        view.bind(event);
-
-        String eventType = event.getCategory();
-        view.setLabelColor(this.eventPalette.getColor(eventType));
-
-        view.setOnClickListener(new ItemBoundClickListener<>(event, this.clickListener));
+        this.rowBinder.bind(event, view, System.currentTimeMillis());
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import com.animedetour.android.database.QueryPriority;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders the loading of pages in a pager so the visible page comes first.
+ *
+ * The pager keeps every page alive, so every page asks to load at once when
+ * the screen resumes. The visible page is loaded right away, while the
+ * offscreen pages wait until the visible page reports that it has rendered,
+ * and then load at a lower priority.
+ *
+ * This must be used from the main thread.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class PageLoadCoordinator<PAGE>
+{
+    /** The page the user is currently looking at. */
+    private PAGE visiblePage;
+
+    /** Whether the visible page has rendered its content yet. */
+    private boolean visibleRendered = false;
+
+    /** Offscreen page loads waiting for the visible page, in request order. */
+    final private Map<PAGE, Loader> deferred = new LinkedHashMap<>();
+
+    /**
+     * Change the page the user is looking at.
+     *
+     * Offscreen pages will wait again until the new page has rendered. If the
+     * new page was already waiting to load, it is loaded right away.
+     *
+     * @param page The page now being displayed.
+     */
+    public void setVisiblePage(PAGE page)
+    {
+        this.visiblePage = page;
+        this.visibleRendered = false;
+
+        Loader waiting = this.deferred.remove(page);
+        if (null != waiting) {
+            waiting.load(QueryPriority.VISIBLE);
+        }
+    }
+
+    /**
+     * Load a page now if it is visible, or once the visible page is done.
+     *
+     * A page asking to load again replaces any load it had waiting.
+     *
+     * @param page The page asking to load.
+     * @param loader Callback to run the page's load.
+     */
+    public void requestLoad(PAGE page, Loader loader)
+    {
+        if (page.equals(this.visiblePage)) {
+            this.deferred.remove(page);
+            loader.load(QueryPriority.VISIBLE);
+            return;
+        }
+
+        if (this.visibleRendered) {
+            loader.load(QueryPriority.PREFETCH);
+            return;
+        }
+
+        this.deferred.put(page, loader);
+    }
+
+    /**
+     * Report that a page has displayed its content.
+     *
+     * If it is the visible page, every offscreen page waiting is loaded.
+     *
+     * @param page The page that has rendered.
+     */
+    public void onPageRendered(PAGE page)
+    {
+        if (false == page.equals(this.visiblePage) || this.visibleRendered) {
+            return;
+        }
+
+        this.visibleRendered = true;
+        List<Loader> waiting = new ArrayList<>(this.deferred.values());
+        this.deferred.clear();
+        for (Loader loader : waiting) {
+            loader.load(QueryPriority.PREFETCH);
+        }
+    }
+
+    /**
+     * Drop a page's waiting load, if it has one.
+     *
+     * @param page The page that no longer needs to load.
+     */
+    public void cancel(PAGE page)
+    {
+        this.deferred.remove(page);
+    }
+
+    /**
+     * Runs the load for a single page.
+     */
+    public interface Loader
+    {
+        /**
+         * @param priority How urgently the page's data is needed.
+         */
+        void load(QueryPriority priority);
+    }
+}
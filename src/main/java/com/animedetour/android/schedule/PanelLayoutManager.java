@@ -0,0 +1,57 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * Lays out a vertical list of panels, binding rows ahead of a scroll.
+ *
+ * While the list is being scrolled, an extra half screen of rows is laid out
+ * past the edge the list is moving towards, so those rows are already bound
+ * by the time they scroll into view. When the list is at rest nothing extra
+ * is laid out, so offscreen day pages don't bind rows no one will see.
+ *
+ * Rows are handed back to the recycled view pool when the list is detached,
+ * so that when pages share a pool, the next page can reuse them.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class PanelLayoutManager extends LinearLayoutManager
+{
+    /** Whether the list is currently being scrolled. */
+    private boolean scrolling = false;
+
+    public PanelLayoutManager(Context context)
+    {
+        super(context, VERTICAL, false);
+
+        this.setRecycleChildrenOnDetach(true);
+    }
+
+    @Override
+    public void onScrollStateChanged(int state)
+    {
+        super.onScrollStateChanged(state);
+
+        this.scrolling = state != RecyclerView.SCROLL_STATE_IDLE;
+    }
+
+    @Override
+    protected int getExtraLayoutSpace(RecyclerView.State state)
+    {
+        if (this.scrolling) {
+            return this.getHeight() / 2;
+        }
+
+        return super.getExtraLayoutSpace(state);
+    }
+}
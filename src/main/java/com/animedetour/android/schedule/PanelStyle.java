@@ -0,0 +1,108 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+import android.util.TypedValue;
+import com.animedetour.android.R;
+import com.animedetour.android.framework.text.TextLayoutCache;
+
+/**
+ * Paints, sizes and text layouts shared by every panel view.
+ *
+ * The sizes and colors match the card layout that panels were previously
+ * inflated from. Panels made for the same list share one style, so that a
+ * title measured for one row is reused when another row shows the same
+ * event.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class PanelStyle
+{
+    /** Number of titles and subtitles to keep measured. */
+    final private static int LAYOUT_CACHE_SIZE = 128;
+
+    /** Space around the card. */
+    final int margin;
+
+    /** Height of the shadow drawn below the card. */
+    final int shadowHeight;
+
+    /** Width of the category color bar at the start of the card. */
+    final int colorBarWidth;
+
+    /** Space between the card's edges and its text. */
+    final int padding;
+
+    /** Space on either side of each badge. */
+    final int badgeMargin;
+
+    /** Space between the star and the card's padding. */
+    final int starMargin;
+
+    /** Lays out event titles, up to two lines. */
+    final TextLayoutCache titles;
+
+    /** Lays out the time and room of events, on a single line. */
+    final TextLayoutCache subtitles;
+
+    /** Draws the age warning badge. */
+    final TextPaint badgePaint;
+
+    /** Draws the shadow below the card. */
+    final Paint shadowPaint;
+
+    /** Draws the fade over events that have started. */
+    final Paint fadePaint;
+
+    /** Color to tint the star with. */
+    final int starColor;
+
+    public PanelStyle(Context context)
+    {
+        Resources resources = context.getResources();
+
+        this.margin = this.dp(resources, 4);
+        this.shadowHeight = this.dp(resources, 1);
+        this.colorBarWidth = this.dp(resources, 4);
+        this.padding = this.dp(resources, 16);
+        this.badgeMargin = this.dp(resources, 4);
+        this.starMargin = this.dp(resources, 16);
+
+        TextPaint titlePaint = this.text(resources, 20, R.color.foreground);
+        titlePaint.setTypeface(Typeface.create("sans-serif-medium", Typeface.NORMAL));
+        this.titles = new TextLayoutCache(titlePaint, 2, LAYOUT_CACHE_SIZE);
+        this.subtitles = new TextLayoutCache(this.text(resources, 12, R.color.foreground_highlight), 1, LAYOUT_CACHE_SIZE);
+        this.badgePaint = this.text(resources, 14, R.color.danger);
+
+        this.shadowPaint = new Paint();
+        this.shadowPaint.setColor(0x1F000000);
+        this.fadePaint = new Paint();
+        this.fadePaint.setColor(resources.getColor(R.color.background_faded));
+        this.starColor = resources.getColor(R.color.primary);
+    }
+
+    private TextPaint text(Resources resources, float sp, int colorResource)
+    {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, sp, resources.getDisplayMetrics()));
+        paint.setColor(resources.getColor(colorResource));
+
+        return paint;
+    }
+
+    private int dp(Resources resources, float dp)
+    {
+        return Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, resources.getDisplayMetrics()));
+    }
+}
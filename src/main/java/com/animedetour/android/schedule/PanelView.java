@@ -10,74 +10,82 @@ package com.animedetour.android.schedule;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
+import android.text.StaticLayout;
 import android.util.AttributeSet;
-import android.view.LayoutInflater;
 import android.view.View;
-import android.widget.ImageView;
-import android.widget.RelativeLayout;
-import android.widget.TextView;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
 import com.animedetour.android.R;
 import com.animedetour.android.model.Event;
-import org.joda.time.DateTime;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 
 /**
  * Panel tile view
  *
  * This is a view for the small card / list format of a panel.
  *
+ * The card is drawn directly by this one view, rather than inflated as a
+ * tree of text and image views, so that a row only takes a single measure
+ * and layout pass. The title and subtitle are drawn from text layouts kept
+ * in the panel style, so a row showing an event that was already measured
+ * doesn't break its text into lines again.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
-public class PanelView extends RelativeLayout
+public class PanelView extends View implements EventRowView
 {
-    /**
-     * The title of the panel, displayed at the top of the card
-     */
-    private TextView title;
-
-    /**
-     * The description caption on the card
-     */
-    private TextView description;
-
-    /**
-     * An icon indicating if the user has the panel starred.
-     */
-    private ImageView starred;
+    /** Sizes, paints and text layouts shared with other panels. */
+    final private PanelStyle style;
 
-    /**
-     * A semi-transperent fade over the panel to indicate that it is in the past.
-     */
-    private View fadeOverlay;
+    /** Background of the card, showing when the panel is pressed. */
+    private Drawable cardBackground;
 
-    /**
-     * A label to quickly indicate a minimum age for the event.
-     */
-    private TextView ageWarning;
+    /** An icon indicating if the user has the panel starred. */
+    private Drawable starIcon;
 
     /**
      * An icon to indicate that this panel will be ASL interpreted for the hard
      * of hearing.
      */
-    private View hoh;
+    private Drawable hohIcon;
 
-    private View color;
+    /** Draws the category color bar. */
+    final private Paint colorPaint = new Paint();
 
-    /**
-     * The time format to use for the panel.
-     */
-    final private static DateTimeFormatter TIME_FORMAT = DateTimeFormat.forPattern("hh:mma");
+    /** The title of the panel, displayed at the top of the card */
+    private String title = "";
 
-    /**
-     * The time format to use for the panel, with a day marked.
-     */
-    final private static DateTimeFormatter DAY_TIME_FORMAT = DateTimeFormat.forPattern("EEE, hh:mma");
+    /** The description caption on the card */
+    private String description = "";
+
+    /** A label to quickly indicate a minimum age for the event. */
+    private String ageWarning;
+
+    /** Whether the panel will be ASL interpreted. */
+    private boolean interpreted = false;
+
+    /** Whether the user has the panel starred. */
+    private boolean starred = false;
+
+    /** Whether to fade the panel to indicate that it is in the past. */
+    private boolean started = false;
+
+    /** The title, broken into lines on the last measure. */
+    private StaticLayout titleLayout;
+
+    /** The description, fit to a single line on the last measure. */
+    private StaticLayout descriptionLayout;
 
     public PanelView(Context context, AttributeSet attrs)
     {
         super(context, attrs);
+        this.style = new PanelStyle(context);
         this.init(context);
 
         TypedArray attributes = context.getTheme().obtainStyledAttributes(
@@ -89,29 +97,37 @@ public class PanelView extends RelativeLayout
 
         String name = attributes.getString(R.styleable.PanelView_name);
         String description = attributes.getString(R.styleable.PanelView_description);
+        attributes.recycle();
 
-        this.title.setText(name);
-        this.description.setText(description);
+        this.setTitle(name);
+        this.setDescription(description);
     }
 
     public PanelView(Context context)
+    {
+        this(context, new PanelStyle(context));
+    }
+
+    /**
+     * @param context Context to load the card's drawables with.
+     * @param style Sizes, paints and text layouts shared with other panels.
+     */
+    public PanelView(Context context, PanelStyle style)
     {
         super(context);
+        this.style = style;
         this.init(context);
     }
 
     /** Shared Constructor logic */
     private void init(Context context)
     {
-        LayoutInflater.from(context).inflate(R.layout.view_panel, this);
-        this.title = (TextView) this.findViewById(R.id.view_panel_name);
-        this.description = (TextView) this.findViewById(R.id.view_panel_description);
-        this.starred = (ImageView) this.findViewById(R.id.view_panel_starred);
-        this.fadeOverlay = this.findViewById(R.id.view_panel_overlay);
-        this.starred = (ImageView) this.findViewById(R.id.view_panel_starred);
-        this.color = this.findViewById(R.id.view_panel_color_label);
-        this.ageWarning = (TextView) this.findViewById(R.id.view_panel_age_warning);
-        this.hoh = this.findViewById(R.id.icon_hoh);
+        this.cardBackground = context.getResources().getDrawable(R.drawable.drawer_row_background);
+        this.cardBackground.setCallback(this);
+        this.starIcon = context.getResources().getDrawable(R.drawable.starred).mutate();
+        this.starIcon.setColorFilter(this.style.starColor, PorterDuff.Mode.SRC_ATOP);
+        this.hohIcon = context.getResources().getDrawable(R.drawable.ic_hearing_black_18dp);
+        this.colorPaint.setColor(Color.TRANSPARENT);
     }
 
     /**
@@ -119,7 +135,14 @@ public class PanelView extends RelativeLayout
      */
     public void setTitle(String title)
     {
-        this.title.setText(title);
+        String text = null == title ? "" : title;
+        if (text.equals(this.title)) {
+            return;
+        }
+
+        this.title = text;
+        this.requestLayout();
+        this.invalidate();
     }
 
     /**
@@ -127,7 +150,14 @@ public class PanelView extends RelativeLayout
      */
     public void setDescription(String description)
     {
-        this.description.setText(description);
+        String text = null == description ? "" : description;
+        if (text.equals(this.description)) {
+            return;
+        }
+
+        this.description = text;
+        this.requestLayout();
+        this.invalidate();
     }
 
     /**
@@ -136,47 +166,69 @@ public class PanelView extends RelativeLayout
      */
     public void reset()
     {
-        this.setLabelColor(android.R.color.transparent);
+        this.setColor(Color.TRANSPARENT);
         this.setTitle("");
         this.setDescription("");
-        this.fadeOverlay.setVisibility(GONE);
+        this.setStarred(false);
+        this.setStarted(false);
+    }
+
+    /**
+     * @param starred Whether the user has the panel starred.
+     */
+    @Override
+    public void setStarred(boolean starred)
+    {
+        if (this.starred != starred) {
+            this.starred = starred;
+            this.invalidate();
+        }
+    }
+
+    /**
+     * Bind a prepared row to display in the view.
+     *
+     * All of the row's contents are formatted ahead of time, so this only
+     * copies them into the view.
+     *
+     * @param row The row to display.
+     * @param nowMillis The current time, to fade out events that have started.
+     */
+    @Override
+    public void bind(EventRow row, long nowMillis)
+    {
+        this.setTitle(row.getTitle());
+        this.setDescription(row.getSubtitle());
+        this.setColor(row.getLabelColor());
+        this.setStarted(row.hasStarted(nowMillis));
+        this.setBadges(row.getAgeWarning(), row.isInterpreted());
     }
 
     /**
      * Bind a panel object to display in the view
      *
+     * This formats the event's details as it binds. Lists should bind rows
+     * from an {@link EventRowCache} instead.
+     *
      * @param event The panel to sync data from
      */
     public void bind(Event event)
     {
-        String timeRange = this.getTimeRangeString(event.getStart(), event.getEnd());
+        String timeRange = EventRowFactory.formatTimeRange(event.getStart(), event.getEnd());
         String inPreposition = this.getContext().getString(R.string.in_preposition);
         String venue = event.getRoom();
         String fullDescription = timeRange + " " + inPreposition + " " + venue;
 
         this.setDescription(fullDescription);
         this.setTitle(event.getName());
+        this.setStarted(event.getStart().isBeforeNow());
 
-        if (event.getStart().isBeforeNow()) {
-            this.fadeOverlay.setVisibility(VISIBLE);
+        if (event.isEighteenPlus()) {
+            this.setBadges(Event.TAG_18_PLUS, event.isInterpreted());
+        } else if (event.isTwentyOnePlus()) {
+            this.setBadges(Event.TAG_21_PLUS, event.isInterpreted());
         } else {
-            this.fadeOverlay.setVisibility(GONE);
-        }
-
-        if (event.getTags().contains("18+")) {
-            this.ageWarning.setText("18+");
-            this.ageWarning.setVisibility(VISIBLE);
-        } else if (event.getTags().contains("21+")) {
-            this.ageWarning.setText("21+");
-            this.ageWarning.setVisibility(VISIBLE);
-        } else {
-            this.ageWarning.setVisibility(GONE);
-        }
-
-        if (event.getTags().contains("asl")) {
-            this.hoh.setVisibility(VISIBLE);
-        } else {
-            this.hoh.setVisibility(GONE);
+            this.setBadges(null, event.isInterpreted());
         }
     }
 
@@ -187,28 +239,203 @@ public class PanelView extends RelativeLayout
      */
     public void setLabelColor(@ColorRes int colorResource)
     {
-        int color = this.getResources().getColor(colorResource);
-        this.color.setBackgroundColor(color);
+        this.setColor(this.getResources().getColor(colorResource));
+    }
+
+    private void setColor(@ColorInt int color)
+    {
+        if (this.colorPaint.getColor() != color) {
+            this.colorPaint.setColor(color);
+            this.invalidate();
+        }
+    }
+
+    private void setStarted(boolean started)
+    {
+        if (this.started != started) {
+            this.started = started;
+            this.invalidate();
+        }
     }
 
     /**
-     * Get a time stamp for a panel.
-     *
-     * If the panel ends on a different day than it started, this will include
-     * a day for the end time, like `Sat, 2:00pm - Sun, 8:00am`
-     * Otherwise it will leave it off, like `Sat, 2:00pm - 4:00pm`
+     * Badges take space away from the title, so changing them lays out the
+     * title again.
+     */
+    private void setBadges(String ageWarning, boolean interpreted)
+    {
+        boolean sameAge = null == ageWarning ? null == this.ageWarning : ageWarning.equals(this.ageWarning);
+        if (sameAge && this.interpreted == interpreted) {
+            return;
+        }
+
+        this.ageWarning = ageWarning;
+        this.interpreted = interpreted;
+        this.requestLayout();
+        this.invalidate();
+    }
+
+    /**
+     * @return The horizontal space taken up by the badges beside the title.
+     */
+    private int getBadgesWidth()
+    {
+        int width = 0;
+        if (null != this.ageWarning) {
+            width += this.style.badgeMargin * 2 + (int) Math.ceil(this.style.badgePaint.measureText(this.ageWarning));
+        }
+        if (this.interpreted) {
+            width += this.style.badgeMargin * 2 + this.hohIcon.getIntrinsicWidth();
+        }
+
+        return width;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec)
+    {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int textWidth = Math.max(0, width - this.style.margin * 2 - this.style.colorBarWidth - this.style.padding * 2);
+
+        this.titleLayout = this.style.titles.get(this.title, Math.max(0, textWidth - this.getBadgesWidth()));
+        this.descriptionLayout = this.style.subtitles.get(this.description, textWidth);
+
+        int height = this.style.margin * 2
+            + this.style.padding * 2
+            + this.titleLayout.getHeight()
+            + this.descriptionLayout.getHeight();
+
+        this.setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight)
+    {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+
+        this.cardBackground.setBounds(
+            this.style.margin + this.style.colorBarWidth,
+            this.style.margin,
+            width - this.style.margin,
+            height - this.style.margin
+        );
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas)
+    {
+        int left = this.style.margin;
+        int top = this.style.margin;
+        int right = this.getWidth() - this.style.margin;
+        int bottom = this.getHeight() - this.style.margin;
+
+        canvas.drawRect(left, bottom, right, bottom + this.style.shadowHeight, this.style.shadowPaint);
+        this.cardBackground.draw(canvas);
+        canvas.drawRect(left, top, left + this.style.colorBarWidth, bottom, this.colorPaint);
+
+        int textLeft = left + this.style.colorBarWidth + this.style.padding;
+        int textTop = top + this.style.padding;
+        int titleHeight = this.titleLayout.getHeight();
+
+        canvas.save();
+        canvas.translate(textLeft, textTop);
+        this.titleLayout.draw(canvas);
+        canvas.translate(0, titleHeight);
+        this.descriptionLayout.draw(canvas);
+        canvas.restore();
+
+        this.drawBadges(canvas, right - this.style.padding, textTop + titleHeight / 2);
+
+        if (this.starred) {
+            int starRight = right - this.style.padding - this.style.starMargin;
+            int starTop = top + this.style.padding + this.style.starMargin;
+            this.starIcon.setBounds(
+                starRight - this.starIcon.getIntrinsicWidth(),
+                starTop,
+                starRight,
+                starTop + this.starIcon.getIntrinsicHeight()
+            );
+            this.starIcon.draw(canvas);
+        }
+
+        if (this.started) {
+            canvas.drawRect(left, top, right, bottom, this.style.fadePaint);
+        }
+    }
+
+    /**
+     * Draw the badges from right to left, centered on the title.
      *
-     * @param start The start time of the panel
-     * @param end The end time of the panel
-     * @return A formated timespan of the start and end time of the panel,
-     *         e.g. `Sun, 2:00PM - 6:00PM`
+     * @param right The right edge of the space the badges are drawn in.
+     * @param centerY The vertical center of the title.
      */
-    protected String getTimeRangeString(DateTime start, DateTime end)
+    private void drawBadges(Canvas canvas, int right, int centerY)
     {
-        if (start.dayOfYear().equals(end.dayOfYear())) {
-            return PanelView.DAY_TIME_FORMAT.print(start) + " - " + PanelView.TIME_FORMAT.print(end);
-        } else {
-            return PanelView.DAY_TIME_FORMAT.print(start) + " - " + PanelView.DAY_TIME_FORMAT.print(end);
+        int end = right;
+
+        if (this.interpreted) {
+            int iconRight = end - this.style.badgeMargin;
+            int iconTop = centerY - this.hohIcon.getIntrinsicHeight() / 2;
+            this.hohIcon.setBounds(
+                iconRight - this.hohIcon.getIntrinsicWidth(),
+                iconTop,
+                iconRight,
+                iconTop + this.hohIcon.getIntrinsicHeight()
+            );
+            this.hohIcon.draw(canvas);
+            end = iconRight - this.hohIcon.getIntrinsicWidth() - this.style.badgeMargin;
         }
+
+        if (null != this.ageWarning) {
+            Paint paint = this.style.badgePaint;
+            float textRight = end - this.style.badgeMargin;
+            float baseline = centerY - (paint.ascent() + paint.descent()) / 2;
+            canvas.drawText(this.ageWarning, textRight - paint.measureText(this.ageWarning), baseline, paint);
+        }
+    }
+
+    @Override
+    protected void drawableStateChanged()
+    {
+        super.drawableStateChanged();
+
+        if (this.cardBackground.isStateful()) {
+            this.cardBackground.setState(this.getDrawableState());
+            this.invalidate();
+        }
+    }
+
+    @Override
+    protected boolean verifyDrawable(Drawable who)
+    {
+        return who == this.cardBackground || super.verifyDrawable(who);
+    }
+
+    @Override
+    public void jumpDrawablesToCurrentState()
+    {
+        super.jumpDrawablesToCurrentState();
+        this.cardBackground.jumpToCurrentState();
+    }
+
+    /**
+     * The text is drawn rather than held in text views, so it's reported to
+     * accessibility services here instead.
+     */
+    @Override
+    public void onPopulateAccessibilityEvent(AccessibilityEvent event)
+    {
+        super.onPopulateAccessibilityEvent(event);
+
+        event.getText().add(this.title);
+        event.getText().add(this.description);
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info)
+    {
+        super.onInitializeAccessibilityNodeInfo(info);
+
+        info.setText(this.title + ", " + this.description);
     }
 }
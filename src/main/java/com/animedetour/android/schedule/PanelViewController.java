@@ -12,7 +12,6 @@ import android.app.Activity;
 import android.content.Intent;
 import com.animedetour.android.analytics.EventFactory;
 import com.animedetour.android.model.Event;
-import com.inkapplications.android.widget.recyclerview.ViewClickListener;
 import monolog.Monolog;
 
 import javax.inject.Inject;
@@ -24,7 +23,7 @@ import javax.inject.Singleton;
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 @Singleton
-public class PanelViewController implements ViewClickListener<PanelView, Event>
+public class PanelViewController implements EventRowBinder.OnEventClickListener
 {
     final private Activity context;
     final private Monolog logger;
@@ -40,10 +39,9 @@ public class PanelViewController implements ViewClickListener<PanelView, Event>
      * Opens an event activity when one of the panel items is clicked.
      *
      * @param selected The event data item that was clicked by the user.
-     * @param view The view item that was clicked by the user.
      */
     @Override
-    public void onViewClicked(Event selected, PanelView view)
+    public void onEventClicked(Event selected)
     {
         this.logger.trace(EventFactory.eventDetails(selected));
 
@@ -0,0 +1,138 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Notifies a listener when displayed events start or end.
+ *
+ * Rather than polling, or re-querying the schedule, this waits until exactly
+ * the next start or end time in the list it's watching, and then reports
+ * which events changed so that only those rows need to be updated.
+ *
+ * The time of the last check is kept while stopped, so that events which
+ * started or ended while the screen was paused are reported as soon as it
+ * watches its events again. Reloading the same events doesn't rebind their
+ * rows, so they wouldn't be updated otherwise.
+ *
+ * This must be used from the main thread.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class ScheduleClock
+{
+    /** Handler used to post the next tick onto the main thread. */
+    final private Handler handler = new Handler(Looper.getMainLooper());
+
+    /** Runnable invoked at each event boundary. */
+    final private Runnable tick = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            ScheduleClock.this.onTick();
+        }
+    };
+
+    /** Listener to notify when events change state. */
+    final private Listener listener;
+
+    /** The events currently being watched. */
+    private List<Event> events = new ArrayList<>();
+
+    /** The last time the watched events were checked for changes, kept while stopped. */
+    private DateTime lastChecked;
+
+    /**
+     * @param listener Listener to notify when events change state.
+     */
+    public ScheduleClock(Listener listener)
+    {
+        this.listener = listener;
+    }
+
+    /**
+     * Start watching a new list of events, replacing any previous ones.
+     *
+     * Any of the events that started or ended since the last check are
+     * reported right away.
+     *
+     * @param events The events currently being displayed.
+     */
+    public void watch(Collection<Event> events)
+    {
+        this.events = new ArrayList<>(events);
+        if (null == this.lastChecked) {
+            this.lastChecked = DateTime.now();
+        }
+        this.scheduleNext();
+    }
+
+    /**
+     * Stop watching for changes until a new list of events is watched.
+     *
+     * The time of the last check is kept, so that changes made while stopped
+     * are reported when watching resumes.
+     */
+    public void stop()
+    {
+        this.handler.removeCallbacks(this.tick);
+        this.events = new ArrayList<>();
+    }
+
+    private void onTick()
+    {
+        DateTime now = DateTime.now();
+        List<Event> started = EventBoundaries.findStarted(this.events, this.lastChecked, now);
+        List<Event> ended = EventBoundaries.findEnded(this.events, this.lastChecked, now);
+        this.lastChecked = now;
+
+        this.scheduleNext();
+
+        if (started.isEmpty() && ended.isEmpty()) {
+            return;
+        }
+        this.listener.onEventsChanged(started, ended);
+    }
+
+    private void scheduleNext()
+    {
+        this.handler.removeCallbacks(this.tick);
+        DateTime next = EventBoundaries.findNext(this.events, this.lastChecked);
+
+        if (null == next) {
+            return;
+        }
+
+        long delay = Math.max(0, next.getMillis() - DateTime.now().getMillis());
+        this.handler.postDelayed(this.tick, delay);
+    }
+
+    /**
+     * Receives updates when watched events start or end.
+     */
+    public interface Listener
+    {
+        /**
+         * Invoked on the main thread when events reach a boundary.
+         *
+         * @param started Events that have started since the last update.
+         * @param ended Events that have ended since the last update.
+         */
+        void onEventsChanged(List<Event> started, List<Event> ended);
+    }
+}
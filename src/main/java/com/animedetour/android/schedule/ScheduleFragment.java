@@ -18,27 +18,41 @@ import android.view.MenuItem;
 import com.animedetour.android.R;
 import com.animedetour.android.database.event.EventRepository;
 import com.animedetour.android.framework.BaseFragment;
+import com.animedetour.android.framework.SubscriptionGroup;
+import com.animedetour.android.model.ConventionDays;
+import com.animedetour.android.model.Event;
 import com.animedetour.android.schedule.serach.EventSearchActivity;
 import com.animedetour.android.settings.PreferenceManager;
 import com.squareup.otto.Bus;
 
 import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.inject.Inject;
 
 import butterknife.Bind;
 import monolog.LogName;
+import monolog.Monolog;
 import prism.framework.DisplayName;
 import prism.framework.Layout;
+import rx.Observer;
 
 /**
  * Schedule fragment
  *
  * This fragment displays a pager of days, one for each day in the schedule
  *
+ * The days are looked up from the saved schedule when the fragment is shown,
+ * and the pager is empty until they're found. If no schedule is saved yet, the
+ * full schedule is loaded and the days are found from that.
+ *
+ * Every day in the pager is kept alive, so the day pages share a load
+ * coordinator to load the day that is being looked at before the others.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 @DisplayName(R.string.schedule_title)
@@ -58,8 +72,19 @@ final public class ScheduleFragment extends BaseFragment
     @Inject
     PreferenceManager preferences;
 
+    @Inject
+    Monolog logger;
+
     private DaysPagerAdapter pagerAdapter;
 
+    /** Loads the visible day's events before the offscreen days. */
+    final private PageLoadCoordinator<LocalDate> loadCoordinator = new PageLoadCoordinator<>();
+
+    /** Lookups of the schedule's days, stopped when paused. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
+
+    private List<DateTime> days = Collections.emptyList();
+
     @Override
     public void onActivityCreated(Bundle savedInstanceState)
     {
@@ -68,12 +93,44 @@ final public class ScheduleFragment extends BaseFragment
         this.pagerAdapter = new DaysPagerAdapter(
             this.getActivity(),
             this.getChildFragmentManager(),
-            this.getDays()
+            this.days
         );
         this.pager.setAdapter(pagerAdapter);
-        //Set limit according to number of days we have so that we don't ever need to fully reload
-        //any fragments in the pager.
-        this.pager.setOffscreenPageLimit(this.getDays().size() - 1);
+        this.pager.addOnPageChangeListener(new ViewPager.SimpleOnPageChangeListener()
+        {
+            @Override
+            public void onPageSelected(int position)
+            {
+                ScheduleFragment.this.updateVisibleDay();
+            }
+        });
+    }
+
+    /**
+     * Day fragments resume after this one, so the visible day is known by the
+     * time they ask to load.
+     */
+    @Override
+    public void onResume()
+    {
+        super.onResume();
+        this.updateVisibleDay();
+        this.subscriptions.add(this.eventData.findConventionDays(new DaysObserver()));
+    }
+
+    @Override
+    public void onPause()
+    {
+        super.onPause();
+        this.subscriptions.clear();
+    }
+
+    /**
+     * @return Coordinator for the day pages to load their events through.
+     */
+    final public PageLoadCoordinator<LocalDate> getLoadCoordinator()
+    {
+        return this.loadCoordinator;
     }
 
     @Override
@@ -107,6 +164,7 @@ final public class ScheduleFragment extends BaseFragment
      */
     private void notifyVisibilityChanged()
     {
+        this.updateVisibleDay();
         for (DayFragment fragment : this.pagerAdapter.getFragments()) {
             if (false == fragment.isResumed()) {
                 continue;
@@ -115,19 +173,90 @@ final public class ScheduleFragment extends BaseFragment
         }
     }
 
+    private void updateVisibleDay()
+    {
+        if (this.days.isEmpty()) {
+            return;
+        }
+
+        DateTime visibleDay = this.days.get(this.pager.getCurrentItem());
+        this.loadCoordinator.setVisiblePage(visibleDay.toLocalDate());
+    }
+
     /**
-     * Get a list of days, one for each day in the schedule.
+     * Show a page for each day of the schedule.
      *
-     * @todo query the database here instead of hardcoding the days
-     * @return A list of days in the schedule
+     * Pages are only made once the pager needs them, but every page is kept
+     * alive once made so that we don't ever need to fully reload any of them.
+     *
+     * @param conventionDays The days of the saved schedule.
+     */
+    private void showDays(ConventionDays conventionDays)
+    {
+        List<DateTime> days = new ArrayList<>();
+        for (LocalDate day : conventionDays.getDays()) {
+            days.add(day.toDateTimeAtStartOfDay());
+        }
+        if (days.equals(this.days)) {
+            return;
+        }
+
+        this.days = days;
+        this.pager.setOffscreenPageLimit(Math.max(1, days.size() - 1));
+        this.pagerAdapter.setDays(days);
+        this.updateVisibleDay();
+    }
+
+    /**
+     * Shows the days of the saved schedule, or loads the schedule if there
+     * isn't one saved yet.
+     */
+    private class DaysObserver implements Observer<ConventionDays>
+    {
+        @Override
+        public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            ScheduleFragment.this.logger.error("Failed looking up convention days", e);
+        }
+
+        @Override
+        public void onNext(ConventionDays conventionDays)
+        {
+            if (null != conventionDays) {
+                ScheduleFragment.this.showDays(conventionDays);
+                return;
+            }
+
+            ScheduleFragment.this.eventData.findAll(
+                ScheduleFragment.this.subscriptions.detachOnClear(new ScheduleObserver())
+            );
+        }
+    }
+
+    /**
+     * Shows the days of a newly loaded schedule.
      */
-    final protected List<DateTime> getDays()
+    private class ScheduleObserver implements Observer<List<Event>>
     {
-        ArrayList<DateTime> days = new ArrayList<>();
-        days.add(new DateTime("2016-04-22"));
-        days.add(new DateTime("2016-04-23"));
-        days.add(new DateTime("2016-04-24"));
+        @Override
+        public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            ScheduleFragment.this.logger.error("Failed loading schedule for convention days", e);
+        }
 
-        return days;
+        @Override
+        public void onNext(List<Event> events)
+        {
+            ConventionDays conventionDays = ConventionDays.fromEvents(events);
+            if (null != conventionDays) {
+                ScheduleFragment.this.showDays(conventionDays);
+            }
+        }
     }
 }
@@ -66,4 +66,23 @@ public class Favorite
     {
         this.event = event;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Favorite favorite = (Favorite) o;
+
+        if (id != null ? !id.equals(favorite.id) : favorite.id != null) return false;
+        return event != null ? event.equals(favorite.event) : favorite.event == null;
+
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id != null ? id.hashCode() : 0;
+        result = 31 * result + (event != null ? event.hashCode() : 0);
+        return result;
+    }
 }
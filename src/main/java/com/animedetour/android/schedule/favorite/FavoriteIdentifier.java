@@ -0,0 +1,25 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule.favorite;
+
+import com.inkapplications.diff.ItemIdentifier;
+
+/**
+ * Identifies favorites in a list by the ID of the event they reference.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class FavoriteIdentifier implements ItemIdentifier<Favorite>
+{
+    @Override
+    public Object getKey(Favorite favorite)
+    {
+        return favorite.getEvent().getId();
+    }
+}
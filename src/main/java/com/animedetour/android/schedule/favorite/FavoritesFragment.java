@@ -9,17 +9,23 @@
 package com.animedetour.android.schedule.favorite;
 
 import android.os.Bundle;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.SimpleItemAnimator;
 import android.view.View;
-import android.widget.ListView;
 import butterknife.Bind;
 import com.animedetour.android.R;
 import com.animedetour.android.database.favorite.FavoriteRepository;
 import com.animedetour.android.framework.BaseFragment;
+import com.animedetour.android.framework.SubscriptionGroup;
+import com.animedetour.android.framework.text.HtmlRenderCache;
 import com.animedetour.android.schedule.EventPalette;
+import com.animedetour.android.schedule.PanelLayoutManager;
 import com.animedetour.android.schedule.EventViewBinder;
+import com.animedetour.android.model.Event;
 import com.animedetour.android.schedule.PanelView;
-import com.inkapplications.android.widget.listview.ItemAdapter;
-import com.inkapplications.groundcontrol.SubscriptionManager;
+import com.animedetour.android.schedule.ScheduleClock;
+import com.inkapplications.android.widget.recyclerview.DiffingRecyclerAdapter;
 import icepick.State;
 import monolog.LogName;
 import monolog.Monolog;
@@ -34,13 +40,15 @@ import java.util.List;
 /**
  * List of "My Events" that have been favorited/starred.
  *
+ * Shares its recycled panels with the schedule's day pages.
+ *
  * @todo We can probably extract some logic between this and the DayFragment.
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 @DisplayName(R.string.favorites_title)
 @LogName("Favorites")
 @Layout(R.layout.schedule_day)
-final public class FavoritesFragment extends BaseFragment
+final public class FavoritesFragment extends BaseFragment implements ScheduleClock.Listener
 {
     @Inject
     FavoriteRepository favoriteData;
@@ -49,7 +57,7 @@ final public class FavoritesFragment extends BaseFragment
     Monolog logger;
 
     @Bind(R.id.panel_list)
-    ListView panelList;
+    RecyclerView panelList;
 
     @State
     int scrollPosition = 0;
@@ -61,15 +69,24 @@ final public class FavoritesFragment extends BaseFragment
     View loadingIndicator;
 
     @Inject
-    SubscriptionManager subscriptionManager;
+    EventViewBinder eventViewBinder;
 
     @Inject
-    EventViewBinder eventViewBinder;
+    HtmlRenderCache descriptions;
 
     @Inject
     EventPalette palette;
 
-    private ItemAdapter<PanelView, Favorite> adapter;
+    @Inject
+    RecyclerView.RecycledViewPool panelPool;
+
+    private DiffingRecyclerAdapter<PanelView, Favorite> adapter;
+
+    /** Watches the favorited events so they can fade as they start. */
+    private ScheduleClock clock = new ScheduleClock(this);
+
+    /** Work for this list, stopped when the list is paused. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
 
     @Override
     public void onStart()
@@ -84,7 +101,8 @@ final public class FavoritesFragment extends BaseFragment
     {
         super.onPause();
 
-        this.subscriptionManager.unsubscribeAll();
+        this.subscriptions.clear();
+        this.clock.stop();
     }
 
     @Override
@@ -100,13 +118,17 @@ final public class FavoritesFragment extends BaseFragment
     protected void setupPanelList()
     {
         FavoriteViewBinder favoriteViewBinder = new FavoriteViewBinder(this.eventViewBinder);
-        this.adapter = new ItemAdapter<>(favoriteViewBinder);
-        this.panelList.setAdapter(adapter);
+        this.adapter = new DiffingRecyclerAdapter<>(favoriteViewBinder, new FavoriteIdentifier(), this.logger);
+        this.panelList.setLayoutManager(new PanelLayoutManager(this.getActivity()));
+        this.panelList.setRecycledViewPool(this.panelPool);
+        this.panelList.setHasFixedSize(true);
+        ((SimpleItemAnimator) this.panelList.getItemAnimator()).setSupportsChangeAnimations(false);
+        this.panelList.setAdapter(this.adapter);
 
         Subscription favoriteSubscription = this.favoriteData.findAll(
             new FavoriteUpdateObserver(this, this.panelEmptyView, this.loadingIndicator, this.logger)
         );
-        this.subscriptionManager.add(favoriteSubscription);
+        this.subscriptions.add(favoriteSubscription);
     }
 
     /**
@@ -117,19 +139,39 @@ final public class FavoritesFragment extends BaseFragment
     public void updateEvents(List<Favorite> events)
     {
         List<Favorite> filtered =  new ArrayList<>();
+        List<Event> favoritedEvents = new ArrayList<>();
         for (Favorite favorite : events) {
             if (null == favorite.getEvent()) {
                 continue;
             }
             filtered.add(favorite);
+            favoritedEvents.add(favorite.getEvent());
+            this.descriptions.warm(favorite.getEvent().getId(), favorite.getEvent().getDescription());
         }
 
-        if (this.panelList.getAdapter().getCount() != 0) {
+        if (this.adapter.getItemCount() != 0) {
             this.syncScrollPosition();
         }
 
         this.adapter.setItems(filtered);
-        this.panelList.setVerticalScrollbarPosition(this.scrollPosition);
+        this.clock.watch(favoritedEvents);
+        this.panelList.scrollToPosition(this.scrollPosition);
+    }
+
+    /**
+     * Re-bind the favorites whose events have started, so they are faded.
+     */
+    @Override
+    public void onEventsChanged(List<Event> started, List<Event> ended)
+    {
+        List<Favorite> changed = new ArrayList<>();
+        for (Favorite favorite : this.adapter.getItems()) {
+            if (started.contains(favorite.getEvent())) {
+                changed.add(favorite);
+            }
+        }
+
+        this.adapter.refreshItems(changed);
     }
 
     /**
@@ -141,6 +183,7 @@ final public class FavoritesFragment extends BaseFragment
             this.scrollPosition = 0;
             return;
         }
-        this.scrollPosition = this.panelList.getVerticalScrollbarPosition();
+        LinearLayoutManager layout = (LinearLayoutManager) this.panelList.getLayoutManager();
+        this.scrollPosition = Math.max(0, layout.findFirstVisibleItemPosition());
     }
 }
@@ -12,7 +12,6 @@ import android.app.AlarmManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
-import android.os.Bundle;
 import com.animedetour.android.database.favorite.FavoriteRepository;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.schedule.favorite.Favorite;
@@ -140,15 +139,17 @@ public class EventNotificationManager
     /**
      * Create a notification intent for scheduling or cancelling.
      *
+     * The intent only carries the event's ID and name, since the alarm
+     * manager holds on to it until the alarm goes off.
+     *
      * @param event The event that the notification is for.
      * @return An intent that may be used to schedule or cancel a notification.
      */
     protected PendingIntent getEventIntent(Event event)
     {
         Intent alarmIntent = new Intent(this.context, UpcomingEventReciever.class);
-        Bundle bundle = new Bundle();
-        bundle.putSerializable(UpcomingEventReciever.EXTRA_EVENT, event);
-        alarmIntent.putExtra(UpcomingEventReciever.EXTRA_BUNDLE, bundle);
+        alarmIntent.putExtra(UpcomingEventReciever.EXTRA_EVENT_ID, event.getId());
+        alarmIntent.putExtra(UpcomingEventReciever.EXTRA_EVENT_NAME, event.getName());
         PendingIntent pendingIntent = PendingIntent.getBroadcast(
             this.context,
             event.getId().hashCode(),
@@ -16,8 +16,13 @@ import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import com.animedetour.android.R;
+import com.animedetour.android.framework.DetourApplication;
 import com.animedetour.android.model.Event;
 import com.animedetour.android.schedule.EventActivity;
+import monolog.Monolog;
+import prism.framework.PrismKernel;
+
+import javax.inject.Inject;
 
 /**
  * Handles incoming intents for scheduled event notifications.
@@ -26,26 +31,72 @@ import com.animedetour.android.schedule.EventActivity;
  */
 public class UpcomingEventReciever extends BroadcastReceiver
 {
-    final public static String EXTRA_EVENT = "Bundle_Event";
-    final public static String EXTRA_BUNDLE = "notification_bundle";
+    final public static String EXTRA_EVENT_ID = "event_id";
+    final public static String EXTRA_EVENT_NAME = "event_name";
+
+    /**
+     * Extras that alarms scheduled by earlier versions serialized the whole
+     * event into. These are still read so that those alarms keep working.
+     */
+    final private static String LEGACY_EXTRA_EVENT = "Bundle_Event";
+    final private static String LEGACY_EXTRA_BUNDLE = "notification_bundle";
+
+    @Inject
+    Monolog logger;
 
     @Override
     public void onReceive(Context context, Intent intent)
     {
+        DetourApplication application = (DetourApplication) context.getApplicationContext();
+        PrismKernel prismKernel = new PrismKernel(application);
+        prismKernel.bootstrap(this);
+
         NotificationManager notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
-        Bundle bundle = intent.getBundleExtra(EXTRA_BUNDLE);
-        Event event = (Event) bundle.getSerializable(EXTRA_EVENT);
+        String eventId = intent.getStringExtra(EXTRA_EVENT_ID);
+        String eventName = intent.getStringExtra(EXTRA_EVENT_NAME);
+
+        Bundle legacyBundle = intent.getBundleExtra(LEGACY_EXTRA_BUNDLE);
+        if (null == eventId && null != legacyBundle) {
+            Event event = this.readLegacyEvent(legacyBundle);
+            if (null == event) {
+                return;
+            }
+            eventId = event.getId();
+            eventName = event.getName();
+        }
 
-        Notification notification = this.getNotification(context, event);
-        notificationManager.notify(event.getId().hashCode(), notification);
+        if (null == eventId) {
+            return;
+        }
+
+        Notification notification = this.getNotification(context, eventId, eventName);
+        notificationManager.notify(eventId.hashCode(), notification);
+    }
+
+    /**
+     * Read the event that an older version serialized into the alarm.
+     *
+     * If the event can't be read, the notification is dropped rather than
+     * crashing the receiver.
+     *
+     * @return The event, or null if it couldn't be read.
+     */
+    private Event readLegacyEvent(Bundle legacyBundle)
+    {
+        try {
+            return (Event) legacyBundle.getSerializable(LEGACY_EXTRA_EVENT);
+        } catch (RuntimeException e) {
+            this.logger.error("Unable to read event from legacy notification", e);
+            return null;
+        }
     }
 
-    private Notification getNotification(Context context, Event event) {
+    private Notification getNotification(Context context, String eventId, String eventName) {
         Notification.Builder builder = new Notification.Builder(context);
-        builder.setContentTitle(event.getName());
+        builder.setContentTitle(eventName);
         builder.setContentText(context.getString(R.string.notification_description));
-        Intent eventActivityIntent = EventActivity.createIntent(context, event);
-        PendingIntent contentIntent = PendingIntent.getActivity(context, event.getId().hashCode(), eventActivityIntent, 0);
+        Intent eventActivityIntent = EventActivity.createIntent(context, eventId, eventName);
+        PendingIntent contentIntent = PendingIntent.getActivity(context, eventId.hashCode(), eventActivityIntent, 0);
         builder.setAutoCancel(true);
         builder.setContentIntent(contentIntent);
         builder.setSmallIcon(R.drawable.flat_logo);
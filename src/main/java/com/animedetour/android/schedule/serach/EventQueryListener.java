@@ -11,44 +11,38 @@ package com.animedetour.android.schedule.serach;
 import android.support.v7.widget.SearchView;
 import android.view.View;
 import android.view.inputmethod.InputMethodManager;
-import com.animedetour.android.database.event.EventRepository;
-import com.animedetour.android.model.Event;
-import rx.Observer;
-
-import java.util.List;
 
 /**
  * Listens for updates to the search query and searches the event data based on
  * what has been entered by the user.
  *
+ * The searching itself is handed off to a pipeline, which waits for the user
+ * to stop typing before running it.
+ *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
 public class EventQueryListener implements SearchView.OnQueryTextListener
 {
     final private InputMethodManager inputManager;
-    final private EventRepository eventRepository;
-    final private Observer<List<Event>> resultObserver;
+    final private SearchPipeline searchPipeline;
     final private View searchBar;
     final private View results;
     final private View emptySearchView;
 
     /**
-     * @param eventRepository Service to perform the search query with.
-     * @param resultObserver Observer to inform of search results matching the query.
+     * @param searchPipeline Service to search for events matching the query.
      * @param results The view that shows search results.
      * @param emptySearchView A view to display when the search query is empty.
      */
     public EventQueryListener(
         InputMethodManager inputManager,
-        EventRepository eventRepository,
-        Observer<List<Event>> resultObserver,
+        SearchPipeline searchPipeline,
         View searchBar,
         View results,
         View emptySearchView
     ) {
         this.inputManager = inputManager;
-        this.eventRepository = eventRepository;
-        this.resultObserver = resultObserver;
+        this.searchPipeline = searchPipeline;
         this.searchBar = searchBar;
         this.results = results;
         this.emptySearchView = emptySearchView;
@@ -66,11 +60,19 @@ public class EventQueryListener implements SearchView.OnQueryTextListener
     public boolean onQueryTextChange(String userQuery)
     {
         this.toggleVisibility(userQuery);
-        this.eventRepository.findMatching(userQuery, this.resultObserver);
+        this.searchPipeline.search(userQuery);
 
         return true;
     }
 
+    /**
+     * Stop any searches that are waiting or running.
+     */
+    public void cancel()
+    {
+        this.searchPipeline.cancel();
+    }
+
     /**
      * Displays the search results or the empty search view depending on whether
      * the user query is empty.
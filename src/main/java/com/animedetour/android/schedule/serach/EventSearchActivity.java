@@ -10,7 +10,6 @@ package com.animedetour.android.schedule.serach;
 
 import android.os.Bundle;
 import android.support.v7.widget.SearchView;
-import android.support.v7.widget.SearchView.OnQueryTextListener;
 import android.support.v7.widget.Toolbar;
 import android.view.MenuItem;
 import android.view.View;
@@ -19,14 +18,21 @@ import butterknife.Bind;
 import com.animedetour.android.R;
 import com.animedetour.android.database.event.type.EventTypeRepository;
 import com.animedetour.android.framework.BaseActivity;
+import com.animedetour.android.framework.SubscriptionGroup;
+import com.animedetour.android.framework.text.HtmlRenderCache;
 import com.animedetour.android.model.Event;
+import com.animedetour.android.model.Facet;
+import com.animedetour.android.schedule.DescriptionWarmer;
+import com.animedetour.android.schedule.EventIdentifier;
 import com.animedetour.android.schedule.EventPalette;
 import com.animedetour.android.schedule.EventViewBinder;
 import com.animedetour.android.schedule.PanelView;
+import com.inkapplications.android.widget.listview.DiffingItemAdapter;
 import com.inkapplications.android.widget.listview.ItemAdapter;
 import monolog.LogName;
 import monolog.Monolog;
 import prism.framework.Layout;
+import rx.Subscription;
 
 import javax.inject.Inject;
 
@@ -74,6 +80,14 @@ final public class EventSearchActivity extends BaseActivity
     @Inject
     Monolog logger;
 
+    @Inject
+    HtmlRenderCache descriptions;
+
+    private EventQueryListener queryListener;
+
+    /** Work for this screen, stopped when the screen is stopped. */
+    final private SubscriptionGroup subscriptions = new SubscriptionGroup();
+
     @Override
     protected void onCreate(Bundle savedInstanceState)
     {
@@ -90,24 +104,39 @@ final public class EventSearchActivity extends BaseActivity
         super.onStart();
         this.searchBar.setIconifiedByDefault(false);
         this.searchBar.requestFocusFromTouch();
-        ItemAdapter<PanelView, Event> adapter = new ItemAdapter<>(this.viewBinder);
+        ItemAdapter<PanelView, Event> adapter = new DiffingItemAdapter<>(
+            this.viewBinder,
+            new EventIdentifier(),
+            this.logger
+        );
         this.results.setAdapter(adapter);
+        this.results.setOnScrollListener(new DescriptionWarmer(this.descriptions));
         FilterViewBinder filterBinder = new FilterViewBinder(this, this.searchBar, this.palette);
-        ItemAdapter<FilterItemView, String> filterAdapter = new ItemAdapter<>(filterBinder);
+        ItemAdapter<FilterItemView, Facet> filterAdapter = new ItemAdapter<>(filterBinder);
         this.filters.setAdapter(filterAdapter);
-        this.filterData.findAllCategories(
-            new EventTypeObserver(this.logger, this.emptyView, filterAdapter)
-        );
 
-        OnQueryTextListener queryListener = this.queryListenerFactory.create(
+        this.queryListener = this.queryListenerFactory.create(
             adapter,
             this.searchBar,
             this.emptyView,
             this.results,
             this.filters
         );
-        this.searchBar.setOnQueryTextListener(queryListener);
-        queryListener.onQueryTextChange(this.searchBar.getQuery().toString());
+        Subscription filterSubscription = this.filterData.findAllCategories(
+            new EventTypeObserver(this.logger, this.emptyView, filterAdapter)
+        );
+        this.subscriptions.add(filterSubscription);
+        this.searchBar.setOnQueryTextListener(this.queryListener);
+        this.queryListener.onQueryTextChange(this.searchBar.getQuery().toString());
+    }
+
+    @Override
+    protected void onStop()
+    {
+        super.onStop();
+
+        this.queryListener.cancel();
+        this.subscriptions.clear();
     }
 
     @Override
@@ -9,6 +9,7 @@
 package com.animedetour.android.schedule.serach;
 
 import android.view.View;
+import com.animedetour.android.model.Facet;
 import com.inkapplications.android.widget.listview.ItemAdapter;
 import monolog.Monolog;
 import rx.Observer;
@@ -21,16 +22,16 @@ import java.util.List;
  *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
-public class EventTypeObserver implements Observer<List<String>>
+public class EventTypeObserver implements Observer<List<Facet>>
 {
     final private Monolog logger;
     final private View emptyResultsView;
-    final private ItemAdapter<FilterItemView, String> filterAdapter;
+    final private ItemAdapter<FilterItemView, Facet> filterAdapter;
 
     public EventTypeObserver(
         Monolog logger,
         View emptyResultsView,
-        ItemAdapter<FilterItemView, String> filterAdapter
+        ItemAdapter<FilterItemView, Facet> filterAdapter
     ) {
         this.logger = logger;
         this.emptyResultsView = emptyResultsView;
@@ -46,9 +47,9 @@ public class EventTypeObserver implements Observer<List<String>>
     }
 
     @Override
-    public void onNext(List<String> strings)
+    public void onNext(List<Facet> types)
     {
         this.emptyResultsView.setVisibility(View.GONE);
-        this.filterAdapter.setItems(strings);
+        this.filterAdapter.setItems(types);
     }
 }
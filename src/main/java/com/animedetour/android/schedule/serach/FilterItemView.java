@@ -9,8 +9,7 @@
 package com.animedetour.android.schedule.serach;
 
 import android.content.Context;
-import android.content.res.Resources;
-import android.support.annotation.ColorRes;
+import android.support.annotation.ColorInt;
 import android.support.v7.widget.CardView;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
@@ -28,6 +27,7 @@ import com.animedetour.android.R;
 public class FilterItemView extends FrameLayout
 {
     final private TextView title;
+    final private TextView count;
 
     public FilterItemView(Context context)
     {
@@ -46,6 +46,7 @@ public class FilterItemView extends FrameLayout
         LayoutInflater.from(context).inflate(R.layout.view_filter_item, this);
 
         this.title = (TextView) this.findViewById(R.id.view_filter_item_title);
+        this.count = (TextView) this.findViewById(R.id.view_filter_item_count);
     }
 
     /**
@@ -55,15 +56,21 @@ public class FilterItemView extends FrameLayout
         this.title.setText(title);
     }
 
+    /**
+     * Change the displayed number of events matching the filter.
+     */
+    public void setCount(int count)
+    {
+        this.count.setText(String.valueOf(count));
+    }
+
     /**
      * Change the background of the card that the label is shown in.
      *
-     * @param resourceId an unresolved color resource.
+     * @param color A resolved color.
      */
-    public void setColor(@ColorRes int resourceId)
+    public void setColor(@ColorInt int color)
     {
-        Resources resources = this.getResources();
-        int color = resources.getColor(resourceId);
         CardView card = (CardView) this.findViewById(R.id.view_filter_card);
         card.setCardBackgroundColor(color);
     }
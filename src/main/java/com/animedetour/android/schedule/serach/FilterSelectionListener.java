@@ -9,6 +9,7 @@
 package com.animedetour.android.schedule.serach;
 
 import android.support.v7.widget.SearchView;
+import com.animedetour.android.model.Facet;
 import com.inkapplications.android.widget.recyclerview.ViewClickListener;
 
 /**
@@ -16,7 +17,7 @@ import com.inkapplications.android.widget.recyclerview.ViewClickListener;
  *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
-public class FilterSelectionListener implements ViewClickListener<FilterItemView, String>
+public class FilterSelectionListener implements ViewClickListener<FilterItemView, Facet>
 {
     final private SearchView searchView;
 
@@ -26,8 +27,8 @@ public class FilterSelectionListener implements ViewClickListener<FilterItemView
     }
 
     @Override
-    public void onViewClicked(String filter, FilterItemView view)
+    public void onViewClicked(Facet filter, FilterItemView view)
     {
-        this.searchView.setQuery(filter, true);
+        this.searchView.setQuery(filter.getValue(), true);
     }
 }
@@ -11,6 +11,7 @@ package com.animedetour.android.schedule.serach;
 import android.content.Context;
 import android.support.v7.widget.SearchView;
 import android.view.ViewGroup;
+import com.animedetour.android.model.Facet;
 import com.animedetour.android.schedule.EventPalette;
 import com.inkapplications.android.widget.recyclerview.ItemBoundClickListener;
 import com.inkapplications.android.widget.recyclerview.ItemViewBinder;
@@ -20,7 +21,7 @@ import com.inkapplications.android.widget.recyclerview.ItemViewBinder;
  *
  * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
  */
-public class FilterViewBinder implements ItemViewBinder<FilterItemView, String>
+public class FilterViewBinder implements ItemViewBinder<FilterItemView, Facet>
 {
     final private Context context;
     final private FilterSelectionListener selectionListener;
@@ -40,10 +41,11 @@ public class FilterViewBinder implements ItemViewBinder<FilterItemView, String>
     }
 
     @Override
-    public void bindView(String type, FilterItemView view)
+    public void bindView(Facet type, FilterItemView view)
     {
-        view.setTitle(type);
-        view.setColor(this.palette.getDimColor(type));
+        view.setTitle(type.getValue());
+        view.setCount(type.getCount());
+        view.setColor(this.palette.getDimColor(type.getValue()));
         view.setOnClickListener(new ItemBoundClickListener<>(type, this.selectionListener));
     }
 }
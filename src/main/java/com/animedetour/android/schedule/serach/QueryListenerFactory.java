@@ -8,7 +8,6 @@
  */
 package com.animedetour.android.schedule.serach;
 
-import android.support.v7.widget.SearchView;
 import android.view.View;
 import android.view.inputmethod.InputMethodManager;
 import com.animedetour.android.database.event.EventRepository;
@@ -53,7 +52,7 @@ public class QueryListenerFactory
      * @param emptySearchView View to display when the search query is empty.
      * @return Listener to be bound to the search box.
      */
-    public SearchView.OnQueryTextListener create(
+    public EventQueryListener create(
         ItemAdapter<?, Event> adapter,
         View searchBar,
         View emptyResultsView,
@@ -64,8 +63,7 @@ public class QueryListenerFactory
 
         return new EventQueryListener(
             this.inputManager,
-            this.eventData,
-            observer,
+            new SearchPipeline(this.eventData, observer),
             searchBar,
             results,
             emptySearchView
@@ -0,0 +1,233 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule.serach;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.animedetour.android.database.event.EventRepository;
+import com.animedetour.android.database.event.EventSearchPredicate;
+import com.animedetour.android.database.search.TextFolder;
+import com.animedetour.android.model.Event;
+import rx.Observer;
+import rx.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs event searches as the user types.
+ *
+ * Queries are only run once the user stops typing for a moment, and starting
+ * a new query cancels the one before it so results can't arrive out of
+ * order. When the user adds on to the previous query, the previous results
+ * are narrowed down and re-ranked in memory instead of searching again, unless
+ * that leaves nothing, in which case the database is searched for similarly
+ * spelled results.
+ *
+ * This must be used from the main thread.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class SearchPipeline
+{
+    /** How long to wait for the user to stop typing before searching. */
+    final private static long DEBOUNCE_MILLIS = 250;
+
+    /** Handler used to delay searches onto the main thread. */
+    final private Handler handler = new Handler(Looper.getMainLooper());
+
+    /** Service to perform the search query with. */
+    final private EventRepository eventRepository;
+
+    /** Observer to inform of search results matching the query. */
+    final private Observer<List<Event>> resultObserver;
+
+    /** The search waiting for the user to stop typing, if any. */
+    private Runnable pendingSearch;
+
+    /** The database search currently running, if any. */
+    private Subscription inFlight;
+
+    /** The most recent query that the user has entered. */
+    private String currentQuery;
+
+    /** The query that produced the last delivered results. */
+    private String resultsQuery;
+
+    /** The last delivered results. */
+    private List<Event> results;
+
+    /**
+     * @param eventRepository Service to perform the search query with.
+     * @param resultObserver Observer to inform of search results matching the query.
+     */
+    public SearchPipeline(EventRepository eventRepository, Observer<List<Event>> resultObserver)
+    {
+        this.eventRepository = eventRepository;
+        this.resultObserver = resultObserver;
+    }
+
+    /**
+     * Search for a new query once the user has stopped typing.
+     *
+     * @param userQuery The text the user has entered in the search bar.
+     */
+    public void search(String userQuery)
+    {
+        final String query = userQuery.trim();
+        this.currentQuery = query;
+        this.handler.removeCallbacks(this.pendingSearch);
+
+        if (query.isEmpty()) {
+            this.cancelInFlight();
+            this.resultsQuery = null;
+            this.results = null;
+            return;
+        }
+
+        this.pendingSearch = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                SearchPipeline.this.pendingSearch = null;
+                SearchPipeline.this.run(query);
+            }
+        };
+        this.handler.postDelayed(this.pendingSearch, DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Stop any waiting or running searches.
+     */
+    public void cancel()
+    {
+        this.handler.removeCallbacks(this.pendingSearch);
+        this.pendingSearch = null;
+        this.cancelInFlight();
+    }
+
+    private void run(String query)
+    {
+        if (this.canRefine(query)) {
+            List<Event> refined = this.refine(query);
+
+            // Nothing left means the user may have misspelled something, so
+            // let the database look for similarly spelled results instead.
+            if (false == refined.isEmpty()) {
+                this.cancelInFlight();
+                this.deliver(query, refined);
+                return;
+            }
+        }
+
+        this.cancelInFlight();
+        this.inFlight = this.eventRepository.findMatching(query, new QueryObserver(query));
+    }
+
+    /**
+     * Whether the results for a query can be found by narrowing down the
+     * last results.
+     *
+     * This is true when the new query contains the previous one, since every
+     * word of the new query then contains a word of the previous one, and
+     * words are matched by containing the query word.
+     */
+    private boolean canRefine(String query)
+    {
+        if (null == this.results) {
+            return false;
+        }
+
+        String previous = TextFolder.fold(this.resultsQuery);
+        return TextFolder.fold(query).contains(previous);
+    }
+
+    /**
+     * Narrow down the last results, and rank them for the new query.
+     *
+     * The last results are already in schedule order for ties, since the
+     * sort is stable.
+     */
+    private List<Event> refine(String query)
+    {
+        EventSearchPredicate predicate = new EventSearchPredicate(query);
+        final Map<Event, Integer> scores = new IdentityHashMap<>();
+        List<Event> refined = new ArrayList<>();
+
+        for (Event event : this.results) {
+            int score = predicate.score(event);
+            if (score > 0) {
+                scores.put(event, score);
+                refined.add(event);
+            }
+        }
+
+        Collections.sort(refined, new Comparator<Event>()
+        {
+            @Override
+            public int compare(Event left, Event right)
+            {
+                return scores.get(right) - scores.get(left);
+            }
+        });
+
+        return refined;
+    }
+
+    private void deliver(String query, List<Event> events)
+    {
+        this.resultsQuery = query;
+        this.results = events;
+        this.resultObserver.onNext(events);
+    }
+
+    private void cancelInFlight()
+    {
+        if (null != this.inFlight) {
+            this.inFlight.unsubscribe();
+            this.inFlight = null;
+        }
+    }
+
+    /**
+     * Delivers database results, as long as they're still for the latest query.
+     */
+    private class QueryObserver implements Observer<List<Event>>
+    {
+        final private String query;
+
+        public QueryObserver(String query)
+        {
+            this.query = query;
+        }
+
+        @Override public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e)
+        {
+            SearchPipeline.this.resultObserver.onError(e);
+        }
+
+        @Override
+        public void onNext(List<Event> events)
+        {
+            if (false == this.query.equals(SearchPipeline.this.currentQuery)) {
+                return;
+            }
+
+            SearchPipeline.this.deliver(this.query, events);
+        }
+    }
+}
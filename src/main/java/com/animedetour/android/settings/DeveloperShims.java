@@ -12,8 +12,10 @@ import com.animedetour.android.database.LocalDatabase;
 import com.animedetour.android.database.event.EventRepository;
 import com.animedetour.android.database.favorite.FavoriteRepository;
 import com.animedetour.android.model.Event;
+import com.animedetour.android.schedule.favorite.Favorite;
 import monolog.Monolog;
 import org.joda.time.DateTime;
+import rx.Observer;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -61,7 +63,7 @@ public class DeveloperShims
      */
     public void addFakeUpcomingEvent()
     {
-        Event event = new Event(
+        final Event event = new Event(
             "fake-event-" + this.random.nextInt(),
             "Fake Upcoming Event",
             new DateTime().plusMinutes(16),
@@ -76,10 +78,22 @@ public class DeveloperShims
 
         try {
             this.eventData.persist(event);
-            this.favoriteData.create(event);
         } catch (SQLException e) {
             this.logger.error("Error when saving event: " + event, e);
+            return;
         }
+
+        this.favoriteData.create(event, new Observer<Favorite>()
+        {
+            @Override public void onCompleted() {}
+            @Override public void onNext(Favorite favorite) {}
+
+            @Override
+            public void onError(Throwable e)
+            {
+                DeveloperShims.this.logger.error("Error when favoriting event: " + event, e);
+            }
+        });
     }
 
     /**
@@ -13,9 +13,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import org.joda.time.DateTimeZone;
 import org.joda.time.ReadableInstant;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 
 import java.io.IOException;
 
@@ -29,6 +28,9 @@ import java.io.IOException;
  */
 public class PanelDateDeserializer extends JsonDeserializer<ReadableInstant>
 {
+    /** Shared between every deserializer, since the codec is thread-safe. */
+    final private static ScheduleDateCodec DATES = new ScheduleDateCodec(DateTimeZone.getDefault());
+
     @Override
     public ReadableInstant deserialize(JsonParser parser, DeserializationContext context)
         throws IOException, JsonProcessingException
@@ -45,7 +47,6 @@ public class PanelDateDeserializer extends JsonDeserializer<ReadableInstant>
             return null;
         }
 
-        DateTimeFormatter formatter = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss");
-        return formatter.parseDateTime(value);
+        return DATES.parsePanel(value);
     }
 }
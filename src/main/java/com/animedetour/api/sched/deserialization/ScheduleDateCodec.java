@@ -0,0 +1,104 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.api.sched.deserialization;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.DateTimeFormatterBuilder;
+import org.joda.time.format.DateTimeParser;
+import org.joda.time.format.ISODateTimeFormat;
+
+/**
+ * Reads and writes the fixed date formats used by the schedule API.
+ *
+ * Every formatter is built once, up front, and bound to a single zone, so
+ * nothing is looked up or compiled per date. Joda formatters are immutable,
+ * so a codec can be shared between threads.
+ *
+ * Dates are parsed into the codec's zone, the same as `new DateTime(String)`
+ * does for the default zone, so parsed dates compare equal to ones created
+ * that way.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class ScheduleDateCodec
+{
+    /** Format of panel start and end dates, in the convention's local time. */
+    final private static String PANEL_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * Parses ISO timestamps.
+     *
+     * The API's own `2016-04-22T12:00:00-05:00` format is tried first, and
+     * anything else ISO falls back to the complete parser.
+     */
+    final private DateTimeFormatter isoParser;
+
+    /** Prints ISO timestamps in the API's format, in each date's own zone. */
+    final private DateTimeFormatter isoPrinter;
+
+    /** Parses panel dates in the codec's zone. */
+    final private DateTimeFormatter panelParser;
+
+    /**
+     * @param zone The zone to parse dates into.
+     */
+    public ScheduleDateCodec(DateTimeZone zone)
+    {
+        DateTimeParser[] isoParsers = {
+            ISODateTimeFormat.dateTimeNoMillis().getParser(),
+            ISODateTimeFormat.dateTimeParser().getParser(),
+        };
+        this.isoParser = new DateTimeFormatterBuilder()
+            .append(null, isoParsers)
+            .toFormatter()
+            .withZone(zone);
+        this.isoPrinter = ISODateTimeFormat.dateTimeNoMillis();
+        this.panelParser = DateTimeFormat.forPattern(PANEL_PATTERN).withZone(zone);
+    }
+
+    /**
+     * @param timestamp An ISO timestamp, such as `2016-04-22T12:00:00-05:00`.
+     * @return The parsed date, or null if there was no timestamp.
+     * @throws IllegalArgumentException If the timestamp isn't ISO formatted.
+     */
+    public DateTime parseIso(String timestamp)
+    {
+        if (null == timestamp) {
+            return null;
+        }
+
+        return this.isoParser.parseDateTime(timestamp);
+    }
+
+    /**
+     * @param date The date to format.
+     * @return The date in the API's ISO format, or null if there was no date.
+     */
+    public String printIso(DateTime date)
+    {
+        if (null == date) {
+            return null;
+        }
+
+        return this.isoPrinter.print(date);
+    }
+
+    /**
+     * @param timestamp A panel date, such as `2016-04-22 12:00:00`.
+     * @return The parsed date.
+     * @throws IllegalArgumentException If the timestamp is in another format.
+     */
+    public DateTime parsePanel(String timestamp)
+    {
+        return this.panelParser.parseDateTime(timestamp);
+    }
+}
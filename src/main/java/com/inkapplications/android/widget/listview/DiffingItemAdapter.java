@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2016 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.android.widget.listview;
+
+import android.view.View;
+import com.inkapplications.android.widget.recyclerview.ItemViewBinder;
+import com.inkapplications.diff.ItemIdentifier;
+import com.inkapplications.diff.ListDiff;
+import monolog.Monolog;
+import rx.Observable;
+import rx.Observer;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.android.schedulers.AndroidSchedulers;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * An item adapter that only rebinds the rows that actually changed.
+ *
+ * When a new list is set, the difference between it and the displayed list is
+ * calculated on a background thread and applied on the main thread. Items are
+ * given stable ID's based on their identity, so the list keeps its scroll
+ * position, and views that are already showing an unchanged item are not
+ * bound again.
+ *
+ * @param <VIEW> The view type that is used to display the item.
+ * @param <ITEM> The data model for the items in the list.
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class DiffingItemAdapter<VIEW extends View, ITEM> extends ItemAdapter<VIEW, ITEM>
+{
+    /** Service to extract a stable identity from each item. */
+    final private ItemIdentifier<ITEM> identifier;
+
+    /** Thread to calculate list differences on. */
+    final private Scheduler background;
+
+    /** Thread to apply list differences on. */
+    final private Scheduler main;
+
+    /** Logs diff calculations that fail, before falling back to replacing the list. */
+    final private Monolog logger;
+
+    /** Stable numeric ID's handed out to each identity key we've seen. */
+    final private Map<Object, Long> stableIds = new HashMap<>();
+
+    /** How many times each identity key has changed contents. */
+    final private Map<Object, Integer> revisions = new HashMap<>();
+
+    /** The item identity and revision that each view is currently showing. */
+    final private Map<View, BoundState> boundViews = new WeakHashMap<>();
+
+    /** The diff calculation currently in progress, if any. */
+    private Subscription pendingDiff;
+
+    /**
+     * Create an adapter that diffs on the computation scheduler.
+     *
+     * @param itemBinder Binder used to update and create views.
+     * @param identifier Service to extract a stable identity from each item.
+     * @param logger Logs diff calculations that fail.
+     */
+    public DiffingItemAdapter(ItemViewBinder<VIEW, ITEM> itemBinder, ItemIdentifier<ITEM> identifier, Monolog logger)
+    {
+        this(itemBinder, identifier, Schedulers.computation(), AndroidSchedulers.mainThread(), logger);
+    }
+
+    /**
+     * @param itemBinder Binder used to update and create views.
+     * @param identifier Service to extract a stable identity from each item.
+     * @param background Thread to calculate list differences on.
+     * @param main Thread to apply list differences on.
+     * @param logger Logs diff calculations that fail.
+     */
+    public DiffingItemAdapter(
+        ItemViewBinder<VIEW, ITEM> itemBinder,
+        ItemIdentifier<ITEM> identifier,
+        Scheduler background,
+        Scheduler main,
+        Monolog logger
+    ) {
+        super(itemBinder);
+
+        this.identifier = identifier;
+        this.background = background;
+        this.main = main;
+        this.logger = logger;
+    }
+
+    @Override
+    public boolean hasStableIds()
+    {
+        return true;
+    }
+
+    @Override
+    public long getItemId(int i)
+    {
+        Object key = this.identifier.getKey(this.getItem(i));
+        Long id = this.stableIds.get(key);
+
+        if (null == id) {
+            id = (long) this.stableIds.size();
+            this.stableIds.put(key, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Skips binding views that are already displaying the current revision of
+     * an item.
+     */
+    @Override
+    protected void bindView(ITEM item, VIEW view)
+    {
+        Object key = this.identifier.getKey(item);
+        int revision = this.getRevision(key);
+        BoundState bound = this.boundViews.get(view);
+
+        if (null != bound && bound.isShowing(key, revision)) {
+            return;
+        }
+
+        super.bindView(item, view);
+        this.boundViews.put(view, new BoundState(key, revision));
+    }
+
+    /**
+     * Set a new list of items to display.
+     *
+     * The list will not be displayed until the difference with the current
+     * list has been calculated. If another list is set before that happens,
+     * the earlier calculation is abandoned.
+     *
+     * @param items Items to be displayed in the list.
+     */
+    @Override
+    public void setItems(List<ITEM> items)
+    {
+        this.cancelPendingDiff();
+        List<ITEM> current = this.getItems();
+
+        if (current.isEmpty() || items.isEmpty()) {
+            this.replaceItems(items);
+            return;
+        }
+
+        Observable<ListDiff<ITEM>> diff = Observable.create(new DiffCalculation<>(current, items, this.identifier));
+        diff = diff.subscribeOn(this.background);
+        diff = diff.observeOn(this.main);
+        this.pendingDiff = diff.subscribe(new DiffApplier(items));
+    }
+
+    /**
+     * Force a set of items to be bound again the next time they're displayed.
+     *
+     * This is used when something outside of the item's data changes the way
+     * it is displayed, for instance the passing of time.
+     *
+     * @param items Items that should be re-bound.
+     */
+    public void refreshItems(Collection<ITEM> items)
+    {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        for (ITEM item : items) {
+            this.incrementRevision(this.identifier.getKey(item));
+        }
+        this.notifyDataSetChanged();
+    }
+
+    /**
+     * Display the result of a completed diff calculation.
+     *
+     * Items that changed contents are given a new revision so that any view
+     * displaying them is bound again, every other view is left alone.
+     */
+    private void applyDiff(ListDiff<ITEM> diff)
+    {
+        if (diff.getPrevious() != this.getItems()) {
+            // The displayed list changed while we were calculating.
+            this.setItems(diff.getNext());
+            return;
+        }
+
+        for (Object key : diff.getChangedKeys()) {
+            this.incrementRevision(key);
+        }
+
+        super.setItems(diff.getNext());
+    }
+
+    /**
+     * Display a list without diffing it, rebinding every view.
+     */
+    private void replaceItems(List<ITEM> items)
+    {
+        this.boundViews.clear();
+        super.setItems(items);
+    }
+
+    private void cancelPendingDiff()
+    {
+        if (null != this.pendingDiff) {
+            this.pendingDiff.unsubscribe();
+            this.pendingDiff = null;
+        }
+    }
+
+    private int getRevision(Object key)
+    {
+        Integer revision = this.revisions.get(key);
+
+        return null == revision ? 0 : revision;
+    }
+
+    private void incrementRevision(Object key)
+    {
+        this.revisions.put(key, this.getRevision(key) + 1);
+    }
+
+    /**
+     * Calculates the difference between two lists when subscribed to.
+     */
+    private static class DiffCalculation<ITEM> implements Observable.OnSubscribe<ListDiff<ITEM>>
+    {
+        final private List<ITEM> previous;
+        final private List<ITEM> next;
+        final private ItemIdentifier<ITEM> identifier;
+
+        public DiffCalculation(List<ITEM> previous, List<ITEM> next, ItemIdentifier<ITEM> identifier)
+        {
+            this.previous = previous;
+            this.next = new ArrayList<>(next);
+            this.identifier = identifier;
+        }
+
+        @Override
+        public void call(Subscriber<? super ListDiff<ITEM>> subscriber)
+        {
+            ListDiff<ITEM> diff = ListDiff.calculate(this.previous, this.next, this.identifier);
+
+            if (subscriber.isUnsubscribed()) {
+                return;
+            }
+
+            subscriber.onNext(diff);
+            subscriber.onCompleted();
+        }
+    }
+
+    /**
+     * Applies a calculated diff to the adapter on the main thread.
+     */
+    private class DiffApplier implements Observer<ListDiff<ITEM>>
+    {
+        /** The list being diffed, to display anyway if the calculation fails. */
+        final private List<ITEM> next;
+
+        public DiffApplier(List<ITEM> next)
+        {
+            this.next = next;
+        }
+
+        @Override public void onCompleted() {}
+
+        /**
+         * Displays the new list without a diff, rebinding every row, rather
+         * than crashing or leaving the old list up.
+         */
+        @Override
+        public void onError(Throwable e)
+        {
+            DiffingItemAdapter.this.pendingDiff = null;
+            DiffingItemAdapter.this.logger.error("Failed calculating list difference", e);
+            DiffingItemAdapter.this.replaceItems(this.next);
+        }
+
+        @Override
+        public void onNext(ListDiff<ITEM> diff)
+        {
+            DiffingItemAdapter.this.pendingDiff = null;
+            DiffingItemAdapter.this.applyDiff(diff);
+        }
+    }
+
+    /**
+     * The identity and revision of the item a view was last bound to.
+     */
+    private static class BoundState
+    {
+        final private Object key;
+        final private int revision;
+
+        public BoundState(Object key, int revision)
+        {
+            this.key = key;
+            this.revision = revision;
+        }
+
+        public boolean isShowing(Object key, int revision)
+        {
+            return this.key.equals(key) && this.revision == revision;
+        }
+    }
+}
@@ -62,11 +62,22 @@ public class ItemAdapter<VIEW extends View, ITEM> extends BaseAdapter
     final public View getView(int i, View view, ViewGroup viewGroup)
     {
         VIEW realView = this.getRealView(i, view, viewGroup);
-        this.itemBinder.bindView(this.getItem(i), realView);
+        this.bindView(this.getItem(i), realView);
 
         return realView;
     }
 
+    /**
+     * Bind an item's data into a view that is about to be displayed.
+     *
+     * @param item The item to display.
+     * @param view The (possibly recycled) view to display it in.
+     */
+    protected void bindView(ITEM item, VIEW view)
+    {
+        this.itemBinder.bindView(item, view);
+    }
+
     /**
      * Create a for-real view out of the potentially recycled view provided.
      *
@@ -90,4 +101,12 @@ public class ItemAdapter<VIEW extends View, ITEM> extends BaseAdapter
         this.items = items;
         this.notifyDataSetChanged();
     }
+
+    /**
+     * @return The list of items currently being displayed.
+     */
+    public List<ITEM> getItems()
+    {
+        return this.items;
+    }
 }
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2016 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.android.widget.recyclerview;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import com.inkapplications.diff.DiffOperation;
+import com.inkapplications.diff.ItemIdentifier;
+import com.inkapplications.diff.ListDiff;
+import monolog.Monolog;
+import rx.Observable;
+import rx.Observer;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.android.schedulers.AndroidSchedulers;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A recycler view adapter that only notifies the rows that actually changed.
+ *
+ * This is the recycler view counterpart to the list view's diffing adapter,
+ * and binds with the same item view binders. When a new list is set, the
+ * difference between it and the displayed list is calculated on a background
+ * thread and applied on the main thread as individual inserts, removals,
+ * moves and changes, so the recycler view only binds the rows it has to.
+ *
+ * @param <VIEW> The view type that is used to display the item.
+ * @param <ITEM> The data model for the items in the list.
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public class DiffingRecyclerAdapter<VIEW extends View, ITEM> extends RecyclerView.Adapter<DiffingRecyclerAdapter.ItemHolder<VIEW>>
+{
+    /** Binder used to update and create views. */
+    final private ItemViewBinder<VIEW, ITEM> itemBinder;
+
+    /** Service to extract a stable identity from each item. */
+    final private ItemIdentifier<ITEM> identifier;
+
+    /** Thread to calculate list differences on. */
+    final private Scheduler background;
+
+    /** Thread to apply list differences on. */
+    final private Scheduler main;
+
+    /** Logs diff calculations that fail, before falling back to replacing the list. */
+    final private Monolog logger;
+
+    /** Stable numeric ID's handed out to each identity key we've seen. */
+    final private Map<Object, Long> stableIds = new HashMap<>();
+
+    /** Collection of items to be displayed in the list. */
+    private List<ITEM> items = new ArrayList<>();
+
+    /** The diff calculation currently in progress, if any. */
+    private Subscription pendingDiff;
+
+    /**
+     * Create an adapter that diffs on the computation scheduler.
+     *
+     * @param itemBinder Binder used to update and create views.
+     * @param identifier Service to extract a stable identity from each item.
+     * @param logger Logs diff calculations that fail.
+     */
+    public DiffingRecyclerAdapter(ItemViewBinder<VIEW, ITEM> itemBinder, ItemIdentifier<ITEM> identifier, Monolog logger)
+    {
+        this(itemBinder, identifier, Schedulers.computation(), AndroidSchedulers.mainThread(), logger);
+    }
+
+    /**
+     * @param itemBinder Binder used to update and create views.
+     * @param identifier Service to extract a stable identity from each item.
+     * @param background Thread to calculate list differences on.
+     * @param main Thread to apply list differences on.
+     * @param logger Logs diff calculations that fail.
+     */
+    public DiffingRecyclerAdapter(
+        ItemViewBinder<VIEW, ITEM> itemBinder,
+        ItemIdentifier<ITEM> identifier,
+        Scheduler background,
+        Scheduler main,
+        Monolog logger
+    ) {
+        this.itemBinder = itemBinder;
+        this.identifier = identifier;
+        this.background = background;
+        this.main = main;
+        this.logger = logger;
+
+        this.setHasStableIds(true);
+    }
+
+    @Override
+    public ItemHolder<VIEW> onCreateViewHolder(ViewGroup parent, int viewType)
+    {
+        VIEW view = this.itemBinder.createView(parent, viewType);
+        if (null == view.getLayoutParams()) {
+            view.setLayoutParams(new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT
+            ));
+        }
+
+        return new ItemHolder<>(view);
+    }
+
+    @Override
+    public void onBindViewHolder(ItemHolder<VIEW> holder, int position)
+    {
+        this.itemBinder.bindView(this.getItem(position), holder.view);
+    }
+
+    @Override
+    public int getItemCount()
+    {
+        return this.items.size();
+    }
+
+    @Override
+    public long getItemId(int position)
+    {
+        Object key = this.identifier.getKey(this.getItem(position));
+        Long id = this.stableIds.get(key);
+
+        if (null == id) {
+            id = (long) this.stableIds.size();
+            this.stableIds.put(key, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * @param position Position of the item in the list.
+     * @return The item displayed at the position.
+     */
+    final public ITEM getItem(int position)
+    {
+        return this.items.get(position);
+    }
+
+    /**
+     * @return The list of items currently being displayed.
+     */
+    public List<ITEM> getItems()
+    {
+        return this.items;
+    }
+
+    /**
+     * Set a new list of items to display.
+     *
+     * The list will not be displayed until the difference with the current
+     * list has been calculated. If another list is set before that happens,
+     * the earlier calculation is abandoned.
+     *
+     * @param items Items to be displayed in the list.
+     */
+    public void setItems(List<ITEM> items)
+    {
+        this.cancelPendingDiff();
+
+        if (this.items.isEmpty() || items.isEmpty()) {
+            this.replaceItems(items);
+            return;
+        }
+
+        Observable<ListDiff<ITEM>> diff = Observable.create(new DiffCalculation<>(this.items, items, this.identifier));
+        diff = diff.subscribeOn(this.background);
+        diff = diff.observeOn(this.main);
+        this.pendingDiff = diff.subscribe(new DiffApplier(items));
+    }
+
+    /**
+     * Force a set of items to be bound again.
+     *
+     * This is used when something outside of the item's data changes the way
+     * it is displayed, for instance the passing of time.
+     *
+     * @param items Items that should be re-bound.
+     */
+    public void refreshItems(Collection<ITEM> items)
+    {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Set<Object> keys = new HashSet<>();
+        for (ITEM item : items) {
+            keys.add(this.identifier.getKey(item));
+        }
+
+        for (int position = 0; position < this.items.size(); position++) {
+            if (keys.contains(this.identifier.getKey(this.items.get(position)))) {
+                this.notifyItemChanged(position);
+            }
+        }
+    }
+
+    /**
+     * Display the result of a completed diff calculation.
+     *
+     * Each operation is passed on to the recycler view in the order it was
+     * calculated, so that only the affected rows are laid out and bound.
+     */
+    private void applyDiff(ListDiff<ITEM> diff)
+    {
+        if (diff.getPrevious() != this.items) {
+            // The displayed list changed while we were calculating.
+            this.setItems(diff.getNext());
+            return;
+        }
+
+        this.items = diff.getNext();
+
+        for (DiffOperation operation : diff.getOperations()) {
+            switch (operation.getType()) {
+                case INSERT:
+                    this.notifyItemInserted(operation.getFromPosition());
+                    break;
+                case REMOVE:
+                    this.notifyItemRemoved(operation.getFromPosition());
+                    break;
+                case MOVE:
+                    this.notifyItemMoved(operation.getFromPosition(), operation.getToPosition());
+                    break;
+                case CHANGE:
+                    this.notifyItemChanged(operation.getToPosition());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Display a list without diffing it, rebinding every row.
+     */
+    private void replaceItems(List<ITEM> items)
+    {
+        this.items = items;
+        this.notifyDataSetChanged();
+    }
+
+    private void cancelPendingDiff()
+    {
+        if (null != this.pendingDiff) {
+            this.pendingDiff.unsubscribe();
+            this.pendingDiff = null;
+        }
+    }
+
+    /**
+     * Holds the binder's view for the recycler view.
+     *
+     * @param <VIEW> The view type that is used to display the item.
+     */
+    public static class ItemHolder<VIEW extends View> extends RecyclerView.ViewHolder
+    {
+        final private VIEW view;
+
+        public ItemHolder(VIEW view)
+        {
+            super(view);
+
+            this.view = view;
+        }
+
+        /**
+         * @return The binder's view for the item.
+         */
+        public VIEW getView()
+        {
+            return this.view;
+        }
+    }
+
+    /**
+     * Calculates the difference between two lists when subscribed to.
+     */
+    private static class DiffCalculation<ITEM> implements Observable.OnSubscribe<ListDiff<ITEM>>
+    {
+        final private List<ITEM> previous;
+        final private List<ITEM> next;
+        final private ItemIdentifier<ITEM> identifier;
+
+        public DiffCalculation(List<ITEM> previous, List<ITEM> next, ItemIdentifier<ITEM> identifier)
+        {
+            this.previous = previous;
+            this.next = new ArrayList<>(next);
+            this.identifier = identifier;
+        }
+
+        @Override
+        public void call(Subscriber<? super ListDiff<ITEM>> subscriber)
+        {
+            ListDiff<ITEM> diff = ListDiff.calculate(this.previous, this.next, this.identifier);
+
+            if (subscriber.isUnsubscribed()) {
+                return;
+            }
+
+            subscriber.onNext(diff);
+            subscriber.onCompleted();
+        }
+    }
+
+    /**
+     * Applies a calculated diff to the adapter on the main thread.
+     */
+    private class DiffApplier implements Observer<ListDiff<ITEM>>
+    {
+        /** The list being diffed, to display anyway if the calculation fails. */
+        final private List<ITEM> next;
+
+        public DiffApplier(List<ITEM> next)
+        {
+            this.next = next;
+        }
+
+        @Override public void onCompleted() {}
+
+        /**
+         * Displays the new list without a diff, rebinding every row, rather
+         * than crashing or leaving the old list up.
+         */
+        @Override
+        public void onError(Throwable e)
+        {
+            DiffingRecyclerAdapter.this.pendingDiff = null;
+            DiffingRecyclerAdapter.this.logger.error("Failed calculating list difference", e);
+            DiffingRecyclerAdapter.this.replaceItems(this.next);
+        }
+
+        @Override
+        public void onNext(ListDiff<ITEM> diff)
+        {
+            DiffingRecyclerAdapter.this.pendingDiff = null;
+            DiffingRecyclerAdapter.this.applyDiff(diff);
+        }
+    }
+}
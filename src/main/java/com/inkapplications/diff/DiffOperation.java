@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.diff;
+
+/**
+ * A single step required to transform one list into another.
+ *
+ * Positions are relative to the list *as it exists when this operation is
+ * applied*, so operations must be applied in the order they were produced.
+ *
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class DiffOperation
+{
+    public enum Type
+    {
+        /** An item was added at the position. */
+        INSERT,
+
+        /** The item at the position was removed. */
+        REMOVE,
+
+        /** The item at the from position was moved to the to position. */
+        MOVE,
+
+        /** The item at the position has the same identity but new contents. */
+        CHANGE,
+    }
+
+    /** What kind of change this operation represents. */
+    final private Type type;
+
+    /** The position the operation is applied at, or moved from. */
+    final private int fromPosition;
+
+    /** The position the item ends up at. */
+    final private int toPosition;
+
+    private DiffOperation(Type type, int fromPosition, int toPosition)
+    {
+        this.type = type;
+        this.fromPosition = fromPosition;
+        this.toPosition = toPosition;
+    }
+
+    public static DiffOperation insert(int position)
+    {
+        return new DiffOperation(Type.INSERT, position, position);
+    }
+
+    public static DiffOperation remove(int position)
+    {
+        return new DiffOperation(Type.REMOVE, position, position);
+    }
+
+    public static DiffOperation move(int fromPosition, int toPosition)
+    {
+        return new DiffOperation(Type.MOVE, fromPosition, toPosition);
+    }
+
+    public static DiffOperation change(int position)
+    {
+        return new DiffOperation(Type.CHANGE, position, position);
+    }
+
+    /**
+     * @return What kind of change this operation represents.
+     */
+    final public Type getType()
+    {
+        return this.type;
+    }
+
+    /**
+     * @return The position the operation is applied at, or moved from.
+     */
+    final public int getFromPosition()
+    {
+        return this.fromPosition;
+    }
+
+    /**
+     * @return The position the item ends up at.
+     */
+    final public int getToPosition()
+    {
+        return this.toPosition;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DiffOperation that = (DiffOperation) o;
+
+        if (fromPosition != that.fromPosition) return false;
+        if (toPosition != that.toPosition) return false;
+        return type == that.type;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int result = type.hashCode();
+        result = 31 * result + fromPosition;
+        result = 31 * result + toPosition;
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DiffOperation{" +
+            "type=" + type +
+            ", fromPosition=" + fromPosition +
+            ", toPosition=" + toPosition +
+            '}';
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2016 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.diff;
+
+/**
+ * Extracts a stable identity from an item in a list.
+ *
+ * Two items that represent the same entity (even if their contents have
+ * changed) must yield equal keys, so that a list diff can tell the difference
+ * between an item that was changed and one that was replaced.
+ *
+ * @param <ITEM> The data model for the items in the list.
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+public interface ItemIdentifier<ITEM>
+{
+    /**
+     * @param item The item to identify.
+     * @return A key that is equal for every version of the same entity.
+     */
+    Object getKey(ITEM item);
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2016 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.diff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The set of operations needed to turn one list into another.
+ *
+ * Items are matched up by their identity key rather than their position, so
+ * an item whose contents were updated is reported as a single change instead
+ * of a removal and an insertion.
+ *
+ * Operations are produced in the order they should be applied:
+ * removals (from the end of the list towards the start), then inserts and
+ * moves (from the start of the list towards the end), then changes at their
+ * final positions.
+ *
+ * This is intended to be calculated off of the main thread, since it is
+ * linear in memory but can be quadratic in time when many items move.
+ *
+ * @param <ITEM> The data model for the items in the list.
+ * @author Maxwell Vandervelde (Max@MaxVandervelde.com)
+ */
+final public class ListDiff<ITEM>
+{
+    /** The list that the operations should be applied to. */
+    final private List<ITEM> previous;
+
+    /** The list that will result from applying the operations. */
+    final private List<ITEM> next;
+
+    /** Ordered steps to transform the previous list into the next list. */
+    final private List<DiffOperation> operations;
+
+    /** Identity keys of items that exist in both lists but have changed. */
+    final private Set<Object> changedKeys;
+
+    private ListDiff(
+        List<ITEM> previous,
+        List<ITEM> next,
+        List<DiffOperation> operations,
+        Set<Object> changedKeys
+    ) {
+        this.previous = previous;
+        this.next = next;
+        this.operations = Collections.unmodifiableList(operations);
+        this.changedKeys = Collections.unmodifiableSet(changedKeys);
+    }
+
+    /**
+     * Calculate the operations between two lists.
+     *
+     * @param previous The list that is currently displayed.
+     * @param next The list that should be displayed.
+     * @param identifier Service to extract a stable identity from each item.
+     * @return The operations required to turn the previous list into the next.
+     */
+    public static <ITEM> ListDiff<ITEM> calculate(
+        List<ITEM> previous,
+        List<ITEM> next,
+        ItemIdentifier<ITEM> identifier
+    ) {
+        List<DiffOperation> operations = new ArrayList<>();
+        Set<Object> changedKeys = new HashSet<>();
+
+        List<Object> nextKeys = new ArrayList<>(next.size());
+        for (ITEM item : next) {
+            nextKeys.add(identifier.getKey(item));
+        }
+        Set<Object> nextKeySet = new HashSet<>(nextKeys);
+
+        Map<Object, ITEM> retained = new HashMap<>(previous.size());
+        List<Object> working = new ArrayList<>(previous.size());
+        for (int i = previous.size() - 1; i >= 0; i--) {
+            ITEM item = previous.get(i);
+            Object key = identifier.getKey(item);
+
+            if (nextKeySet.contains(key)) {
+                retained.put(key, item);
+                working.add(key);
+            } else {
+                operations.add(DiffOperation.remove(i));
+            }
+        }
+        Collections.reverse(working);
+
+        for (int i = 0; i < nextKeys.size(); i++) {
+            Object key = nextKeys.get(i);
+
+            if (i < working.size() && working.get(i).equals(key)) {
+                continue;
+            }
+
+            int from = indexOf(working, key, i + 1);
+            if (from == -1) {
+                working.add(i, key);
+                operations.add(DiffOperation.insert(i));
+                continue;
+            }
+
+            working.remove(from);
+            working.add(i, key);
+            operations.add(DiffOperation.move(from, i));
+        }
+
+        for (int i = 0; i < next.size(); i++) {
+            Object key = nextKeys.get(i);
+            ITEM old = retained.get(key);
+
+            if (null != old && false == old.equals(next.get(i))) {
+                changedKeys.add(key);
+                operations.add(DiffOperation.change(i));
+            }
+        }
+
+        return new ListDiff<>(previous, next, operations, changedKeys);
+    }
+
+    /**
+     * Find the position of a key, skipping over everything before a start.
+     *
+     * @return The position of the key, or -1 if it is not after the start.
+     */
+    private static int indexOf(List<Object> keys, Object key, int start)
+    {
+        for (int i = start; i < keys.size(); i++) {
+            if (keys.get(i).equals(key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The list that the operations should be applied to.
+     */
+    final public List<ITEM> getPrevious()
+    {
+        return this.previous;
+    }
+
+    /**
+     * @return The list that will result from applying the operations.
+     */
+    final public List<ITEM> getNext()
+    {
+        return this.next;
+    }
+
+    /**
+     * @return Ordered steps to transform the previous list into the next list.
+     */
+    final public List<DiffOperation> getOperations()
+    {
+        return this.operations;
+    }
+
+    /**
+     * @return Identity keys of items that exist in both lists but have changed.
+     */
+    final public Set<Object> getChangedKeys()
+    {
+        return this.changedKeys;
+    }
+
+    /**
+     * @return Whether the two lists were identical.
+     */
+    final public boolean isEmpty()
+    {
+        return this.operations.isEmpty();
+    }
+}
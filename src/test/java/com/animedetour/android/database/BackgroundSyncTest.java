@@ -0,0 +1,190 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database;
+
+import monolog.Monolog;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+import rx.Subscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BackgroundSyncTest
+{
+    final private DatabaseExecutor executor = new DatabaseExecutor(1, Mockito.mock(Monolog.class));
+
+    @After
+    public void shutdown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void testFreshDataIsNotSynced() throws Exception
+    {
+        FakeSource source = new FakeSource(false, null);
+        RecordingSubscriber subscriber = this.subscribe(source);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("local 0"), subscriber.values);
+        assertEquals(0, source.remoteLookups);
+    }
+
+    @Test
+    public void testStaleDataIsSyncedAndDeliveredAgain() throws Exception
+    {
+        FakeSource source = new FakeSource(true, null);
+        RecordingSubscriber subscriber = this.subscribe(source);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("local 0", "local 1"), subscriber.values);
+        assertEquals(1, source.remoteLookups);
+        assertTrue(source.remoteThread.startsWith("api-sync-"));
+        assertTrue(source.localThreads.get(1).startsWith("database-reader-"));
+    }
+
+    @Test
+    public void testSyncDoesNotHoldReader() throws Exception
+    {
+        final CountDownLatch response = new CountDownLatch(1);
+        FakeSource source = new FakeSource(true, response);
+        RecordingSubscriber subscriber = this.subscribe(source);
+
+        final CountDownLatch read = new CountDownLatch(1);
+        this.executor.getReader(QueryPriority.VISIBLE).execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                read.countDown();
+            }
+        });
+
+        assertTrue("Read should run while the API request is out", read.await(5, TimeUnit.SECONDS));
+        response.countDown();
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("local 0", "local 1"), subscriber.values);
+    }
+
+    @Test
+    public void testRemoteFailureIsDelivered() throws Exception
+    {
+        FakeSource source = new FakeSource(true, null);
+        source.failure = new IllegalStateException("offline");
+        RecordingSubscriber subscriber = this.subscribe(source);
+
+        assertTrue(subscriber.failed.await(5, TimeUnit.SECONDS));
+        assertSame(source.failure, subscriber.error);
+        assertEquals(Arrays.asList("local 0"), subscriber.values);
+    }
+
+    private RecordingSubscriber subscribe(FakeSource source)
+    {
+        final BackgroundSync<String> sync = new BackgroundSync<>(source, this.executor);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        this.executor.getReader(QueryPriority.VISIBLE).execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                sync.call(subscriber);
+            }
+        });
+
+        return subscriber;
+    }
+
+    private static class FakeSource implements BackgroundSync.Source<String>
+    {
+        final private CountDownLatch response;
+        final private List<String> localThreads = Collections.synchronizedList(new ArrayList<String>());
+        private volatile boolean stale;
+        private volatile int version;
+        private volatile int remoteLookups;
+        private volatile String remoteThread;
+        private volatile RuntimeException failure;
+
+        public FakeSource(boolean stale, CountDownLatch response)
+        {
+            this.stale = stale;
+            this.response = response;
+        }
+
+        @Override
+        public String lookupLocal()
+        {
+            this.localThreads.add(Thread.currentThread().getName());
+
+            return "local " + this.version;
+        }
+
+        @Override
+        public boolean dataIsStale()
+        {
+            return this.stale;
+        }
+
+        @Override
+        public String lookupRemote() throws Exception
+        {
+            this.remoteLookups++;
+            this.remoteThread = Thread.currentThread().getName();
+            if (null != this.response) {
+                this.response.await(5, TimeUnit.SECONDS);
+            }
+            if (null != this.failure) {
+                throw this.failure;
+            }
+
+            return "remote";
+        }
+
+        @Override
+        public void replaceLocal(String remote)
+        {
+            this.version++;
+            this.stale = false;
+        }
+    }
+
+    private static class RecordingSubscriber extends Subscriber<String>
+    {
+        final private List<String> values = Collections.synchronizedList(new ArrayList<String>());
+        final private CountDownLatch completed = new CountDownLatch(1);
+        final private CountDownLatch failed = new CountDownLatch(1);
+        private volatile Throwable error;
+
+        @Override
+        public void onCompleted()
+        {
+            this.completed.countDown();
+        }
+
+        @Override
+        public void onError(Throwable e)
+        {
+            this.error = e;
+            this.failed.countDown();
+        }
+
+        @Override
+        public void onNext(String value)
+        {
+            this.values.add(value);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database;
+
+import monolog.Monolog;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class DatabaseExecutorTest
+{
+    final private DatabaseExecutor executor = new DatabaseExecutor(1, Mockito.mock(Monolog.class));
+
+    @After
+    public void shutdown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void testVisibleReadsRunBeforePrefetch() throws Exception
+    {
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(4);
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+
+        this.executor.getReader(QueryPriority.VISIBLE).execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                finished.countDown();
+            }
+        });
+        this.executor.getReader(QueryPriority.PREFETCH).execute(this.record("prefetch 1", order, finished));
+        this.executor.getReader(QueryPriority.VISIBLE).execute(this.record("visible", order, finished));
+        this.executor.getReader(QueryPriority.PREFETCH).execute(this.record("prefetch 2", order, finished));
+
+        assertEquals(3, this.executor.getQueueDepth());
+        blocker.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList("visible", "prefetch 1", "prefetch 2"), order);
+        assertEquals(0, this.executor.getQueueDepth());
+        assertEquals(4, this.executor.getStartedCount());
+    }
+
+    @Test
+    public void testWritesRunOnWriterThread() throws Exception
+    {
+        String thread = this.executor.write(new Callable<String>()
+        {
+            @Override
+            public String call() throws Exception
+            {
+                return Thread.currentThread().getName();
+            }
+        });
+
+        assertEquals("database-writer", thread);
+    }
+
+    @Test
+    public void testNestedWriteDoesNotDeadlock() throws Exception
+    {
+        int result = this.executor.write(new Callable<Integer>()
+        {
+            @Override
+            public Integer call() throws Exception
+            {
+                return DatabaseExecutorTest.this.executor.write(new Callable<Integer>()
+                {
+                    @Override
+                    public Integer call() throws Exception
+                    {
+                        return 42;
+                    }
+                });
+            }
+        });
+
+        assertEquals(42, result);
+    }
+
+    @Test
+    public void testWriteFailuresAreRethrown() throws Exception
+    {
+        final SQLException failure = new SQLException("nope");
+
+        try {
+            this.executor.write(new Callable<Void>()
+            {
+                @Override
+                public Void call() throws Exception
+                {
+                    throw failure;
+                }
+            });
+            fail("Expected the write to fail");
+        } catch (SQLException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void testWaitTimeIsRecorded() throws Exception
+    {
+        final CountDownLatch finished = new CountDownLatch(2);
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        this.executor.getReader(QueryPriority.VISIBLE).execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                finished.countDown();
+            }
+        });
+        this.executor.getReader(QueryPriority.VISIBLE).execute(this.record("waited", order, finished));
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue("Max wait was " + this.executor.getMaxWaitMillis(), this.executor.getMaxWaitMillis() >= 40);
+        assertTrue(this.executor.getAverageWaitMillis() <= this.executor.getMaxWaitMillis());
+    }
+
+    private Runnable record(final String name, final List<String> order, final CountDownLatch finished)
+    {
+        return new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                order.add(name);
+                finished.countDown();
+            }
+        };
+    }
+}
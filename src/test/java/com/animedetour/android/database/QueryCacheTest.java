@@ -0,0 +1,77 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QueryCacheTest
+{
+    final private DateTime now = new DateTime("2016-04-23T12:00:00-05:00");
+
+    @Test
+    public void testHitAndMiss()
+    {
+        QueryCache<String> cache = new QueryCache<>(4);
+
+        assertNull(cache.get("key", 1, now));
+        cache.put("key", 1, "result", now.plusHours(1));
+        assertEquals("result", cache.get("key", 1, now));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testGenerationInvalidates()
+    {
+        QueryCache<String> cache = new QueryCache<>(4);
+        cache.put("key", 1, "result", now.plusHours(1));
+
+        assertNull(cache.get("key", 2, now));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpiration()
+    {
+        QueryCache<String> cache = new QueryCache<>(4);
+        cache.put("key", 1, "result", now.plusHours(1));
+
+        assertEquals("result", cache.get("key", 1, now.plusMinutes(59)));
+        assertNull(cache.get("key", 1, now.plusHours(1)));
+    }
+
+    @Test
+    public void testOlderGenerationDoesNotReplace()
+    {
+        QueryCache<String> cache = new QueryCache<>(4);
+        cache.put("key", 2, "new", now.plusHours(1));
+        cache.put("key", 1, "old", now.plusHours(1));
+
+        assertEquals("new", cache.get("key", 2, now));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted()
+    {
+        QueryCache<String> cache = new QueryCache<>(2);
+        cache.put("a", 1, "a", now.plusHours(1));
+        cache.put("b", 1, "b", now.plusHours(1));
+        cache.get("a", 1, now);
+        cache.put("c", 1, "c", now.plusHours(1));
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("a", 1, now));
+        assertNull(cache.get("b", 1, now));
+        assertEquals("c", cache.get("c", 1, now));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.database.QueryCache;
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import org.junit.Test;
+import rx.Observer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CachingEventObserverTest
+{
+    final private QueryCache<List<Event>> queryCache = new QueryCache<>(4);
+    final private QueryCache<Event> eventCache = new QueryCache<>(8);
+    final private List<List<Event>> delivered = new ArrayList<>();
+
+    @Test
+    public void testStoresResultAndEachEvent()
+    {
+        Event first = this.event("1", "Opening Ceremonies");
+        Event second = this.event("2", "Cosplay Chess");
+        List<Event> result = Arrays.asList(first, second);
+
+        this.observer(3).onNext(result);
+
+        DateTime now = new DateTime();
+        assertSame(result, this.queryCache.get("key", 3, now));
+        assertSame(first, this.eventCache.get("1", 3, now));
+        assertSame(second, this.eventCache.get("2", 3, now));
+        assertEquals(1, this.delivered.size());
+        assertSame(result, this.delivered.get(0));
+    }
+
+    @Test
+    public void testEventsExpireWithTheData()
+    {
+        this.observer(3).onNext(Collections.singletonList(this.event("1", "Opening Ceremonies")));
+
+        assertNull(this.eventCache.get("1", 4, new DateTime()));
+    }
+
+    private CachingEventObserver observer(long generation)
+    {
+        return new CachingEventObserver(
+            this.queryCache,
+            this.eventCache,
+            "key",
+            generation,
+            ResultExpiration.FIRST_START,
+            new Observer<List<Event>>()
+            {
+                @Override public void onCompleted() {}
+                @Override public void onError(Throwable e) {}
+
+                @Override
+                public void onNext(List<Event> events)
+                {
+                    CachingEventObserverTest.this.delivered.add(events);
+                }
+            }
+        );
+    }
+
+    private Event event(String id, String name)
+    {
+        DateTime start = new DateTime().plusDays(1);
+
+        return new Event(
+            id,
+            name,
+            start,
+            start.plusHours(1),
+            "Panel",
+            Collections.<String>emptyList(),
+            "Main Stage",
+            Collections.<String>emptyList(),
+            null,
+            null
+        );
+    }
+}
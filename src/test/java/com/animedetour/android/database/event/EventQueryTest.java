@@ -0,0 +1,117 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class EventQueryTest
+{
+    final private DateTime saturday = new DateTime("2016-04-23T12:00:00-05:00");
+
+    @Test
+    public void testEmptyQueryMatchesEverything()
+    {
+        EventQuery query = new EventQuery();
+
+        assertFalse(query.hasConditions());
+        assertTrue(query.matches(this.event(this.saturday, "Panel", "Room 1", "Someone"), this.saturday));
+    }
+
+    @Test
+    public void testDayIncludesEventsRunningDuringTheDay()
+    {
+        EventQuery query = new EventQuery().withDay(this.saturday);
+        DateTime now = this.saturday;
+
+        assertTrue(query.hasConditions());
+        assertTrue(query.matches(this.event(this.saturday.withHourOfDay(9), "Panel", "Room", "Host"), now));
+        assertTrue(query.matches(this.event(this.saturday.minusDays(1).withHourOfDay(23).withMinuteOfHour(30), "Panel", "Room", "Host"), now));
+        assertFalse(query.matches(this.event(this.saturday.plusDays(1).withHourOfDay(1), "Panel", "Room", "Host"), now));
+        assertFalse(query.matches(this.event(this.saturday.minusDays(1).withHourOfDay(9), "Panel", "Room", "Host"), now));
+    }
+
+    @Test
+    public void testStartedAndEnded()
+    {
+        Event running = this.event(this.saturday.minusMinutes(30), "Panel", "Room", "Host");
+        Event upcoming = this.event(this.saturday.plusMinutes(30), "Panel", "Room", "Host");
+        Event ended = this.event(this.saturday.minusHours(2), "Panel", "Room", "Host");
+
+        EventQuery notEnded = new EventQuery().withEnded(false);
+        assertTrue(notEnded.matches(running, this.saturday));
+        assertTrue(notEnded.matches(upcoming, this.saturday));
+        assertFalse(notEnded.matches(ended, this.saturday));
+
+        EventQuery notStarted = new EventQuery().withStarted(false);
+        assertFalse(notStarted.matches(running, this.saturday));
+        assertTrue(notStarted.matches(upcoming, this.saturday));
+    }
+
+    @Test
+    public void testCombinedCriteria()
+    {
+        EventQuery query = new EventQuery()
+            .withDay(this.saturday)
+            .withCategory("Panel")
+            .withTag("18+")
+            .withRoom("Room 1")
+            .withHost("vandervelde");
+        Event match = this.event(this.saturday, "Panel", "Room 1", "Max Vandervelde", "18+", "official");
+
+        assertTrue(query.matches(match, this.saturday));
+        assertFalse(query.matches(this.event(this.saturday, "Gaming", "Room 1", "Max Vandervelde", "18+"), this.saturday));
+        assertFalse(query.matches(this.event(this.saturday, "Panel", "Room 2", "Max Vandervelde", "18+"), this.saturday));
+        assertFalse(query.matches(this.event(this.saturday, "Panel", "Room 1", "Someone Else", "18+"), this.saturday));
+        assertFalse(query.matches(this.event(this.saturday, "Panel", "Room 1", "Max Vandervelde", "official"), this.saturday));
+    }
+
+    @Test
+    public void testTagsMustMatchWholeTags()
+    {
+        EventQuery query = new EventQuery().withTag("18");
+
+        assertFalse(query.matches(this.event(this.saturday, "Panel", "Room", "Host", "18+"), this.saturday));
+        assertTrue(query.matches(this.event(this.saturday, "Panel", "Room", "Host", "18"), this.saturday));
+    }
+
+    @Test
+    public void testKeyDescribesEveryCriteria()
+    {
+        EventQuery base = new EventQuery().withDay(this.saturday).withCategory("Panel");
+
+        assertEquals(base.getKey(), new EventQuery().withDay(this.saturday).withCategory("Panel").getKey());
+        assertEquals(base, new EventQuery().withCategory("Panel").withDay(this.saturday));
+        assertFalse(base.getKey().equals(base.withText("gundam").getKey()));
+        assertFalse(base.getKey().equals(base.withLimit(1).getKey()));
+        assertFalse(base.getKey().equals(base.withTag("18+").getKey()));
+        assertFalse(base.getKey().equals(base.withEnded(false).getKey()));
+    }
+
+    private Event event(DateTime start, String category, String room, String host, String... tags)
+    {
+        return new Event(
+            "id",
+            "Event",
+            start,
+            start.plusHours(1),
+            category,
+            Arrays.asList(tags),
+            room,
+            Arrays.asList(host),
+            null,
+            null
+        );
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.event;
+
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class EventSearchPredicateTest
+{
+    final private Event event = new Event(
+        "id",
+        "Cosplay Chess",
+        new DateTime("2016-04-23T12:00:00-05:00"),
+        new DateTime("2016-04-23T13:00:00-05:00"),
+        "Panel",
+        Arrays.asList("official", "asl"),
+        "Main Stage",
+        Arrays.asList("Jane Doe", "John Smith"),
+        "description",
+        null
+    );
+
+    @Test
+    public void testFieldsMatchIgnoringCase()
+    {
+        assertTrue(new EventSearchPredicate("chess").apply(this.event));
+        assertTrue(new EventSearchPredicate("OFFICIAL").apply(this.event));
+        assertTrue(new EventSearchPredicate("smith").apply(this.event));
+        assertTrue(new EventSearchPredicate("main st").apply(this.event));
+        assertTrue(new EventSearchPredicate("  cosplay  ").apply(this.event));
+        assertTrue(new EventSearchPredicate("panel").apply(this.event));
+    }
+
+    @Test
+    public void testEveryTermMustMatch()
+    {
+        assertTrue(new EventSearchPredicate("chess smith").apply(this.event));
+        assertFalse(new EventSearchPredicate("chess karaoke").apply(this.event));
+    }
+
+    @Test
+    public void testNoMatch()
+    {
+        assertFalse(new EventSearchPredicate("karaoke").apply(this.event));
+        assertEquals(0, new EventSearchPredicate("karaoke").score(this.event));
+    }
+
+    @Test
+    public void testNameScoresAboveRoom()
+    {
+        int name = new EventSearchPredicate("chess").score(this.event);
+        int room = new EventSearchPredicate("stage").score(this.event);
+
+        assertTrue(name > room);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.facet;
+
+import com.animedetour.android.model.Event;
+import com.animedetour.android.model.Facet;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class FacetCountsTest
+{
+    @Test
+    public void testAddedEvents()
+    {
+        FacetCounts counts = new FacetCounts();
+        counts.add(this.event("a", "Panel", "Room 1", "anime", "anime", "cosplay"));
+        counts.add(this.event("b", "Panel", "Room 2", "anime"));
+
+        assertEquals(
+            Arrays.asList(
+                new Facet(Facet.Type.CATEGORY, "Panel", 2),
+                new Facet(Facet.Type.ROOM, "Room 1", 1),
+                new Facet(Facet.Type.TAG, "anime", 2),
+                new Facet(Facet.Type.TAG, "cosplay", 1),
+                new Facet(Facet.Type.ROOM, "Room 2", 1)
+            ),
+            counts.getChanges()
+        );
+    }
+
+    @Test
+    public void testReplacedEventOnlyChangesDifferences()
+    {
+        FacetCounts counts = new FacetCounts();
+        counts.remove(this.event("a", "Panel", "Room 1", "anime"));
+        counts.add(this.event("a", "Panel", "Room 2", "anime"));
+
+        assertEquals(
+            Arrays.asList(
+                new Facet(Facet.Type.ROOM, "Room 1", -1),
+                new Facet(Facet.Type.ROOM, "Room 2", 1)
+            ),
+            counts.getChanges()
+        );
+    }
+
+    @Test
+    public void testBlankValuesIgnored()
+    {
+        FacetCounts counts = new FacetCounts();
+        counts.add(this.event("a", null, " ", ""));
+
+        assertEquals(Collections.<Facet>emptyList(), counts.getChanges());
+    }
+
+    private Event event(String id, String category, String room, String... tags)
+    {
+        return new Event(
+            id,
+            "Event " + id,
+            null,
+            null,
+            category,
+            Arrays.asList(tags),
+            room,
+            Collections.<String>emptyList(),
+            null,
+            null
+        );
+    }
+}
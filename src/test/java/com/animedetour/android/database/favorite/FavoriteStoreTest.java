@@ -0,0 +1,144 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.favorite;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class FavoriteStoreTest
+{
+    @Test
+    public void testEmptyUntilLoaded()
+    {
+        FavoriteStore store = new FavoriteStore();
+
+        assertFalse(store.isLoaded());
+        assertTrue(store.isEmpty());
+        assertFalse(store.contains("a"));
+        assertEquals(Collections.<String>emptySet(), store.getIds());
+    }
+
+    @Test
+    public void testOnlyLoadsOnce()
+    {
+        FavoriteStore store = new FavoriteStore();
+        store.load(Arrays.asList("a", "b"));
+        store.load(Arrays.asList("c"));
+
+        assertTrue(store.isLoaded());
+        assertTrue(store.contains("a"));
+        assertFalse(store.contains("c"));
+        assertEquals(this.ids("a", "b"), store.getIds());
+    }
+
+    @Test
+    public void testAddAndRemove()
+    {
+        FavoriteStore store = new FavoriteStore();
+        store.load(Collections.<String>emptyList());
+
+        store.add("a");
+        assertTrue(store.contains("a"));
+        assertFalse(store.isEmpty());
+
+        store.remove("a");
+        assertFalse(store.contains("a"));
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    public void testChangesBeforeLoadingAreKept()
+    {
+        FavoriteStore store = new FavoriteStore();
+        RecordingListener listener = new RecordingListener();
+        store.addListener(listener);
+
+        store.add("a");
+        store.remove("b");
+        store.add("c");
+        store.remove("c");
+        assertFalse(store.isLoaded());
+        assertFalse(store.contains("a"));
+        assertTrue(listener.changes.isEmpty());
+
+        store.load(Arrays.asList("b", "c", "d"));
+
+        assertEquals(this.ids("a", "d"), store.getIds());
+        assertEquals(Arrays.asList(this.ids("a", "d")), listener.changes);
+    }
+
+    @Test
+    public void testListenersReplayCurrentIds()
+    {
+        FavoriteStore store = new FavoriteStore();
+        RecordingListener early = new RecordingListener();
+        store.addListener(early);
+        assertTrue(early.changes.isEmpty());
+
+        store.load(Arrays.asList("a"));
+        RecordingListener late = new RecordingListener();
+        store.addListener(late);
+
+        assertEquals(Arrays.asList(this.ids("a")), early.changes);
+        assertEquals(Arrays.asList(this.ids("a")), late.changes);
+    }
+
+    @Test
+    public void testListenersOnlyToldOfRealChanges()
+    {
+        FavoriteStore store = new FavoriteStore();
+        store.load(Arrays.asList("a"));
+        RecordingListener listener = new RecordingListener();
+        store.addListener(listener);
+
+        store.add("a");
+        store.remove("b");
+        store.add("b");
+        store.removeListener(listener);
+        store.remove("a");
+
+        assertEquals(Arrays.asList(this.ids("a"), this.ids("a", "b")), listener.changes);
+    }
+
+    @Test
+    public void testSnapshotsAreNotChangedLater()
+    {
+        FavoriteStore store = new FavoriteStore();
+        store.load(Arrays.asList("a"));
+        Set<String> snapshot = store.getIds();
+
+        store.add("b");
+
+        assertEquals(this.ids("a"), snapshot);
+    }
+
+    private Set<String> ids(String... ids)
+    {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    private static class RecordingListener implements FavoriteStore.Listener
+    {
+        final private List<Set<String>> changes = new ArrayList<>();
+
+        @Override
+        public void onFavoritesChanged(Set<String> eventIds)
+        {
+            this.changes.add(eventIds);
+        }
+    }
+}
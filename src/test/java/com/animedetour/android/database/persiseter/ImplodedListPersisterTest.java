@@ -59,4 +59,32 @@ public class ImplodedListPersisterTest
 
         assertEquals("%test%", result);
     }
+
+    /**
+     * Lists read from the database are handed out by models directly, so
+     * they must not be modifiable.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSqlArgToJavaIsUnmodifiable() throws Exception
+    {
+        List<String> result = (List<String>) this.subject.sqlArgToJava(null, "foo,bar", 0);
+
+        result.set(0, "baz");
+    }
+
+    /**
+     * Pooled lists should share a single copy of each repeated value.
+     */
+    @Test
+    public void testPooledSqlArgToJava() throws Exception
+    {
+        PooledListPersister pooled = new PooledListPersister();
+
+        List<String> first = (List<String>) pooled.sqlArgToJava(null, new String("foo,bar"), 0);
+        List<String> second = (List<String>) pooled.sqlArgToJava(null, new String("bar,foo"), 0);
+
+        assertEquals(Arrays.asList("foo", "bar"), first);
+        assertSame(first.get(0), second.get(1));
+        assertSame(first.get(1), second.get(0));
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class EventSearchIndexTest
+{
+    /** Queries to run against the large schedule. */
+    final private static String[] LARGE_QUERIES = {"an", "gundam", "cos pan", "host12", "room 2", "oice", "sailor moon"};
+
+    final private DateTime start = new DateTime("2016-04-22T12:00:00-05:00");
+
+    @Test
+    public void testFieldWeightRanking()
+    {
+        Event room = this.event("room", 0, "Karaoke", "Lounge", "Gundam Room", "Nobody");
+        Event host = this.event("host", 1, "Q&A", "Panel", "Main Stage", "Gundam Fan");
+        Event name = this.event("name", 2, "Gundam Trivia", "Panel", "Room 1", "Nobody");
+        EventSearchIndex index = EventSearchIndex.build(Arrays.asList(room, host, name));
+
+        assertEquals(Arrays.asList(name, host, room), index.search("gundam"));
+    }
+
+    @Test
+    public void testMatchTypeRanking()
+    {
+        Event substring = this.event("substring", 0, "Megagundam", "Panel", "Room", "Nobody");
+        Event prefix = this.event("prefix", 1, "Gundamania", "Panel", "Room", "Nobody");
+        Event exact = this.event("exact", 2, "Gundam", "Panel", "Room", "Nobody");
+        EventSearchIndex index = EventSearchIndex.build(Arrays.asList(substring, prefix, exact));
+
+        assertEquals(Arrays.asList(exact, prefix, substring), index.search("gundam"));
+    }
+
+    @Test
+    public void testTiesKeepScheduleOrder()
+    {
+        Event later = this.event("later", 2, "Gundam", "Panel", "Room", "Nobody");
+        Event earlier = this.event("earlier", 1, "Gundam", "Panel", "Room", "Nobody");
+        EventSearchIndex index = EventSearchIndex.build(Arrays.asList(later, earlier));
+
+        assertEquals(Arrays.asList(earlier, later), index.search("gundam"));
+    }
+
+    @Test
+    public void testFoldingAndAllTermsRequired()
+    {
+        Event pokemon = this.event("pokemon", 0, "Pokémon Trivia", "Panel", "Room", "Nobody");
+        Event trivia = this.event("trivia", 1, "Anime Trivia", "Panel", "Room", "Nobody");
+        EventSearchIndex index = EventSearchIndex.build(Arrays.asList(pokemon, trivia));
+
+        assertEquals(Arrays.asList(pokemon), index.search("POKEMON triv"));
+        assertEquals(Arrays.asList(pokemon, trivia), index.search("trivia"));
+        assertEquals(Collections.<Event>emptyList(), index.search("pokemon karaoke"));
+    }
+
+    @Test
+    public void testEmptyQueryReturnsEverything()
+    {
+        Event first = this.event("first", 0, "One", "Panel", "Room", "Nobody");
+        Event second = this.event("second", 1, "Two", "Panel", "Room", "Nobody");
+        EventSearchIndex index = EventSearchIndex.build(Arrays.asList(second, first));
+
+        assertEquals(Arrays.asList(first, second), index.search("  "));
+    }
+
+    /**
+     * Searching a realistically large schedule should scan its unique tokens
+     * rather than every field of every event, and still find exactly the
+     * events that a full scan would.
+     */
+    @Test
+    public void testLargeSchedule()
+    {
+        List<Event> events = this.largeSchedule();
+        EventSearchIndex index = EventSearchIndex.build(events);
+
+        int occurrences = 0;
+        for (Event event : events) {
+            for (SearchField field : SearchField.values()) {
+                occurrences += field.getTokens(event).size();
+            }
+        }
+        assertTrue(
+            index.getTokenCount() + " tokens for " + occurrences + " occurrences",
+            index.getTokenCount() * 4 < occurrences
+        );
+
+        for (String query : LARGE_QUERIES) {
+            assertEquals(query, this.scan(events, query), new HashSet<>(index.search(query)));
+        }
+    }
+
+    /**
+     * Reports how long searching a realistically large schedule takes,
+     * against the target of fitting within a single 16ms frame.
+     *
+     * This only reports the time, since it varies too much between machines
+     * to fail a build on.
+     */
+    @Test
+    public void testSearchLatencyReport()
+    {
+        EventSearchIndex index = EventSearchIndex.build(this.largeSchedule());
+        for (String query : LARGE_QUERIES) {
+            index.search(query);
+        }
+
+        long start = System.nanoTime();
+        int runs = 0;
+        for (int i = 0; i < 5; i++) {
+            for (String query : LARGE_QUERIES) {
+                index.search(query);
+                runs++;
+            }
+        }
+        double averageMillis = (System.nanoTime() - start) / (double) runs / 1000000;
+
+        System.out.println(String.format("Event search over 10000 events: %.2fms per query (target 16ms)", averageMillis));
+    }
+
+    /**
+     * 10k events with names, categories, rooms and hosts drawn from a small
+     * vocabulary, the way a real schedule repeats its words.
+     */
+    private List<Event> largeSchedule()
+    {
+        String[] words = {"anime", "cosplay", "gundam", "idol", "karaoke", "manga", "mecha", "panel", "sailor", "shoujo", "trivia", "voice"};
+        Random random = new Random(42);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+            String host = "Host" + random.nextInt(500) + " Guest" + random.nextInt(500);
+            events.add(this.event("event" + i, i, name, words[random.nextInt(words.length)], "Room " + random.nextInt(30), host));
+        }
+
+        return events;
+    }
+
+    /**
+     * Find the events matching every term of a query by checking every
+     * token of every event.
+     */
+    private Set<Event> scan(List<Event> events, String query)
+    {
+        Set<Event> matches = new HashSet<>();
+        for (Event event : events) {
+            boolean matchesAll = true;
+            for (String term : TextFolder.tokenize(query)) {
+                matchesAll = matchesAll && this.containsTerm(event, term);
+            }
+            if (matchesAll) {
+                matches.add(event);
+            }
+        }
+
+        return matches;
+    }
+
+    private boolean containsTerm(Event event, String term)
+    {
+        for (SearchField field : SearchField.values()) {
+            for (String token : field.getTokens(event)) {
+                if (token.contains(term)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private Event event(String id, int hour, String name, String category, String room, String host)
+    {
+        return new Event(
+            id,
+            name,
+            this.start.plusHours(hour),
+            this.start.plusHours(hour + 1),
+            category,
+            Collections.<String>emptyList(),
+            room,
+            Arrays.asList(host),
+            "description",
+            null
+        );
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.database.search;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TrigramIndexTest
+{
+    /** Vocabulary for the names in the large indexes. */
+    final private static String[] WORDS = {"anime", "cosplay", "gundam", "idol", "karaoke", "manga", "mecha", "panel", "sailor", "shoujo", "trivia", "voice"};
+
+    @Test
+    public void testMisspelledNames()
+    {
+        TrigramIndex<String> index = new TrigramIndex.Builder<String>()
+            .add("miyazaki", Arrays.asList("Hayao Miyazaki"))
+            .add("tezuka", Arrays.asList("Osamu Tezuka"))
+            .add("pokemon", Arrays.asList("Pokémon Trivia"))
+            .build();
+
+        assertEquals(Arrays.asList("miyazaki"), index.search("miyazki"));
+        assertEquals(Arrays.asList("miyazaki"), index.search("hayoa miyazaki"));
+        assertEquals(Arrays.asList("tezuka"), index.search("Tezukka"));
+        assertEquals(Arrays.asList("pokemon"), index.search("pokeman"));
+    }
+
+    @Test
+    public void testMostSimilarFirst()
+    {
+        TrigramIndex<String> index = new TrigramIndex.Builder<String>()
+            .add("distant", Arrays.asList("Gundams Galore"))
+            .add("close", Arrays.asList("Gundam"))
+            .build();
+
+        assertEquals(Arrays.asList("close", "distant"), index.search("gundum"));
+    }
+
+    @Test
+    public void testThreshold()
+    {
+        TrigramIndex<String> index = new TrigramIndex.Builder<String>()
+            .add("karaoke", Arrays.asList("Karaoke"))
+            .build();
+
+        assertEquals(Collections.<String>emptyList(), index.search("cosplay"));
+        assertEquals(Collections.<String>emptyList(), index.search("karaoke", 1.01f));
+        assertEquals(Arrays.asList("karaoke"), index.search("karaoke", 1f));
+    }
+
+    @Test
+    public void testNullAndEmptyText()
+    {
+        TrigramIndex<String> index = new TrigramIndex.Builder<String>()
+            .add("empty", Arrays.asList((String) null, " "))
+            .build();
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.getTrigramCount());
+        assertEquals(Collections.<String>emptyList(), index.search(""));
+        assertEquals(Collections.<String>emptyList(), index.search("anything"));
+    }
+
+    /**
+     * Searching a realistically large schedule and guest list only looks at
+     * the units sharing a trigram with the query. The set of trigrams stays
+     * small because names repeat, and misspelled names still rank first.
+     */
+    @Test
+    public void testLargeIndex()
+    {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        TrigramIndex<String> eventIndex = this.largeEventIndex(random, names);
+        TrigramIndex<String> guestIndex = this.largeGuestIndex(random);
+
+        assertEquals(10000, eventIndex.size());
+        assertTrue(eventIndex.getTrigramCount() + " trigrams", eventIndex.getTrigramCount() < 5000);
+        assertTrue(guestIndex.getTrigramCount() + " trigrams", guestIndex.getTrigramCount() < 1000);
+
+        for (int i = 0; i < 10000; i += 997) {
+            String misspelled = this.swapLetters(names.get(i));
+            assertEquals(misspelled, "event" + i, eventIndex.search(misspelled).get(0));
+        }
+        assertEquals(Collections.<String>emptyList(), guestIndex.search("zzqx"));
+    }
+
+    /**
+     * Reports how long fuzzy searching a realistically large schedule and
+     * guest list takes, against the target of fitting within a single 16ms
+     * frame.
+     *
+     * This only reports the time, since it varies too much between machines
+     * to fail a build on.
+     */
+    @Test
+    public void testSearchLatencyReport()
+    {
+        Random random = new Random(42);
+        TrigramIndex<String> eventIndex = this.largeEventIndex(random, new ArrayList<String>());
+        TrigramIndex<String> guestIndex = this.largeGuestIndex(random);
+        String[] queries = {"gundum", "cosplya", "karoke panle", "host12", "sailr mon", "vioce"};
+        for (String query : queries) {
+            eventIndex.search(query);
+            guestIndex.search(query);
+        }
+
+        long start = System.nanoTime();
+        int runs = 0;
+        for (int i = 0; i < 5; i++) {
+            for (String query : queries) {
+                eventIndex.search(query);
+                guestIndex.search(query);
+                runs++;
+            }
+        }
+        double averageMillis = (System.nanoTime() - start) / (double) runs / 1000000;
+
+        System.out.println(String.format(
+            "Fuzzy search over 10000 events and 500 guests: %.2fms per query (target 16ms)",
+            averageMillis
+        ));
+    }
+
+    /**
+     * 10k events with names and hosts drawn from a small vocabulary.
+     *
+     * @param names Filled with each event's name, in order.
+     */
+    private TrigramIndex<String> largeEventIndex(Random random, List<String> names)
+    {
+        TrigramIndex.Builder<String> events = new TrigramIndex.Builder<>();
+        for (int i = 0; i < 10000; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String host = "Host" + random.nextInt(500) + " Guest" + random.nextInt(500);
+            events.add("event" + i, Arrays.asList(host, name));
+            names.add(name);
+        }
+
+        return events.build();
+    }
+
+    /**
+     * 500 guests with names drawn from a small vocabulary.
+     */
+    private TrigramIndex<String> largeGuestIndex(Random random)
+    {
+        TrigramIndex.Builder<String> guests = new TrigramIndex.Builder<>();
+        for (int i = 0; i < 500; i++) {
+            guests.add("guest" + i, Arrays.asList(WORDS[random.nextInt(WORDS.length)] + "son Guest" + i));
+        }
+
+        return guests.build();
+    }
+
+    /**
+     * Swap the second and third letters of the text, as a typo would.
+     */
+    private String swapLetters(String text)
+    {
+        char[] letters = text.toCharArray();
+        char second = letters[1];
+        letters[1] = letters[2];
+        letters[2] = second;
+
+        return new String(letters);
+    }
+}
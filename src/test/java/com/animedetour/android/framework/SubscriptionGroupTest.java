@@ -0,0 +1,110 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework;
+
+import org.junit.Test;
+import rx.Observer;
+import rx.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SubscriptionGroupTest
+{
+    @Test
+    public void testClearOnlyCancelsOwnSubscriptions()
+    {
+        SubscriptionGroup day = new SubscriptionGroup();
+        SubscriptionGroup favorites = new SubscriptionGroup();
+        FakeSubscription daySubscription = new FakeSubscription();
+        FakeSubscription favoriteSubscription = new FakeSubscription();
+        day.add(daySubscription);
+        favorites.add(favoriteSubscription);
+
+        day.clear();
+
+        assertTrue(daySubscription.isUnsubscribed());
+        assertFalse(favoriteSubscription.isUnsubscribed());
+        assertEquals(0, day.size());
+        assertEquals(1, favorites.size());
+    }
+
+    @Test
+    public void testDetachedObserversStopReceiving()
+    {
+        SubscriptionGroup group = new SubscriptionGroup();
+        RecordingObserver screen = new RecordingObserver();
+        Observer<String> observer = group.detachOnClear(screen);
+
+        observer.onNext("first");
+        group.clear();
+        observer.onNext("second");
+        observer.onError(new RuntimeException());
+        observer.onCompleted();
+
+        assertEquals(Arrays.asList("first"), screen.events);
+    }
+
+    @Test
+    public void testDetachedObserversForwardEverythingUntilCleared()
+    {
+        SubscriptionGroup group = new SubscriptionGroup();
+        RecordingObserver screen = new RecordingObserver();
+        Observer<String> observer = group.detachOnClear(screen);
+
+        observer.onNext("result");
+        observer.onError(new RuntimeException());
+        observer.onCompleted();
+
+        assertEquals(Arrays.asList("result", "error", "completed"), screen.events);
+    }
+
+    private static class FakeSubscription implements Subscription
+    {
+        private boolean unsubscribed = false;
+
+        @Override
+        public void unsubscribe()
+        {
+            this.unsubscribed = true;
+        }
+
+        @Override
+        public boolean isUnsubscribed()
+        {
+            return this.unsubscribed;
+        }
+    }
+
+    private static class RecordingObserver implements Observer<String>
+    {
+        final private List<String> events = new ArrayList<>();
+
+        @Override
+        public void onCompleted()
+        {
+            this.events.add("completed");
+        }
+
+        @Override
+        public void onError(Throwable e)
+        {
+            this.events.add("error");
+        }
+
+        @Override
+        public void onNext(String item)
+        {
+            this.events.add(item);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameHistogramTest
+{
+    /** A 60hz display. */
+    final private static long INTERVAL = 16666667;
+
+    @Test
+    public void testFramesInTime()
+    {
+        FrameHistogram test = new FrameHistogram(INTERVAL);
+        test.record(INTERVAL);
+        test.record(INTERVAL + 2000000);
+        test.record(INTERVAL - 2000000);
+
+        assertEquals(3, test.getFrames());
+        assertEquals(3, test.getCount(0));
+        assertEquals(0, test.getJankyFrames());
+        assertEquals(0, test.getDroppedFrames());
+    }
+
+    @Test
+    public void testDroppedFrames()
+    {
+        FrameHistogram test = new FrameHistogram(INTERVAL);
+        test.record(INTERVAL);
+        test.record(INTERVAL * 2);
+        test.record(INTERVAL * 3);
+
+        assertEquals(3, test.getFrames());
+        assertEquals(1, test.getCount(0));
+        assertEquals(1, test.getCount(1));
+        assertEquals(1, test.getCount(2));
+        assertEquals(2, test.getJankyFrames());
+        assertEquals(3, test.getDroppedFrames());
+        assertEquals("1/1/1/0/0/0/0/0", test.toCompactString());
+    }
+
+    @Test
+    public void testLongFramesInLastBucket()
+    {
+        FrameHistogram test = new FrameHistogram(INTERVAL);
+        test.record(INTERVAL * 30);
+
+        assertEquals(1, test.getCount(FrameHistogram.BUCKETS - 1));
+        assertEquals(29, test.getDroppedFrames());
+        assertEquals(500, test.getLongestMillis());
+    }
+
+    @Test
+    public void testReset()
+    {
+        FrameHistogram test = new FrameHistogram(INTERVAL);
+        test.record(INTERVAL * 4);
+        test.reset();
+
+        assertTrue(test.isEmpty());
+        assertEquals(0, test.getDroppedFrames());
+        assertEquals(0, test.getLongestMillis());
+        assertEquals("0/0/0/0/0/0/0/0", test.toCompactString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInterval()
+    {
+        new FrameHistogram(0);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.startup;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StartupGraphTest
+{
+    final private Runnable nothing = new Runnable()
+    {
+        @Override
+        public void run() {}
+    };
+
+    @Test
+    public void testDependenciesFirst()
+    {
+        StartupGraph test = new StartupGraph();
+        test.add("images", StartupStage.CRITICAL, this.nothing, "graph");
+        test.add("graph", StartupStage.CRITICAL, this.nothing, "zones", "persisters");
+        test.add("zones", StartupStage.CRITICAL, this.nothing);
+        test.add("persisters", StartupStage.CRITICAL, this.nothing);
+
+        assertEquals(Arrays.asList("zones", "persisters", "graph", "images"), this.names(test.getTasks(StartupStage.CRITICAL)));
+    }
+
+    @Test
+    public void testStagesSeparate()
+    {
+        StartupGraph test = new StartupGraph();
+        test.add("graph", StartupStage.CRITICAL, this.nothing);
+        test.add("analytics", StartupStage.BACKGROUND, this.nothing, "graph");
+        test.add("debug", StartupStage.IDLE, this.nothing, "graph");
+
+        assertEquals(Arrays.asList("graph"), this.names(test.getTasks(StartupStage.CRITICAL)));
+        assertEquals(Arrays.asList("analytics"), this.names(test.getTasks(StartupStage.BACKGROUND)));
+        assertEquals(Arrays.asList("debug"), this.names(test.getTasks(StartupStage.IDLE)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMissingDependency()
+    {
+        StartupGraph test = new StartupGraph();
+        test.add("graph", StartupStage.CRITICAL, this.nothing, "zones");
+
+        test.getTasks(StartupStage.CRITICAL);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCycle()
+    {
+        StartupGraph test = new StartupGraph();
+        test.add("a", StartupStage.BACKGROUND, this.nothing, "b");
+        test.add("b", StartupStage.BACKGROUND, this.nothing, "a");
+
+        test.getTasks(StartupStage.BACKGROUND);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCriticalCantWaitForDeferred()
+    {
+        StartupGraph test = new StartupGraph();
+        test.add("analytics", StartupStage.BACKGROUND, this.nothing);
+        test.add("graph", StartupStage.CRITICAL, this.nothing, "analytics");
+
+        test.getTasks(StartupStage.CRITICAL);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDeferredStagesIndependent()
+    {
+        StartupGraph test = new StartupGraph();
+        test.add("analytics", StartupStage.BACKGROUND, this.nothing);
+        test.add("debug", StartupStage.IDLE, this.nothing, "analytics");
+
+        test.getTasks(StartupStage.IDLE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateName()
+    {
+        StartupGraph test = new StartupGraph();
+        test.add("graph", StartupStage.CRITICAL, this.nothing);
+        test.add("graph", StartupStage.IDLE, this.nothing);
+    }
+
+    @Test
+    public void testTraceSummary()
+    {
+        StartupTrace test = new StartupTrace(StartupStage.CRITICAL);
+        test.record("TimeZones", 12);
+        test.record("Graph", 80);
+
+        assertEquals(92, test.getTotalMillis());
+        assertEquals("Startup CRITICAL: 92ms (TimeZones 12ms, Graph 80ms)", test.toString());
+    }
+
+    private List<String> names(List<StartupTask> tasks)
+    {
+        List<String> names = new ArrayList<>();
+        for (StartupTask task : tasks) {
+            names.add(task.getName());
+        }
+
+        return names;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.text;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+public class RenderCacheTest
+{
+    final private List<Runnable> queued = new ArrayList<>();
+
+    final private Executor executor = new Executor()
+    {
+        @Override
+        public void execute(Runnable command)
+        {
+            RenderCacheTest.this.queued.add(command);
+        }
+    };
+
+    @Test
+    public void testGetRendersOnce()
+    {
+        CountingCache cache = new CountingCache(4, this.executor);
+
+        String first = cache.get("1", "<b>Bio</b>");
+        String second = cache.get("1", "<b>Bio</b>");
+
+        assertEquals("rendered:<b>Bio</b>", first);
+        assertSame(first, second);
+        assertEquals(1, cache.renders);
+    }
+
+    @Test
+    public void testChangedContentIsRenderedAgain()
+    {
+        CountingCache cache = new CountingCache(4, this.executor);
+        cache.get("1", "Old description");
+
+        assertNull(cache.peek("1", "New description"));
+        assertEquals("rendered:New description", cache.get("1", "New description"));
+        assertEquals(2, cache.renders);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testWarmRendersInBackground()
+    {
+        CountingCache cache = new CountingCache(4, this.executor);
+
+        cache.warm("1", "Description");
+        cache.warm("1", "Description");
+
+        assertEquals(1, this.queued.size());
+        assertNull(cache.peek("1", "Description"));
+
+        this.queued.get(0).run();
+
+        assertEquals("rendered:Description", cache.peek("1", "Description"));
+        cache.warm("1", "Description");
+        assertEquals(1, this.queued.size());
+        assertEquals(1, cache.renders);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsRemoved()
+    {
+        CountingCache cache = new CountingCache(2, this.executor);
+        cache.get("1", "One");
+        cache.get("2", "Two");
+        cache.get("1", "One");
+        cache.get("3", "Three");
+
+        assertNotNull(cache.peek("1", "One"));
+        assertNull(cache.peek("2", "Two"));
+        assertNotNull(cache.peek("3", "Three"));
+    }
+
+    @Test
+    public void testNullContent()
+    {
+        CountingCache cache = new CountingCache(2, this.executor);
+        cache.warm("1", null);
+
+        assertNull(cache.get("1", null));
+        assertTrue(this.queued.isEmpty());
+        assertEquals(0, cache.renders);
+    }
+
+    private static class CountingCache extends RenderCache<String>
+    {
+        private int renders = 0;
+
+        public CountingCache(int maxSize, Executor executor)
+        {
+            super(maxSize, executor);
+        }
+
+        @Override
+        protected String render(String content)
+        {
+            this.renders++;
+            return "rendered:" + content;
+        }
+    }
+}
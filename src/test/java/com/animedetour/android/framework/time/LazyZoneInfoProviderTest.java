@@ -0,0 +1,131 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.framework.time;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.tz.ZoneInfoProvider;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LazyZoneInfoProviderTest
+{
+    @Test
+    public void testZonesMatchJoda()
+    {
+        JarZoneInfoProvider provider = new JarZoneInfoProvider();
+        DateTimeZone chicago = provider.getZone("America/Chicago");
+        DateTime convention = new DateTime(2016, 4, 22, 12, 0, DateTimeZone.forID("America/Chicago"));
+
+        assertEquals("America/Chicago", chicago.getID());
+        assertEquals(DateTimeZone.forID("America/Chicago").getOffset(convention), chicago.getOffset(convention));
+        assertSame(DateTimeZone.UTC, provider.getZone("UTC"));
+        assertTrue(provider.getAvailableIDs().contains("Europe/London"));
+    }
+
+    @Test
+    public void testOnlyReadsZonesThatAreUsed()
+    {
+        JarZoneInfoProvider provider = new JarZoneInfoProvider();
+
+        provider.getZone("America/Chicago");
+        provider.getZone("America/Chicago");
+        provider.getZone("UTC");
+
+        assertEquals(1, provider.getLoadedCount());
+        assertEquals(2, provider.opened.size());
+        assertEquals("ZoneInfoMap", provider.opened.get(0));
+        assertEquals("America/Chicago", provider.opened.get(1));
+    }
+
+    @Test
+    public void testAliasesReadTheirZone()
+    {
+        JarZoneInfoProvider provider = new JarZoneInfoProvider();
+
+        DateTimeZone alias = provider.getZone("US/Central");
+
+        assertEquals("America/Chicago", alias.getID());
+        assertSame(alias, provider.getZone("America/Chicago"));
+    }
+
+    @Test
+    public void testUnknownZones()
+    {
+        JarZoneInfoProvider provider = new JarZoneInfoProvider();
+
+        assertNull(provider.getZone("Mars/Olympus_Mons"));
+        assertNull(provider.getZone(null));
+    }
+
+    /**
+     * Reports how long finding the convention's zone takes with a new
+     * provider, with Joda's own provider and with this one, which is the
+     * work of the "TimeZones" startup task.
+     *
+     * Both read from the Joda jar here, so this only compares how much of
+     * the zone data is read. Reading from the assets on a device is
+     * measured by the startup trace instead. This only reports the times,
+     * since they vary too much between machines to fail a build on.
+     */
+    @Test
+    public void testStartupReport() throws Exception
+    {
+        for (int i = 0; i < 20; i++) {
+            new ZoneInfoProvider("org/joda/time/tz/data").getZone("America/Chicago");
+            new JarZoneInfoProvider().getZone("America/Chicago");
+        }
+
+        int runs = 50;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            new ZoneInfoProvider("org/joda/time/tz/data").getZone("America/Chicago");
+        }
+        long jodaNanos = (System.nanoTime() - start) / runs;
+
+        start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            new JarZoneInfoProvider().getZone("America/Chicago");
+        }
+        long lazyNanos = (System.nanoTime() - start) / runs;
+
+        System.out.println(String.format(
+            "Time zone startup: %.2fms with Joda's provider, %.2fms lazily",
+            jodaNanos / 1000000.0,
+            lazyNanos / 1000000.0
+        ));
+    }
+
+    /**
+     * Reads the zone data that is bundled in the Joda jar.
+     */
+    private static class JarZoneInfoProvider extends LazyZoneInfoProvider
+    {
+        final private List<String> opened = new ArrayList<>();
+
+        @Override
+        protected InputStream open(String name) throws IOException
+        {
+            this.opened.add(name);
+            InputStream in = DateTimeZone.class.getClassLoader().getResourceAsStream("org/joda/time/tz/data/" + name);
+            if (null == in) {
+                throw new FileNotFoundException(name);
+            }
+
+            return in;
+        }
+    }
+}
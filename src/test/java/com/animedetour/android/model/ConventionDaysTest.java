@@ -0,0 +1,86 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.model;
+
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ConventionDaysTest
+{
+    @Test
+    public void testDaysFromEvents()
+    {
+        ConventionDays test = ConventionDays.fromEvents(Arrays.asList(
+            this.eventAt(new DateTime(2016, 4, 23, 10, 0)),
+            this.eventAt(new DateTime(2016, 4, 24, 23, 30)),
+            this.eventAt(new DateTime(2016, 4, 22, 0, 15))
+        ));
+
+        assertEquals(new LocalDate(2016, 4, 22), test.getFirst());
+        assertEquals(new LocalDate(2016, 4, 24), test.getLast());
+        assertEquals(
+            Arrays.asList(new LocalDate(2016, 4, 22), new LocalDate(2016, 4, 23), new LocalDate(2016, 4, 24)),
+            test.getDays()
+        );
+    }
+
+    @Test
+    public void testNoEvents()
+    {
+        assertNull(ConventionDays.fromEvents(Collections.<Event>emptyList()));
+    }
+
+    @Test
+    public void testSingleDay()
+    {
+        ConventionDays test = ConventionDays.fromEvents(Collections.singletonList(
+            this.eventAt(new DateTime(2016, 4, 22, 12, 0))
+        ));
+
+        assertEquals(Collections.singletonList(new LocalDate(2016, 4, 22)), test.getDays());
+    }
+
+    @Test
+    public void testOverAfterLastDay()
+    {
+        ConventionDays test = new ConventionDays(new LocalDate(2016, 4, 22), new LocalDate(2016, 4, 24));
+
+        assertFalse(test.isOver(new DateTime(2016, 4, 1, 12, 0)));
+        assertFalse(test.isOver(new DateTime(2016, 4, 24, 23, 59)));
+        assertTrue(test.isOver(new DateTime(2016, 4, 25, 0, 0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBackwards()
+    {
+        new ConventionDays(new LocalDate(2016, 4, 24), new LocalDate(2016, 4, 22));
+    }
+
+    private Event eventAt(DateTime start)
+    {
+        return new Event(
+            "id",
+            "name",
+            start,
+            start.plusHours(1),
+            "category",
+            Collections.<String>emptyList(),
+            "room",
+            Collections.<String>emptyList(),
+            "description",
+            "banner"
+        );
+    }
+}
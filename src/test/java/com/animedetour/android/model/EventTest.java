@@ -8,11 +8,16 @@
  */
 package com.animedetour.android.model;
 
+import com.google.common.io.BaseEncoding;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -45,4 +50,81 @@ public class EventTest
         assertEquals("description", test.getDescription());
         assertEquals("banner", test.getBanner());
     }
+
+    @Test
+    public void testTagFlags()
+    {
+        Event adult = this.taggedEvent(Arrays.asList("18+", "asl"));
+        Event official = this.taggedEvent(Arrays.asList("panel", "21+", "official"));
+        Event plain = this.taggedEvent(Collections.<String>emptyList());
+
+        assertTrue(adult.isEighteenPlus());
+        assertFalse(adult.isTwentyOnePlus());
+        assertTrue(adult.isInterpreted());
+        assertFalse(adult.isOfficial());
+
+        assertFalse(official.isEighteenPlus());
+        assertTrue(official.isTwentyOnePlus());
+        assertFalse(official.isInterpreted());
+        assertTrue(official.isOfficial());
+
+        assertFalse(plain.isEighteenPlus());
+        assertFalse(plain.isTwentyOnePlus());
+        assertFalse(plain.isInterpreted());
+        assertFalse(plain.isOfficial());
+    }
+
+    /**
+     * Getters are called for every row as the list scrolls, so they should
+     * hand back the stored lists rather than wrapping them each time.
+     */
+    @Test
+    public void testListsAreNotCopiedOnAccess()
+    {
+        Event event = this.taggedEvent(Arrays.asList("tag"));
+
+        assertSame(event.getTags(), event.getTags());
+        assertSame(event.getHosts(), event.getHosts());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTagsAreUnmodifiable()
+    {
+        this.taggedEvent(Arrays.asList("tag")).getTags().add("other");
+    }
+
+    /**
+     * An event as serialized by versions before the tag flags were added.
+     */
+    final private static String LEGACY_EVENT =
+        "rO0ABXNyACNjb20uYW5pbWVkZXRvdXIuYW5kcm9pZC5tb2RlbC5FdmVudJkOKDy527+NAgAKTAAGYmFu" +
+        "bmVydAASTGphdmEvbGFuZy9TdHJpbmc7TAAIY2F0ZWdvcnlxAH4AAUwAC2Rlc2NyaXB0aW9ucQB+AAFM" +
+        "AANlbmR0ABhMb3JnL2pvZGEvdGltZS9EYXRlVGltZTtMAAVob3N0c3QAEExqYXZhL3V0aWwvTGlzdDtM" +
+        "AAJpZHEAfgABTAAEbmFtZXEAfgABTAAEcm9vbXEAfgABTAAFc3RhcnRxAH4AAkwABHRhZ3NxAH4AA3hw" +
+        "dAAGYmFubmVydAAIY2F0ZWdvcnl0AAtkZXNjcmlwdGlvbnBzcgATamF2YS51dGlsLkFycmF5TGlzdHiB" +
+        "0h2Zx2GdAwABSQAEc2l6ZXhwAAAAAXcEAAAAAXQABGhvc3R4dAACaWR0AARuYW1ldAAEcm9vbXBzcQB+" +
+        "AAgAAAABdwQAAAABdAADMTgreA==";
+
+    /**
+     * Alarms set by older versions hold serialized events, which have to be
+     * readable after the model changes.
+     */
+    @Test
+    public void testReadsLegacySerializedForm() throws Exception
+    {
+        byte[] bytes = BaseEncoding.base64().decode(LEGACY_EVENT);
+        ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        Event event = (Event) input.readObject();
+
+        assertEquals("id", event.getId());
+        assertEquals("room", event.getRoom());
+        assertEquals(Arrays.asList("18+"), event.getTags());
+        assertTrue(event.isEighteenPlus());
+        assertFalse(event.isOfficial());
+    }
+
+    private Event taggedEvent(List<String> tags)
+    {
+        return new Event("id", "name", null, null, "category", tags, "room", Arrays.asList("host"), null, null);
+    }
 }
@@ -1,6 +1,8 @@
 package com.animedetour.android.model;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -24,6 +26,36 @@ public class MetaDataTest
 
         assertNull(test.getEventsFetched());
         assertNull(test.getGuestsFetched());
+        assertNull(test.getConventionDays());
         assertEquals(Integer.valueOf(1), test.getId());
     }
+
+    @Test
+    public void testConventionDaysKeptWhenFetched()
+    {
+        ConventionDays days = new ConventionDays(new LocalDate("2016-04-22"), new LocalDate("2016-04-24"));
+        MetaData test = new MetaData().withConventionDays(days)
+            .withEventsFetched(new DateTime("2016-04-19T15:31:11Z"))
+            .withGuestsFetched(new DateTime("2016-04-19T15:31:11Z"));
+
+        assertEquals(days, test.getConventionDays());
+        assertEquals(new DateTime("2016-04-19T15:31:11Z"), test.getEventsFetched());
+    }
+
+    @Test
+    public void testConventionDaysKeptAcrossZoneChange()
+    {
+        DateTimeZone original = DateTimeZone.getDefault();
+        ConventionDays days = new ConventionDays(new LocalDate("2016-04-22"), new LocalDate("2016-04-24"));
+
+        try {
+            DateTimeZone.setDefault(DateTimeZone.forID("America/Chicago"));
+            MetaData test = new MetaData().withConventionDays(days);
+            DateTimeZone.setDefault(DateTimeZone.forID("America/Los_Angeles"));
+
+            assertEquals(days, test.getConventionDays());
+        } finally {
+            DateTimeZone.setDefault(original);
+        }
+    }
 }
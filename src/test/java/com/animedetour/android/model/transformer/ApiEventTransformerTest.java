@@ -14,8 +14,12 @@ import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -169,4 +173,124 @@ public class ApiEventTransformerTest
         assertEquals(before.hashCode(), after.hashCode());
         assertEquals(before.toString(), after.toString());
     }
+
+    /**
+     * Events from the API share their rooms, categories and tags.
+     */
+    @Test
+    public void testRepeatedValuesAreShared()
+    {
+        // Every value repeats after this many events.
+        int cycle = 5 * 6 * 7;
+        List<Event> events = this.transformer.bulkTransform(this.apiEvents(cycle + 1));
+
+        assertSame(events.get(0).getRoom(), events.get(cycle).getRoom());
+        assertSame(events.get(0).getCategory(), events.get(cycle).getCategory());
+        assertSame(events.get(0).getTags().get(0), events.get(cycle).getTags().get(0));
+    }
+
+    /**
+     * A large schedule holds a single copy of each room, category and tag,
+     * instead of every event keeping its own.
+     */
+    @Test
+    public void testScheduleSharesValues()
+    {
+        int count = 5000;
+        List<Event> events = this.transformer.bulkTransform(this.apiEvents(count));
+
+        Set<String> rooms = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+        Set<String> categories = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+        Set<String> tags = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+        for (Event event : events) {
+            rooms.add(event.getRoom());
+            categories.add(event.getCategory());
+            tags.addAll(event.getTags());
+        }
+
+        assertEquals(count, events.size());
+        assertEquals(6, rooms.size());
+        assertEquals(5, categories.size());
+        assertEquals(7, tags.size());
+    }
+
+    /**
+     * Reports the heap used by a large schedule, compared to keeping every
+     * event's own copy of its rooms, categories and tags.
+     *
+     * This only reports the sizes, since heap readings after a requested
+     * collection vary too much between runs to fail a build on.
+     */
+    @Test
+    public void testScheduleHeapReport()
+    {
+        int count = 5000;
+
+        // The API events are dropped after each conversion, so only what the
+        // events themselves hold on to is measured.
+        long before = this.usedHeap();
+        List<Event> unshared = new ArrayList<>(count);
+        for (ApiEvent data : this.apiEvents(count)) {
+            unshared.add(new Event(
+                data.id,
+                data.name,
+                new DateTime(data.start),
+                new DateTime(data.end),
+                data.category,
+                data.tags,
+                data.room,
+                data.hosts,
+                data.description,
+                data.banner
+            ));
+        }
+        long unsharedBytes = this.usedHeap() - before;
+
+        before = this.usedHeap();
+        List<Event> shared = this.transformer.bulkTransform(this.apiEvents(count));
+        long sharedBytes = this.usedHeap() - before;
+
+        System.out.println("Heap for " + count + " events: " + unsharedBytes / 1024 + "KB unshared, "
+            + sharedBytes / 1024 + "KB shared");
+        assertEquals(unshared.size(), shared.size());
+    }
+
+    /**
+     * Creates API events with their own copy of every string, the same as
+     * they would be after being parsed.
+     */
+    private List<ApiEvent> apiEvents(int count)
+    {
+        String[] categories = {"Panel", "Gaming", "Workshop", "Screening", "Dance"};
+        String[] rooms = {"Main Stage", "Room 101", "Room 102", "Ballroom A", "Ballroom B", "Atrium"};
+        String[] tags = {"18+", "21+", "asl", "official", "fan-run", "cosplay", "gundam"};
+        List<ApiEvent> events = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            events.add(new ApiEvent(
+                "event-" + i,
+                "Event " + i,
+                "2016-04-22T12:00:00-05:00",
+                "2016-04-22T13:00:00-05:00",
+                new String(categories[i % categories.length]),
+                Arrays.asList(new String(tags[i % tags.length]), new String(tags[(i + 3) % tags.length])),
+                new String(rooms[i % rooms.length]),
+                Arrays.asList("Host " + i),
+                "description",
+                null
+            ));
+        }
+
+        return events;
+    }
+
+    private long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EventBoundariesTest
+{
+    final private DateTime now = new DateTime("2016-04-23T12:00:00-05:00");
+
+    final private Event past = this.event("past", now.minusHours(3), now.minusHours(2));
+    final private Event current = this.event("current", now.minusHours(1), now.plusHours(2));
+    final private Event upcoming = this.event("upcoming", now.plusHours(1), now.plusHours(4));
+
+    @Test
+    public void testNextBoundary()
+    {
+        List<Event> events = Arrays.asList(this.past, this.current, this.upcoming);
+
+        assertEquals(now.plusHours(1), EventBoundaries.findNext(events, now));
+        assertEquals(now.plusHours(2), EventBoundaries.findNext(events, now.plusHours(1)));
+        assertEquals(now.plusHours(4), EventBoundaries.findNext(events, now.plusHours(3)));
+    }
+
+    @Test
+    public void testNoBoundaryAfterEverythingEnds()
+    {
+        List<Event> events = Arrays.asList(this.past, this.current, this.upcoming);
+
+        assertNull(EventBoundaries.findNext(events, now.plusHours(4)));
+        assertNull(EventBoundaries.findNext(Collections.<Event>emptyList(), now));
+    }
+
+    @Test
+    public void testStartedAndEnded()
+    {
+        List<Event> events = Arrays.asList(this.past, this.current, this.upcoming);
+        DateTime later = now.plusHours(2);
+
+        assertEquals(Arrays.asList(this.upcoming), EventBoundaries.findStarted(events, now, later));
+        assertEquals(Arrays.asList(this.current), EventBoundaries.findEnded(events, now, later));
+    }
+
+    @Test
+    public void testBoundaryIsOnlyReportedOnce()
+    {
+        List<Event> events = Arrays.asList(this.upcoming);
+        DateTime start = now.plusHours(1);
+
+        assertEquals(Arrays.asList(this.upcoming), EventBoundaries.findStarted(events, now, start));
+        assertTrue(EventBoundaries.findStarted(events, start, start.plusMinutes(1)).isEmpty());
+    }
+
+    private Event event(String id, DateTime start, DateTime end)
+    {
+        return new Event(
+            id,
+            id,
+            start,
+            end,
+            "category",
+            Collections.<String>emptyList(),
+            "room",
+            Collections.<String>emptyList(),
+            "description",
+            null
+        );
+    }
+}
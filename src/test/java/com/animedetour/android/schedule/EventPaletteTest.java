@@ -0,0 +1,126 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import monolog.Monolog;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class EventPaletteTest
+{
+    final private EventPalette palette = new EventPalette(
+        new String[] {"Panel", "Video"},
+        new int[] {0xFF000001, 0xFF000002},
+        new int[] {0xFF000011, 0xFF000012},
+        new int[] {0xFF000101, 0xFF000102},
+        new int[] {0xFF000111, 0xFF000112},
+        Mockito.mock(Monolog.class)
+    );
+
+    @Test
+    public void testKnownTypes()
+    {
+        assertEquals(0xFF000001, this.palette.getColor("Panel"));
+        assertEquals(0xFF000011, this.palette.getDimColor("Panel"));
+        assertEquals(0xFF000002, this.palette.getColor("Video"));
+        assertEquals(0xFF000012, this.palette.getDimColor("Video"));
+    }
+
+    @Test
+    public void testUnknownTypesKeepTheirColor()
+    {
+        int first = this.palette.getColor("Karaoke");
+        int second = this.palette.getColor("Dance");
+
+        assertEquals(0xFF000101, first);
+        assertEquals(0xFF000102, second);
+        assertEquals(first, this.palette.getColor("Karaoke"));
+        assertEquals(0xFF000111, this.palette.getDimColor("Karaoke"));
+        assertEquals(0xFF000112, this.palette.getDimColor("Dance"));
+    }
+
+    @Test
+    public void testUnknownColorsAreRecycled()
+    {
+        this.palette.getColor("Karaoke");
+        this.palette.getColor("Dance");
+        int third = this.palette.getColor("Bingo");
+        int fourth = this.palette.getColor("Trivia");
+
+        assertEquals(0xFF000101, third);
+        assertEquals(0xFF000102, fourth);
+        assertEquals(0xFF000112, this.palette.getDimColor("Trivia"));
+    }
+
+    @Test
+    public void testMissingType()
+    {
+        assertEquals(this.palette.getColor(null), this.palette.getColor(null));
+        assertEquals(this.palette.getColor(""), this.palette.getColor(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedColors()
+    {
+        new EventPalette(
+            new String[] {"Panel", "Video"},
+            new int[] {0xFF000001},
+            new int[] {0xFF000011, 0xFF000012},
+            new int[] {0xFF000101},
+            new int[] {0xFF000111},
+            Mockito.mock(Monolog.class)
+        );
+    }
+
+    /**
+     * Many threads assigning the same unknown types at once should all see
+     * the same color for each type.
+     */
+    @Test
+    public void testConcurrentAssignment() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            results.add(executor.submit(new Callable<List<Integer>>()
+            {
+                @Override
+                public List<Integer> call()
+                {
+                    List<Integer> colors = new ArrayList<>();
+                    for (int type = 0; type < 50; type++) {
+                        colors.add(EventPaletteTest.this.palette.getColor("Type " + type));
+                    }
+
+                    return colors;
+                }
+            }));
+        }
+
+        List<Integer> expected = results.get(0).get();
+        for (Future<List<Integer>> result : results) {
+            assertEquals(expected, result.get());
+        }
+        executor.shutdown();
+
+        Set<Integer> distinct = new HashSet<>(expected);
+        assertTrue(distinct.size() <= 2);
+    }
+}
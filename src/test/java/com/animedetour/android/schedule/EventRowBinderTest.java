@@ -0,0 +1,217 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import android.view.View;
+import com.animedetour.android.database.favorite.FavoriteStore;
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class EventRowBinderTest
+{
+    final private DateTime start = new DateTime("2016-04-23T12:00:00-05:00");
+
+    final private FavoriteStore favorites = new FavoriteStore();
+
+    final private List<Event> clicked = new ArrayList<>();
+
+    final private CountingRowFactory factory = new CountingRowFactory();
+
+    final private EventRowCache rows = new EventRowCache(this.factory);
+
+    final private EventRowBinder binder = new EventRowBinder(this.rows, this.favorites, new EventRowBinder.OnEventClickListener()
+    {
+        @Override
+        public void onEventClicked(Event event)
+        {
+            EventRowBinderTest.this.clicked.add(event);
+        }
+    });
+
+    @Test
+    public void testBindsPreparedRow()
+    {
+        this.favorites.load(Collections.singletonList("2"));
+        Event first = this.event(1);
+        Event second = this.event(2);
+        FakeRowView view = new FakeRowView();
+
+        this.binder.bind(first, view, this.start.getMillis());
+        assertSame(this.rows.get(first), view.row);
+        assertFalse(view.starred);
+
+        this.binder.bind(second, view, this.start.getMillis());
+        assertSame(this.rows.get(second), view.row);
+        assertTrue(view.starred);
+    }
+
+    @Test
+    public void testClickListenerIsReused()
+    {
+        this.favorites.load(Collections.<String>emptyList());
+        FakeRowView view = new FakeRowView();
+
+        this.binder.bind(this.event(1), view, this.start.getMillis());
+        View.OnClickListener listener = view.listener;
+        this.binder.bind(this.event(2), view, this.start.getMillis());
+
+        assertSame(listener, view.listener);
+        assertEquals(1, view.listenersSet);
+
+        view.listener.onClick(null);
+        assertEquals(1, this.clicked.size());
+        assertEquals("2", this.clicked.get(0).getId());
+    }
+
+    /**
+     * Binds a day's worth of events into a handful of recycled views, the
+     * way a list does while flinging, and checks that no rows or listeners
+     * are made for it: every bind gets the row prepared for its event, and
+     * each view keeps the listener from its first bind.
+     */
+    @Test
+    public void testBindAllocationBudget()
+    {
+        this.favorites.load(Arrays.asList("3", "30", "300"));
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            events.add(this.event(i));
+        }
+        this.rows.prepare(events);
+        FakeRowView[] views = new FakeRowView[8];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = new FakeRowView();
+        }
+
+        long now = this.start.getMillis();
+        int created = this.factory.created;
+        this.fling(events, views, now, 20000);
+
+        assertEquals("Rows built while binding", created, this.factory.created);
+        Map<EventRow, Boolean> rowsBound = new IdentityHashMap<>();
+        Map<Object, Boolean> listeners = new IdentityHashMap<>();
+        for (FakeRowView view : views) {
+            assertEquals("Listeners set on a recycled view", 1, view.listenersSet);
+            rowsBound.putAll(view.rowsBound);
+            listeners.put(view.listener, true);
+        }
+        assertEquals("Distinct rows bound", events.size(), rowsBound.size());
+        assertEquals("Distinct listeners", views.length, listeners.size());
+    }
+
+    private int fling(List<Event> events, FakeRowView[] views, long now, int binds)
+    {
+        for (int i = 0; i < binds; i++) {
+            this.binder.bind(events.get(i % events.size()), views[i % views.length], now);
+        }
+
+        return binds;
+    }
+
+    private Event event(int id)
+    {
+        return new Event(
+            String.valueOf(id),
+            "Event " + id,
+            this.start.plusMinutes(id),
+            this.start.plusMinutes(id + 60),
+            "Panel",
+            Collections.<String>emptyList(),
+            "Main Stage",
+            Collections.<String>emptyList(),
+            null,
+            null
+        );
+    }
+
+    /**
+     * Builds rows as usual, counting how many it has built.
+     */
+    private static class CountingRowFactory extends EventRowFactory
+    {
+        private int created = 0;
+
+        public CountingRowFactory()
+        {
+            super("in", new LabelColors()
+            {
+                @Override
+                public int getLabelColor(String category)
+                {
+                    return 0xFF00FF00;
+                }
+            });
+        }
+
+        @Override
+        public EventRow create(Event event)
+        {
+            this.created++;
+
+            return super.create(event);
+        }
+    }
+
+    /**
+     * Records what was bound, in place of a real panel view.
+     */
+    private static class FakeRowView implements EventRowView
+    {
+        final private Map<EventRow, Boolean> rowsBound = new IdentityHashMap<>();
+        private EventRow row;
+        private long boundAt;
+        private boolean starred;
+        private Object tag;
+        private View.OnClickListener listener;
+        private int listenersSet = 0;
+
+        @Override
+        public void bind(EventRow row, long nowMillis)
+        {
+            this.row = row;
+            this.rowsBound.put(row, true);
+            this.boundAt = nowMillis;
+        }
+
+        @Override
+        public void setStarred(boolean starred)
+        {
+            this.starred = starred;
+        }
+
+        @Override
+        public Object getTag()
+        {
+            return this.tag;
+        }
+
+        @Override
+        public void setTag(Object tag)
+        {
+            this.tag = tag;
+        }
+
+        @Override
+        public void setOnClickListener(View.OnClickListener listener)
+        {
+            this.listener = listener;
+            this.listenersSet++;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import com.animedetour.android.model.Event;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class EventRowCacheTest
+{
+    final private DateTime start = new DateTime(2016, 4, 23, 14, 0, DateTimeZone.forOffsetHours(-5));
+
+    final private List<String> colored = new ArrayList<>();
+
+    final private EventRowFactory factory = new EventRowFactory("in", new EventRowFactory.LabelColors()
+    {
+        @Override
+        public int getLabelColor(String category)
+        {
+            EventRowCacheTest.this.colored.add(category);
+            return "Panel".equals(category) ? 0xFF00FF00 : 0xFF888888;
+        }
+    });
+
+    @Test
+    public void testRowContents()
+    {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        try {
+            Event event = this.event("1", "Cosplay Chess", this.start.plusHours(2), Arrays.asList(Event.TAG_18_PLUS, Event.TAG_ASL));
+            EventRow row = this.factory.create(event);
+
+            assertSame(event, row.getEvent());
+            assertEquals("Cosplay Chess", row.getTitle());
+            assertEquals("Sat, 02:00PM - 04:00PM in Main Stage", row.getSubtitle());
+            assertEquals(0xFF00FF00, row.getLabelColor());
+            assertEquals(Event.TAG_18_PLUS, row.getAgeWarning());
+            assertTrue(row.isInterpreted());
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    public void testMultiDayRow()
+    {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        try {
+            Event event = this.event("1", "Video Room", this.start.plusDays(1), Collections.<String>emptyList());
+            EventRow row = this.factory.create(event);
+
+            assertEquals("Sat, 02:00PM - Sun, 02:00PM in Main Stage", row.getSubtitle());
+            assertNull(row.getAgeWarning());
+            assertFalse(row.isInterpreted());
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    public void testStarted()
+    {
+        EventRow row = this.factory.create(this.event("1", "Cosplay Chess", this.start.plusHours(1), Collections.<String>emptyList()));
+
+        assertFalse(row.hasStarted(this.start.getMillis()));
+        assertTrue(row.hasStarted(this.start.plusMinutes(1).getMillis()));
+    }
+
+    @Test
+    public void testPreparedRowsAreReused()
+    {
+        EventRowCache cache = new EventRowCache(this.factory);
+        Event event = this.event("1", "Cosplay Chess", this.start.plusHours(1), Collections.<String>emptyList());
+        cache.prepare(Collections.singletonList(event));
+
+        EventRow row = cache.get(event);
+        Event reloaded = this.event("1", "Cosplay Chess", this.start.plusHours(1), Collections.<String>emptyList());
+
+        assertSame(row, cache.get(reloaded));
+        assertEquals(1, this.colored.size());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testChangedEventsAreRebuilt()
+    {
+        EventRowCache cache = new EventRowCache(this.factory);
+        Event event = this.event("1", "Cosplay Chess", this.start.plusHours(1), Collections.<String>emptyList());
+        cache.prepare(Collections.singletonList(event));
+
+        Event renamed = this.event("1", "Cosplay Checkers", this.start.plusHours(1), Collections.<String>emptyList());
+        EventRow row = cache.get(renamed);
+
+        assertEquals("Cosplay Checkers", row.getTitle());
+        assertSame(row, cache.get(renamed));
+        assertEquals(1, cache.size());
+    }
+
+    private Event event(String id, String name, DateTime end, List<String> tags)
+    {
+        return new Event(
+            id,
+            name,
+            this.start,
+            end,
+            "Panel",
+            tags,
+            "Main Stage",
+            Collections.<String>emptyList(),
+            null,
+            null
+        );
+    }
+}
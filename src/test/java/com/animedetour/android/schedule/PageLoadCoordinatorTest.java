@@ -0,0 +1,123 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.android.schedule;
+
+import com.animedetour.android.database.QueryPriority;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PageLoadCoordinatorTest
+{
+    private PageLoadCoordinator<String> coordinator;
+
+    /** Every load run, as "page:priority" in the order they ran. */
+    private List<String> loads;
+
+    @Before
+    public void setUp()
+    {
+        this.coordinator = new PageLoadCoordinator<>();
+        this.loads = new ArrayList<>();
+    }
+
+    @Test
+    public void testOffscreenPagesWaitForVisiblePage()
+    {
+        this.coordinator.setVisiblePage("saturday");
+
+        this.coordinator.requestLoad("friday", this.loader("friday"));
+        this.coordinator.requestLoad("saturday", this.loader("saturday"));
+        this.coordinator.requestLoad("sunday", this.loader("sunday"));
+
+        assertEquals(Arrays.asList("saturday:VISIBLE"), this.loads);
+
+        this.coordinator.onPageRendered("saturday");
+
+        assertEquals(Arrays.asList("saturday:VISIBLE", "friday:PREFETCH", "sunday:PREFETCH"), this.loads);
+    }
+
+    @Test
+    public void testOffscreenPagesLoadRightAwayOnceRendered()
+    {
+        this.coordinator.setVisiblePage("friday");
+        this.coordinator.requestLoad("friday", this.loader("friday"));
+        this.coordinator.onPageRendered("friday");
+
+        this.coordinator.requestLoad("sunday", this.loader("sunday"));
+
+        assertEquals(Arrays.asList("friday:VISIBLE", "sunday:PREFETCH"), this.loads);
+    }
+
+    @Test
+    public void testOffscreenRenderDoesNotReleasePages()
+    {
+        this.coordinator.setVisiblePage("friday");
+        this.coordinator.requestLoad("sunday", this.loader("sunday"));
+
+        this.coordinator.onPageRendered("saturday");
+        this.coordinator.onPageRendered("saturday");
+
+        assertEquals(new ArrayList<String>(), this.loads);
+    }
+
+    @Test
+    public void testSwipingToWaitingPageLoadsItNow()
+    {
+        this.coordinator.setVisiblePage("friday");
+        this.coordinator.requestLoad("friday", this.loader("friday"));
+        this.coordinator.requestLoad("sunday", this.loader("sunday"));
+
+        this.coordinator.setVisiblePage("sunday");
+        this.coordinator.onPageRendered("friday");
+
+        assertEquals(Arrays.asList("friday:VISIBLE", "sunday:VISIBLE"), this.loads);
+    }
+
+    @Test
+    public void testCancelledPagesAreNotLoaded()
+    {
+        this.coordinator.setVisiblePage("friday");
+        this.coordinator.requestLoad("sunday", this.loader("sunday"));
+        this.coordinator.cancel("sunday");
+
+        this.coordinator.onPageRendered("friday");
+
+        assertEquals(new ArrayList<String>(), this.loads);
+    }
+
+    @Test
+    public void testRepeatedRequestsOnlyLoadOnce()
+    {
+        this.coordinator.setVisiblePage("friday");
+        this.coordinator.requestLoad("sunday", this.loader("sunday"));
+        this.coordinator.requestLoad("sunday", this.loader("sunday"));
+
+        this.coordinator.onPageRendered("friday");
+
+        assertEquals(Arrays.asList("sunday:PREFETCH"), this.loads);
+    }
+
+    private PageLoadCoordinator.Loader loader(final String page)
+    {
+        return new PageLoadCoordinator.Loader()
+        {
+            @Override
+            public void load(QueryPriority priority)
+            {
+                PageLoadCoordinatorTest.this.loads.add(page + ":" + priority);
+            }
+        };
+    }
+}
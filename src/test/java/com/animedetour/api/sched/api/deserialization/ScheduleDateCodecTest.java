@@ -0,0 +1,279 @@
+/*
+ * This file is part of the Anime Detour Android application
+ *
+ * Copyright (c) 2016 Anime Twin Cities, Inc.
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+package com.animedetour.api.sched.deserialization;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ScheduleDateCodecTest
+{
+    final private ScheduleDateCodec codec = new ScheduleDateCodec(DateTimeZone.getDefault());
+
+    @Test
+    public void testIsoMatchesDefaultParsing()
+    {
+        String[] timestamps = {
+            "2016-04-22T12:00:00-05:00",
+            "2016-04-22T12:00:00Z",
+            "2016-04-22T12:00:00.250-05:00",
+            "2016-04-22T12:00",
+        };
+
+        for (String timestamp : timestamps) {
+            assertEquals(timestamp, new DateTime(timestamp), this.codec.parseIso(timestamp));
+        }
+    }
+
+    @Test
+    public void testIsoRoundTrip()
+    {
+        DateTime date = new DateTime("2016-04-21T16:15:14-06:00").withZone(DateTimeZone.forOffsetHours(-6));
+
+        assertEquals("2016-04-21T16:15:14-06:00", this.codec.printIso(date));
+        assertEquals(date.getMillis(), this.codec.parseIso(this.codec.printIso(date)).getMillis());
+    }
+
+    @Test
+    public void testNullIso()
+    {
+        assertNull(this.codec.parseIso(null));
+        assertNull(this.codec.printIso(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidIso()
+    {
+        this.codec.parseIso("April 22nd");
+    }
+
+    @Test
+    public void testPanelUsesZone()
+    {
+        DateTimeZone chicago = DateTimeZone.forID("America/Chicago");
+        DateTime date = new ScheduleDateCodec(chicago).parsePanel("2016-04-22 13:06:02");
+
+        assertEquals(new DateTime(2016, 4, 22, 13, 6, 2, chicago), date);
+    }
+
+    @Test
+    public void testIsoParityAcrossOffsets()
+    {
+        String[] timestamps = {
+            "2016-04-22T12:00:00-05:00",
+            "2016-04-22T12:00:00+05:30",
+            "2016-04-22T12:00:00+14:00",
+            "2016-04-22T12:00:00-12:00",
+            "2016-04-22T12:00:00Z",
+            "2016-04-22T12:00:00.250-05:00",
+            "2016-04-22T12:00:00",
+            "2016-04-22T12:00",
+            "2016-04-22",
+        };
+
+        for (DateTimeZone zone : this.zones()) {
+            for (String timestamp : timestamps) {
+                this.assertIsoParity(zone, timestamp);
+            }
+        }
+    }
+
+    @Test
+    public void testIsoParityAcrossDst()
+    {
+        String[] timestamps = {
+            "2016-03-13T01:59:59",
+            "2016-03-13T02:30:00",
+            "2016-03-13T03:00:00",
+            "2016-03-13T02:30:00-05:00",
+            "2016-11-06T01:30:00",
+            "2016-11-06T01:30:00-05:00",
+            "2016-11-06T01:30:00-06:00",
+        };
+
+        for (DateTimeZone zone : this.zones()) {
+            for (String timestamp : timestamps) {
+                this.assertIsoParity(zone, timestamp);
+            }
+        }
+    }
+
+    @Test
+    public void testPanelParityAcrossDst()
+    {
+        String[] timestamps = {
+            "2016-04-22 13:06:02",
+            "2016-03-13 01:59:59",
+            "2016-03-13 02:30:00",
+            "2016-03-13 03:00:00",
+            "2016-11-06 01:30:00",
+            "2016-11-06 02:00:00",
+        };
+
+        for (DateTimeZone zone : this.zones()) {
+            for (String timestamp : timestamps) {
+                this.assertPanelParity(zone, timestamp);
+            }
+        }
+    }
+
+    @Test
+    public void testMalformedParity()
+    {
+        String[] isoTimestamps = {"", "April 22nd", "2016-13-01T00:00:00Z", "2016-04-22T25:00:00Z", "2016-04-22 12:00:00", "2016-04-22T12:00:00-05:00 "};
+        String[] panelTimestamps = {"", "garbage", "2016-04-22T12:00:00", "2016-04-22 12:00", "2016-04-22 24:00:00", "2016-02-30 12:00:00"};
+
+        for (DateTimeZone zone : this.zones()) {
+            for (String timestamp : isoTimestamps) {
+                this.assertIsoParity(zone, timestamp);
+            }
+            for (String timestamp : panelTimestamps) {
+                this.assertPanelParity(zone, timestamp);
+            }
+        }
+    }
+
+    /**
+     * Reports the per-event cost of parsing a start and end time, against
+     * the previous way of parsing them.
+     *
+     * This only reports the timings, since they vary too much between
+     * machines and runs to fail a build on. Correctness is covered by the
+     * parity tests.
+     */
+    @Test
+    public void testParseBenchmark()
+    {
+        String[] isoTimestamps = new String[2000];
+        String[] panelTimestamps = new String[2000];
+        for (int i = 0; i < isoTimestamps.length; i++) {
+            isoTimestamps[i] = String.format("2016-04-%02dT%02d:%02d:00-05:00", 22 + i % 3, i % 24, i % 60);
+            panelTimestamps[i] = String.format("2016-04-%02d %02d:%02d:00", 22 + i % 3, i % 24, i % 60);
+        }
+
+        for (int run = 0; run < 5; run++) {
+            this.parseIsoBefore(isoTimestamps);
+            this.parseIsoAfter(isoTimestamps);
+            this.parsePanelBefore(panelTimestamps);
+            this.parsePanelAfter(panelTimestamps);
+        }
+
+        long isoBefore = this.parseIsoBefore(isoTimestamps);
+        long isoAfter = this.parseIsoAfter(isoTimestamps);
+        long panelBefore = this.parsePanelBefore(panelTimestamps);
+        long panelAfter = this.parsePanelAfter(panelTimestamps);
+
+        System.out.println(
+            "Date parsing per event (start and end), ISO: " + isoBefore + "ns -> " + isoAfter + "ns"
+            + ", panel: " + panelBefore + "ns -> " + panelAfter + "ns"
+        );
+    }
+
+    private long parseIsoBefore(String[] timestamps)
+    {
+        long start = System.nanoTime();
+        for (String timestamp : timestamps) {
+            new DateTime(timestamp);
+        }
+
+        return (System.nanoTime() - start) * 2 / timestamps.length;
+    }
+
+    private long parseIsoAfter(String[] timestamps)
+    {
+        long start = System.nanoTime();
+        for (String timestamp : timestamps) {
+            this.codec.parseIso(timestamp);
+        }
+
+        return (System.nanoTime() - start) * 2 / timestamps.length;
+    }
+
+    private long parsePanelBefore(String[] timestamps)
+    {
+        long start = System.nanoTime();
+        for (String timestamp : timestamps) {
+            DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss").parseDateTime(timestamp);
+        }
+
+        return (System.nanoTime() - start) * 2 / timestamps.length;
+    }
+
+    private long parsePanelAfter(String[] timestamps)
+    {
+        long start = System.nanoTime();
+        for (String timestamp : timestamps) {
+            this.codec.parsePanel(timestamp);
+        }
+
+        return (System.nanoTime() - start) * 2 / timestamps.length;
+    }
+
+    /**
+     * Zones with and without daylight saving time, and with a half hour offset.
+     */
+    private DateTimeZone[] zones()
+    {
+        return new DateTimeZone[] {
+            DateTimeZone.UTC,
+            DateTimeZone.forID("America/Chicago"),
+            DateTimeZone.forID("Asia/Kolkata"),
+            DateTimeZone.forID("Pacific/Kiritimati"),
+        };
+    }
+
+    /**
+     * The codec should parse ISO timestamps the same as `new DateTime(String)`
+     * does in the same zone, including failing on the same input.
+     */
+    private void assertIsoParity(DateTimeZone zone, String timestamp)
+    {
+        Object expected;
+        try {
+            expected = new DateTime(timestamp, zone);
+        } catch (IllegalArgumentException e) {
+            expected = IllegalArgumentException.class;
+        }
+
+        Object actual;
+        try {
+            actual = new ScheduleDateCodec(zone).parseIso(timestamp);
+        } catch (IllegalArgumentException e) {
+            actual = IllegalArgumentException.class;
+        }
+
+        assertEquals(zone + " " + timestamp, expected, actual);
+    }
+
+    /**
+     * The codec should parse panel dates the same as the pattern it replaced
+     * did in the same zone, including failing on the same input.
+     */
+    private void assertPanelParity(DateTimeZone zone, String timestamp)
+    {
+        Object expected;
+        try {
+            expected = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss").withZone(zone).parseDateTime(timestamp);
+        } catch (IllegalArgumentException e) {
+            expected = IllegalArgumentException.class;
+        }
+
+        Object actual;
+        try {
+            actual = new ScheduleDateCodec(zone).parsePanel(timestamp);
+        } catch (IllegalArgumentException e) {
+            actual = IllegalArgumentException.class;
+        }
+
+        assertEquals(zone + " " + timestamp, expected, actual);
+    }
+}
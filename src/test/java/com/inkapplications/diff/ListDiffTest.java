@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016 Ink Applications, LLC.
+ * Distributed under the MIT License (http://opensource.org/licenses/MIT)
+ */
+package com.inkapplications.diff;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ListDiffTest
+{
+    /** Items are "key:contents" strings, identified by the key portion. */
+    final private ItemIdentifier<String> identifier = new ItemIdentifier<String>()
+    {
+        @Override
+        public Object getKey(String item)
+        {
+            return item.split(":")[0];
+        }
+    };
+
+    @Test
+    public void testIdenticalLists()
+    {
+        List<String> items = Arrays.asList("a:1", "b:1", "c:1");
+        ListDiff<String> diff = ListDiff.calculate(items, new ArrayList<>(items), this.identifier);
+
+        assertTrue(diff.isEmpty());
+        assertTrue(diff.getChangedKeys().isEmpty());
+    }
+
+    @Test
+    public void testInsertAndRemove()
+    {
+        List<String> previous = Arrays.asList("a:1", "b:1", "c:1", "d:1");
+        List<String> next = Arrays.asList("x:1", "a:1", "c:1", "y:1");
+        ListDiff<String> diff = ListDiff.calculate(previous, next, this.identifier);
+
+        assertEquals(next, this.apply(previous, next, diff));
+        assertTrue(diff.getChangedKeys().isEmpty());
+        assertTrue(diff.getOperations().contains(DiffOperation.remove(1)));
+        assertTrue(diff.getOperations().contains(DiffOperation.remove(3)));
+        assertTrue(diff.getOperations().contains(DiffOperation.insert(0)));
+        assertTrue(diff.getOperations().contains(DiffOperation.insert(3)));
+    }
+
+    @Test
+    public void testMoves()
+    {
+        List<String> previous = Arrays.asList("a:1", "b:1", "c:1", "d:1", "e:1");
+        List<String> next = Arrays.asList("e:1", "c:1", "a:1", "b:1", "d:1");
+        ListDiff<String> diff = ListDiff.calculate(previous, next, this.identifier);
+
+        assertEquals(next, this.apply(previous, next, diff));
+        for (DiffOperation operation : diff.getOperations()) {
+            assertEquals(DiffOperation.Type.MOVE, operation.getType());
+        }
+    }
+
+    @Test
+    public void testChangedContents()
+    {
+        List<String> previous = Arrays.asList("a:1", "b:1", "c:1");
+        List<String> next = Arrays.asList("c:1", "a:2", "b:1");
+        ListDiff<String> diff = ListDiff.calculate(previous, next, this.identifier);
+
+        assertEquals(next, this.apply(previous, next, diff));
+        assertEquals(Collections.<Object>singleton("a"), diff.getChangedKeys());
+        assertTrue(diff.getOperations().contains(DiffOperation.change(1)));
+    }
+
+    @Test
+    public void testEmptyLists()
+    {
+        List<String> items = Arrays.asList("a:1", "b:1");
+
+        ListDiff<String> inserted = ListDiff.calculate(Collections.<String>emptyList(), items, this.identifier);
+        assertEquals(items, this.apply(Collections.<String>emptyList(), items, inserted));
+
+        ListDiff<String> removed = ListDiff.calculate(items, Collections.<String>emptyList(), this.identifier);
+        assertEquals(Collections.<String>emptyList(), this.apply(items, Collections.<String>emptyList(), removed));
+    }
+
+    /**
+     * Play the operations of a diff over a copy of the previous list.
+     *
+     * Inserts and changes take their contents from the next list, the way an
+     * adapter would when notified.
+     */
+    private List<String> apply(List<String> previous, List<String> next, ListDiff<String> diff)
+    {
+        List<String> result = new ArrayList<>(previous);
+
+        for (DiffOperation operation : diff.getOperations()) {
+            switch (operation.getType()) {
+                case REMOVE:
+                    result.remove(operation.getFromPosition());
+                    break;
+                case INSERT:
+                    result.add(operation.getToPosition(), next.get(operation.getToPosition()));
+                    break;
+                case MOVE:
+                    String moved = result.remove(operation.getFromPosition());
+                    result.add(operation.getToPosition(), moved);
+                    break;
+                case CHANGE:
+                    result.set(operation.getToPosition(), next.get(operation.getToPosition()));
+                    break;
+            }
+        }
+
+        return result;
+    }
+}